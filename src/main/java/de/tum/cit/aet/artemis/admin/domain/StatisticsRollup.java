@@ -0,0 +1,112 @@
+package de.tum.cit.aet.artemis.admin.domain;
+
+import java.time.ZonedDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.cit.aet.artemis.core.domain.DomainObject;
+
+/**
+ * A pre-aggregated counter for one statistics graph in one time bucket.
+ * The scope is either the whole instance ({@link StatisticsView#ARTEMIS}, entity id 0), a single course or a single exercise.
+ * Rollups are (re-)computed by the {@link de.tum.cit.aet.artemis.admin.service.StatisticsRollupService} so that the statistics charts do not need to group the raw
+ * submission, result and post tables on every request.
+ */
+@Entity
+@Table(name = "statistics_rollup")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class StatisticsRollup extends DomainObject {
+
+    /**
+     * Entity id used for the instance wide scope, which has no entity of its own.
+     */
+    public static final long GLOBAL_ENTITY_ID = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "graph_type", nullable = false)
+    private GraphType graphType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false)
+    private StatisticsView scope;
+
+    @Column(name = "entity_id", nullable = false)
+    private long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    private StatisticsRollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private ZonedDateTime bucketStart;
+
+    @Column(name = "amount", nullable = false)
+    private long amount;
+
+    public StatisticsRollup() {
+        // default constructor for Hibernate
+    }
+
+    public StatisticsRollup(GraphType graphType, StatisticsView scope, long entityId, StatisticsRollupGranularity granularity, ZonedDateTime bucketStart, long amount) {
+        this.graphType = graphType;
+        this.scope = scope;
+        this.entityId = entityId;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.amount = amount;
+    }
+
+    public GraphType getGraphType() {
+        return graphType;
+    }
+
+    public void setGraphType(GraphType graphType) {
+        this.graphType = graphType;
+    }
+
+    public StatisticsView getScope() {
+        return scope;
+    }
+
+    public void setScope(StatisticsView scope) {
+        this.scope = scope;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(long entityId) {
+        this.entityId = entityId;
+    }
+
+    public StatisticsRollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(StatisticsRollupGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public ZonedDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(ZonedDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+}
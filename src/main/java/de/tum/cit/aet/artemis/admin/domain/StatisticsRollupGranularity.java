@@ -0,0 +1,8 @@
+package de.tum.cit.aet.artemis.admin.domain;
+
+/**
+ * The size of the time bucket a {@link StatisticsRollup} counter covers.
+ */
+public enum StatisticsRollupGranularity {
+    HOUR, DAY
+}
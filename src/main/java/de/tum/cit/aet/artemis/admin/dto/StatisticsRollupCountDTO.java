@@ -0,0 +1,17 @@
+package de.tum.cit.aet.artemis.admin.dto;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The number of entries of one exercise (or channel) within a rollup bucket, used to derive the exercise, course and instance wide statistics rollups.
+ *
+ * @param exerciseId the id of the exercise the entries belong to, null if they do not belong to an exercise
+ * @param courseId   the id of the course the entries count towards, null if they should not be counted for a course
+ * @param global     whether the entries count towards the instance wide statistics
+ * @param amount     the number of entries
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record StatisticsRollupCountDTO(@Nullable Long exerciseId, @Nullable Long courseId, boolean global, long amount) {
+}
@@ -0,0 +1,17 @@
+package de.tum.cit.aet.artemis.admin.dto;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A user that was active for one exercise within a rollup bucket, used to derive the distinct user counts of the statistics rollups.
+ *
+ * @param exerciseId the id of the exercise the user was active in
+ * @param courseId   the id of the course the activity counts towards, null for exam exercises
+ * @param global     whether the activity counts towards the instance wide statistics
+ * @param login      the login of the user
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record StatisticsRollupUserDTO(long exerciseId, @Nullable Long courseId, boolean global, String login) {
+}
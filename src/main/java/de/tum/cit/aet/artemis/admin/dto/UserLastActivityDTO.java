@@ -0,0 +1,15 @@
+package de.tum.cit.aet.artemis.admin.dto;
+
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The most recent submission date of a user within a queried time range.
+ *
+ * @param userId       the id of the user
+ * @param lastActivity the date of the latest submission of the user
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record UserLastActivityDTO(long userId, ZonedDateTime lastActivity) {
+}
@@ -23,9 +23,11 @@ import org.springframework.stereotype.Repository;
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.admin.domain.GraphType;
 import de.tum.cit.aet.artemis.admin.domain.StatisticsView;
-import de.tum.cit.aet.artemis.admin.dto.ActiveUserWindowCountsDTO;
 import de.tum.cit.aet.artemis.admin.dto.CourseStatisticsAverageScore;
 import de.tum.cit.aet.artemis.admin.dto.StatisticsEntry;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsRollupCountDTO;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsRollupUserDTO;
+import de.tum.cit.aet.artemis.admin.dto.UserLastActivityDTO;
 import de.tum.cit.aet.artemis.core.domain.SpanType;
 import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
 import de.tum.cit.aet.artemis.exercise.domain.Exercise;
@@ -103,30 +105,26 @@ public interface StatisticsRepository extends ArtemisJpaRepository<User, Long> {
     List<StatisticsEntry> getActiveUsers(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
 
     /**
-     * Return active user counts for multiple rolling windows in a single pass.
+     * Return the latest submission date of each (non-test) student that submitted within the given time range.
+     * Used to maintain the active user metrics incrementally: the range only has to cover the time since the previous calculation.
      *
-     * @param now            upper bound for submissions considered active
-     * @param nowMinus1Day   lower bound for 1-day window
-     * @param nowMinus7Days  lower bound for 7-day window
-     * @param nowMinus14Days lower bound for 14-day window
-     * @param nowMinus30Days lower bound for 30-day window
-     * @return aggregated active user counts for multiple windows
+     * @param since lower bound (inclusive) for submissions considered active
+     * @param now   upper bound (inclusive) for submissions considered active
+     * @return one entry per student with the date of their latest submission in the time range
      */
     @Query("""
-            SELECT new de.tum.cit.aet.artemis.admin.dto.ActiveUserWindowCountsDTO(
-                COUNT(DISTINCT CASE WHEN s.submissionDate >= :nowMinus1Day THEN student.id END),
-                COUNT(DISTINCT CASE WHEN s.submissionDate >= :nowMinus7Days THEN student.id END),
-                COUNT(DISTINCT CASE WHEN s.submissionDate >= :nowMinus14Days THEN student.id END),
-                COUNT(DISTINCT CASE WHEN s.submissionDate >= :nowMinus30Days THEN student.id END)
+            SELECT new de.tum.cit.aet.artemis.admin.dto.UserLastActivityDTO(
+                student.id,
+                MAX(s.submissionDate)
             )
             FROM Submission s
                 JOIN StudentParticipation p ON p.id = s.participation.id
                 JOIN p.student student
-            WHERE s.submissionDate BETWEEN :nowMinus30Days AND :now
+            WHERE s.submissionDate BETWEEN :since AND :now
                 AND LOWER(student.login) NOT LIKE '%test%'
+            GROUP BY student.id
             """)
-    ActiveUserWindowCountsDTO countActiveUsersByWindows(@Param("now") ZonedDateTime now, @Param("nowMinus1Day") ZonedDateTime nowMinus1Day,
-            @Param("nowMinus7Days") ZonedDateTime nowMinus7Days, @Param("nowMinus14Days") ZonedDateTime nowMinus14Days, @Param("nowMinus30Days") ZonedDateTime nowMinus30Days);
+    List<UserLastActivityDTO> findLastActivityPerUserBetween(@Param("since") ZonedDateTime since, @Param("now") ZonedDateTime now);
 
     @Query("""
             SELECT new de.tum.cit.aet.artemis.admin.dto.StatisticsEntry(
@@ -527,6 +525,175 @@ public interface StatisticsRepository extends ArtemisJpaRepository<User, Long> {
     List<StatisticsEntry> getResolvedExercisePostsInDateRange(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate,
             @Param("exerciseId") long exerciseId);
 
+    /**
+     * Counts the submissions per exercise within the half-open interval [startDate, endDate), used to compute the statistics rollups.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the number of submissions per exercise together with the course and global scope they count towards
+     */
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.admin.dto.StatisticsRollupCountDTO(
+                e.id,
+                course.id,
+                CASE WHEN e.exerciseGroup IS NOT NULL OR course.testCourse = FALSE THEN TRUE ELSE FALSE END,
+                COUNT(s.id)
+            )
+            FROM Submission s
+                JOIN s.participation p
+                JOIN p.exercise e
+                LEFT JOIN e.course course
+            WHERE s.submissionDate >= :startDate
+                AND s.submissionDate < :endDate
+            GROUP BY e.id, e.exerciseGroup.id, course.id, course.testCourse
+            """)
+    List<StatisticsRollupCountDTO> countSubmissionsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Counts the completed results per exercise within the half-open interval [startDate, endDate), used to compute the statistics rollups.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the number of results per exercise together with the course and global scope they count towards
+     */
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.admin.dto.StatisticsRollupCountDTO(
+                e.id,
+                course.id,
+                CASE WHEN e.exerciseGroup IS NOT NULL OR course.testCourse = FALSE THEN TRUE ELSE FALSE END,
+                COUNT(r.id)
+            )
+            FROM Result r
+                JOIN r.submission s
+                JOIN s.participation p
+                JOIN p.exercise e
+                LEFT JOIN e.course course
+            WHERE r.completionDate >= :startDate
+                AND r.completionDate < :endDate
+            GROUP BY e.id, e.exerciseGroup.id, course.id, course.testCourse
+            """)
+    List<StatisticsRollupCountDTO> countResultsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Counts the feedbacks of the results completed within the half-open interval [startDate, endDate) per exercise, used to compute the statistics rollups.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the number of feedbacks per exercise together with the course and global scope they count towards
+     */
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.admin.dto.StatisticsRollupCountDTO(
+                e.id,
+                course.id,
+                CASE WHEN e.exerciseGroup IS NOT NULL OR course.testCourse = FALSE THEN TRUE ELSE FALSE END,
+                SUM(SIZE(r.feedbacks))
+            )
+            FROM Result r
+                JOIN r.submission s
+                JOIN s.participation p
+                JOIN p.exercise e
+                LEFT JOIN e.course course
+            WHERE r.completionDate >= :startDate
+                AND r.completionDate < :endDate
+            GROUP BY e.id, e.exerciseGroup.id, course.id, course.testCourse
+            """)
+    List<StatisticsRollupCountDTO> countResultFeedbacksPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Counts the posts in channels within the half-open interval [startDate, endDate), grouped by the exercise and course of the channel, used to compute the statistics
+     * rollups. Only posts in course-wide channels count towards the course, just like in {@link #getPostsForCourseInDateRange}.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the number of posts per exercise and course
+     */
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.admin.dto.StatisticsRollupCountDTO(
+                channel.exercise.id,
+                CASE WHEN channel.isCourseWide = TRUE THEN channel.course.id ELSE NULL END,
+                FALSE,
+                COUNT(post.id)
+            )
+            FROM Post post
+                JOIN TREAT (post.conversation AS Channel) channel
+            WHERE post.creationDate >= :startDate
+                AND post.creationDate < :endDate
+            GROUP BY channel.exercise.id, channel.course.id, channel.isCourseWide
+            """)
+    List<StatisticsRollupCountDTO> countPostsPerChannelScope(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Finds the students that submitted within the half-open interval [startDate, endDate) per exercise, used to compute the distinct active user rollups.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the distinct (exercise, student) pairs together with the course and global scope they count towards
+     */
+    @Query("""
+            SELECT DISTINCT new de.tum.cit.aet.artemis.admin.dto.StatisticsRollupUserDTO(
+                e.id,
+                course.id,
+                CASE WHEN e.exerciseGroup IS NOT NULL OR course.testCourse = FALSE THEN TRUE ELSE FALSE END,
+                student.login
+            )
+            FROM StudentParticipation p
+                JOIN p.student student
+                JOIN p.submissions s
+                JOIN p.exercise e
+                LEFT JOIN e.course course
+            WHERE s.submissionDate >= :startDate
+                AND s.submissionDate < :endDate
+                AND student.login NOT LIKE '%test%'
+            """)
+    List<StatisticsRollupUserDTO> findActiveStudentsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Finds the tutors that completed a manual assessment within the half-open interval [startDate, endDate) per exercise, used to compute the distinct active tutor rollups.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the distinct (exercise, tutor) pairs together with the course and global scope they count towards
+     */
+    @Query("""
+            SELECT DISTINCT new de.tum.cit.aet.artemis.admin.dto.StatisticsRollupUserDTO(
+                e.id,
+                course.id,
+                CASE WHEN e.exerciseGroup IS NOT NULL OR course.testCourse = FALSE THEN TRUE ELSE FALSE END,
+                assessor.login
+            )
+            FROM Result r
+                JOIN r.assessor assessor
+                JOIN r.submission s
+                JOIN s.participation p
+                JOIN p.exercise e
+                LEFT JOIN e.course course
+            WHERE r.completionDate >= :startDate
+                AND r.completionDate < :endDate
+                AND (
+                    r.assessmentType = de.tum.cit.aet.artemis.assessment.domain.AssessmentType.MANUAL
+                    OR r.assessmentType = de.tum.cit.aet.artemis.assessment.domain.AssessmentType.SEMI_AUTOMATIC
+                ) AND assessor.login NOT LIKE '%test%'
+            """)
+    List<StatisticsRollupUserDTO> findActiveTutorsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Finds the distinct users that successfully logged in within the half-open interval [startDate, endDate), used to compute the logged-in user rollups.
+     *
+     * @param startDate the inclusive start of the interval
+     * @param endDate   the exclusive end of the interval
+     * @return the number of distinct users that logged in
+     */
+    @Query("""
+            SELECT COUNT(DISTINCT u.login)
+            FROM User u
+                JOIN PersistentAuditEvent p ON u.login = p.principal
+            WHERE p.auditEventType = 'AUTHENTICATION_SUCCESS'
+                AND u.login NOT LIKE '%test%'
+                AND p.auditEventDate >= :startDate
+                AND p.auditEventDate < :endDate
+            """)
+    long countDistinctLoggedInUsers(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
+
     @Query("""
             SELECT e.id
             FROM Exercise e
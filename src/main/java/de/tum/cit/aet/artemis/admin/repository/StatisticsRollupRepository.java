@@ -0,0 +1,72 @@
+package de.tum.cit.aet.artemis.admin.repository;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.cit.aet.artemis.admin.domain.GraphType;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsRollup;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsRollupGranularity;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsView;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsEntry;
+import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
+
+/**
+ * Spring Data JPA repository for the pre-aggregated {@link StatisticsRollup} counters.
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Repository
+public interface StatisticsRollupRepository extends ArtemisJpaRepository<StatisticsRollup, Long> {
+
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.admin.dto.StatisticsEntry(
+                r.bucketStart,
+                r.amount
+            )
+            FROM StatisticsRollup r
+            WHERE r.graphType = :graphType
+                AND r.scope = :scope
+                AND r.entityId = :entityId
+                AND r.granularity = :granularity
+                AND r.bucketStart >= :startDate
+                AND r.bucketStart <= :endDate
+            ORDER BY r.bucketStart ASC
+            """)
+    List<StatisticsEntry> findEntries(@Param("graphType") GraphType graphType, @Param("scope") StatisticsView scope, @Param("entityId") long entityId,
+            @Param("granularity") StatisticsRollupGranularity granularity, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Modifying
+    @Transactional // ok because of delete
+    @Query("""
+            DELETE FROM StatisticsRollup r
+            WHERE r.graphType = :graphType
+                AND r.granularity = :granularity
+                AND r.bucketStart = :bucketStart
+            """)
+    void deleteBucket(@Param("graphType") GraphType graphType, @Param("granularity") StatisticsRollupGranularity granularity, @Param("bucketStart") ZonedDateTime bucketStart);
+
+    /**
+     * Atomically replaces all counters (of all scopes) of one graph type in one time bucket, so that readers never observe a partially recomputed bucket.
+     *
+     * @param graphType   the graph type of the bucket
+     * @param granularity the granularity of the bucket
+     * @param bucketStart the start of the bucket
+     * @param rollups     the recomputed counters of the bucket
+     */
+    @Transactional // ok because of delete
+    default void replaceBucket(GraphType graphType, StatisticsRollupGranularity granularity, ZonedDateTime bucketStart, List<StatisticsRollup> rollups) {
+        deleteBucket(graphType, granularity, bucketStart);
+        flush();
+        saveAll(rollups);
+    }
+}
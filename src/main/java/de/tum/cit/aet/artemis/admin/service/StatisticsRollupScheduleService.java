@@ -0,0 +1,43 @@
+package de.tum.cit.aet.artemis.admin.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE_AND_SCHEDULING;
+
+import java.time.ZonedDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service responsible for keeping the statistics rollups of the current and the previous hour and day up to date.
+ * Older buckets are only recomputed on demand by a backfill (see {@link StatisticsRollupService#backfill}).
+ */
+@Lazy
+@Service
+@Profile(PROFILE_CORE_AND_SCHEDULING)
+public class StatisticsRollupScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupScheduleService.class);
+
+    private final StatisticsRollupService statisticsRollupService;
+
+    public StatisticsRollupScheduleService(StatisticsRollupService statisticsRollupService) {
+        this.statisticsRollupService = statisticsRollupService;
+    }
+
+    /**
+     * Recomputes the recent statistics rollups, by default every 10 minutes.
+     */
+    @Scheduled(cron = "${artemis.scheduling.statistics-rollup-time: 0 */10 * * * *}")
+    public void updateRecentRollups() {
+        if (!statisticsRollupService.isRollupEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        statisticsRollupService.updateRecentRollups(ZonedDateTime.now());
+        log.debug("Updated recent statistics rollups in {} ms", System.currentTimeMillis() - start);
+    }
+}
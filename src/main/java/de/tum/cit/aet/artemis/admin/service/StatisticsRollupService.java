@@ -0,0 +1,256 @@
+package de.tum.cit.aet.artemis.admin.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import de.tum.cit.aet.artemis.admin.domain.GraphType;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsRollup;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsRollupGranularity;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsView;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsEntry;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsRollupCountDTO;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsRollupUserDTO;
+import de.tum.cit.aet.artemis.admin.repository.StatisticsRepository;
+import de.tum.cit.aet.artemis.admin.repository.StatisticsRollupRepository;
+import de.tum.cit.aet.artemis.core.domain.SpanType;
+
+/**
+ * Maintains and reads the pre-aggregated {@link StatisticsRollup} counters of the statistics charts.
+ * <p>
+ * Rollups exist for the graph types that are based on the large, append-mostly tables (submissions, results, feedbacks, posts and audit events). Graph types based on
+ * exercise and exam dates (e.g. released exercises) only touch small tables whose dates are frequently edited, so they are still computed from the live data.
+ * <p>
+ * Additive counters are stored per hour and per day and can be summed into weeks and months. Distinct user counts cannot be summed across buckets, therefore they are only
+ * served from the rollups for spans whose chart bars map 1:1 to a rollup bucket (DAY, WEEK and MONTH).
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Service
+public class StatisticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupService.class);
+
+    private static final Set<GraphType> ADDITIVE_GRAPH_TYPES = EnumSet.of(GraphType.SUBMISSIONS, GraphType.CREATED_RESULTS, GraphType.CREATED_FEEDBACKS, GraphType.POSTS);
+
+    private static final Set<GraphType> DISTINCT_USER_GRAPH_TYPES = EnumSet.of(GraphType.ACTIVE_USERS, GraphType.ACTIVE_TUTORS, GraphType.LOGGED_IN_USERS);
+
+    private static final Set<SpanType> DISTINCT_USER_SPAN_TYPES = EnumSet.of(SpanType.DAY, SpanType.WEEK, SpanType.MONTH);
+
+    private final StatisticsRepository statisticsRepository;
+
+    private final StatisticsRollupRepository statisticsRollupRepository;
+
+    private final boolean rollupEnabled;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+
+    public StatisticsRollupService(StatisticsRepository statisticsRepository, StatisticsRollupRepository statisticsRollupRepository,
+            @Value("${artemis.statistics.rollup.enabled:false}") boolean rollupEnabled) {
+        this.statisticsRepository = statisticsRepository;
+        this.statisticsRollupRepository = statisticsRollupRepository;
+        this.rollupEnabled = rollupEnabled;
+    }
+
+    public boolean isRollupEnabled() {
+        return rollupEnabled;
+    }
+
+    public boolean isBackfillRunning() {
+        return backfillRunning.get();
+    }
+
+    /**
+     * Checks whether the chart data for the given combination can be read from the rollups instead of the live tables.
+     *
+     * @param graphType the type of graph
+     * @param span      the span of the chart
+     * @param view      the view in which the chart is displayed
+     * @return true if the rollups contain the data for this chart
+     */
+    public boolean isServedFromRollups(GraphType graphType, SpanType span, StatisticsView view) {
+        if (!rollupEnabled) {
+            return false;
+        }
+        if (graphType == GraphType.POSTS) {
+            // posts are not shown in the instance wide statistics, the live path rejects this view
+            return view != StatisticsView.ARTEMIS;
+        }
+        return ADDITIVE_GRAPH_TYPES.contains(graphType) || (DISTINCT_USER_GRAPH_TYPES.contains(graphType) && DISTINCT_USER_SPAN_TYPES.contains(span));
+    }
+
+    /**
+     * Reads the chart entries for the given time range from the rollups. The caller has to ensure that {@link #isServedFromRollups} holds for the arguments.
+     *
+     * @param graphType the type of graph
+     * @param span      the span of the chart, which determines the granularity of the rollups that are read
+     * @param startDate the start of the time range
+     * @param endDate   the end of the time range
+     * @param view      the view in which the chart is displayed
+     * @param entityId  the id of the course or exercise, null for the instance wide view
+     * @return one entry per non-empty rollup bucket, with the bucket start as day
+     */
+    public List<StatisticsEntry> getNumberOfEntriesPerTimeSlot(GraphType graphType, SpanType span, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view,
+            @Nullable Long entityId) {
+        var granularity = span == SpanType.DAY ? StatisticsRollupGranularity.HOUR : StatisticsRollupGranularity.DAY;
+        // logged-in users are only tracked instance wide, independent of the view (same as the live query)
+        if (graphType == GraphType.LOGGED_IN_USERS || view == StatisticsView.ARTEMIS || entityId == null) {
+            return statisticsRollupRepository.findEntries(graphType, StatisticsView.ARTEMIS, StatisticsRollup.GLOBAL_ENTITY_ID, granularity, startDate, endDate);
+        }
+        return statisticsRollupRepository.findEntries(graphType, view, entityId, granularity, startDate, endDate);
+    }
+
+    /**
+     * Recomputes the rollups of all graph types for the hour and the day containing the given point in time, as well as for the preceding hour and day, so that late
+     * arriving data (e.g. results completed shortly after the hour changed) is picked up.
+     *
+     * @param now the current point in time
+     */
+    public void updateRecentRollups(ZonedDateTime now) {
+        ZonedDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        ZonedDateTime currentDay = now.truncatedTo(ChronoUnit.DAYS);
+        rollupBucket(StatisticsRollupGranularity.HOUR, currentHour.minusHours(1));
+        rollupBucket(StatisticsRollupGranularity.HOUR, currentHour);
+        rollupBucket(StatisticsRollupGranularity.DAY, currentDay.minusDays(1));
+        rollupBucket(StatisticsRollupGranularity.DAY, currentDay);
+    }
+
+    /**
+     * Recomputes all hourly and daily rollups between the two dates. Running a backfill is idempotent, because every bucket is replaced as a whole.
+     * Only one backfill can run at a time, further invocations are ignored while a backfill is running.
+     *
+     * @param from the start of the backfill, truncated to the start of its day
+     * @param to   the end of the backfill
+     */
+    @Async
+    public void backfill(ZonedDateTime from, ZonedDateTime to) {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            log.warn("Ignoring statistics rollup backfill request, because a backfill is already running");
+            return;
+        }
+        try {
+            log.info("Starting statistics rollup backfill from {} to {}", from, to);
+            long start = System.nanoTime();
+            for (ZonedDateTime day = from.truncatedTo(ChronoUnit.DAYS); day.isBefore(to); day = day.plusDays(1)) {
+                rollupBucket(StatisticsRollupGranularity.DAY, day);
+                for (ZonedDateTime hour = day; hour.isBefore(day.plusDays(1)); hour = hour.plusHours(1)) {
+                    rollupBucket(StatisticsRollupGranularity.HOUR, hour);
+                }
+            }
+            log.info("Finished statistics rollup backfill from {} to {} in {} ms", from, to, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        catch (Exception e) {
+            log.error("Statistics rollup backfill from {} to {} failed", from, to, e);
+        }
+        finally {
+            backfillRunning.set(false);
+        }
+    }
+
+    /**
+     * Recomputes the rollups of all graph types for one bucket.
+     *
+     * @param granularity the granularity of the bucket
+     * @param bucketStart the start of the bucket
+     */
+    private void rollupBucket(StatisticsRollupGranularity granularity, ZonedDateTime bucketStart) {
+        ZonedDateTime bucketEnd = granularity == StatisticsRollupGranularity.HOUR ? bucketStart.plusHours(1) : bucketStart.plusDays(1);
+        for (GraphType graphType : ADDITIVE_GRAPH_TYPES) {
+            List<StatisticsRollupCountDTO> counts = switch (graphType) {
+                case SUBMISSIONS -> statisticsRepository.countSubmissionsPerExercise(bucketStart, bucketEnd);
+                case CREATED_RESULTS -> statisticsRepository.countResultsPerExercise(bucketStart, bucketEnd);
+                case CREATED_FEEDBACKS -> statisticsRepository.countResultFeedbacksPerExercise(bucketStart, bucketEnd);
+                case POSTS -> statisticsRepository.countPostsPerChannelScope(bucketStart, bucketEnd);
+                default -> throw new IllegalStateException("Unexpected additive graph type: " + graphType);
+            };
+            statisticsRollupRepository.replaceBucket(graphType, granularity, bucketStart, aggregateCounts(graphType, granularity, bucketStart, counts));
+        }
+        for (GraphType graphType : DISTINCT_USER_GRAPH_TYPES) {
+            List<StatisticsRollup> rollups = switch (graphType) {
+                case ACTIVE_USERS -> aggregateUsers(graphType, granularity, bucketStart, statisticsRepository.findActiveStudentsPerExercise(bucketStart, bucketEnd));
+                case ACTIVE_TUTORS -> aggregateUsers(graphType, granularity, bucketStart, statisticsRepository.findActiveTutorsPerExercise(bucketStart, bucketEnd));
+                case LOGGED_IN_USERS -> {
+                    long loggedInUsers = statisticsRepository.countDistinctLoggedInUsers(bucketStart.toInstant(), bucketEnd.toInstant());
+                    yield loggedInUsers == 0 ? List.of()
+                            : List.of(new StatisticsRollup(graphType, StatisticsView.ARTEMIS, StatisticsRollup.GLOBAL_ENTITY_ID, granularity, bucketStart, loggedInUsers));
+                }
+                default -> throw new IllegalStateException("Unexpected distinct user graph type: " + graphType);
+            };
+            statisticsRollupRepository.replaceBucket(graphType, granularity, bucketStart, rollups);
+        }
+    }
+
+    /**
+     * Sums up the per-exercise counts into exercise, course and instance wide rollups.
+     */
+    private static List<StatisticsRollup> aggregateCounts(GraphType graphType, StatisticsRollupGranularity granularity, ZonedDateTime bucketStart,
+            List<StatisticsRollupCountDTO> counts) {
+        Map<Long, Long> amountPerExercise = new HashMap<>();
+        Map<Long, Long> amountPerCourse = new HashMap<>();
+        long globalAmount = 0;
+        for (StatisticsRollupCountDTO count : counts) {
+            if (count.exerciseId() != null) {
+                amountPerExercise.merge(count.exerciseId(), count.amount(), Long::sum);
+            }
+            if (count.courseId() != null) {
+                amountPerCourse.merge(count.courseId(), count.amount(), Long::sum);
+            }
+            if (count.global()) {
+                globalAmount += count.amount();
+            }
+        }
+        List<StatisticsRollup> rollups = new ArrayList<>(amountPerExercise.size() + amountPerCourse.size() + 1);
+        amountPerExercise.forEach((exerciseId, amount) -> rollups.add(new StatisticsRollup(graphType, StatisticsView.EXERCISE, exerciseId, granularity, bucketStart, amount)));
+        amountPerCourse.forEach((courseId, amount) -> rollups.add(new StatisticsRollup(graphType, StatisticsView.COURSE, courseId, granularity, bucketStart, amount)));
+        if (globalAmount > 0) {
+            rollups.add(new StatisticsRollup(graphType, StatisticsView.ARTEMIS, StatisticsRollup.GLOBAL_ENTITY_ID, granularity, bucketStart, globalAmount));
+        }
+        return rollups;
+    }
+
+    /**
+     * Counts the distinct users per exercise, per course and instance wide.
+     */
+    private static List<StatisticsRollup> aggregateUsers(GraphType graphType, StatisticsRollupGranularity granularity, ZonedDateTime bucketStart,
+            List<StatisticsRollupUserDTO> users) {
+        Map<Long, Set<String>> usersPerExercise = new HashMap<>();
+        Map<Long, Set<String>> usersPerCourse = new HashMap<>();
+        Set<String> globalUsers = new HashSet<>();
+        for (StatisticsRollupUserDTO user : users) {
+            usersPerExercise.computeIfAbsent(user.exerciseId(), k -> new HashSet<>()).add(user.login());
+            if (user.courseId() != null) {
+                usersPerCourse.computeIfAbsent(user.courseId(), k -> new HashSet<>()).add(user.login());
+            }
+            if (user.global()) {
+                globalUsers.add(user.login());
+            }
+        }
+        List<StatisticsRollup> rollups = new ArrayList<>(usersPerExercise.size() + usersPerCourse.size() + 1);
+        usersPerExercise.forEach(
+                (exerciseId, logins) -> rollups.add(new StatisticsRollup(graphType, StatisticsView.EXERCISE, exerciseId, granularity, bucketStart, logins.size())));
+        usersPerCourse.forEach((courseId, logins) -> rollups.add(new StatisticsRollup(graphType, StatisticsView.COURSE, courseId, granularity, bucketStart, logins.size())));
+        if (!globalUsers.isEmpty()) {
+            rollups.add(new StatisticsRollup(graphType, StatisticsView.ARTEMIS, StatisticsRollup.GLOBAL_ENTITY_ID, granularity, bucketStart, globalUsers.size()));
+        }
+        return rollups;
+    }
+}
@@ -70,9 +70,11 @@ public class StatisticsService {
 
     private final GradingScaleRepository gradingScaleRepository;
 
+    private final StatisticsRollupService statisticsRollupService;
+
     public StatisticsService(StatisticsRepository statisticsRepository, ParticipantScoreRepository participantScoreRepository, CourseRepository courseRepository,
             ExerciseRepository exerciseRepository, UserRepository userRepository, TeamRepository teamRepository, StudentParticipationRepository studentParticipationRepository,
-            GradingScaleRepository gradingScaleRepository) {
+            GradingScaleRepository gradingScaleRepository, StatisticsRollupService statisticsRollupService) {
         this.statisticsRepository = statisticsRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.courseRepository = courseRepository;
@@ -81,6 +83,7 @@ public class StatisticsService {
         this.teamRepository = teamRepository;
         this.studentParticipationRepository = studentParticipationRepository;
         this.gradingScaleRepository = gradingScaleRepository;
+        this.statisticsRollupService = statisticsRollupService;
     }
 
     /**
@@ -110,20 +113,20 @@ public class StatisticsService {
             case DAY -> {
                 startDate = now.minusDays(-periodIndex).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusDays(-periodIndex).withHour(23).withMinute(59).withSecond(59);
-                outcome = statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 sortDataIntoHours(outcome, result);
             }
             case WEEK -> {
                 startDate = now.minusWeeks(-periodIndex).minusDays(6).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusWeeks(-periodIndex).withHour(23).withMinute(59).withSecond(59);
-                outcome = statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 sortDataIntoDays(outcome, result, startDate);
             }
             case MONTH -> {
                 startDate = now.minusMonths(1L - periodIndex).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusMonths(-periodIndex).withHour(23).withMinute(59).withSecond(59);
                 result = new ArrayList<>(Collections.nCopies((int) ChronoUnit.DAYS.between(startDate, endDate), 0));
-                outcome = statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate.plusDays(1), endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate.plusDays(1), endDate, view, entityId);
                 sortDataIntoDays(outcome, result, startDate.plusDays(1));
             }
             case QUARTER -> {
@@ -133,20 +136,31 @@ public class StatisticsService {
                 startDate = localStartDate.atZone(zone).minusWeeks(11 + (12L * (-periodIndex))).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = periodIndex != 0 ? localEndDate.atZone(zone).minusWeeks(12L * (-periodIndex)).withHour(23).withMinute(59).withSecond(59)
                         : localEndDate.atZone(zone).withHour(23).withMinute(59).withSecond(59);
-                outcome = statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 sortDataIntoWeeks(outcome, result, startDate);
             }
             case YEAR -> {
                 startDate = now.minusYears(1L - periodIndex).plusMonths(1).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 lengthOfMonth = YearMonth.of(now.minusYears(-periodIndex).getYear(), now.minusYears(-periodIndex).getMonth()).lengthOfMonth();
                 endDate = now.minusYears(-periodIndex).withDayOfMonth(lengthOfMonth).withHour(23).withMinute(59).withSecond(59);
-                outcome = statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 sortDataIntoMonths(outcome, result, startDate);
             }
         }
         return result;
     }
 
+    /**
+     * Reads the entries of a chart from the pre-aggregated rollups if they cover the requested graph, and otherwise groups the live data.
+     */
+    private List<StatisticsEntry> getNumberOfEntriesPerTimeSlot(GraphType graphType, SpanType span, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view,
+            @Nullable Long entityId) {
+        if (statisticsRollupService.isServedFromRollups(graphType, span, view)) {
+            return statisticsRollupService.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+        return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+    }
+
     /**
      * A map to manage the spanTypes and the corresponding array length of the result
      */
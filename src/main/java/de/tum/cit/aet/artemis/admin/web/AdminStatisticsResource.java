@@ -2,6 +2,7 @@ package de.tum.cit.aet.artemis.admin.web;
 
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -10,6 +11,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,8 +19,11 @@ import org.springframework.web.bind.annotation.RestController;
 import de.tum.cit.aet.artemis.admin.config.LegacyAdminRestPaths;
 import de.tum.cit.aet.artemis.admin.domain.GraphType;
 import de.tum.cit.aet.artemis.admin.domain.StatisticsView;
+import de.tum.cit.aet.artemis.admin.service.StatisticsRollupService;
 import de.tum.cit.aet.artemis.admin.service.StatisticsService;
 import de.tum.cit.aet.artemis.core.domain.SpanType;
+import de.tum.cit.aet.artemis.core.exception.BadRequestAlertException;
+import de.tum.cit.aet.artemis.core.exception.ConflictException;
 import de.tum.cit.aet.artemis.core.security.annotations.EnforceAdmin;
 
 /**
@@ -34,10 +39,15 @@ public class AdminStatisticsResource {
 
     private static final Logger log = LoggerFactory.getLogger(AdminStatisticsResource.class);
 
+    private static final String ENTITY_NAME = "statisticsRollup";
+
     private final StatisticsService statisticsService;
 
-    public AdminStatisticsResource(StatisticsService statisticsService) {
+    private final StatisticsRollupService statisticsRollupService;
+
+    public AdminStatisticsResource(StatisticsService statisticsService, StatisticsRollupService statisticsRollupService) {
         this.statisticsService = statisticsService;
+        this.statisticsRollupService = statisticsRollupService;
     }
 
     /**
@@ -53,4 +63,28 @@ public class AdminStatisticsResource {
         log.debug("REST request to get graph data");
         return ResponseEntity.ok(this.statisticsService.getChartData(span, periodIndex, graphType, StatisticsView.ARTEMIS, null));
     }
+
+    /**
+     * POST admin/management/statistics/rollups/backfill : recompute the pre-aggregated statistics rollups of the last days in the background.
+     * This is needed after enabling the rollups and whenever the rollups should reflect retroactive changes of older data.
+     *
+     * @param days the number of days (including today) for which the rollups should be recomputed, by default enough to cover the YEAR span of the charts
+     * @return the ResponseEntity with status 200 (OK) if the backfill was started, 400 (Bad Request) if the rollups are disabled, or 409 (Conflict) if a backfill is running
+     */
+    @PostMapping("management/statistics/rollups/backfill")
+    public ResponseEntity<Void> backfillStatisticsRollups(@RequestParam(defaultValue = "400") int days) {
+        log.info("REST request to backfill the statistics rollups of the last {} days", days);
+        if (!statisticsRollupService.isRollupEnabled()) {
+            throw new BadRequestAlertException("The statistics rollups are not enabled", ENTITY_NAME, "rollupsDisabled");
+        }
+        if (days < 1) {
+            throw new BadRequestAlertException("The number of days must be positive", ENTITY_NAME, "invalidDays");
+        }
+        if (statisticsRollupService.isBackfillRunning()) {
+            throw new ConflictException("A statistics rollup backfill is already running", ENTITY_NAME, "backfillRunning");
+        }
+        ZonedDateTime now = ZonedDateTime.now();
+        statisticsRollupService.backfill(now.minusDays(days - 1L), now);
+        return ResponseEntity.ok().build();
+    }
 }
@@ -0,0 +1,13 @@
+package de.tum.cit.aet.artemis.assessment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The id of a result together with the id of the student the result belongs to.
+ *
+ * @param resultId  the id of the result
+ * @param studentId the id of the student of the result's participation
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ResultIdAndStudentIdDTO(long resultId, long studentId) {
+}
@@ -0,0 +1,14 @@
+package de.tum.cit.aet.artemis.assessment.dto.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The number of finished assessments of an exercise for the assessment dashboard.
+ *
+ * @param exerciseId                     the id of the exercise
+ * @param numberOfFirstRoundAssessments  the number of participations with at least one finished assessment
+ * @param numberOfSecondRoundAssessments the number of participations with at least two finished assessments, always 0 for course exercises
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ExerciseAssessmentCountsDTO(long exerciseId, long numberOfFirstRoundAssessments, long numberOfSecondRoundAssessments) {
+}
@@ -30,9 +30,10 @@ import de.tum.cit.aet.artemis.assessment.domain.ExampleSubmission;
 import de.tum.cit.aet.artemis.assessment.domain.Feedback;
 import de.tum.cit.aet.artemis.assessment.domain.GradingCriterion;
 import de.tum.cit.aet.artemis.assessment.domain.Result;
+import de.tum.cit.aet.artemis.assessment.dto.ResultIdAndStudentIdDTO;
 import de.tum.cit.aet.artemis.assessment.dto.ResultWithPointsPerGradingCriterionDTO;
+import de.tum.cit.aet.artemis.assessment.dto.dashboard.ExerciseAssessmentCountsDTO;
 import de.tum.cit.aet.artemis.assessment.dto.tutor.TutorLeaderboardAssessmentsDTO;
-import de.tum.cit.aet.artemis.core.domain.DomainObject;
 import de.tum.cit.aet.artemis.core.dto.DueDateStat;
 import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
 import de.tum.cit.aet.artemis.core.util.RoundingUtil;
@@ -118,8 +119,14 @@ public interface ResultRepository extends ArtemisJpaRepository<Result, Long> {
             """)
     List<Result> findWithEagerSubmissionAndFeedbackByExerciseId(@Param("exerciseId") long exerciseId);
 
+    /**
+     * Get the ids of the latest automatic results of each student in an exercise together with the id of the student.
+     *
+     * @param exerciseId the id of the exercise
+     * @return the ids of the latest automatic results with the ids of their students
+     */
     @Query("""
-            SELECT DISTINCT r
+            SELECT DISTINCT new de.tum.cit.aet.artemis.assessment.dto.ResultIdAndStudentIdDTO(r.id, sp.student.id)
             FROM Result r
                 LEFT JOIN TREAT(r.submission.participation AS ProgrammingExerciseStudentParticipation) sp
             WHERE r.completionDate = (
@@ -132,29 +139,12 @@ public interface ResultRepository extends ArtemisJpaRepository<Result, Long> {
                 )
                 AND sp.exercise.id = :exerciseId
                 AND sp.student IS NOT NULL
-            ORDER BY r.completionDate ASC
             """)
-    List<Result> findLatestAutomaticResultsForExercise(@Param("exerciseId") long exerciseId);
+    List<ResultIdAndStudentIdDTO> findLatestAutomaticResultIdsWithStudentIdForExercise(@Param("exerciseId") long exerciseId);
 
     @EntityGraph(type = LOAD, attributePaths = { "feedbacks", "feedbacks.testCase" })
     List<Result> findResultsWithFeedbacksAndTestCaseByIdIn(List<Long> ids);
 
-    /**
-     * Get the latest results for each programming exercise student participation in an exercise from the database together with the list of feedback items.
-     *
-     * @param exerciseId the id of the exercise to load from the database
-     * @return a list of results.
-     */
-    default List<Result> findLatestAutomaticResultsWithEagerFeedbacksTestCasesForExercise(long exerciseId) {
-        List<Long> ids = findLatestAutomaticResultsForExercise(exerciseId).stream().map(DomainObject::getId).toList();
-
-        if (ids.isEmpty()) {
-            return List.of();
-        }
-
-        return findResultsWithFeedbacksAndTestCaseByIdIn(ids);
-    }
-
     Optional<Result> findFirstBySubmissionParticipationIdOrderByCompletionDateDesc(long participationId);
 
     @EntityGraph(type = LOAD, attributePaths = { "feedbacks", "feedbacks.testCase" })
@@ -374,25 +364,60 @@ public interface ResultRepository extends ArtemisJpaRepository<Result, Long> {
     List<Long> countNumberOfLockedAssessmentsByOtherTutorsForExamExerciseForCorrectionRoundsIgnoreTestRuns(@Param("exerciseId") long exerciseId, @Param("tutorId") long tutorId);
 
     /**
-     * count the number of finished assessments of an exam with given exerciseIds
+     * Counts the finished assessments of all course exercises of the given course in one query, ignoring test runs.
+     * For programming exercises all assessed submitted participations are counted, for other exercises only rated results of submissions before the due date.
      *
-     * @param exerciseIds ids of the exercises
-     * @return a list that contains the count of manual assessments for each studentParticipation of the exercise ids
+     * @param courseId the id of the course
+     * @return the number of participations with a finished assessment per exercise, exercises without assessments are omitted
      */
     @Query("""
-            SELECT COUNT(r.id)
+            SELECT new de.tum.cit.aet.artemis.assessment.dto.dashboard.ExerciseAssessmentCountsDTO(e.id, COUNT(DISTINCT p), 0L)
             FROM StudentParticipation p
                 JOIN p.submissions s
                 JOIN s.results r
-            WHERE p.exercise.id IN :exerciseIds
+                JOIN p.exercise e
+            WHERE e.course.id = :courseId
                 AND p.testRun = FALSE
                 AND s.submitted = TRUE
-                AND r.completionDate IS NOT NULL
-                AND r.rated = TRUE
                 AND r.assessor IS NOT NULL
-            GROUP BY p.id
+                AND r.completionDate IS NOT NULL
+                AND (
+                    TYPE(e) = ProgrammingExercise
+                    OR (r.rated = TRUE AND (e.dueDate IS NULL OR s.submissionDate <= e.dueDate))
+                )
+            GROUP BY e.id
             """)
-    List<Long> countNumberOfFinishedAssessmentsByExerciseIdsIgnoreTestRuns(@Param("exerciseIds") Collection<Long> exerciseIds);
+    List<ExerciseAssessmentCountsDTO> countFinishedAssessmentsPerExerciseByCourseIdIgnoreTestRuns(@Param("courseId") long courseId);
+
+    /**
+     * Counts the finished assessments of all exercises of the given exam per correction round in one query, ignoring test runs.
+     * The inner query counts the finished manual results of each participation, the outer query counts the participations with at least one or two of them.
+     *
+     * @param examId the id of the exam
+     * @return the number of participations with a finished first and second assessment per exercise, exercises without assessments are omitted
+     */
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.assessment.dto.dashboard.ExerciseAssessmentCountsDTO(
+                resultCounts.exerciseId,
+                SUM(CASE WHEN resultCounts.numberOfResults >= 1 THEN 1L ELSE 0L END),
+                SUM(CASE WHEN resultCounts.numberOfResults >= 2 THEN 1L ELSE 0L END)
+            )
+            FROM (
+                SELECT p.exercise.id AS exerciseId, COUNT(r.id) AS numberOfResults
+                FROM StudentParticipation p
+                    JOIN p.submissions s
+                    JOIN s.results r
+                WHERE p.exercise.exerciseGroup.exam.id = :examId
+                    AND p.testRun = FALSE
+                    AND s.submitted = TRUE
+                    AND r.completionDate IS NOT NULL
+                    AND r.rated = TRUE
+                    AND r.assessor IS NOT NULL
+                GROUP BY p.exercise.id, p.id
+            ) AS resultCounts
+            GROUP BY resultCounts.exerciseId
+            """)
+    List<ExerciseAssessmentCountsDTO> countFinishedAssessmentsPerExerciseAndCorrectionRoundByExamIdIgnoreTestRuns(@Param("examId") long examId);
 
     @Query("""
             SELECT COUNT(DISTINCT p)
@@ -553,22 +578,6 @@ public interface ResultRepository extends ArtemisJpaRepository<Result, Long> {
         return convertDatabaseResponseToDueDateStats(resultsCountLockedByOtherTutors, numberOfCorrectionRounds);
     }
 
-    /**
-     * Use this method only for exams!
-     * Given an exerciseId and the number of correctionRounds, return the number of assessments that have been finished, for that exerciseId and each correctionRound
-     *
-     * @param exerciseIds              - the exercise ids of the exam we are interested in
-     * @param numberOfCorrectionRounds - the correction round we want finished assessments for
-     * @return an array of the number of assessments for the exercise for a given correction round
-     */
-    default DueDateStat[] countNumberOfFinishedAssessmentsForExamForCorrectionRounds(Collection<Long> exerciseIds, int numberOfCorrectionRounds) {
-
-        // here we receive a list which contains an entry for each student participation of the exam.
-        // the entry simply is the number of already created and submitted manual results, so the number is either 1 or 2
-        List<Long> countList = countNumberOfFinishedAssessmentsByExerciseIdsIgnoreTestRuns(exerciseIds);
-        return convertDatabaseResponseToDueDateStats(countList, numberOfCorrectionRounds);
-    }
-
     /**
      * Takes the Long List database response and converts it to the according DueDateStats
      *
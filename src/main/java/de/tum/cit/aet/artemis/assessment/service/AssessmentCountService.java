@@ -0,0 +1,122 @@
+package de.tum.cit.aet.artemis.assessment.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import de.tum.cit.aet.artemis.assessment.dto.dashboard.ExerciseAssessmentCountsDTO;
+import de.tum.cit.aet.artemis.assessment.repository.ResultRepository;
+import de.tum.cit.aet.artemis.core.dto.DueDateStat;
+
+/**
+ * Provides the number of finished assessments per exercise and correction round for the assessment dashboards.
+ * <p>
+ * The counts of all exercises of a course or an exam are loaded with a single aggregate query. Tutors refresh the dashboards constantly during grading sessions, so the counts
+ * are kept in a short-lived node-local cache keyed by the course or exam and the number of correction rounds. The dashboards can therefore lag behind by at most the configured
+ * time to live.
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Service
+public class AssessmentCountService {
+
+    private final ResultRepository resultRepository;
+
+    private final Duration cacheTimeToLive;
+
+    private final Map<AssessmentCountsKey, CachedAssessmentCounts> cache = new ConcurrentHashMap<>();
+
+    public AssessmentCountService(ResultRepository resultRepository, @Value("${artemis.assessment-dashboard.counts-cache-seconds:30}") long cacheTimeToLiveSeconds) {
+        this.resultRepository = resultRepository;
+        this.cacheTimeToLive = Duration.ofSeconds(cacheTimeToLiveSeconds);
+    }
+
+    /**
+     * The scope of the cached counts: a course (with a single correction round) or an exam with its number of correction rounds.
+     */
+    private record AssessmentCountsKey(long courseId, long examId, int numberOfCorrectionRounds) {
+    }
+
+    private record CachedAssessmentCounts(Instant expiresAt, Map<Long, ExerciseAssessmentCountsDTO> counts) {
+    }
+
+    /**
+     * Returns the number of finished assessments of all course exercises of the given course.
+     *
+     * @param courseId the id of the course
+     * @return the counts per exercise id, exercises without assessments are omitted
+     */
+    public Map<Long, ExerciseAssessmentCountsDTO> getAssessmentCountsOfCourse(long courseId) {
+        return getCached(new AssessmentCountsKey(courseId, 0L, 1), () -> resultRepository.countFinishedAssessmentsPerExerciseByCourseIdIgnoreTestRuns(courseId));
+    }
+
+    /**
+     * Returns the number of finished assessments per correction round of all exercises of the given exam.
+     *
+     * @param examId                   the id of the exam
+     * @param numberOfCorrectionRounds the number of correction rounds of the exam, 0 for test exams
+     * @return the counts per exercise id, exercises without assessments are omitted
+     */
+    public Map<Long, ExerciseAssessmentCountsDTO> getAssessmentCountsOfExam(long examId, int numberOfCorrectionRounds) {
+        if (numberOfCorrectionRounds == 0) {
+            // test exams are not assessed manually
+            return Map.of();
+        }
+        return getCached(new AssessmentCountsKey(0L, examId, numberOfCorrectionRounds),
+                () -> resultRepository.countFinishedAssessmentsPerExerciseAndCorrectionRoundByExamIdIgnoreTestRuns(examId));
+    }
+
+    /**
+     * Converts the counts of one exercise (or the sum of several exercises) into one {@link DueDateStat} per correction round.
+     *
+     * @param counts                   the counts to convert
+     * @param numberOfCorrectionRounds the number of correction rounds, 0 for test exams
+     * @return an array with the number of finished assessments for each correction round
+     */
+    public static DueDateStat[] toCorrectionRoundStats(Collection<ExerciseAssessmentCountsDTO> counts, int numberOfCorrectionRounds) {
+        DueDateStat[] correctionRoundsDataStats = new DueDateStat[numberOfCorrectionRounds];
+        // numberOfCorrectionRounds can be 0 for test exams
+        if (numberOfCorrectionRounds == 0) {
+            return correctionRoundsDataStats;
+        }
+        correctionRoundsDataStats[0] = new DueDateStat(counts.stream().mapToLong(ExerciseAssessmentCountsDTO::numberOfFirstRoundAssessments).sum(), 0L);
+        // so far the number of correctionRounds is limited to 2
+        if (numberOfCorrectionRounds == 2) {
+            correctionRoundsDataStats[1] = new DueDateStat(counts.stream().mapToLong(ExerciseAssessmentCountsDTO::numberOfSecondRoundAssessments).sum(), 0L);
+        }
+        return correctionRoundsDataStats;
+    }
+
+    private Map<Long, ExerciseAssessmentCountsDTO> getCached(AssessmentCountsKey key, Supplier<List<ExerciseAssessmentCountsDTO>> query) {
+        if (cacheTimeToLive.isZero()) {
+            return toMap(query.get());
+        }
+        Instant now = Instant.now();
+        CachedAssessmentCounts cached = cache.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.counts();
+        }
+        // the cache only holds the courses and exams assessed at the moment, so removing the expired entries here keeps it small
+        cache.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+        Map<Long, ExerciseAssessmentCountsDTO> counts = toMap(query.get());
+        cache.put(key, new CachedAssessmentCounts(now.plus(cacheTimeToLive), counts));
+        return counts;
+    }
+
+    private static Map<Long, ExerciseAssessmentCountsDTO> toMap(List<ExerciseAssessmentCountsDTO> counts) {
+        return counts.stream().collect(Collectors.toUnmodifiableMap(ExerciseAssessmentCountsDTO::exerciseId, Function.identity()));
+    }
+}
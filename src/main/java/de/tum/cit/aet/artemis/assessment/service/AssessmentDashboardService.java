@@ -3,7 +3,9 @@ package de.tum.cit.aet.artemis.assessment.service;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -15,11 +17,12 @@ import org.springframework.stereotype.Service;
 
 import de.tum.cit.aet.artemis.assessment.domain.ExampleSubmission;
 import de.tum.cit.aet.artemis.assessment.domain.TutorParticipation;
+import de.tum.cit.aet.artemis.assessment.dto.dashboard.ExerciseAssessmentCountsDTO;
 import de.tum.cit.aet.artemis.assessment.dto.dashboard.ExerciseMapEntryDTO;
 import de.tum.cit.aet.artemis.assessment.repository.ExampleSubmissionRepository;
-import de.tum.cit.aet.artemis.assessment.repository.ResultRepository;
 import de.tum.cit.aet.artemis.core.dto.DueDateStat;
 import de.tum.cit.aet.artemis.core.util.TimeLogUtil;
+import de.tum.cit.aet.artemis.exam.domain.Exam;
 import de.tum.cit.aet.artemis.exercise.domain.Exercise;
 import de.tum.cit.aet.artemis.exercise.repository.SubmissionRepository;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExercise;
@@ -44,16 +47,16 @@ public class AssessmentDashboardService {
 
     private final RatingService ratingService;
 
-    private final ResultRepository resultRepository;
+    private final AssessmentCountService assessmentCountService;
 
     private final ExampleSubmissionRepository exampleSubmissionRepository;
 
     public AssessmentDashboardService(ComplaintService complaintService, ProgrammingExerciseRepository programmingExerciseRepository, SubmissionRepository submissionRepository,
-            ResultRepository resultRepository, ExampleSubmissionRepository exampleSubmissionRepository, RatingService ratingService) {
+            AssessmentCountService assessmentCountService, ExampleSubmissionRepository exampleSubmissionRepository, RatingService ratingService) {
         this.complaintService = complaintService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.submissionRepository = submissionRepository;
-        this.resultRepository = resultRepository;
+        this.assessmentCountService = assessmentCountService;
         this.exampleSubmissionRepository = exampleSubmissionRepository;
         this.ratingService = ratingService;
     }
@@ -83,37 +86,16 @@ public class AssessmentDashboardService {
         log.debug("Finished >> assessmentDashboardService.calculateNumberOfSubmissions all << in {}", TimeLogUtil.formatDurationFrom(start));
         start = System.nanoTime();
 
-        // NOTE: similar to calculateNumberOfSubmissions the number of assessments could be calculated outside the loop for a performance boost.
-        // This won't be as straight forward as we have to consider correction rounds
+        // the number of assessments of all exercises is counted with one aggregate query per course or exam (including the correction rounds of exams)
+        final Map<Long, ExerciseAssessmentCountsDTO> assessmentCounts = loadAssessmentCounts(exercises, examMode);
+        log.debug("Finished >> assessmentCountService.loadAssessmentCounts all << in {}", TimeLogUtil.formatDurationFrom(start));
 
         // parts of this loop can possibly still be extracted
         for (Exercise exercise : exercises) {
-            long numberOfAssessments;
-
-            if (exercise instanceof ProgrammingExercise) {
-                numberOfAssessments = programmingExerciseRepository.countAssessmentsByExerciseIdSubmitted(exercise.getId());
-                log.debug("Finished >> programmingExerciseRepository.countAssessmentsByExerciseIdSubmitted << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            else {
-                numberOfAssessments = resultRepository.countNumberOfFinishedAssessmentsForExercise(exercise.getId());
-                log.debug("Finished >> resultRepository.countNumberOfFinishedAssessmentsForExercise << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            start = System.nanoTime();
-
-            final DueDateStat[] numberOfAssessmentsOfCorrectionRounds;
-            if (examMode) {
-                // set number of corrections specific to each correction round
-                int numberOfCorrectionRounds = exercise.getExerciseGroup().getExam().getNumberOfCorrectionRoundsInExam();
-                numberOfAssessmentsOfCorrectionRounds = resultRepository.countNumberOfFinishedAssessmentsForExamExerciseForCorrectionRounds(exercise, numberOfCorrectionRounds);
-                log.debug("Finished >> resultRepository.countNumberOfFinishedAssessmentsForExamExerciseForCorrectionRounds << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            else {
-                // no examMode here, so correction rounds defaults to 1 and is the same as numberOfAssessments
-                numberOfAssessmentsOfCorrectionRounds = new DueDateStat[] { new DueDateStat(numberOfAssessments, 0L) };
-            }
+            final var exerciseAssessmentCounts = assessmentCounts.getOrDefault(exercise.getId(), new ExerciseAssessmentCountsDTO(exercise.getId(), 0L, 0L));
+            // set number of corrections specific to each correction round, without examMode the correction rounds default to 1
+            final int numberOfCorrectionRounds = examMode ? exercise.getExerciseGroup().getExam().getNumberOfCorrectionRoundsInExam() : 1;
+            final DueDateStat[] numberOfAssessmentsOfCorrectionRounds = AssessmentCountService.toCorrectionRoundStats(List.of(exerciseAssessmentCounts), numberOfCorrectionRounds);
 
             exercise.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds);
             // numberOfAssessmentsOfCorrectionRounds can be length 0 for test exams
@@ -148,6 +130,26 @@ public class AssessmentDashboardService {
         log.debug("Finished >> generateStatisticsForExercisesForAssessmentDashboard << call in {}", TimeLogUtil.formatDurationFrom(startComplete));
     }
 
+    /**
+     * Loads the number of finished assessments of the given exercises. The exercises of a dashboard belong to a single course or exam, so usually only one query is executed.
+     *
+     * @param exercises the exercises for which the number of assessments should be fetched
+     * @param examMode  if the exercises are part of an exam
+     * @return the number of assessments per exercise id
+     */
+    private Map<Long, ExerciseAssessmentCountsDTO> loadAssessmentCounts(Set<Exercise> exercises, boolean examMode) {
+        final Map<Long, ExerciseAssessmentCountsDTO> assessmentCounts = new HashMap<>();
+        if (examMode) {
+            exercises.stream().map(exercise -> exercise.getExerciseGroup().getExam()).collect(Collectors.toMap(Exam::getId, Exam::getNumberOfCorrectionRoundsInExam, (first, _) -> first))
+                    .forEach((examId, numberOfCorrectionRounds) -> assessmentCounts.putAll(assessmentCountService.getAssessmentCountsOfExam(examId, numberOfCorrectionRounds)));
+        }
+        else {
+            exercises.stream().map(exercise -> exercise.getCourseViaExerciseGroupOrCourseMember().getId()).distinct()
+                    .forEach(courseId -> assessmentCounts.putAll(assessmentCountService.getAssessmentCountsOfCourse(courseId)));
+        }
+        return assessmentCounts;
+    }
+
     /**
      * This method fetches and stores the number of submissions for each exercise.
      *
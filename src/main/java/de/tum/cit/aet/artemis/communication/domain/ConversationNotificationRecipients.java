@@ -0,0 +1,51 @@
+package de.tum.cit.aet.artemis.communication.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.tum.cit.aet.artemis.account.domain.User;
+
+/**
+ * The audiences of the notifications about a new message in a conversation, partitioned from the recipient summaries of the conversation in a single pass.
+ *
+ * @param recipientIds           the ids of all recipients including the author, e.g. to update their unread messages
+ * @param notificationRecipients the users that receive the new post or announcement notification, excluding the author
+ */
+public record ConversationNotificationRecipients(Set<Long> recipientIds, List<User> notificationRecipients) {
+
+    /**
+     * Partitions the recipients of a new message. Each recipient is mapped to a {@link User} at most once, and mentioned users are looked up in a sorted array of their ids,
+     * so that the partitioning stays linear in the number of recipients for channels with many members.
+     *
+     * @param recipientSummaries  the recipient summaries of the conversation
+     * @param authorId            the id of the author of the message
+     * @param mentionedUserIds    the ids of the mentioned users, which receive a separate mention notification instead of the new post notification
+     * @param isAnnouncement      true if the message is an announcement, which is sent to all recipients even if they muted or hid the channel or were mentioned
+     * @param isVisibleToStudents true if the conversation is visible to students, otherwise only recipients that are at least tutors in the course are notified
+     * @return the recipient ids and the recipients of the new post or announcement notification
+     */
+    public static ConversationNotificationRecipients partition(Collection<ConversationNotificationRecipientSummary> recipientSummaries, long authorId,
+            Collection<Long> mentionedUserIds, boolean isAnnouncement, boolean isVisibleToStudents) {
+        long[] sortedMentionedUserIds = mentionedUserIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        Set<Long> recipientIds = new HashSet<>(recipientSummaries.size() * 4 / 3 + 1);
+        List<User> notificationRecipients = new ArrayList<>(recipientSummaries.size());
+
+        for (ConversationNotificationRecipientSummary summary : recipientSummaries) {
+            recipientIds.add(summary.userId());
+            if (summary.userId() == authorId) {
+                continue;
+            }
+            boolean isNotified = isAnnouncement || (summary.shouldNotifyRecipient() && (isVisibleToStudents || summary.isAtLeastTutorInCourse())
+                    && Arrays.binarySearch(sortedMentionedUserIds, summary.userId()) < 0);
+            if (isNotified) {
+                notificationRecipients.add(
+                        new User(summary.userId(), summary.userLogin(), summary.firstName(), summary.lastName(), summary.userLangKey(), summary.userEmail()));
+            }
+        }
+        return new ConversationNotificationRecipients(recipientIds, notificationRecipients);
+    }
+}
@@ -52,10 +52,17 @@ public class ConversationParticipant extends DomainObject {
     @Column(name = "unread_messages_count")
     private Long unreadMessagesCount;
 
+    /**
+     * The message sequence of the conversation up to which the participant has read all messages, only relevant for {@link UnreadTrackingMode#SEQUENCE}
+     */
+    @Column(name = "last_read_sequence")
+    @JsonIgnore
+    private Long lastReadSequence;
+
     /**
      * Creates a ConversationParticipant object for the provided user and conversation. The returned participant is not
      * a moderator, hasn't hidden the conversation, hasn't marked the conversation as favorite, has 0 unread messages
-     * and a last read date set to 2 years into the past.
+     * (i.e. has read up to the current message sequence of the conversation) and a last read date set to 2 years into the past.
      *
      * @param user         the user for the participant
      * @param conversation the conversation for the participant
@@ -72,9 +79,24 @@ public class ConversationParticipant extends DomainObject {
         // set the last reading time of a participant in the past when creating conversation for the first time!
         participant.setLastRead(ZonedDateTime.now().minusYears(2));
         participant.setUnreadMessagesCount(0L);
+        participant.setLastReadSequence(conversation != null ? conversation.getMessageSequence() : 0L);
         return participant;
     }
 
+    /**
+     * Returns the number of unread messages of this participant in the given conversation. For conversations tracking unread messages with
+     * {@link UnreadTrackingMode#SEQUENCE}, the count is derived from the message sequence, unless the participant muted the conversation which freezes the counter.
+     *
+     * @param conversation the conversation of this participant with an up-to-date message sequence
+     * @return the number of unread messages
+     */
+    public Long getUnreadMessagesCount(Conversation conversation) {
+        if (conversation.getUnreadTracking() == UnreadTrackingMode.SEQUENCE && !isMuted && lastReadSequence != null) {
+            return Math.max(conversation.getMessageSequence() - lastReadSequence, 0L);
+        }
+        return unreadMessagesCount;
+    }
+
     public Long getUnreadMessagesCount() {
         return unreadMessagesCount;
     }
@@ -83,6 +105,14 @@ public class ConversationParticipant extends DomainObject {
         this.unreadMessagesCount = unreadMessagesCount;
     }
 
+    public Long getLastReadSequence() {
+        return lastReadSequence;
+    }
+
+    public void setLastReadSequence(Long lastReadSequence) {
+        this.lastReadSequence = lastReadSequence;
+    }
+
     public Conversation getConversation() {
         return conversation;
     }
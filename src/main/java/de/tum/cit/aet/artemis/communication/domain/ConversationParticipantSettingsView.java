@@ -1,5 +1,6 @@
 package de.tum.cit.aet.artemis.communication.domain;
 
+import java.io.Serializable;
 import java.time.ZonedDateTime;
 
 /**
@@ -13,5 +14,5 @@ import java.time.ZonedDateTime;
  * @param lastRead                  the last date the participant read the messages in the conversation
  */
 public record ConversationParticipantSettingsView(Long conversationParticipantId, Boolean isModerator, Boolean isFavorite, Boolean isHidden, Boolean isMuted,
-        ZonedDateTime lastRead) {
+        ZonedDateTime lastRead) implements Serializable {
 }
@@ -0,0 +1,12 @@
+package de.tum.cit.aet.artemis.communication.domain;
+
+/**
+ * How the unread messages of the participants of a conversation are tracked.
+ * <ul>
+ * <li>COUNTER: every new message increments the unread counter of each participant</li>
+ * <li>SEQUENCE: every new message increments the message sequence of the conversation, the unread count of a participant is the difference to its last read sequence</li>
+ * </ul>
+ */
+public enum UnreadTrackingMode {
+    COUNTER, SEQUENCE
+}
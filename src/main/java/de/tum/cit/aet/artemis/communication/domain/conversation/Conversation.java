@@ -10,6 +10,8 @@ import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.DiscriminatorType;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
@@ -30,6 +32,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.communication.domain.ConversationParticipant;
 import de.tum.cit.aet.artemis.communication.domain.Post;
+import de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode;
 import de.tum.cit.aet.artemis.core.domain.DomainObject;
 import de.tum.cit.aet.artemis.course.domain.Course;
 
@@ -79,6 +82,19 @@ public abstract class Conversation extends DomainObject {
     @Column(name = "last_message_date")
     private ZonedDateTime lastMessageDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "unread_tracking", nullable = false)
+    @JsonIgnore
+    private UnreadTrackingMode unreadTracking = UnreadTrackingMode.COUNTER;
+
+    /**
+     * Number of messages posted in this conversation, only maintained with {@link UnreadTrackingMode#SEQUENCE}.
+     * Only changed by bulk updates in the database to avoid lost increments, therefore it is never written by Hibernate.
+     */
+    @Column(name = "message_sequence", insertable = false, updatable = false)
+    @JsonIgnore
+    private long messageSequence;
+
     public Conversation(Long id, User creator, Set<ConversationParticipant> conversationParticipants, Set<Post> posts, Course course, ZonedDateTime creationDate,
             ZonedDateTime lastMessageDate) {
         this.setId(id);
@@ -125,6 +141,18 @@ public abstract class Conversation extends DomainObject {
         this.lastMessageDate = lastMessageDate;
     }
 
+    public UnreadTrackingMode getUnreadTracking() {
+        return unreadTracking;
+    }
+
+    public void setUnreadTracking(UnreadTrackingMode unreadTracking) {
+        this.unreadTracking = unreadTracking;
+    }
+
+    public long getMessageSequence() {
+        return messageSequence;
+    }
+
     public User getCreator() {
         return creator;
     }
@@ -0,0 +1,10 @@
+package de.tum.cit.aet.artemis.communication.dto;
+
+/**
+ * The current message sequence of a conversation with {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE}.
+ *
+ * @param conversationId  the id of the conversation
+ * @param messageSequence the number of messages created in the conversation
+ */
+public record ConversationMessageSequenceDTO(long conversationId, long messageSequence) {
+}
@@ -1,14 +1,20 @@
 package de.tum.cit.aet.artemis.communication.dto;
 
+import java.io.Serializable;
 import java.time.ZonedDateTime;
 
 import de.tum.cit.aet.artemis.communication.domain.ConversationParticipantSettingsView;
+import de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode;
 
 /**
  * Stores user-related information about a conversation
+ * <p>
+ * The information is cached per user and course, see {@link de.tum.cit.aet.artemis.communication.service.conversation.ConversationSummaryCacheService}. For conversations
+ * with {@link UnreadTrackingMode#SEQUENCE} the read sequence is kept, so that the number of unread messages can be derived from the current message sequence of the
+ * conversation without invalidating the cached information of every participant for each new message.
  */
 // TODO: convert to record
-public class UserConversationInfo {
+public class UserConversationInfo implements Serializable {
 
     private final long conversationId;
 
@@ -16,11 +22,35 @@ public class UserConversationInfo {
 
     private final long unreadMessagesCount;
 
+    /**
+     * the message sequence up to which the user has read the conversation, null if the unread messages are not derived from the message sequence
+     */
+    private final Long readSequence;
+
+    /**
+     * true if new messages of other users increment the unread messages count, like {@code ConversationParticipantRepository#incrementUnreadMessagesCountOfParticipants}
+     */
+    private final boolean countsNewMessages;
+
     public UserConversationInfo(Long conversationId, Long participantId, Boolean isModerator, Boolean isFavorite, Boolean isHidden, Boolean isMuted, ZonedDateTime lastRead,
-            long unreadMessagesCount) {
+            long unreadMessagesCount, UnreadTrackingMode unreadTracking, long messageSequence, Long lastReadSequence, Long participantUnreadMessagesCount) {
         this.conversationId = conversationId;
         this.conversationParticipant = new ConversationParticipantSettingsView(participantId, isModerator, isFavorite, isHidden, isMuted, lastRead);
         this.unreadMessagesCount = unreadMessagesCount;
+        // same conditions as in ConversationRepository#getUserInformationForConversations: users without participant see all messages of course-wide channels as unread
+        boolean isSequenceTracked = unreadTracking == UnreadTrackingMode.SEQUENCE && (participantId == null || (!Boolean.TRUE.equals(isMuted) && lastReadSequence != null));
+        this.readSequence = isSequenceTracked ? messageSequence - unreadMessagesCount : null;
+        this.countsNewMessages = unreadTracking != UnreadTrackingMode.SEQUENCE
+                && (participantId == null || (!Boolean.TRUE.equals(isMuted) && participantUnreadMessagesCount != null));
+    }
+
+    private UserConversationInfo(long conversationId, ConversationParticipantSettingsView conversationParticipant, long unreadMessagesCount, Long readSequence,
+            boolean countsNewMessages) {
+        this.conversationId = conversationId;
+        this.conversationParticipant = conversationParticipant;
+        this.unreadMessagesCount = unreadMessagesCount;
+        this.readSequence = readSequence;
+        this.countsNewMessages = countsNewMessages;
     }
 
     public long getConversationId() {
@@ -34,4 +64,60 @@ public class UserConversationInfo {
     public Long getUnreadMessagesCount() {
         return unreadMessagesCount;
     }
+
+    public boolean isSequenceTracked() {
+        return readSequence != null;
+    }
+
+    /**
+     * Derives the number of unread messages from the current message sequence of the conversation.
+     *
+     * @param messageSequence the current message sequence of the conversation
+     * @return the information with the current number of unread messages, or this information if the unread messages are not derived from the message sequence
+     */
+    public UserConversationInfo withMessageSequence(long messageSequence) {
+        if (readSequence == null) {
+            return this;
+        }
+        return new UserConversationInfo(conversationId, conversationParticipant, Math.max(messageSequence - readSequence, 0), readSequence, countsNewMessages);
+    }
+
+    /**
+     * Counts a new message of another user as unread, like {@code ConversationParticipantRepository#incrementUnreadMessagesCountOfParticipants}.
+     *
+     * @return the information including the new message
+     */
+    public UserConversationInfo withNewMessage() {
+        if (!countsNewMessages) {
+            return this;
+        }
+        return new UserConversationInfo(conversationId, conversationParticipant, unreadMessagesCount + 1, readSequence, true);
+    }
+
+    /**
+     * Marks all messages of the conversation as read.
+     *
+     * @param lastRead        the date at which the user read the conversation
+     * @param messageSequence the current message sequence of the conversation, only used if the unread messages are derived from it
+     * @return the information without unread messages
+     */
+    public UserConversationInfo asRead(ZonedDateTime lastRead, long messageSequence) {
+        var participant = conversationParticipant;
+        if (participant.conversationParticipantId() != null) {
+            participant = new ConversationParticipantSettingsView(participant.conversationParticipantId(), participant.isModerator(), participant.isFavorite(),
+                    participant.isHidden(), participant.isMuted(), lastRead);
+        }
+        return new UserConversationInfo(conversationId, participant, 0, readSequence == null ? null : messageSequence, countsNewMessages);
+    }
+
+    /**
+     * Participants without unread messages count or read sequence, e.g. created before the unread tracking was introduced, get them when reading the conversation.
+     * The tracking of their unread messages changes, so their information cannot be updated by {@link #asRead}.
+     *
+     * @return true if reading the conversation changes how the unread messages are tracked
+     */
+    public boolean isUnreadTrackingChangedByReading() {
+        return conversationParticipant.conversationParticipantId() != null && !Boolean.TRUE.equals(conversationParticipant.isMuted()) && readSequence == null
+                && !countsNewMessages;
+    }
 }
@@ -59,14 +59,17 @@ public interface ConversationParticipantRepository extends ArtemisJpaRepository<
     @Modifying
     @Query("""
             UPDATE ConversationParticipant p
-            SET p.lastRead = :now, p.unreadMessagesCount = 0
+            SET p.lastRead = :now,
+                p.unreadMessagesCount = 0,
+                p.lastReadSequence = (SELECT c.messageSequence FROM Conversation c WHERE c.id = :conversationId)
             WHERE p.user.id = :userId
                 AND p.conversation.id = :conversationId
             """)
     void updateLastReadAsync(@Param("userId") Long userId, @Param("conversationId") Long conversationId, @Param("now") ZonedDateTime now);
 
     /**
-     * Mark a message and all subsequent messages as unread.
+     * Mark a message and all subsequent messages as unread. The last read sequence is moved back by the same number of messages,
+     * so that conversations with {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE} report the same unread count.
      *
      * @param conversationId the id of the conversation
      * @param userId         the id of the user
@@ -82,6 +85,14 @@ public interface ConversationParticipantRepository extends ArtemisJpaRepository<
                     WHERE p.conversation.id = :conversationId
                     AND p.creationDate >= :messageDate
                     AND p.author.id <> :userId
+                ), cp.lastReadSequence = (
+                    SELECT c.messageSequence FROM Conversation c
+                    WHERE c.id = :conversationId
+                ) - (
+                    SELECT COUNT(p) FROM Post p
+                    WHERE p.conversation.id = :conversationId
+                    AND p.creationDate >= :messageDate
+                    AND p.author.id <> :userId
                 ), cp.lastRead = :lastRead
                 WHERE cp.conversation.id = :conversationId
                 AND cp.user.id = :userId
@@ -94,7 +105,9 @@ public interface ConversationParticipantRepository extends ArtemisJpaRepository<
     @Modifying
     @Query("""
             UPDATE ConversationParticipant p
-            SET p.lastRead = :now, p.unreadMessagesCount = 0
+            SET p.lastRead = :now,
+                p.unreadMessagesCount = 0,
+                p.lastReadSequence = (SELECT c.messageSequence FROM Conversation c WHERE c.id = p.conversation.id)
             WHERE p.user.id = :userId
                 AND p.conversation.id IN :conversationIds
             """)
@@ -110,6 +123,13 @@ public interface ConversationParticipantRepository extends ArtemisJpaRepository<
             """)
     List<Long> findConversationIdsByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
 
+    @Query("""
+            SELECT conversationParticipant.user.id
+            FROM ConversationParticipant conversationParticipant
+            WHERE conversationParticipant.conversation.id = :conversationId
+            """)
+    Set<Long> findUserIdsByConversationId(@Param("conversationId") long conversationId);
+
     @Query("""
             SELECT COUNT(DISTINCT conversation.id)
             FROM Conversation conversation
@@ -210,4 +230,75 @@ public interface ConversationParticipantRepository extends ArtemisJpaRepository<
                 AND conversationParticipant.unreadMessagesCount IS NOT NULL
             """)
     void decrementUnreadMessagesCountOfParticipants(@Param("conversationId") Long conversationId, @Param("senderId") Long senderId);
+
+    /**
+     * Marks the new message of the given user as read for the user by moving the last read sequence of the participant forward by one. Used for the sender of a message
+     * in conversations with {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE} after the message sequence was incremented.
+     * <p>
+     * The last read sequence is not set to the current message sequence, because messages of other users that were created concurrently may have incremented it
+     * in the meantime, and these would be marked as read for the sender as well. It never moves beyond the current message sequence.
+     *
+     * @param userId         the id of the user
+     * @param conversationId the id of the conversation
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            UPDATE ConversationParticipant p
+            SET p.lastReadSequence = p.lastReadSequence + 1
+            WHERE p.user.id = :userId
+                AND p.conversation.id = :conversationId
+                AND p.lastReadSequence < (SELECT c.messageSequence FROM Conversation c WHERE c.id = :conversationId)
+            """)
+    void incrementLastReadSequence(@Param("userId") Long userId, @Param("conversationId") Long conversationId);
+
+    /**
+     * Counterpart of {@link #decrementUnreadMessagesCountOfParticipants} for conversations with
+     * {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE}: moves the last read sequence of all participants with unread messages forward
+     * by one, so that a deleted message is no longer counted as unread.
+     *
+     * @param conversationId the id of the conversation
+     * @param senderId       the id of the user deleting the message
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            UPDATE ConversationParticipant conversationParticipant
+            SET conversationParticipant.lastReadSequence = conversationParticipant.lastReadSequence + 1
+            WHERE conversationParticipant.conversation.id = :conversationId
+                AND conversationParticipant.user.id <> :senderId
+                AND conversationParticipant.lastReadSequence < (SELECT c.messageSequence FROM Conversation c WHERE c.id = :conversationId)
+            """)
+    void advanceLastReadSequenceOfParticipants(@Param("conversationId") Long conversationId, @Param("senderId") Long senderId);
+
+    /**
+     * Freezes the unread messages count of a participant that mutes a conversation with {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE},
+     * because muted participants do not receive new unread messages.
+     *
+     * @param participantId the id of the participant
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            UPDATE ConversationParticipant p
+            SET p.unreadMessagesCount = (SELECT c.messageSequence FROM Conversation c WHERE c.id = p.conversation.id) - p.lastReadSequence
+            WHERE p.id = :participantId
+                AND p.lastReadSequence IS NOT NULL
+            """)
+    void freezeUnreadMessagesCount(@Param("participantId") Long participantId);
+
+    /**
+     * Continues the sequence based unread tracking of a participant that unmutes a conversation with
+     * {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE}, starting from the frozen unread messages count.
+     *
+     * @param participantId the id of the participant
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            UPDATE ConversationParticipant p
+            SET p.lastReadSequence = (SELECT c.messageSequence FROM Conversation c WHERE c.id = p.conversation.id) - COALESCE(p.unreadMessagesCount, 0)
+            WHERE p.id = :participantId
+            """)
+    void resumeLastReadSequence(@Param("participantId") Long participantId);
 }
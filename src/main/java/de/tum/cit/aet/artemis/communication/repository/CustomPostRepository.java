@@ -8,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.cit.aet.artemis.communication.domain.Post;
 
@@ -17,4 +18,12 @@ import de.tum.cit.aet.artemis.communication.domain.Post;
 public interface CustomPostRepository {
 
     Page<Long> findPostIdsWithSpecification(Specification<Post> specification, Pageable pageable);
+
+    /**
+     * Optimizes the MySQL FULLTEXT indexes on the content of posts and answer posts used to search messages (see {@link MessageSearchFunctionContributor}).
+     * The indexes are maintained by the database on every insert, update and delete, optimizing them only removes the entries of deleted and updated messages.
+     * The tables themselves are not rebuilt. Requires the privilege to set global variables. PostgreSQL needs no rebuild, so nothing happens there.
+     */
+    @Transactional // ok because of modifying query
+    void rebuildMessageSearchIndexes();
 }
@@ -11,6 +11,11 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +26,8 @@ import de.tum.cit.aet.artemis.communication.domain.Post_;
 
 public class CustomPostRepositoryImpl implements CustomPostRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomPostRepositoryImpl.class);
+
     private final EntityManager entityManager;
 
     public CustomPostRepositoryImpl(EntityManager entityManager) {
@@ -71,4 +78,25 @@ public class CustomPostRepositoryImpl implements CustomPostRepository {
 
         return new PageImpl<>(uniquePostIds, pageable, count);
     }
+
+    @Override
+    public void rebuildMessageSearchIndexes() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialect instanceof MySQLDialect) {
+            // Without innodb_optimize_fulltext_only, OPTIMIZE TABLE copies the whole table and blocks writes, because InnoDB cannot rebuild tables with FULLTEXT indexes
+            // online. With it, only the entries of deleted and updated messages are removed from the FULLTEXT indexes. The variable is global, so it is reset afterwards.
+            entityManager.createNativeQuery("SET GLOBAL innodb_optimize_fulltext_only = ON").executeUpdate();
+            try {
+                // OPTIMIZE TABLE returns a status row per table
+                entityManager.createNativeQuery("OPTIMIZE TABLE post, answer_post").getResultList();
+            }
+            finally {
+                entityManager.createNativeQuery("SET GLOBAL innodb_optimize_fulltext_only = OFF").executeUpdate();
+            }
+        }
+        else {
+            // the GIN indexes of PostgreSQL are cleaned up by (auto) vacuum and need no rebuild
+            log.debug("No message search indexes to rebuild for {}", dialect.getClass().getSimpleName());
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package de.tum.cit.aet.artemis.communication.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the HQL function {@value #FULLTEXT_MATCH_FUNCTION}(content, terms) used by {@link MessageSpecs} to search the content of messages and answer messages.
+ * <p>
+ * The terms are lowercase words separated by a single space, each of them matches words starting with it. The function is rendered so that the database
+ * native full-text indexes on the content of posts and answer posts can be used:
+ * <ul>
+ * <li>PostgreSQL: GIN index on {@code to_tsvector('simple', content)}</li>
+ * <li>MySQL: FULLTEXT index on {@code content}</li>
+ * </ul>
+ * Other databases fall back to a case-insensitive substring search.
+ * <p>
+ * Registered via {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class MessageSearchFunctionContributor implements FunctionContributor {
+
+    public static final String FULLTEXT_MATCH_FUNCTION = "message_fulltext_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry().registerPattern(FULLTEXT_MATCH_FUNCTION, getPattern(functionContributions.getDialect()), booleanType);
+    }
+
+    private static String getPattern(Dialect dialect) {
+        if (dialect instanceof PostgreSQLDialect) {
+            // "foo bar" -> "foo:* & bar:*"
+            return "(to_tsvector('simple', ?1) @@ to_tsquery('simple', replace(?2, ' ', ':* & ') || ':*'))";
+        }
+        if (dialect instanceof MySQLDialect) {
+            // "foo bar" -> "+foo* +bar*"
+            return "(match (?1) against (concat('+', replace(?2, ' ', '* +'), '*') in boolean mode) > 0)";
+        }
+        return "(lower(?1) like concat('%', ?2, '%'))";
+    }
+}
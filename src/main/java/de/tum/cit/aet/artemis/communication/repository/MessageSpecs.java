@@ -3,12 +3,19 @@ package de.tum.cit.aet.artemis.communication.repository;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
@@ -30,9 +37,23 @@ import de.tum.cit.aet.artemis.course.domain.Course_;
 
 public class MessageSpecs {
 
+    /**
+     * Minimum length of a search term to use the full-text indexes, MySQL does not index shorter words by default (innodb_ft_min_token_size).
+     */
+    private static final int MIN_FULLTEXT_TERM_LENGTH = 3;
+
+    /**
+     * The default stopwords of the InnoDB full-text indexes with at least {@value #MIN_FULLTEXT_TERM_LENGTH} characters. MySQL does not index them, so a required term
+     * {@code +the*} in boolean mode would never match.
+     */
+    private static final Set<String> FULLTEXT_STOPWORDS = Set.of("about", "are", "com", "for", "from", "how", "that", "the", "this", "was", "what", "when", "where", "who", "will",
+            "with", "und", "www");
+
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     /**
      * Specification which filters Messages and answer posts according to a search string and a list of authors
-     * message and answer post are only kept if the search string (which is not a #id pattern) is included in the message content (all strings lowercased)
+     * message and answer post are only kept if the search string (which is not a #id pattern) is included in the message content (see {@link #contentMatches})
      * and the author of the message or answer post is in the list of authors
      *
      * @param searchText Text to be searched within messages
@@ -57,23 +78,22 @@ public class MessageSpecs {
             }
 
             List<Long> authorIdList = Arrays.stream(authorIds).boxed().toList();
-            Expression<String> searchTextLiteral = criteriaBuilder.literal("%" + searchText.toLowerCase() + "%");
-            Predicate baseTextPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get(Post_.CONTENT)), searchTextLiteral);
+            Predicate baseTextPredicate = contentMatches(criteriaBuilder, root.get(Post_.CONTENT), searchText);
             Predicate baseAuthorPredicate = root.get(Post_.AUTHOR).get(User_.ID).in(authorIdList);
             Predicate baseCombined = criteriaBuilder.and(baseTextPredicate, baseAuthorPredicate);
 
-            Join<Post, AnswerPost> answerJoin = root.join(Post_.ANSWERS, JoinType.LEFT);
-            Predicate answerTextPredicate = criteriaBuilder.like(criteriaBuilder.lower(answerJoin.get(AnswerPost_.CONTENT)), searchTextLiteral);
-            Predicate answerAuthorPredicate = answerJoin.get(AnswerPost_.AUTHOR).get(User_.ID).in(authorIdList);
-            Predicate answerCombined = criteriaBuilder.and(answerTextPredicate, answerAuthorPredicate);
+            Subquery<Long> matchingAnswers = query.subquery(Long.class);
+            Root<AnswerPost> answer = matchingAnswers.from(AnswerPost.class);
+            matchingAnswers.select(answer.get(AnswerPost_.POST).get(Post_.ID)).where(contentMatches(criteriaBuilder, answer.get(AnswerPost_.CONTENT), searchText),
+                    answer.get(AnswerPost_.AUTHOR).get(User_.ID).in(authorIdList));
 
-            return criteriaBuilder.or(baseCombined, answerCombined);
+            return criteriaBuilder.or(baseCombined, root.get(Post_.ID).in(matchingAnswers));
         };
     }
 
     /**
      * Specification which filters Messages and answer posts according to a search string in a match-all-manner
-     * message and answer post are only kept if the search string (which is not a #id pattern) is included in the message content (all strings lowercased)
+     * message and answer post are only kept if the search string (which is not a #id pattern) is included in the message content (see {@link #contentMatches})
      *
      * @param searchText Text to be searched within messages
      * @return specification used to chain DB operations
@@ -90,18 +110,51 @@ public class MessageSpecs {
                 return criteriaBuilder.equal(root.get(Post_.ID), Integer.parseInt(searchText.substring(1)));
             }
             else {
-                // regular search on content
-                Expression<String> searchTextLiteral = criteriaBuilder.literal("%" + searchText.toLowerCase() + "%");
+                // regular search on content, answers are searched in a sub query so that the index on their content can be used independently of the messages
+                Predicate searchInMessageContent = contentMatches(criteriaBuilder, root.get(Post_.CONTENT), searchText);
 
-                Predicate searchInMessageContent = criteriaBuilder.like(criteriaBuilder.lower(root.get(Post_.CONTENT)), searchTextLiteral);
-                Join<Post, AnswerPost> answersJoin = root.join(Post_.ANSWERS, JoinType.LEFT);
-                Predicate searchInAnswerContent = criteriaBuilder.like(criteriaBuilder.lower(answersJoin.get(AnswerPost_.CONTENT)), searchTextLiteral);
+                Subquery<Long> matchingAnswers = query.subquery(Long.class);
+                Root<AnswerPost> answer = matchingAnswers.from(AnswerPost.class);
+                matchingAnswers.select(answer.get(AnswerPost_.POST).get(Post_.ID)).where(contentMatches(criteriaBuilder, answer.get(AnswerPost_.CONTENT), searchText));
 
-                return criteriaBuilder.or(searchInMessageContent, searchInAnswerContent);
+                return criteriaBuilder.or(searchInMessageContent, root.get(Post_.ID).in(matchingAnswers));
             }
         });
     }
 
+    /**
+     * Creates a predicate checking if the content of a message or answer post matches the search text.
+     * <p>
+     * Words of the search text with at least {@value #MIN_FULLTEXT_TERM_LENGTH} characters that are no stopwords are looked up in the full-text indexes (see
+     * {@link MessageSearchFunctionContributor}): the content has to contain a word <em>starting</em> with each of them. Unlike the substring search used before, a word
+     * in the middle of another word is not found anymore, e.g. "list" does not find "ArrayList". The remaining words of the search text are matched as substrings
+     * (all strings lowercased) in addition. If no word can be looked up in the indexes, the content has to contain the whole search text as before, which requires a full
+     * scan of the content.
+     *
+     * @param criteriaBuilder the criteria builder of the query
+     * @param content         the content of the message or answer post
+     * @param searchText      the search text
+     * @return the predicate
+     */
+    private static Predicate contentMatches(CriteriaBuilder criteriaBuilder, Expression<String> content, String searchText) {
+        List<String> terms = Arrays.stream(NON_WORD_CHARACTERS.split(searchText.toLowerCase())).filter(term -> !term.isEmpty()).distinct().toList();
+        Map<Boolean, List<String>> termsByIndexability = terms.stream()
+                .collect(Collectors.partitioningBy(term -> term.length() >= MIN_FULLTEXT_TERM_LENGTH && !FULLTEXT_STOPWORDS.contains(term)));
+        List<String> indexedTerms = termsByIndexability.get(true);
+        if (indexedTerms.isEmpty()) {
+            return criteriaBuilder.like(criteriaBuilder.lower(content), criteriaBuilder.literal("%" + searchText.toLowerCase() + "%"));
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        Expression<Boolean> matches = criteriaBuilder.function(MessageSearchFunctionContributor.FULLTEXT_MATCH_FUNCTION, Boolean.class, content,
+                criteriaBuilder.literal(String.join(" ", indexedTerms)));
+        predicates.add(criteriaBuilder.isTrue(matches));
+        for (String term : termsByIndexability.get(false)) {
+            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(content), criteriaBuilder.literal("%" + term + "%")));
+        }
+        return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+    }
+
     /**
      * Specification to fetch messages belonging to a list of conversations
      *
@@ -133,6 +133,21 @@ public interface PostRepository extends ArtemisJpaRepository<Post, Long>, JpaSpe
             """)
     List<Post> findAllByCourseId(@Param("courseId") long courseId);
 
+    /**
+     * Finds all posts whose IDs are in the given collection, together with their conversation and its course.
+     *
+     * @param postIds collection of post IDs
+     * @return list of matching posts, posts that do not exist (anymore) are missing
+     */
+    @Query("""
+            SELECT p
+            FROM Post p
+                LEFT JOIN FETCH p.conversation conversation
+                LEFT JOIN FETCH conversation.course
+            WHERE p.id IN :postIds
+            """)
+    List<Post> findAllWithConversationAndCourseByIdIn(@Param("postIds") Collection<Long> postIds);
+
     /**
      * Finds all posts whose IDs are in the given list.
      *
@@ -4,6 +4,7 @@ import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.cit.aet.artemis.communication.domain.conversation.Channel;
 import de.tum.cit.aet.artemis.communication.domain.conversation.Conversation;
+import de.tum.cit.aet.artemis.communication.dto.ConversationMessageSequenceDTO;
 import de.tum.cit.aet.artemis.communication.dto.GeneralConversationInfo;
 import de.tum.cit.aet.artemis.communication.dto.UserConversationInfo;
 import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
@@ -51,7 +53,18 @@ public interface ConversationRepository extends ArtemisJpaRepository<Conversatio
                 cp.isHidden,
                 cp.isMuted,
                 cp.lastRead,
-                (CASE WHEN cp.unreadMessagesCount IS NULL THEN COUNT(p.id) ELSE cp.unreadMessagesCount END)
+                (CASE
+                    WHEN cp.unreadMessagesCount IS NULL THEN COUNT(p.id)
+                    WHEN conv.unreadTracking = de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode.SEQUENCE
+                        AND cp.isMuted = FALSE
+                        AND cp.lastReadSequence IS NOT NULL
+                        THEN conv.messageSequence - cp.lastReadSequence
+                    ELSE cp.unreadMessagesCount
+                END),
+                conv.unreadTracking,
+                conv.messageSequence,
+                cp.lastReadSequence,
+                cp.unreadMessagesCount
             )
             FROM Conversation conv
                 LEFT JOIN Channel channel ON conv.id = channel.id
@@ -59,7 +72,8 @@ public interface ConversationRepository extends ArtemisJpaRepository<Conversatio
                 LEFT JOIN Post p ON conv.id = p.conversation.id AND p.author.id <> :userId AND (channel.isCourseWide = TRUE AND cp.lastRead IS NULL)
             WHERE conv.id IN :conversationIds
                 AND (channel.isCourseWide = TRUE OR (conv.id = cp.conversation.id AND cp.user.id = :userId))
-            GROUP BY conv.id, cp.id, cp.isModerator, cp.isFavorite, cp.isHidden, cp.lastRead, cp.unreadMessagesCount
+            GROUP BY conv.id, conv.unreadTracking, conv.messageSequence, cp.id, cp.isModerator, cp.isFavorite, cp.isHidden, cp.isMuted, cp.lastRead, cp.unreadMessagesCount,
+                cp.lastReadSequence
             """)
     List<UserConversationInfo> getUserInformationForConversations(@Param("conversationIds") Iterable<Long> conversationIds, @Param("userId") Long userId);
 
@@ -120,5 +134,33 @@ public interface ConversationRepository extends ArtemisJpaRepository<Conversatio
             """)
     void updateLastMessageDateAsync(@Param("conversationId") Long conversationId, @Param("now") ZonedDateTime now);
 
+    /**
+     * Increments the message sequence of a conversation with {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE} for a new message.
+     * This single row update replaces incrementing the unread messages count of every participant.
+     *
+     * @param conversationId the id of the conversation
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            UPDATE Conversation c
+            SET c.messageSequence = c.messageSequence + 1
+            WHERE c.id = :conversationId
+            """)
+    void incrementMessageSequence(@Param("conversationId") Long conversationId);
+
+    /**
+     * Retrieves the current message sequences of the given conversations, e.g. to update the cached read state of a user without reloading the conversation summaries.
+     *
+     * @param conversationIds the ids of the conversations
+     * @return the message sequences of the conversations
+     */
+    @Query("""
+            SELECT new de.tum.cit.aet.artemis.communication.dto.ConversationMessageSequenceDTO(c.id, c.messageSequence)
+            FROM Conversation c
+            WHERE c.id IN :conversationIds
+            """)
+    List<ConversationMessageSequenceDTO> findMessageSequencesByIds(@Param("conversationIds") Collection<Long> conversationIds);
+
     long countByCourseId(long courseId);
 }
@@ -26,6 +26,7 @@ import org.springframework.stereotype.Service;
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.account.repository.UserRepository;
 import de.tum.cit.aet.artemis.communication.domain.ConversationNotificationRecipientSummary;
+import de.tum.cit.aet.artemis.communication.domain.ConversationNotificationRecipients;
 import de.tum.cit.aet.artemis.communication.domain.ConversationParticipant;
 import de.tum.cit.aet.artemis.communication.domain.CreatedConversationMessage;
 import de.tum.cit.aet.artemis.communication.domain.DisplayPriority;
@@ -53,9 +54,8 @@ import de.tum.cit.aet.artemis.core.service.AuthorizationCheckService;
 import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.course.repository.CourseRepository;
 import de.tum.cit.aet.artemis.exercise.repository.ExerciseRepository;
-import de.tum.cit.aet.artemis.globalsearch.config.schema.entityschemas.SearchableEntitySchema;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
-import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.iris.api.AutonomousTutorApi;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.NewAnnouncementNotification;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.NewMentionNotification;
@@ -84,14 +84,14 @@ public class ConversationMessagingService extends PostingService {
 
     private final Optional<AutonomousTutorApi> autonomousTutorApi;
 
-    private final Optional<SearchableEntityWeaviateService> searchableEntityWeaviateService;
+    private final Optional<PostWeaviateIndexingService> postWeaviateIndexingService;
 
     protected ConversationMessagingService(CourseRepository courseRepository, ExerciseRepository exerciseRepository, ConversationMessageRepository conversationMessageRepository,
             AuthorizationCheckService authorizationCheckService, WebsocketMessagingService websocketMessagingService, UserRepository userRepository,
             ConversationService conversationService, ConversationParticipantRepository conversationParticipantRepository, ChannelAuthorizationService channelAuthorizationService,
             SavedPostRepository savedPostRepository, CourseNotificationService courseNotificationService, PostRepository postRepository,
             SingleUserNotificationService singleUserNotificationService, Optional<AutonomousTutorApi> autonomousTutorApi,
-            Optional<SearchableEntityWeaviateService> searchableEntityWeaviateService) {
+            Optional<PostWeaviateIndexingService> postWeaviateIndexingService) {
         super(courseRepository, userRepository, exerciseRepository, authorizationCheckService, websocketMessagingService, conversationParticipantRepository, savedPostRepository);
         this.conversationService = conversationService;
         this.conversationMessageRepository = conversationMessageRepository;
@@ -100,7 +100,7 @@ public class ConversationMessagingService extends PostingService {
         this.postRepository = postRepository;
         this.singleUserNotificationService = singleUserNotificationService;
         this.autonomousTutorApi = autonomousTutorApi;
-        this.searchableEntityWeaviateService = searchableEntityWeaviateService;
+        this.postWeaviateIndexingService = postWeaviateIndexingService;
     }
 
     /**
@@ -217,40 +217,30 @@ public class ConversationMessagingService extends PostingService {
         var mentionedUserRecipients = singleUserNotificationService.filterAllowedRecipientsInMentionedUsers(createdConversationMessage.mentionedUsers(), conversation)
                 .filter((mentionedUser) -> !Objects.equals(mentionedUser.getId(), author.getId())).toList();
 
-        if (conversation instanceof Channel channel && channel.getIsAnnouncementChannel()) {
+        boolean isAnnouncement = conversation instanceof Channel channel && channel.getIsAnnouncementChannel();
+        boolean isChannelVisibleForStudents = !isAnnouncement && conversation instanceof Channel channel && conversationService.isChannelVisibleToStudents(channel);
+        // Announcements are always sent, even for hidden/muted channels. Otherwise, we only send notifications to users that are not the author, that are part of the
+        // conversation, that have the role rights to see it, that did not mute or hide it and if they were not mentioned (since they get a separate notification for that)
+        var recipients = ConversationNotificationRecipients.partition(recipientSummaries, author.getId(), mentionedUserRecipients.stream().map(User::getId).toList(),
+                isAnnouncement, isChannelVisibleForStudents);
+
+        if (isAnnouncement) {
             var newAnnouncementNotification = new NewAnnouncementNotification(course.getId(), course.getTitle(), course.getCourseIcon(), post.getId(), post.getTitle(),
                     post.getContent(), author.getName(), author.getImageUrl(), author.getId(), conversation.getId());
 
-            // Announcements are always sent, even for hidden/muted channels
-            courseNotificationService.sendCourseNotification(newAnnouncementNotification,
-                    recipientSummaries.stream().filter((summary) -> summary.userId() != author.getId()).map((summary) -> {
-                        var user = new User(summary.userId());
-                        user.setLogin(summary.userLogin());
-                        user.setEmail(summary.userEmail());
-                        user.setFirstName(summary.firstName());
-                        user.setLastName(summary.lastName());
-                        user.setLangKey(summary.userLangKey());
-                        return user;
-                    }).toList());
+            if (conversation instanceof Channel channel && channel.getIsCourseWide()) {
+                // All course members can read course-wide announcements, so the notification is stored once for the course instead of once per recipient
+                courseNotificationService.sendCourseNotificationToCourse(newAnnouncementNotification, recipients.notificationRecipients(), List.of(new User(author.getId())));
+            }
+            else {
+                courseNotificationService.sendCourseNotification(newAnnouncementNotification, recipients.notificationRecipients());
+            }
         }
         else {
             var newPostNotification = new NewPostNotification(course.getId(), course.getTitle(), course.getCourseIcon(), post.getId(), post.getContent(), conversation.getId(),
                     conversation.getHumanReadableNameForReceiver(post.getAuthor()), channelType, author.getName(), author.getImageUrl(), author.getId(), author.isBot());
 
-            var isChannelVisibleForStudents = (conversation instanceof Channel channel) && conversationService.isChannelVisibleToStudents(channel);
-
-            // We only send notifications to users that are not the author, that are part of the conversation, that have the role rights to see it,
-            // that did not mute or hide it and if they were not mentioned (since they get a separate notification for that)
-            courseNotificationService.sendCourseNotification(newPostNotification,
-                    recipientSummaries.stream()
-                            .filter((summary) -> summary.userId() != author.getId() && !summary.isConversationHidden() && !summary.isConversationMuted()
-                                    && (isChannelVisibleForStudents || summary.isAtLeastTutorInCourse())
-                                    && mentionedUserRecipients.stream().noneMatch((mentionedUser) -> summary.userId() == mentionedUser.getId()))
-                            .map((summary) -> {
-                                var user = new User(summary.userId());
-                                user.setLogin(summary.userLogin());
-                                return user;
-                            }).toList());
+            courseNotificationService.sendCourseNotification(newPostNotification, recipients.notificationRecipients());
         }
 
         var mentionCourseNotification = new NewMentionNotification(course.getId(), conversation.getCourse().getTitle(), conversation.getCourse().getCourseIcon(), post.getContent(),
@@ -259,7 +249,7 @@ public class ConversationMessagingService extends PostingService {
 
         this.courseNotificationService.sendCourseNotification(mentionCourseNotification, mentionedUserRecipients);
 
-        conversationParticipantRepository.incrementUnreadMessagesCountOfParticipants(conversation.getId(), author.getId());
+        conversationService.updateUnreadMessagesAfterMessageCreation(conversation, author.getId(), recipients.recipientIds());
 
         try {
             autonomousTutorApi.ifPresent(api -> api.onNewMessage(createdMessage, conversation, course));
@@ -304,9 +294,10 @@ public class ConversationMessagingService extends PostingService {
 
             // If there is no entry yet (e.g. for course-wide channels in which the user did not write a post yet,
             // we create the entry to be able to track the unread count)
+            var now = ZonedDateTime.now();
             if (participantSet.isEmpty()) {
                 var participant = ConversationParticipant.createWithDefaultValues(requestingUser, conversationService.getConversationById(conversationId));
-                participant.setLastRead(ZonedDateTime.now());
+                participant.setLastRead(now);
                 // We surround this with a try/catch to avoid errors in case there are multiple requests at the exact
                 // same time and the select query on top was not aware of that yet. Therefore, we simply continue.
                 try {
@@ -318,8 +309,9 @@ public class ConversationMessagingService extends PostingService {
             }
             else {
                 // invoke async due to db write access to avoid that the client has to wait
-                conversationParticipantRepository.updateLastReadAsync(requestingUser.getId(), conversationId, ZonedDateTime.now());
+                conversationParticipantRepository.updateLastReadAsync(requestingUser.getId(), conversationId, now);
             }
+            conversationService.updateCachedReadState(courseId, Set.of(conversationId), requestingUser.getId(), now);
         }
 
         return conversationPosts;
@@ -385,11 +377,8 @@ public class ConversationMessagingService extends PostingService {
 
         // delete
         conversationMessageRepository.deleteById(postId);
-        searchableEntityWeaviateService.ifPresent(service -> {
-            service.deleteEntityAsync(SearchableEntitySchema.TypeValues.POST, postId);
-            service.deleteAllAnswerPostsForPostAsync(postId);
-        });
-        conversationParticipantRepository.decrementUnreadMessagesCountOfParticipants(conversation.getId(), user.getId());
+        postWeaviateIndexingService.ifPresent(service -> service.enqueueDeletion(postId));
+        conversationService.updateUnreadMessagesAfterMessageDeletion(conversation, user.getId());
         conversation = conversationService.getConversationById(conversation.getId());
 
         // Delete all connected saved posts
@@ -462,15 +451,16 @@ public class ConversationMessagingService extends PostingService {
     }
 
     /**
-     * Synchronizes a post with Weaviate. Only posts in public, non-archived channels are indexed.
+     * Synchronizes a post with Weaviate. Only posts in public, non-archived channels are indexed. The post is written with the next batch of the
+     * {@link PostWeaviateIndexingService}, so bursts of new or edited messages do not issue one Weaviate request per message.
      */
     private void syncPostWithWeaviate(Post post, Conversation conversation) {
         if (!(conversation instanceof Channel channel)) {
             return;
         }
-        searchableEntityWeaviateService.ifPresent(service -> {
+        postWeaviateIndexingService.ifPresent(service -> {
             if (PostSearchableEntityDTO.isIndexable(channel)) {
-                service.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+                service.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             }
         });
     }
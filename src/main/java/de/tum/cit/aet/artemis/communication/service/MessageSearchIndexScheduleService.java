@@ -0,0 +1,48 @@
+package de.tum.cit.aet.artemis.communication.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE_AND_SCHEDULING;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import de.tum.cit.aet.artemis.communication.repository.ConversationMessageRepository;
+
+/**
+ * Service responsible for the maintenance of the full-text indexes used to search messages.
+ * The database updates the indexes on every created, updated and deleted message. MySQL only removes the entries of updated and deleted messages from its FULLTEXT
+ * indexes when they are optimized, which this service does on a schedule. The optimization is disabled by default, because it needs the privilege to set global variables
+ * and keeps the tables busy while it runs. Enable it by setting {@code artemis.scheduling.message-search-index-rebuild-time} to a cron expression, e.g.
+ * {@code 0 0 2 * * SUN} for every Sunday at 2:00 am.
+ */
+@Lazy
+@Service
+@Profile(PROFILE_CORE_AND_SCHEDULING)
+public class MessageSearchIndexScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchIndexScheduleService.class);
+
+    private final ConversationMessageRepository conversationMessageRepository;
+
+    public MessageSearchIndexScheduleService(ConversationMessageRepository conversationMessageRepository) {
+        this.conversationMessageRepository = conversationMessageRepository;
+    }
+
+    /**
+     * Optimizes the message search indexes if a schedule is configured, not at all by default.
+     */
+    @Scheduled(cron = "${artemis.scheduling.message-search-index-rebuild-time:-}")
+    public void rebuildMessageSearchIndexes() {
+        long start = System.currentTimeMillis();
+        try {
+            conversationMessageRepository.rebuildMessageSearchIndexes();
+            log.info("Rebuilt message search indexes in {} ms", System.currentTimeMillis() - start);
+        }
+        catch (Exception e) {
+            log.error("Failed to rebuild message search indexes", e);
+        }
+    }
+}
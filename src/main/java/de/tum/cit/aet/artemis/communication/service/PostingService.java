@@ -3,6 +3,7 @@ package de.tum.cit.aet.artemis.communication.service;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -151,7 +152,9 @@ public abstract class PostingService {
                     // send to all participants of the conversation
                     recipients = getConversationParticipantsAsSummaries(postConversation);
                 }
-                recipients.forEach(recipient -> websocketMessagingService.sendMessage("/topic/user/" + recipient.userId() + "/notifications/conversations", broadcastPayload));
+                // serialize the payload once for the personal topics of all recipients
+                List<String> recipientTopics = recipients.stream().map(recipient -> "/topic/user/" + recipient.userId() + "/notifications/conversations").toList();
+                websocketMessagingService.multicastMessage(recipientTopics, broadcastPayload);
             }
         }
         else if (post.getPlagiarismCase() != null) {
@@ -1,25 +1,45 @@
 package de.tum.cit.aet.artemis.communication.service;
 
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
-import static de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter.COMPRESSION_HEADER;
+import static de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter.COMPRESSION_HEADER_KEY;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.core.AbstractMessageSendingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter;
+import de.tum.cit.aet.artemis.core.config.websocket.WebsocketCompressionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * This service sends out websocket messages.
+ * <p>
+ * Messages to topics with a compression policy (see {@link #compressionThreshold(String)}) are serialized by this service, so that the compression can be decided based on the
+ * actual size of the serialized payload.
  */
 @Profile(PROFILE_CORE)
 @Lazy
@@ -28,13 +48,62 @@ public class WebsocketMessagingService {
 
     private static final Logger log = LoggerFactory.getLogger(WebsocketMessagingService.class);
 
+    private static final String METRIC_PREFIX = "artemis.websocket.";
+
+    private static final int NO_COMPRESSION = -1;
+
+    /**
+     * Matches numeric path segments of topics (e.g. course or user ids), which are replaced in the metric tags to keep their number bounded.
+     */
+    private static final Pattern NUMERIC_TOPIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
     private final SimpMessageSendingOperations messagingTemplate;
 
     private final Executor asyncExecutor;
 
-    public WebsocketMessagingService(SimpMessageSendingOperations messagingTemplate, @Qualifier("taskExecutor") Executor asyncExecutor) {
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The converter of the messaging template, used to serialize payloads before the messages are sent. Null if the template does not expose its converter, then all messages
+     * are sent uncompressed.
+     */
+    private final @Nullable MessageConverter messageConverter;
+
+    private final String userDestinationPrefix;
+
+    private final int defaultCompressionThreshold;
+
+    private final List<CompressionOverride> compressionOverrides;
+
+    private final Counter multicastCounter;
+
+    private final Counter savedBytesCounter;
+
+    private final Counter savedEncodingTimeCounter;
+
+    /**
+     * The compression threshold in bytes for all topics matching the pattern, {@link #NO_COMPRESSION} if they are not compressed at all.
+     */
+    private record CompressionOverride(Pattern pattern, int thresholdBytes) {
+    }
+
+    public WebsocketMessagingService(SimpMessageSendingOperations messagingTemplate, @Qualifier("taskExecutor") Executor asyncExecutor, MeterRegistry meterRegistry,
+            WebsocketCompressionProperties compressionProperties) {
         this.messagingTemplate = messagingTemplate;
         this.asyncExecutor = asyncExecutor;
+        this.meterRegistry = meterRegistry;
+        this.messageConverter = messagingTemplate instanceof AbstractMessageSendingTemplate<?> template ? template.getMessageConverter() : null;
+        this.userDestinationPrefix = messagingTemplate instanceof SimpMessagingTemplate template ? template.getUserDestinationPrefix() : "/user/";
+        this.defaultCompressionThreshold = Math.max(compressionProperties.getThresholdBytes(), 0);
+        this.compressionOverrides = compressionProperties.getTopicOverrides().stream()
+                .map(override -> new CompressionOverride(Pattern.compile(override.getPattern()), override.getThresholdBytes() < 0 ? NO_COMPRESSION : override.getThresholdBytes()))
+                .toList();
+        this.multicastCounter = Counter.builder(METRIC_PREFIX + "multicast.messages").description("Number of payloads encoded once and sent to multiple destinations")
+                .register(meterRegistry);
+        this.savedBytesCounter = Counter.builder(METRIC_PREFIX + "multicast.saved_bytes").baseUnit("bytes")
+                .description("Number of payload bytes that did not have to be serialized and compressed again for further destinations").register(meterRegistry);
+        this.savedEncodingTimeCounter = Counter.builder(METRIC_PREFIX + "multicast.saved_encoding_time").baseUnit("seconds")
+                .description("Estimated time spent on serialization and compression that was saved for further destinations").register(meterRegistry);
     }
 
     /**
@@ -66,8 +135,11 @@ public class WebsocketMessagingService {
      */
     public CompletableFuture<Void> sendMessage(String topic, Object payload) {
         try {
-            Map<String, Object> headers = shouldCompress(topic, payload) ? COMPRESSION_HEADER : Map.of();
-            return CompletableFuture.runAsync(() -> messagingTemplate.convertAndSend(topic, payload, headers), asyncExecutor);
+            int compressionThreshold = compressionThreshold(topic);
+            if (compressionThreshold == NO_COMPRESSION || messageConverter == null) {
+                return CompletableFuture.runAsync(() -> messagingTemplate.convertAndSend(topic, payload), asyncExecutor);
+            }
+            return CompletableFuture.runAsync(() -> messagingTemplate.send(topic, encode(topic, payload, compressionThreshold)), asyncExecutor);
         }
         // Note: explicitly catch ALL kinds of exceptions here and do NOT rethrow, because the actual task should NEVER be interrupted when the server cannot send WS messages
         catch (Exception ex) {
@@ -87,8 +159,13 @@ public class WebsocketMessagingService {
      */
     public CompletableFuture<Void> sendMessageToUser(String user, String topic, Object payload) {
         try {
-            Map<String, Object> headers = shouldCompress(topic, payload) ? COMPRESSION_HEADER : Map.of();
-            return CompletableFuture.runAsync(() -> messagingTemplate.convertAndSendToUser(user, topic, payload, headers), asyncExecutor);
+            int compressionThreshold = compressionThreshold(topic);
+            if (compressionThreshold == NO_COMPRESSION || messageConverter == null) {
+                return CompletableFuture.runAsync(() -> messagingTemplate.convertAndSendToUser(user, topic, payload), asyncExecutor);
+            }
+            // same destination as used by convertAndSendToUser, resolved to the sessions of the user by the user destination message handler
+            String destination = userDestinationPrefix + user.replace("/", "%2F") + (topic.startsWith("/") ? topic : "/" + topic);
+            return CompletableFuture.runAsync(() -> messagingTemplate.send(destination, encode(topic, payload, compressionThreshold)), asyncExecutor);
         }
         // Note: explicitly catch ALL kinds of exceptions here and do NOT rethrow, because the actual task should NEVER be interrupted when the server cannot send WS messages
         catch (Exception ex) {
@@ -97,6 +174,145 @@ public class WebsocketMessagingService {
         }
     }
 
+    /**
+     * Sends the same payload over websocket to all given topics, e.g. to the personal topics of all members of a conversation.
+     * The message will be sent asynchronously.
+     * <p>
+     * In contrast to invoking {@link #sendMessage(String, Object)} for each topic, the payload is serialized (and potentially compressed) only once and the encoded bytes are
+     * shared by the messages to all destinations.
+     *
+     * @param topics  the destinations to which subscriptions the message should be sent
+     * @param payload the payload to send in the message (e.g. a record DTO), which will be transformed into json and potentially compressed
+     * @return a future that can be used to check if the messages were sent successfully or resulted in an exception
+     */
+    public CompletableFuture<Void> multicastMessage(Collection<String> topics, Object payload) {
+        try {
+            List<String> destinations = List.copyOf(topics);
+            if (destinations.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (destinations.size() == 1 || messageConverter == null) {
+                return CompletableFuture.allOf(destinations.stream().map(topic -> sendMessage(topic, payload)).toArray(CompletableFuture[]::new));
+            }
+            return CompletableFuture.runAsync(() -> multicast(destinations, payload), asyncExecutor);
+        }
+        // Note: explicitly catch ALL kinds of exceptions here and do NOT rethrow, because the actual task should NEVER be interrupted when the server cannot send WS messages
+        catch (Exception ex) {
+            log.error("Error when sending payload {} to topics {}", payload, topics, ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private void multicast(List<String> destinations, Object payload) {
+        long start = System.nanoTime();
+        Message<?> serialized = serialize(payload);
+        long serializationTime = System.nanoTime() - start;
+        int serializedSize = serialized.getPayload() instanceof byte[] bytes ? bytes.length : 0;
+
+        // the payload is compressed at most once, for the first destination whose threshold it reaches
+        Message<?> compressed = null;
+        int compressedDestinations = 0;
+        long compressionTime = 0;
+        boolean uncompressedEncodeTimeRecorded = false;
+        for (String destination : destinations) {
+            Message<?> message = serialized;
+            int compressionThreshold = compressionThreshold(destination);
+            if (compressionThreshold != NO_COMPRESSION && serializedSize >= compressionThreshold) {
+                if (compressed == null) {
+                    long compressionStart = System.nanoTime();
+                    compressed = compress(destination, serialized);
+                    compressionTime = System.nanoTime() - compressionStart;
+                    // only the encoding is measured, not the sending to the previous destinations
+                    recordEncodeTime(destination, true, serializationTime + compressionTime);
+                }
+                message = compressed;
+                compressedDestinations++;
+            }
+            else if (compressionThreshold != NO_COMPRESSION && !uncompressedEncodeTimeRecorded) {
+                recordEncodeTime(destination, false, serializationTime);
+                uncompressedEncodeTimeRecorded = true;
+            }
+            // the template copies the headers per destination, the encoded payload is shared
+            messagingTemplate.send(destination, message);
+        }
+
+        multicastCounter.increment();
+        savedBytesCounter.increment((double) serializedSize * (destinations.size() - 1));
+        long savedEncodingTime = serializationTime * (destinations.size() - 1) + compressionTime * Math.max(compressedDestinations - 1, 0);
+        savedEncodingTimeCounter.increment(savedEncodingTime / 1e9);
+    }
+
+    /**
+     * Serializes the payload for the given topic and compresses it if the serialized payload reaches the compression threshold of the topic.
+     */
+    private Message<?> encode(String topic, Object payload, int compressionThreshold) {
+        long start = System.nanoTime();
+        Message<?> message = serialize(payload);
+        boolean compress = message.getPayload() instanceof byte[] bytes && bytes.length >= compressionThreshold;
+        if (compress) {
+            message = compress(topic, message);
+        }
+        recordEncodeTime(topic, compress, System.nanoTime() - start);
+        return message;
+    }
+
+    /**
+     * Serializes the payload into a message without destination, with the same headers {@link SimpMessageSendingOperations#convertAndSend(Object, Object)} would add.
+     */
+    private Message<?> serialize(Object payload) {
+        // the headers become immutable, so the template copies them for each destination instead of modifying a shared message
+        Message<?> message = messageConverter.toMessage(payload, SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE).getMessageHeaders());
+        if (message == null) {
+            throw new MessageConversionException("Unable to convert payload with type='" + payload.getClass().getName() + "'");
+        }
+        return message;
+    }
+
+    /**
+     * Compresses the serialized payload of the message and marks the message as compressed, so that the client decompresses it.
+     */
+    private Message<?> compress(String topic, Message<?> serialized) {
+        byte[] original = (byte[]) serialized.getPayload();
+        byte[] compressed = GzipMessageConverter.compressAndEncode(original).getBytes(StandardCharsets.UTF_8);
+        DistributionSummary.builder(METRIC_PREFIX + "compression.ratio").description("Size of compressed websocket payloads relative to their serialized size")
+                .tag("topic", metricTopic(topic)).register(meterRegistry).record((double) compressed.length / original.length);
+
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(serialized);
+        headerAccessor.setNativeHeader(COMPRESSION_HEADER_KEY, Boolean.TRUE.toString());
+        return MessageBuilder.createMessage(compressed, headerAccessor.getMessageHeaders());
+    }
+
+    private void recordEncodeTime(String topic, boolean compressed, long durationNanos) {
+        Timer.builder(METRIC_PREFIX + "compression.encode_time").description("Time to serialize and potentially compress payloads of topics with a compression policy")
+                .tag("topic", metricTopic(topic)).tag("compressed", String.valueOf(compressed)).register(meterRegistry).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Replaces the ids in the topic, so that e.g. the queued jobs of all courses share one metric.
+     */
+    private static String metricTopic(String topic) {
+        return NUMERIC_TOPIC_SEGMENT.matcher(topic).replaceAll("/{id}");
+    }
+
+    /**
+     * Determines from which size of the serialized payload on messages to the given topic are compressed. The first matching override of the configuration applies, otherwise
+     * messages to the {@link #COMPRESSIBLE_TOPICS} are compressed from the default threshold on.
+     *
+     * @param topic the destination of the message, relative to the user for messages to specific users
+     * @return the threshold in bytes, {@link #NO_COMPRESSION} if messages to the topic are never compressed
+     */
+    private int compressionThreshold(String topic) {
+        if (topic == null) {
+            return NO_COMPRESSION;
+        }
+        for (CompressionOverride override : compressionOverrides) {
+            if (override.pattern().matcher(topic).matches()) {
+                return override.thresholdBytes();
+            }
+        }
+        return COMPRESSIBLE_TOPICS.matcher(topic).matches() ? defaultCompressionThreshold : NO_COMPRESSION;
+    }
+
     /**
      * A regex pattern to match compressible WebSocket topics.
      * <p>
@@ -125,24 +341,4 @@ public class WebsocketMessagingService {
      */
     private static final Pattern COMPRESSIBLE_TOPICS = Pattern
             .compile("^/topic/courses/\\d+/(queued-jobs|running-jobs)|" + "^/topic/admin/(queued-jobs|running-jobs|build-agents)|" + "^/topic/admin/build-agent/[^/]+$");
-
-    /**
-     * Determine if a message for a specific topic should be compressed.
-     */
-    private static boolean shouldCompress(String topic, Object payload) {
-        // Only compress messages for specific topics
-        if (topic == null) {
-            return false;
-        }
-        if (isEmpty(payload)) {
-            return false;
-        }
-        // Match the topic against the regex
-        return COMPRESSIBLE_TOPICS.matcher(topic).matches();
-    }
-
-    private static boolean isEmpty(Object payload) {
-        return payload == null || payload.toString().isEmpty() || (payload instanceof Collection<?> collection && collection.isEmpty())
-                || (payload instanceof Map<?, ?> map && map.isEmpty());
-    }
 }
@@ -22,6 +22,7 @@ import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.account.repository.UserRepository;
 import de.tum.cit.aet.artemis.communication.domain.ConversationParticipant;
 import de.tum.cit.aet.artemis.communication.domain.DefaultChannelType;
+import de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode;
 import de.tum.cit.aet.artemis.communication.domain.conversation.Channel;
 import de.tum.cit.aet.artemis.communication.dto.ChannelDTO;
 import de.tum.cit.aet.artemis.communication.dto.MetisCrudAction;
@@ -35,6 +36,7 @@ import de.tum.cit.aet.artemis.exercise.domain.Exercise;
 import de.tum.cit.aet.artemis.exercise.repository.StudentParticipationRepository;
 import de.tum.cit.aet.artemis.globalsearch.config.schema.entityschemas.SearchableEntitySchema;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.ChannelSearchableEntityDTO;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
 import de.tum.cit.aet.artemis.lecture.domain.Lecture;
 
@@ -59,15 +61,18 @@ public class ChannelService {
 
     private final Optional<SearchableEntityWeaviateService> searchableEntityWeaviateService;
 
+    private final Optional<PostWeaviateIndexingService> postWeaviateIndexingService;
+
     public ChannelService(ConversationParticipantRepository conversationParticipantRepository, ChannelRepository channelRepository, ConversationService conversationService,
             UserRepository userRepository, StudentParticipationRepository studentParticipationRepository,
-            Optional<SearchableEntityWeaviateService> searchableEntityWeaviateServiceOptional) {
+            Optional<SearchableEntityWeaviateService> searchableEntityWeaviateServiceOptional, Optional<PostWeaviateIndexingService> postWeaviateIndexingService) {
         this.conversationParticipantRepository = conversationParticipantRepository;
         this.channelRepository = channelRepository;
         this.conversationService = conversationService;
         this.userRepository = userRepository;
         this.studentParticipationRepository = studentParticipationRepository;
         this.searchableEntityWeaviateService = searchableEntityWeaviateServiceOptional;
+        this.postWeaviateIndexingService = postWeaviateIndexingService;
     }
 
     private void syncChannelWithWeaviate(Channel channel) {
@@ -78,7 +83,7 @@ public class ChannelService {
                 }
                 else {
                     service.deleteEntityAsync(SearchableEntitySchema.TypeValues.CHANNEL, channel.getId());
-                    service.deleteAllPostsForChannelAsync(channel.getId());
+                    postWeaviateIndexingService.ifPresent(indexingService -> indexingService.enqueueChannelRemoval(channel.getId()));
                 }
             });
         }
@@ -108,6 +113,7 @@ public class ChannelService {
             });
         }
         conversationParticipantRepository.saveAll(matchingParticipants);
+        conversationService.invalidateCachedMembership(channel.getCourse(), channel, usersToGrant);
         conversationService.notifyAllConversationMembersAboutUpdate(channel);
     }
 
@@ -124,6 +130,7 @@ public class ChannelService {
             conversationParticipant.setIsModerator(false);
         }
         conversationParticipantRepository.saveAll(matchingParticipants);
+        conversationService.invalidateCachedMembership(channel.getCourse(), channel, usersToRevoke);
         conversationService.notifyAllConversationMembersAboutUpdate(channel);
     }
 
@@ -171,6 +178,10 @@ public class ChannelService {
         channel.setCreator(creator.orElse(null));
         channel.setCourse(course);
         channel.setIsArchived(false);
+        if (channel.getIsCourseWide()) {
+            // course-wide channels have many participants, a new message should not update the unread messages count of each of them
+            channel.setUnreadTracking(UnreadTrackingMode.SEQUENCE);
+        }
         this.channelIsValidOrThrow(course.getId(), channel);
         var savedChannel = channelRepository.save(channel);
 
@@ -219,10 +230,8 @@ public class ChannelService {
      */
     public void deleteChannel(@Nullable Channel channel) {
         if (channel != null) {
-            searchableEntityWeaviateService.ifPresent(service -> {
-                service.deleteEntityAsync(SearchableEntitySchema.TypeValues.CHANNEL, channel.getId());
-                service.deleteAllPostsForChannelAsync(channel.getId());
-            });
+            searchableEntityWeaviateService.ifPresent(service -> service.deleteEntityAsync(SearchableEntitySchema.TypeValues.CHANNEL, channel.getId()));
+            postWeaviateIndexingService.ifPresent(service -> service.enqueueChannelRemoval(channel.getId()));
             conversationService.deleteConversation(channel.getId());
         }
     }
@@ -544,10 +553,8 @@ public class ChannelService {
     public void deleteChannelForExerciseId(long exerciseId) {
         Long exerciseChannelId = channelRepository.findChannelIdByExerciseId(exerciseId);
         if (exerciseChannelId != null) {
-            searchableEntityWeaviateService.ifPresent(service -> {
-                service.deleteAllPostsForChannelAsync(exerciseChannelId);
-                service.deleteEntityAsync(SearchableEntitySchema.TypeValues.CHANNEL, exerciseChannelId);
-            });
+            searchableEntityWeaviateService.ifPresent(service -> service.deleteEntityAsync(SearchableEntitySchema.TypeValues.CHANNEL, exerciseChannelId));
+            postWeaviateIndexingService.ifPresent(service -> service.enqueueChannelRemoval(exerciseChannelId));
             conversationService.deleteConversation(exerciseChannelId);
         }
     }
@@ -132,7 +132,7 @@ public class ConversationDTOService {
         channelDTO.setIsChannelModerator(channelAuthorizationService.isChannelModerator(channel.getId(), requestingUser.getId()));
         channelDTO.setHasChannelModerationRights(channelAuthorizationService.hasChannelModerationRights(channel.getId(), requestingUser));
         var participantOptional = conversationParticipantRepository.findConversationParticipantByConversationIdAndUserId(channel.getId(), requestingUser.getId());
-        setDTOPropertiesBasedOnParticipant(channelDTO, participantOptional);
+        setDTOPropertiesBasedOnParticipant(channelDTO, channel, participantOptional);
         channelDTO.setIsMember(channelDTO.getIsMember() || channel.getIsCourseWide());
         setDTOCreatorProperty(requestingUser, channel, channelDTO);
         channelDTO.setNumberOfMembers(channel.getIsCourseWide() ? courseRepository.countCourseMembers(channel.getCourse().getId())
@@ -193,7 +193,7 @@ public class ConversationDTOService {
                 .filter(conversationParticipant -> conversationParticipant.getUser().getId().equals(requestingUser.getId())).findFirst();
         Set<ConversationUserDTO> chatParticipants = getChatParticipantDTOs(requestingUser, course, conversationParticipants);
         var oneToOneChatDTO = new OneToOneChatDTO(oneToOneChat);
-        setDTOPropertiesBasedOnParticipant(oneToOneChatDTO, participantOfRequestingUser);
+        setDTOPropertiesBasedOnParticipant(oneToOneChatDTO, oneToOneChat, participantOfRequestingUser);
         setDTOCreatorProperty(requestingUser, oneToOneChat, oneToOneChatDTO);
         oneToOneChatDTO.setMembers(chatParticipants);
         oneToOneChatDTO.setNumberOfMembers(conversationParticipants.size());
@@ -234,7 +234,7 @@ public class ConversationDTOService {
                 .filter(conversationParticipant -> conversationParticipant.getUser().getId().equals(requestingUser.getId())).findFirst();
         Set<ConversationUserDTO> chatParticipants = getChatParticipantDTOs(requestingUser, course, conversationParticipants);
         var groupChatDTO = new GroupChatDTO(groupChat);
-        setDTOPropertiesBasedOnParticipant(groupChatDTO, participantOfRequestingUser);
+        setDTOPropertiesBasedOnParticipant(groupChatDTO, groupChat, participantOfRequestingUser);
         setDTOCreatorProperty(requestingUser, groupChat, groupChatDTO);
         groupChatDTO.setMembers(chatParticipants);
         groupChatDTO.setNumberOfMembers(conversationParticipants.size());
@@ -290,11 +290,11 @@ public class ConversationDTOService {
         }).collect(Collectors.toSet());
     }
 
-    private void setDTOPropertiesBasedOnParticipant(ConversationDTO conversationDTO, Optional<ConversationParticipant> participantOptional) {
+    private void setDTOPropertiesBasedOnParticipant(ConversationDTO conversationDTO, Conversation conversation, Optional<ConversationParticipant> participantOptional) {
         conversationDTO.setIsMember(participantOptional.isPresent());
         participantOptional.ifPresent(participant -> {
             conversationDTO.setLastReadDate(participant.getLastRead());
-            conversationDTO.setUnreadMessagesCount(participant.getUnreadMessagesCount());
+            conversationDTO.setUnreadMessagesCount(participant.getUnreadMessagesCount(conversation));
         });
         conversationDTO.setIsFavorite(participantOptional.map(ConversationParticipant::getIsFavorite).orElse(false));
         conversationDTO.setIsHidden(participantOptional.map(ConversationParticipant::getIsHidden).orElse(false));
@@ -8,7 +8,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,15 +26,14 @@ import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.account.repository.UserRepository;
 import de.tum.cit.aet.artemis.communication.domain.ConversationParticipant;
 import de.tum.cit.aet.artemis.communication.domain.Post;
+import de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode;
 import de.tum.cit.aet.artemis.communication.domain.conversation.Channel;
 import de.tum.cit.aet.artemis.communication.domain.conversation.Conversation;
 import de.tum.cit.aet.artemis.communication.domain.conversation.GroupChat;
 import de.tum.cit.aet.artemis.communication.dto.ConversationDTO;
 import de.tum.cit.aet.artemis.communication.dto.ConversationSummary;
 import de.tum.cit.aet.artemis.communication.dto.ConversationWebsocketDTO;
-import de.tum.cit.aet.artemis.communication.dto.GeneralConversationInfo;
 import de.tum.cit.aet.artemis.communication.dto.MetisCrudAction;
-import de.tum.cit.aet.artemis.communication.dto.UserConversationInfo;
 import de.tum.cit.aet.artemis.communication.repository.ConversationParticipantRepository;
 import de.tum.cit.aet.artemis.communication.repository.PostRepository;
 import de.tum.cit.aet.artemis.communication.repository.conversation.ChannelRepository;
@@ -89,10 +87,12 @@ public class ConversationService {
 
     private final CourseRepository courseRepository;
 
+    private final ConversationSummaryCacheService conversationSummaryCacheService;
+
     public ConversationService(ConversationDTOService conversationDTOService, UserRepository userRepository, ChannelRepository channelRepository,
             ConversationParticipantRepository conversationParticipantRepository, ConversationRepository conversationRepository, WebsocketMessagingService websocketMessagingService,
             OneToOneChatRepository oneToOneChatRepository, PostRepository postRepository, GroupChatRepository groupChatRepository,
-            AuthorizationCheckService authorizationCheckService, CourseRepository courseRepository) {
+            AuthorizationCheckService authorizationCheckService, CourseRepository courseRepository, ConversationSummaryCacheService conversationSummaryCacheService) {
         this.conversationDTOService = conversationDTOService;
         this.userRepository = userRepository;
         this.channelRepository = channelRepository;
@@ -104,6 +104,7 @@ public class ConversationService {
         this.groupChatRepository = groupChatRepository;
         this.authorizationCheckService = authorizationCheckService;
         this.courseRepository = courseRepository;
+        this.conversationSummaryCacheService = conversationSummaryCacheService;
     }
 
     /**
@@ -157,6 +158,7 @@ public class ConversationService {
             catch (DataIntegrityViolationException e) {
                 log.info("User {} is already a participant in conversation {}", user.getId(), conversationId);
             }
+            conversationSummaryCacheService.invalidateUserConversationInfos(Set.of(user.getId()), channel.getCourse().getId());
 
         }
         else {
@@ -205,24 +207,26 @@ public class ConversationService {
         var filteredChannels = isOnlyStudent ? filterVisibleChannelsForStudents(channelsOfUser.stream()).toList() : channelsOfUser;
         conversationsOfUser.addAll(filteredChannels);
 
+        // the summaries are cached per user and course, only the information about conversations the user did not see before is loaded from the database
         var conversationIds = conversationsOfUser.stream().map(Conversation::getId).toList();
-        var userConversationInfos = conversationRepository.getUserInformationForConversations(conversationIds, requestingUser.getId()).stream()
-                .collect(Collectors.toMap(UserConversationInfo::getConversationId, Function.identity()));
-        var generalConversationInfos = conversationRepository.getGeneralInformationForConversations(conversationIds).stream()
-                .collect(Collectors.toMap(GeneralConversationInfo::getConversationId, Function.identity()));
+        var userConversationInfos = conversationSummaryCacheService.getUserConversationInfos(requestingUser.getId(), course.getId(), conversationIds,
+                missingConversationIds -> conversationRepository.getUserInformationForConversations(missingConversationIds, requestingUser.getId()));
+        var generalConversationInfos = conversationSummaryCacheService.getGeneralConversationInfos(conversationIds,
+                conversationRepository::getGeneralInformationForConversations);
 
         Integer numberOfCourseMembers = null;
         for (Channel channel : filteredChannels) {
             if (channel.getIsCourseWide()) {
                 if (numberOfCourseMembers == null) {
-                    numberOfCourseMembers = courseRepository.countCourseMembers(course.getId());
+                    numberOfCourseMembers = conversationSummaryCacheService.getNumberOfCourseMembers(course.getId(), () -> courseRepository.countCourseMembers(course.getId()));
                 }
                 generalConversationInfos.get(channel.getId()).setNumberOfParticipants(numberOfCourseMembers);
             }
         }
 
-        Stream<ConversationSummary> conversationSummaries = conversationsOfUser.stream()
-                .map(conversation -> new ConversationSummary(conversation, userConversationInfos.get(conversation.getId()), generalConversationInfos.get(conversation.getId())));
+        // the unread messages of conversations with sequence based tracking are derived from the current message sequence, so that new messages do not invalidate the cache
+        Stream<ConversationSummary> conversationSummaries = conversationsOfUser.stream().map(conversation -> new ConversationSummary(conversation,
+                userConversationInfos.get(conversation.getId()).withMessageSequence(conversation.getMessageSequence()), generalConversationInfos.get(conversation.getId())));
 
         return conversationSummaries.map(summary -> conversationDTOService.convertToDTO(summary, requestingUser)).toList();
     }
@@ -238,8 +242,30 @@ public class ConversationService {
         return conversationRepository.userHasUnreadMessageInCourse(courseId, requestingUser.getId());
     }
 
-    public void markAsRead(Long conversationId, Long userId) {
-        conversationParticipantRepository.updateLastReadAsync(userId, conversationId, ZonedDateTime.now());
+    /**
+     * Marks all messages of a conversation as read for the user.
+     *
+     * @param courseId       the id of the course the conversation belongs to
+     * @param conversationId the conversation ID
+     * @param userId         the user ID
+     */
+    public void markAsRead(Long courseId, Long conversationId, Long userId) {
+        var now = ZonedDateTime.now();
+        conversationParticipantRepository.updateLastReadAsync(userId, conversationId, now);
+        updateCachedReadState(courseId, Set.of(conversationId), userId, now);
+    }
+
+    /**
+     * Updates the cached summaries of the user after the database update of the last read date, which is executed asynchronously.
+     * Invalidating the summaries instead would allow a concurrent sidebar request to cache the read state before the update.
+     *
+     * @param courseId        the id of the course the conversations belong to
+     * @param conversationIds the ids of the conversations the user has read
+     * @param userId          the id of the user
+     * @param lastRead        the date at which the user read the conversations
+     */
+    public void updateCachedReadState(long courseId, Set<Long> conversationIds, long userId, ZonedDateTime lastRead) {
+        conversationSummaryCacheService.markConversationsAsRead(userId, courseId, conversationIds, lastRead, conversationRepository::findMessageSequencesByIds);
     }
 
     /**
@@ -262,6 +288,47 @@ public class ConversationService {
         ZonedDateTime lastRead = messageDate.minusNanos(1_000_000);
         // Recalculate unread count from this message onwards
         conversationParticipantRepository.markFromMessageAsUnread(conversationId, userId, messageDate, lastRead);
+        conversationSummaryCacheService.invalidateUserConversationInfos(Set.of(userId), post.getConversation().getCourse().getId());
+    }
+
+    /**
+     * Updates the unread messages of the participants of a conversation after a new message was created.
+     * Conversations with {@link UnreadTrackingMode#SEQUENCE} only increment their message sequence and mark the new message as read for the author,
+     * all other conversations increment the unread messages count of every participant except the author.
+     *
+     * @param conversation the conversation of the new message
+     * @param authorId     the id of the author of the new message
+     * @param recipientIds the ids of the users that received the new message
+     */
+    public void updateUnreadMessagesAfterMessageCreation(Conversation conversation, long authorId, Set<Long> recipientIds) {
+        long courseId = conversation.getCourse().getId();
+        if (conversation.getUnreadTracking() == UnreadTrackingMode.SEQUENCE) {
+            conversationRepository.incrementMessageSequence(conversation.getId());
+            conversationParticipantRepository.incrementLastReadSequence(authorId, conversation.getId());
+        }
+        else {
+            conversationParticipantRepository.incrementUnreadMessagesCountOfParticipants(conversation.getId(), authorId);
+            conversationSummaryCacheService.addNewMessage(recipientIds.stream().filter(recipientId -> recipientId != authorId).toList(), courseId, conversation.getId());
+        }
+        updateCachedReadState(courseId, Set.of(conversation.getId()), authorId, ZonedDateTime.now());
+    }
+
+    /**
+     * Updates the unread messages of the participants of a conversation after a message was deleted.
+     *
+     * @param conversation the conversation of the deleted message
+     * @param userId       the id of the user deleting the message
+     */
+    public void updateUnreadMessagesAfterMessageDeletion(Conversation conversation, long userId) {
+        if (conversation.getUnreadTracking() == UnreadTrackingMode.SEQUENCE) {
+            conversationParticipantRepository.advanceLastReadSequenceOfParticipants(conversation.getId(), userId);
+        }
+        else {
+            conversationParticipantRepository.decrementUnreadMessagesCountOfParticipants(conversation.getId(), userId);
+        }
+        // deleting messages is rare, so the cached summaries of all participants are invalidated instead of being updated
+        conversationSummaryCacheService.invalidateUserConversationInfos(conversationParticipantRepository.findUserIdsByConversationId(conversation.getId()),
+                conversation.getCourse().getId());
     }
 
     /**
@@ -301,6 +368,7 @@ public class ConversationService {
         }
         if (!newConversationParticipants.isEmpty()) {
             conversationParticipantRepository.saveAll(newConversationParticipants);
+            invalidateCachedMembership(course, conversation, usersToBeRegistered);
             broadcastOnConversationMembershipChannel(course, MetisCrudAction.CREATE, conversation, usersToBeRegistered);
             broadcastOnConversationMembershipChannel(course, MetisCrudAction.UPDATE, conversation, existingUsers);
         }
@@ -333,6 +401,7 @@ public class ConversationService {
                 usersToBeDeregistered.stream().map(User::getId).collect(Collectors.toSet()));
         if (!participantsToRemove.isEmpty()) {
             conversationParticipantRepository.deleteAll(participantsToRemove);
+            invalidateCachedMembership(course, conversation, usersToBeDeregistered);
             broadcastOnConversationMembershipChannel(course, MetisCrudAction.DELETE, conversation, usersToBeDeregistered);
             broadcastOnConversationMembershipChannel(course, MetisCrudAction.UPDATE, conversation, remainingUsers);
         }
@@ -347,6 +416,19 @@ public class ConversationService {
         postRepository.deleteAllByConversationId(conversationId);
         conversationParticipantRepository.deleteAllByConversationId(conversationId);
         conversationRepository.deleteById(conversationId);
+        conversationSummaryCacheService.invalidateGeneralConversationInfo(conversationId);
+    }
+
+    /**
+     * Invalidates the cached summaries affected by a change of the participants of a conversation
+     *
+     * @param course       the course in which the conversation is located
+     * @param conversation the conversation whose participants changed
+     * @param users        the users that were added to or removed from the conversation
+     */
+    public void invalidateCachedMembership(Course course, Conversation conversation, Set<User> users) {
+        conversationSummaryCacheService.invalidateGeneralConversationInfo(conversation.getId());
+        conversationSummaryCacheService.invalidateUserConversationInfos(users.stream().map(User::getId).toList(), course.getId());
     }
 
     /**
@@ -457,6 +539,7 @@ public class ConversationService {
         ConversationParticipant conversationParticipant = getOrCreateConversationParticipant(conversationId, requestingUser);
         conversationParticipant.setIsFavorite(favoriteStatus);
         conversationParticipantRepository.save(conversationParticipant);
+        invalidateCachedSettings(conversationParticipant, requestingUser);
     }
 
     /**
@@ -470,6 +553,7 @@ public class ConversationService {
         ConversationParticipant conversationParticipant = getOrCreateConversationParticipant(conversationId, requestingUser);
         conversationParticipant.setIsHidden(hiddenStatus);
         conversationParticipantRepository.save(conversationParticipant);
+        invalidateCachedSettings(conversationParticipant, requestingUser);
     }
 
     /**
@@ -481,8 +565,23 @@ public class ConversationService {
      */
     public void setIsMuted(Long conversationId, User requestingUser, boolean isMuted) {
         var conversationParticipant = getOrCreateConversationParticipant(conversationId, requestingUser);
+        boolean wasMuted = conversationParticipant.getIsMuted();
         conversationParticipant.setIsMuted(isMuted);
-        conversationParticipantRepository.save(conversationParticipant);
+        conversationParticipant = conversationParticipantRepository.save(conversationParticipant);
+        if (wasMuted != isMuted && conversationParticipant.getConversation().getUnreadTracking() == UnreadTrackingMode.SEQUENCE) {
+            // muted participants do not receive new unread messages, so their unread count is frozen while the message sequence continues
+            if (isMuted) {
+                conversationParticipantRepository.freezeUnreadMessagesCount(conversationParticipant.getId());
+            }
+            else {
+                conversationParticipantRepository.resumeLastReadSequence(conversationParticipant.getId());
+            }
+        }
+        invalidateCachedSettings(conversationParticipant, requestingUser);
+    }
+
+    private void invalidateCachedSettings(ConversationParticipant conversationParticipant, User requestingUser) {
+        conversationSummaryCacheService.invalidateUserConversationInfos(Set.of(requestingUser.getId()), conversationParticipant.getConversation().getCourse().getId());
     }
 
     /**
@@ -515,6 +614,8 @@ public class ConversationService {
         if (!participants.isEmpty()) {
             conversationParticipantRepository.saveAll(participants);
         }
+        updateCachedReadState(courseId, Stream.concat(conversationIds.stream(), courseWideChannelsWithoutParticipants.stream().map(Channel::getId)).collect(Collectors.toSet()),
+                userId, now);
         log.debug("Marking all conversations without participants (i.e. creating new ones) as read took {} ms", TimeLogUtil.formatDurationFrom(start));
     }
 
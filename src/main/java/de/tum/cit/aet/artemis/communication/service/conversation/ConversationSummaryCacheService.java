@@ -0,0 +1,303 @@
+package de.tum.cit.aet.artemis.communication.service.conversation;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+
+import de.tum.cit.aet.artemis.communication.dto.ConversationMessageSequenceDTO;
+import de.tum.cit.aet.artemis.communication.dto.GeneralConversationInfo;
+import de.tum.cit.aet.artemis.communication.dto.UserConversationInfo;
+
+/**
+ * Service for caching the conversation summaries shown in the messaging sidebar.
+ * <p>
+ * The user-related information about the conversations of a user in a course is stored in a single cache entry, so that it can be updated incrementally when the user
+ * reads a conversation or a new message arrives, and invalidated by deleting one key. Loaded information is only stored if the entry was not invalidated while it was
+ * loaded. The unread messages of conversations with {@link de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode#SEQUENCE} are derived from the current message
+ * sequence, so new messages in course-wide channels do not touch the cache entries of the course members at all.
+ * <p>
+ * The general information about a conversation, i.e. the number of its participants, and the number of members of a course are shared by all users.
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Service
+public class ConversationSummaryCacheService {
+
+    public static final String USER_CONVERSATION_INFO_CACHE = "userConversationInfo";
+
+    public static final String GENERAL_CONVERSATION_INFO_CACHE = "generalConversationInfo";
+
+    private static final String USER_CONVERSATION_INFO_CACHE_KEY_PREFIX = "user_conversation_info_";
+
+    private static final String COURSE_MEMBERS_CACHE_KEY_PREFIX = "course_members_";
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationSummaryCacheService.class);
+
+    /**
+     * The cached user-related information about the conversations of a user in a course.
+     *
+     * @param version a random id that is different for each stored entry, so that an entry that was invalidated and stored again is never mistaken for the entry read before
+     * @param infos   the information by conversation id
+     */
+    public record CachedUserConversationInfos(UUID version, Map<Long, UserConversationInfo> infos) implements Serializable {
+
+        /**
+         * Creates the entry that replaces this entry.
+         *
+         * @param infos the new information by conversation id
+         * @return the new entry with a new version
+         */
+        public CachedUserConversationInfos withInfos(Map<Long, UserConversationInfo> infos) {
+            // a sorted map is serialized the same way after each read, which the comparison of a replaced entry relies on
+            return new CachedUserConversationInfos(UUID.randomUUID(), new TreeMap<>(infos));
+        }
+    }
+
+    /**
+     * Counts a new message as unread in a cached entry. Executed atomically on the member that owns the entry, so concurrent updates of the entry are not lost.
+     */
+    private static final class NewMessageEntryProcessor implements EntryProcessor<Object, Object, Void> {
+
+        private final long conversationId;
+
+        private NewMessageEntryProcessor(long conversationId) {
+            this.conversationId = conversationId;
+        }
+
+        @Override
+        public Void process(Map.Entry<Object, Object> entry) {
+            var cachedInfos = castUserConversationInfos(entry.getValue());
+            if (cachedInfos == null || !cachedInfos.infos().containsKey(conversationId)) {
+                return null;
+            }
+            var info = cachedInfos.infos().get(conversationId);
+            var updatedInfo = info.withNewMessage();
+            if (updatedInfo != info) {
+                var infos = new HashMap<>(cachedInfos.infos());
+                infos.put(conversationId, updatedInfo);
+                entry.setValue(cachedInfos.withInfos(infos));
+            }
+            return null;
+        }
+    }
+
+    private final CacheManager cacheManager;
+
+    public ConversationSummaryCacheService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Returns the user-related information about the given conversations. Only the information about conversations that are not cached yet, e.g. because the user just
+     * joined them, is loaded and added to the cached information of the user in the course.
+     *
+     * @param userId          the id of the user
+     * @param courseId        the id of the course
+     * @param conversationIds the ids of the conversations
+     * @param loader          loads the information about the given conversations that are not cached yet
+     * @return the user-related information by conversation id
+     */
+    public Map<Long, UserConversationInfo> getUserConversationInfos(long userId, long courseId, Collection<Long> conversationIds,
+            Function<List<Long>, List<UserConversationInfo>> loader) {
+        IMap<Object, Object> cacheMap = getCacheMap(USER_CONVERSATION_INFO_CACHE);
+        String key = getUserConversationInfoKey(userId, courseId);
+
+        var cachedInfos = castUserConversationInfos(cacheMap.get(key));
+        if (cachedInfos == null) {
+            // Reserve the entry before loading: an invalidation while the information is loaded deletes the reservation, so that the outdated information is not stored
+            var reservation = new CachedUserConversationInfos(UUID.randomUUID(), Map.of());
+            Object existingValue = cacheMap.putIfAbsent(key, reservation);
+            cachedInfos = existingValue == null ? reservation : castUserConversationInfos(existingValue);
+        }
+        var knownInfos = cachedInfos == null ? Map.<Long, UserConversationInfo>of() : cachedInfos.infos();
+        var missingConversationIds = conversationIds.stream().filter(conversationId -> !knownInfos.containsKey(conversationId)).toList();
+        if (missingConversationIds.isEmpty()) {
+            return knownInfos;
+        }
+
+        var infos = new HashMap<>(knownInfos);
+        loader.apply(missingConversationIds).forEach(info -> infos.put(info.getConversationId(), info));
+        if (cachedInfos != null) {
+            // Each stored entry has a new version, so the information is only stored if the entry read before loading was neither invalidated nor replaced in the meantime
+            cacheMap.replace(key, cachedInfos, cachedInfos.withInfos(infos));
+        }
+        return infos;
+    }
+
+    /**
+     * Returns the general information about the given conversations, which is shared by all users. Only the information about conversations that are not cached yet is
+     * loaded.
+     *
+     * @param conversationIds the ids of the conversations
+     * @param loader          loads the general information about the given conversations that are not cached yet
+     * @return new general information objects by conversation id, which can be modified by the caller
+     */
+    public Map<Long, GeneralConversationInfo> getGeneralConversationInfos(Collection<Long> conversationIds, Function<List<Long>, List<GeneralConversationInfo>> loader) {
+        IMap<Object, Object> cacheMap = getCacheMap(GENERAL_CONVERSATION_INFO_CACHE);
+        var numberOfParticipants = new HashMap<Object, Object>(cacheMap.getAll(new HashSet<>(conversationIds)));
+
+        var missingConversationIds = conversationIds.stream().filter(conversationId -> !(numberOfParticipants.get(conversationId) instanceof Integer)).toList();
+        if (!missingConversationIds.isEmpty()) {
+            var loadedNumberOfParticipants = new HashMap<Object, Object>();
+            loader.apply(missingConversationIds).forEach(info -> loadedNumberOfParticipants.put(info.getConversationId(), info.getNumberOfParticipants()));
+            cacheMap.putAll(loadedNumberOfParticipants);
+            numberOfParticipants.putAll(loadedNumberOfParticipants);
+        }
+
+        var infos = new HashMap<Long, GeneralConversationInfo>();
+        for (Long conversationId : conversationIds) {
+            if (numberOfParticipants.get(conversationId) instanceof Integer number) {
+                infos.put(conversationId, new GeneralConversationInfo(conversationId, number));
+            }
+        }
+        return infos;
+    }
+
+    /**
+     * Returns the number of members of a course, which is shared by all users. Course memberships are managed through user groups, so the cached number is only refreshed
+     * after the time to live of the cache.
+     *
+     * @param courseId the id of the course
+     * @param loader   counts the members of the course if the number is not cached yet
+     * @return the number of members of the course
+     */
+    public int getNumberOfCourseMembers(long courseId, IntSupplier loader) {
+        IMap<Object, Object> cacheMap = getCacheMap(GENERAL_CONVERSATION_INFO_CACHE);
+        String key = COURSE_MEMBERS_CACHE_KEY_PREFIX + courseId;
+        if (cacheMap.get(key) instanceof Integer numberOfCourseMembers) {
+            return numberOfCourseMembers;
+        }
+        int numberOfCourseMembers = loader.getAsInt();
+        cacheMap.set(key, numberOfCourseMembers);
+        return numberOfCourseMembers;
+    }
+
+    /**
+     * Marks the given conversations as read in the cached information of the user in the course, so that the information does not have to be loaded again.
+     *
+     * @param userId                 the id of the user
+     * @param courseId               the id of the course
+     * @param conversationIds        the ids of the conversations the user has read
+     * @param lastRead               the date at which the user read the conversations
+     * @param messageSequencesLoader loads the current message sequences of the given conversations, only invoked for conversations whose unread messages are derived from it
+     */
+    public void markConversationsAsRead(long userId, long courseId, Collection<Long> conversationIds, ZonedDateTime lastRead,
+            Function<Collection<Long>, List<ConversationMessageSequenceDTO>> messageSequencesLoader) {
+        IMap<Object, Object> cacheMap = getCacheMap(USER_CONVERSATION_INFO_CACHE);
+        String key = getUserConversationInfoKey(userId, courseId);
+
+        var cachedEntry = castUserConversationInfos(cacheMap.get(key));
+        if (cachedEntry == null) {
+            return;
+        }
+        var cachedInfos = cachedEntry.infos();
+        if (conversationIds.stream().map(cachedInfos::get).anyMatch(info -> info != null && info.isUnreadTrackingChangedByReading())) {
+            deleteCacheEntry(cacheMap, key);
+            return;
+        }
+        var sequenceTrackedConversationIds = conversationIds.stream()
+                .filter(conversationId -> cachedInfos.containsKey(conversationId) && cachedInfos.get(conversationId).isSequenceTracked()).toList();
+        var messageSequences = new HashMap<Long, Long>();
+        if (!sequenceTrackedConversationIds.isEmpty()) {
+            messageSequencesLoader.apply(sequenceTrackedConversationIds).forEach(sequence -> messageSequences.put(sequence.conversationId(), sequence.messageSequence()));
+        }
+
+        var infos = new HashMap<>(cachedInfos);
+        for (Long conversationId : conversationIds) {
+            infos.computeIfPresent(conversationId, (id, info) -> info.asRead(lastRead, messageSequences.getOrDefault(id, 0L)));
+        }
+        if (!cacheMap.replace(key, cachedEntry, cachedEntry.withInfos(infos))) {
+            // the update might have been applied to outdated information
+            deleteCacheEntry(cacheMap, key);
+        }
+    }
+
+    /**
+     * Counts a new message in a conversation as unread in the cached information of the given users in the course.
+     * Only needed for conversations whose unread messages are not derived from the message sequence, e.g. group chats or channels that are not course-wide, which can still
+     * have thousands of members. The entries of all users are therefore updated with one operation on the members of the cluster that own them, instead of reading and
+     * replacing the entry of each user.
+     *
+     * @param userIds        the ids of the users that received the message, excluding the author
+     * @param courseId       the id of the course
+     * @param conversationId the id of the conversation
+     */
+    public void addNewMessage(Collection<Long> userIds, long courseId, long conversationId) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<Object> keys = userIds.stream().map(userId -> (Object) getUserConversationInfoKey(userId, courseId)).collect(Collectors.toSet());
+        getCacheMap(USER_CONVERSATION_INFO_CACHE).executeOnKeys(keys, new NewMessageEntryProcessor(conversationId));
+    }
+
+    /**
+     * Invalidates the cached user-related information of the given users in the course, e.g. after their participation or settings in a conversation changed.
+     *
+     * @param userIds  the ids of the users
+     * @param courseId the id of the course
+     */
+    public void invalidateUserConversationInfos(Collection<Long> userIds, long courseId) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        IMap<Object, Object> cacheMap = getCacheMap(USER_CONVERSATION_INFO_CACHE);
+        for (Long userId : userIds) {
+            deleteCacheEntry(cacheMap, getUserConversationInfoKey(userId, courseId));
+        }
+    }
+
+    /**
+     * Invalidates the cached general information of a conversation after its participants changed.
+     *
+     * @param conversationId the id of the conversation
+     */
+    public void invalidateGeneralConversationInfo(long conversationId) {
+        deleteCacheEntry(getCacheMap(GENERAL_CONVERSATION_INFO_CACHE), conversationId);
+    }
+
+    private IMap<Object, Object> getCacheMap(String cache) {
+        HazelcastInstance hazelcastInstance = ((HazelcastCacheManager) cacheManager).getHazelcastInstance();
+        return hazelcastInstance.getMap(cache);
+    }
+
+    private static String getUserConversationInfoKey(long userId, long courseId) {
+        return USER_CONVERSATION_INFO_CACHE_KEY_PREFIX + userId + '_' + courseId;
+    }
+
+    private static CachedUserConversationInfos castUserConversationInfos(Object cachedValue) {
+        return cachedValue instanceof CachedUserConversationInfos cachedInfos ? cachedInfos : null;
+    }
+
+    private static void deleteCacheEntry(IMap<Object, Object> cacheMap, Object key) {
+        try {
+            cacheMap.delete(key);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            log.error("Failed to delete cache entry with key: {}", key, e);
+        }
+    }
+}
@@ -56,6 +56,7 @@ import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.course.repository.CourseRepository;
 import de.tum.cit.aet.artemis.globalsearch.config.schema.entityschemas.SearchableEntitySchema;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.ChannelSearchableEntityDTO;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.AddedToChannelNotification;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.ChannelDeletedNotification;
@@ -93,11 +94,13 @@ public class ChannelResource extends ConversationManagementResource {
 
     private final Optional<SearchableEntityWeaviateService> searchableEntityWeaviateService;
 
+    private final Optional<PostWeaviateIndexingService> postWeaviateIndexingService;
+
     public ChannelResource(ConversationParticipantRepository conversationParticipantRepository, ChannelService channelService, ChannelRepository channelRepository,
             ChannelAuthorizationService channelAuthorizationService, AuthorizationCheckService authorizationCheckService, ConversationDTOService conversationDTOService,
             CourseRepository courseRepository, UserRepository userRepository, ConversationService conversationService,
             Optional<TutorialGroupChannelManagementApi> tutorialGroupChannelManagementApi, CourseNotificationService courseNotificationService,
-            Optional<SearchableEntityWeaviateService> searchableEntityWeaviateService) {
+            Optional<SearchableEntityWeaviateService> searchableEntityWeaviateService, Optional<PostWeaviateIndexingService> postWeaviateIndexingService) {
         super(courseRepository);
         this.channelService = channelService;
         this.channelRepository = channelRepository;
@@ -110,6 +113,7 @@ public class ChannelResource extends ConversationManagementResource {
         this.conversationParticipantRepository = conversationParticipantRepository;
         this.courseNotificationService = courseNotificationService;
         this.searchableEntityWeaviateService = searchableEntityWeaviateService;
+        this.postWeaviateIndexingService = postWeaviateIndexingService;
     }
 
     /**
@@ -579,7 +583,7 @@ public class ChannelResource extends ConversationManagementResource {
             }
             else {
                 service.deleteEntityAsync(SearchableEntitySchema.TypeValues.CHANNEL, updatedChannel.getId());
-                service.deleteAllPostsForChannelAsync(updatedChannel.getId());
+                postWeaviateIndexingService.ifPresent(indexingService -> indexingService.enqueueChannelRemoval(updatedChannel.getId()));
             }
         });
         return ResponseEntity.ok(conversationDTOService.convertChannelToDTO(requestingUser, updatedChannel));
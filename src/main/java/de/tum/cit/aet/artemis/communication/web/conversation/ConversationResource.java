@@ -189,7 +189,7 @@ public class ConversationResource extends ConversationManagementResource {
         checkConversationMembership(conversationFromDatabase, requestingUser);
         checkEntityIdMatchesPathIds(conversationFromDatabase, Optional.of(courseId), Optional.of(conversationId));
 
-        conversationService.markAsRead(conversationId, requestingUser.getId());
+        conversationService.markAsRead(courseId, conversationId, requestingUser.getId());
 
         return ResponseEntity.ok().build();
     }
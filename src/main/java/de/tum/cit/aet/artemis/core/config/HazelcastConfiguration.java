@@ -1343,6 +1343,7 @@ public class HazelcastConfiguration {
      * <li><strong>atlas-session-preview-history:</strong> Atlas preview history for incremental updates</li>
      * <li><strong>atlas-content-change-accumulator:</strong> Per-course debounce buckets that drive the automatic competency orchestrator</li>
      * <li><strong>nodeMetrics:</strong> Per-node metrics snapshots (TTL 60s, no backups) for the multi-node admin metrics page</li>
+     * <li><strong>userConversationInfo / generalConversationInfo:</strong> Conversation summaries of the messaging sidebar (TTL 10min)</li>
      * </ul>
      *
      * @param config            the Hazelcast configuration to modify
@@ -1373,6 +1374,17 @@ public class HazelcastConfiguration {
         config.getMapConfigs().put("atlas-content-change-accumulator",
                 new MapConfig().setBackupCount(artemisProperties.getCache().getHazelcast().getBackupCount()).setTimeToLiveSeconds(48 * 60 * 60));
         config.getMapConfigs().put("iris-dashboard-schedule-state", new MapConfig().setBackupCount(artemisProperties.getCache().getHazelcast().getBackupCount()));
+        // Conversation summaries of the messaging sidebar, see ConversationSummaryCacheService. The entries are updated or invalidated by conversation events,
+        // the TTL only bounds the staleness of information changed by other means, e.g. the number of course members, which depends on the user groups.
+        config.getMapConfigs().put("userConversationInfo", createConversationSummaryMapConfig(artemisProperties));
+        config.getMapConfigs().put("generalConversationInfo", createConversationSummaryMapConfig(artemisProperties));
+        // Grading statistics of programming exercises, see ProgrammingExerciseGradingStatisticsService. The counters hold one value per exercise, the contributions
+        // one value per exercise and student. Both are rebuilt from the database on demand, the TTL removes the values of exercises that are no longer graded, e.g.
+        // after the course ended. The contributions live one hour longer than the counters are used (24h), so that no counted contribution expires before its counters.
+        config.getMapConfigs().put("programming-exercise-grading-statistics",
+                new MapConfig().setBackupCount(artemisProperties.getCache().getHazelcast().getBackupCount()).setTimeToLiveSeconds(24 * 60 * 60));
+        config.getMapConfigs().put("programming-exercise-grading-statistics-contributions",
+                new MapConfig().setBackupCount(artemisProperties.getCache().getHazelcast().getBackupCount()).setTimeToLiveSeconds(25 * 60 * 60));
     }
 
     /**
@@ -1495,6 +1507,24 @@ public class HazelcastConfiguration {
                 .setEvictionConfig(new EvictionConfig().setEvictionPolicy(EvictionPolicy.LRU).setMaxSizePolicy(MaxSizePolicy.PER_NODE)).setTimeToLiveSeconds(2 * 60 * 60);
     }
 
+    /**
+     * Creates configuration for the conversation summary caches of the messaging sidebar.
+     *
+     * <p>
+     * <strong>10-Minute TTL:</strong> The cached summaries are updated or invalidated when conversations change. The TTL bounds the staleness of information
+     * that changes without a conversation event, e.g. the number of course members.
+     *
+     * <p>
+     * <strong>LRU Eviction:</strong> Evicted summaries of inactive users are simply loaded again from the database.
+     *
+     * @param artemisProperties configuration for backup count
+     * @return the conversation summary cache map configuration
+     */
+    private MapConfig createConversationSummaryMapConfig(ArtemisProperties artemisProperties) {
+        return new MapConfig().setBackupCount(artemisProperties.getCache().getHazelcast().getBackupCount()).setStatisticsEnabled(true)
+                .setEvictionConfig(new EvictionConfig().setEvictionPolicy(EvictionPolicy.LRU).setMaxSizePolicy(MaxSizePolicy.PER_NODE)).setTimeToLiveSeconds(10 * 60);
+    }
+
     // ==================== Utilities ====================
 
     /**
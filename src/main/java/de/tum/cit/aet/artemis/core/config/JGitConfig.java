@@ -5,33 +5,119 @@ import jakarta.annotation.PostConstruct;
 import org.eclipse.jgit.storage.file.WindowCacheConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 // this needs to run as early as possible, so JGit is properly configured
 @Lazy(value = false)
 @Profile({ Constants.PROFILE_CORE, Constants.PROFILE_BUILDAGENT })
+@ConfigurationProperties(prefix = "artemis.jgit.window-cache")
 public class JGitConfig {
 
     private static final Logger log = LoggerFactory.getLogger(JGitConfig.class);
 
+    private boolean packedGitMmap = false;
+
+    private DataSize packedGitLimit = DataSize.ofMegabytes(10);
+
+    private DataSize packedGitWindowSize = DataSize.ofKilobytes(8);
+
+    private int packedGitOpenFiles = 128;
+
+    private DataSize deltaBaseCacheLimit = DataSize.ofMegabytes(10);
+
+    private DataSize streamFileThreshold = DataSize.ofMegabytes(50);
+
     /**
-     * Disables JGit's packed Git memory-mapped file feature to prevent issues when deleting repositories on NFS filesystems.
+     * Configures JGit's global window cache, which holds the parts of the pack files read by all git operations of this node. The defaults are the ones of JGit, except for the
+     * disabled memory mapping.
+     * <p>
+     * Memory mapping is disabled by default to prevent issues when deleting repositories on NFS filesystems.
+     * In production we encountered a JGit exception when deleting repositories indicating that .pack files in the repository still have a lock.
+     * Further investigation showed that the Artemis app itself holds this lock.
+     * This is caused by JGit holding the .pack files in a global WindowCache.
+     * Mapped regions are only released when the garbage collector runs which is non-deterministic.
+     * <p>
+     * Without memory mapping, a pack file is closed as soon as its windows are purged from the cache. This happens when the repository that opened it is closed, so the local
+     * VC server closes its cached repositories before deleting them (see {@code LocalVCRepositoryCacheService#evict}). Larger cache limits can therefore be used safely,
+     * memory mapping should only be enabled if the repositories are not stored on NFS.
      * This configuration is applied early in the application startup process, so it ran before any repository interaction.
      */
     @PostConstruct
-    public void disablePackedGitMMap() {
-        log.debug("Applying JGit configuration: disable packed git mmap");
+    public void configureWindowCache() {
+        log.debug("Applying JGit configuration: packed git mmap {}, limit {}, window size {}, open files {}, delta base cache {}", packedGitMmap, packedGitLimit,
+                packedGitWindowSize, packedGitOpenFiles, deltaBaseCacheLimit);
+        if (packedGitMmap) {
+            log.warn("JGit uses memory mapped pack files. Deleting repositories might fail on NFS filesystems until the garbage collector released the mapped files.");
+        }
+        createWindowCacheConfig().install();
+    }
+
+    /**
+     * Creates the window cache configuration from the properties under {@code artemis.jgit.window-cache}, without installing it.
+     *
+     * @return the window cache configuration
+     */
+    WindowCacheConfig createWindowCacheConfig() {
         WindowCacheConfig cfg = new WindowCacheConfig();
-        // This should prevent issues when deleting repositories on NFS filesystems
-        // In production we encountered a JGit exception when deleting repositories indicating that .pack files in the repository still have a lock.
-        // Further investigation showed that the Artemis app itself holds this lock.
-        // This is caused by JGit holding the .pack files in a global WindowCache.
-        // This is only cleared when the garbage collector runs which is non-deterministic.
-        // So, we disable this performance optimization which does not negatively affect performance in our use case.
-        cfg.setPackedGitMMAP(false);
-        cfg.install();
+        cfg.setPackedGitMMAP(packedGitMmap);
+        cfg.setPackedGitLimit(packedGitLimit.toBytes());
+        cfg.setPackedGitWindowSize(Math.toIntExact(packedGitWindowSize.toBytes()));
+        cfg.setPackedGitOpenFiles(packedGitOpenFiles);
+        cfg.setDeltaBaseCacheLimit(Math.toIntExact(deltaBaseCacheLimit.toBytes()));
+        cfg.setStreamFileThreshold(Math.toIntExact(streamFileThreshold.toBytes()));
+        return cfg;
+    }
+
+    public boolean isPackedGitMmap() {
+        return packedGitMmap;
+    }
+
+    public void setPackedGitMmap(boolean packedGitMmap) {
+        this.packedGitMmap = packedGitMmap;
+    }
+
+    public DataSize getPackedGitLimit() {
+        return packedGitLimit;
+    }
+
+    public void setPackedGitLimit(DataSize packedGitLimit) {
+        this.packedGitLimit = packedGitLimit;
+    }
+
+    public DataSize getPackedGitWindowSize() {
+        return packedGitWindowSize;
+    }
+
+    public void setPackedGitWindowSize(DataSize packedGitWindowSize) {
+        this.packedGitWindowSize = packedGitWindowSize;
+    }
+
+    public int getPackedGitOpenFiles() {
+        return packedGitOpenFiles;
+    }
+
+    public void setPackedGitOpenFiles(int packedGitOpenFiles) {
+        this.packedGitOpenFiles = packedGitOpenFiles;
+    }
+
+    public DataSize getDeltaBaseCacheLimit() {
+        return deltaBaseCacheLimit;
+    }
+
+    public void setDeltaBaseCacheLimit(DataSize deltaBaseCacheLimit) {
+        this.deltaBaseCacheLimit = deltaBaseCacheLimit;
+    }
+
+    public DataSize getStreamFileThreshold() {
+        return streamFileThreshold;
+    }
+
+    public void setStreamFileThreshold(DataSize streamFileThreshold) {
+        this.streamFileThreshold = streamFileThreshold;
     }
 }
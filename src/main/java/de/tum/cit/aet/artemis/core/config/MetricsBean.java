@@ -5,18 +5,21 @@ import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 import static de.tum.cit.aet.artemis.course.dto.ActiveCourseDTO.NO_SEMESTER_TAG;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import jakarta.annotation.PostConstruct;
 
@@ -47,6 +50,8 @@ import de.tum.cit.aet.artemis.admin.repository.StatisticsRepository;
 import de.tum.cit.aet.artemis.buildagent.dto.BuildAgentInformation;
 import de.tum.cit.aet.artemis.buildagent.dto.BuildAgentStatus;
 import de.tum.cit.aet.artemis.buildagent.dto.BuildJobsStatisticsDTO;
+import de.tum.cit.aet.artemis.core.config.metric.ActiveUserActivityTracker;
+import de.tum.cit.aet.artemis.core.config.metric.ScheduledMetricsCoordinator;
 import de.tum.cit.aet.artemis.core.security.SecurityUtils;
 import de.tum.cit.aet.artemis.core.service.ProfileService;
 import de.tum.cit.aet.artemis.course.dto.ActiveCourseDTO;
@@ -87,6 +92,25 @@ public class MetricsBean {
      */
     private static final int[] MINUTE_RANGES_LOOKAHEAD = { 15 };
 
+    /**
+     * The periods (in days) for which the number of active users is exposed. The largest period defines how long user activities are tracked.
+     */
+    private static final int[] ACTIVE_USER_PERIODS_IN_DAYS = { 1, 7, 14, 30 };
+
+    /**
+     * Submissions are not always saved in the order of their submission date (e.g. programming submissions use the commit date),
+     * so the incremental active user calculation overlaps the previously scanned time range by this duration.
+     */
+    private static final Duration ACTIVE_USER_SCAN_OVERLAP = Duration.ofHours(1);
+
+    private static final String PUBLIC_METRICS_RESULTS_KEY = "publicArtemisMetrics";
+
+    private static final String SKIPPED_SCHEDULED_METRICS_NAME = "artemis.scheduled_metrics.skipped";
+
+    private static final String MISSING_BUILD_RESULTS_METRIC_NAME = "artemis.global.buildjobs.missing_results";
+
+    private static final String FAILED_BUILDS_METRIC_NAME = "artemis.global.buildjobs.failed";
+
     private final MeterRegistry meterRegistry;
 
     private final TaskScheduler scheduler;
@@ -120,6 +144,23 @@ public class MetricsBean {
 
     private final BuildJobRepository buildJobRepository;
 
+    private final ScheduledMetricsCoordinator scheduledMetricsCoordinator;
+
+    // Guards that prevent slow calculations from piling up, e.g. when the initial calculation and the first scheduled run overlap
+    private final AtomicBoolean activeUserMetricsInProgress = new AtomicBoolean(false);
+
+    private final AtomicBoolean recalculateMetricsInProgress = new AtomicBoolean(false);
+
+    private final AtomicBoolean buildJobResultMetricsInProgress = new AtomicBoolean(false);
+
+    private final AtomicBoolean publicArtemisMetricsInProgress = new AtomicBoolean(false);
+
+    // Whether this node calculated the scheduled metrics in its last attempt, used to remove the leader-only metrics once the leadership is lost
+    private final AtomicBoolean scheduledMetricsLeader = new AtomicBoolean(false);
+
+    // NOTE: only filled on the node that calculates the scheduled metrics
+    private final ActiveUserActivityTracker activeUserActivityTracker = new ActiveUserActivityTracker();
+
     // Public metrics
     private final AtomicInteger activeCoursesGauge = new AtomicInteger(0);
 
@@ -188,6 +229,10 @@ public class MetricsBean {
     @Value("${artemis.scheduled-metrics.enabled:true}")
     private boolean scheduledMetricsEnabled = true;
 
+    // Submission dates can be edited retroactively, so the incrementally maintained active users are periodically recounted from scratch
+    @Value("${artemis.scheduled-metrics.active-users-full-resync-hours:24}")
+    private int activeUsersFullResyncHours = 24;
+
     @Value("${artemis.websocket-log.enabled:false}")
     private boolean websocketLogEnabled = false;
 
@@ -195,7 +240,7 @@ public class MetricsBean {
             WebSocketHandler websocketHandler, List<HealthContributor> healthContributors, Optional<HikariDataSource> hikariDataSource, ExerciseRepository exerciseRepository,
             ExerciseMetricsService exerciseMetricsService, Optional<ExamMetricsApi> examMetricsApi, CourseRepository courseRepository, UserRepository userRepository,
             StatisticsRepository statisticsRepository, ProfileService profileService, Optional<DistributedDataAccessService> localCIBuildJobQueueService,
-            BuildJobRepository buildJobRepository) {
+            BuildJobRepository buildJobRepository, ScheduledMetricsCoordinator scheduledMetricsCoordinator) {
         this.meterRegistry = meterRegistry;
         this.scheduler = scheduler;
         this.webSocketStats = webSocketStats;
@@ -212,6 +257,7 @@ public class MetricsBean {
         this.profileService = profileService;
         this.localCIDistributedDataAccessService = localCIBuildJobQueueService;
         this.buildJobRepository = buildJobRepository;
+        this.scheduledMetricsCoordinator = scheduledMetricsCoordinator;
     }
 
     /**
@@ -250,6 +296,7 @@ public class MetricsBean {
         // Scheduled metrics are identical across instances, so they run only on the scheduling node. They can additionally be turned off via
         // artemis.scheduled-metrics.enabled. Combine the injected configuration flag with the scheduling profile (instead of forcing it on) so
         // the configured value is respected and the scheduled recalculation methods below correctly skip on non-scheduling nodes.
+        // If multiple scheduling nodes are running (e.g. during a rolling deployment), only the elected leader queries the database (see computeOnLeader).
         scheduledMetricsEnabled = scheduledMetricsEnabled && profileService.isSchedulingActive();
 
         if (scheduledMetricsEnabled) {
@@ -259,12 +306,9 @@ public class MetricsBean {
             registerStudentExamMetrics();
             registerPublicArtemisMetrics();
 
-            // Initial calculation to ensure gauges are populated before the first scheduled run
+            // Initial calculation to ensure gauges are populated before the first scheduled run. The build job result gauges are registered once this node
+            // becomes the leader (see computeOnLeader).
             calculateActiveUserMetrics();
-
-            if (profileService.isLocalCIActive()) {
-                registerBuildJobResultMetrics();
-            }
         }
 
         if (profileService.isLocalCIActive()) {
@@ -442,27 +486,26 @@ public class MetricsBean {
     }
 
     private void registerBuildJobResultMetrics() {
-        Gauge.builder("artemis.global.buildjobs.missing_results", missingBuildResultsGauge::get).description("Number of build jobs missing results in the last 24 hours")
+        Gauge.builder(MISSING_BUILD_RESULTS_METRIC_NAME, missingBuildResultsGauge::get).description("Number of build jobs missing results in the last 24 hours")
                 .register(meterRegistry);
-        Gauge.builder("artemis.global.buildjobs.failed", failedBuildsGauge::get).description("Number of failed build jobs in the last 24 hours").register(meterRegistry);
+        Gauge.builder(FAILED_BUILDS_METRIC_NAME, failedBuildsGauge::get).description("Number of failed build jobs in the last 24 hours").register(meterRegistry);
     }
 
     /**
      * Refresh metrics that rely on user activity. Only executed if the "scheduling"-profile is present.
      */
-    @Scheduled(fixedRate = 60 * 60 * 1000, initialDelay = 60 * 60 * 1000) // Every 60 minutes
+    @Scheduled(fixedDelay = 60 * 60 * 1000, initialDelay = 60 * 60 * 1000) // Every 60 minutes
     public void calculateActiveUserMetrics() {
-        if (!scheduledMetricsEnabled) {
-            return;
-        }
-        var startDate = System.currentTimeMillis();
+        computeOnLeader("calculateActiveUserMetrics", activeUserMetricsInProgress, () -> {
+            var startDate = System.currentTimeMillis();
 
-        // The authorization object has to be set because this method is not called by a user but by the scheduler
-        SecurityUtils.setAuthorizationObject();
+            // The authorization object has to be set because this method is not called by a user but by the scheduler
+            SecurityUtils.setAuthorizationObject();
 
-        updateActiveAdminsMetrics();
+            updateActiveAdminsMetrics();
 
-        log.debug("calculateActiveUserMetrics took {}ms", System.currentTimeMillis() - startDate);
+            log.debug("calculateActiveUserMetrics took {}ms", System.currentTimeMillis() - startDate);
+        });
     }
 
     /**
@@ -470,11 +513,12 @@ public class MetricsBean {
      * The update (and recalculation) is performed every 5 minutes.
      * Only executed if the "scheduling"-profile is present.
      */
-    @Scheduled(fixedRate = 5 * 60 * 1000, initialDelay = 30 * 1000) // Every 5 minutes with an initial delay of 30 seconds
+    @Scheduled(fixedDelay = 5 * 60 * 1000, initialDelay = 30 * 1000) // Every 5 minutes with an initial delay of 30 seconds
     public void recalculateMetrics() {
-        if (!scheduledMetricsEnabled) {
-            return;
-        }
+        computeOnLeader("recalculateMetrics", recalculateMetricsInProgress, this::recalculateExerciseAndExamMetrics);
+    }
+
+    private void recalculateExerciseAndExamMetrics() {
         var startDate = System.currentTimeMillis();
 
         // The authorization object has to be set because this method is not called by a user but by the scheduler
@@ -515,14 +559,72 @@ public class MetricsBean {
      * The calculation is performed every minute and should only be done on the scheduling node.
      * Only executed if the "scheduling" and "localCI" profile is present.
      */
-    @Scheduled(fixedRate = 60 * 1000, initialDelay = 30 * 1000) // Every minute with an initial delay of 30 seconds
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 30 * 1000) // Every minute with an initial delay of 30 seconds
     public void calculateBuildJobResultMetrics() {
-        if (!scheduledMetricsEnabled || !profileService.isLocalCIActive()) {
+        if (!profileService.isLocalCIActive()) {
             return;
         }
-        var buildJobStatistics = extractBuildJobStatistics();
-        missingBuildResultsGauge.set(buildJobStatistics.missingBuilds());
-        failedBuildsGauge.set(buildJobStatistics.failedBuilds());
+        computeOnLeader("calculateBuildJobResultMetrics", buildJobResultMetricsInProgress, () -> {
+            var buildJobStatistics = extractBuildJobStatistics();
+            missingBuildResultsGauge.set(buildJobStatistics.missingBuilds());
+            failedBuildsGauge.set(buildJobStatistics.failedBuilds());
+        });
+    }
+
+    /**
+     * Runs the given calculation of scheduled metrics, but only
+     * <ul>
+     * <li>if scheduled metrics are enabled on this node,</li>
+     * <li>if this node is the elected leader for the scheduled metrics (see {@link ScheduledMetricsCoordinator}), and</li>
+     * <li>if the previous run of the same calculation has finished, so that slow queries cannot pile up.</li>
+     * </ul>
+     * When this node becomes the leader, it registers the leader-only build job result gauges. When it loses the leadership, it removes the values of all leader-only
+     * gauges (see {@link #clearLeaderOnlyMetrics()}).
+     *
+     * @param calculationName the name of the calculation, used for logging and the skipped runs metric
+     * @param inProgress      the guard of the calculation
+     * @param calculation     the calculation to run
+     * @return true if the calculation was run, false if it was skipped
+     */
+    private boolean computeOnLeader(String calculationName, AtomicBoolean inProgress, Runnable calculation) {
+        if (!scheduledMetricsEnabled) {
+            return false;
+        }
+        if (!scheduledMetricsCoordinator.acquireLeadership()) {
+            if (scheduledMetricsLeader.getAndSet(false)) {
+                clearLeaderOnlyMetrics();
+            }
+            return false;
+        }
+        if (!scheduledMetricsLeader.getAndSet(true) && profileService.isLocalCIActive()) {
+            registerBuildJobResultMetrics();
+        }
+        if (!inProgress.compareAndSet(false, true)) {
+            log.warn("Skipping {} because the previous run is still in progress", calculationName);
+            meterRegistry.counter(SKIPPED_SCHEDULED_METRICS_NAME, "calculation", calculationName).increment();
+            return false;
+        }
+        try {
+            calculation.run();
+            return true;
+        }
+        finally {
+            inProgress.set(false);
+        }
+    }
+
+    /**
+     * Removes the metrics that only the leader calculates after this node lost the leadership, so that it does not keep exposing outdated values next to the new leader.
+     * The public scalar metrics are kept, because all scheduling nodes expose the values shared by the leader.
+     */
+    private void clearLeaderOnlyMetrics() {
+        log.info("This node is no longer responsible for calculating the scheduled metrics, removing its leader-only metrics");
+        List.of(activeAdminsGauge, studentsCourseGauge, studentsExamGauge, exerciseGauge, activeExerciseGauge, dueExerciseGauge, dueExerciseStudentMultiplierGauge,
+                dueExerciseStudentMultiplierActive14DaysGauge, releaseExerciseGauge, releaseExerciseStudentMultiplierGauge, releaseExerciseStudentMultiplierActive14DaysGauge,
+                dueExamGauge, dueExamStudentMultiplierGauge, releaseExamGauge, releaseExamStudentMultiplierGauge).forEach(multiGauge -> multiGauge.register(List.of(), true));
+        for (String buildJobGaugeName : List.of(MISSING_BUILD_RESULTS_METRIC_NAME, FAILED_BUILDS_METRIC_NAME)) {
+            meterRegistry.find(buildJobGaugeName).gauges().forEach(meterRegistry::remove);
+        }
     }
 
     /**
@@ -646,13 +748,18 @@ public class MetricsBean {
     /**
      * Update artemis public Artemis metrics that are exposed via Prometheus.
      * The update (and recalculation) is performed every 5 hours.
-     * Only executed if the "scheduling"-profile is present.
+     * Only executed if the "scheduling"-profile is present. If multiple scheduling nodes are running, only the leader queries the database
+     * and shares the results, the other nodes expose the shared values.
      */
-    @Scheduled(fixedRate = 5 * 60 * 60 * 1000, initialDelay = 5 * 60 * 1000) // Every 5 hours, starting 5 minutes after application start
+    @Scheduled(fixedDelay = 5 * 60 * 60 * 1000, initialDelay = 5 * 60 * 1000) // Every 5 hours, starting 5 minutes after application start
     public void updatePublicArtemisMetrics() {
-        if (!scheduledMetricsEnabled) {
-            return;
+        boolean calculated = computeOnLeader("updatePublicArtemisMetrics", publicArtemisMetricsInProgress, this::calculatePublicArtemisMetrics);
+        if (!calculated && scheduledMetricsEnabled) {
+            applySharedPublicArtemisMetrics();
         }
+    }
+
+    private void calculatePublicArtemisMetrics() {
         log.info("start updatePublicArtemisMetrics");
 
         final long startDate = System.currentTimeMillis();
@@ -668,7 +775,7 @@ public class MetricsBean {
 
         // Update multi gauges
         updateStudentsCourseMultiGauge(courses);
-        updateActiveUserMultiGauge(now);
+        final Map<Integer, Long> activeUsers = updateActiveUserMultiGauge(now);
         updateActiveExerciseMultiGauge();
         updateExerciseMultiGauge();
 
@@ -685,26 +792,79 @@ public class MetricsBean {
             examsGauge.set((int) api.count());
         }
 
+        publishPublicArtemisMetrics(activeUsers);
+
         log.info("updatePublicArtemisMetrics took {}ms", System.currentTimeMillis() - startDate);
     }
 
-    private void updateActiveUserMultiGauge(ZonedDateTime now) {
-        final Integer[] activeUserPeriodsInDays = new Integer[] { 1, 7, 14, 30 };
+    /**
+     * Shares the scalar public metrics with the other scheduling nodes, so that they do not have to query the database themselves.
+     * The per course, per exam and per exercise type gauges are only exposed by the leader.
+     *
+     * @param activeUsers the number of active users per period in days
+     */
+    private void publishPublicArtemisMetrics(Map<Integer, Long> activeUsers) {
+        final var values = new HashMap<String, Long>();
+        activeUsers.forEach((periodInDays, count) -> values.put(activeUsersResultKey(periodInDays), count));
+        values.put("active_courses", (long) activeCoursesGauge.get());
+        values.put("courses", (long) coursesGauge.get());
+        values.put("active_exams", (long) activeExamsGauge.get());
+        values.put("exams", (long) examsGauge.get());
+        scheduledMetricsCoordinator.publishResults(PUBLIC_METRICS_RESULTS_KEY, values);
+    }
+
+    private void applySharedPublicArtemisMetrics() {
+        final Map<String, Long> values = scheduledMetricsCoordinator.getResults(PUBLIC_METRICS_RESULTS_KEY);
+        if (values.isEmpty()) {
+            return;
+        }
+        final Map<Integer, Long> activeUsers = new HashMap<>();
+        for (int periodInDays : ACTIVE_USER_PERIODS_IN_DAYS) {
+            activeUsers.put(periodInDays, values.getOrDefault(activeUsersResultKey(periodInDays), 0L));
+        }
+        registerActiveUserRows(activeUsers);
+        activeCoursesGauge.set(values.getOrDefault("active_courses", 0L).intValue());
+        coursesGauge.set(values.getOrDefault("courses", 0L).intValue());
+        activeExamsGauge.set(values.getOrDefault("active_exams", 0L).intValue());
+        examsGauge.set(values.getOrDefault("exams", 0L).intValue());
+    }
 
-        final var counts = statisticsRepository.countActiveUsersByWindows(now, now.minusDays(1), now.minusDays(7), now.minusDays(14), now.minusDays(30));
+    private static String activeUsersResultKey(int periodInDays) {
+        return "active_users." + periodInDays;
+    }
 
+    /**
+     * Updates the number of active users per period. The latest activity of each user is maintained incrementally:
+     * only the submissions since the previous calculation are queried, except for a periodic full recount.
+     *
+     * @param now the current time
+     * @return the number of active users per period in days
+     */
+    private Map<Integer, Long> updateActiveUserMultiGauge(ZonedDateTime now) {
+        final ZonedDateTime largestPeriodStart = now.minusDays(ACTIVE_USER_PERIODS_IN_DAYS[ACTIVE_USER_PERIODS_IN_DAYS.length - 1]);
+        final Instant watermark = activeUserActivityTracker.getWatermark();
+
+        if (watermark == null || activeUserActivityTracker.isFullSyncDue(now.toInstant(), Duration.ofHours(activeUsersFullResyncHours))) {
+            activeUserActivityTracker.replaceAll(statisticsRepository.findLastActivityPerUserBetween(largestPeriodStart, now), now.toInstant());
+        }
+        else {
+            final ZonedDateTime since = ZonedDateTime.ofInstant(watermark.minus(ACTIVE_USER_SCAN_OVERLAP), now.getZone());
+            activeUserActivityTracker.merge(statisticsRepository.findLastActivityPerUserBetween(since, now), now.toInstant());
+        }
+        activeUserActivityTracker.pruneBefore(largestPeriodStart.toInstant());
+
+        final Map<Integer, Long> activeUsers = new HashMap<>();
+        for (int periodInDays : ACTIVE_USER_PERIODS_IN_DAYS) {
+            activeUsers.put(periodInDays, activeUserActivityTracker.countActiveSince(now.minusDays(periodInDays).toInstant()));
+        }
+        registerActiveUserRows(activeUsers);
+        return activeUsers;
+    }
+
+    private void registerActiveUserRows(Map<Integer, Long> activeUsers) {
         // A mutable list is required here because otherwise the values can not be updated correctly
-        final List<MultiGauge.Row<?>> gauges = Stream.of(activeUserPeriodsInDays).map(periodInDays -> {
-            final Tags tags = Tags.of("period", periodInDays.toString());
-            final long activeUsers = switch (periodInDays) {
-                case 1 -> counts.activeUsers1Day();
-                case 7 -> counts.activeUsers7Days();
-                case 14 -> counts.activeUsers14Days();
-                case 30 -> counts.activeUsers30Days();
-                default -> 0L;
-            };
-            return MultiGauge.Row.of(tags, activeUsers);
-        }).collect(Collectors.toCollection(ArrayList::new));
+        final List<MultiGauge.Row<?>> gauges = activeUsers.entrySet().stream()
+                .map(entry -> MultiGauge.Row.of(Tags.of("period", entry.getKey().toString()), entry.getValue())).collect(Collectors.toCollection(ArrayList::new));
 
         activeUserMultiGauge.register(gauges, true);
     }
@@ -3,6 +3,8 @@ package de.tum.cit.aet.artemis.core.config;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_JENKINS;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.ArrayList;
 
 import org.jspecify.annotations.NonNull;
@@ -14,6 +16,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
@@ -50,6 +53,10 @@ public class RestTemplateConfiguration {
 
     private static final int HERMES_HEALTH_READ_TIMEOUT = 3 * 1000;
 
+    // The relay answers a chunk of up to 500 Firebase notifications only after forwarding it, which can take long under load. A request that times out is not retried,
+    // because the relay may have sent the notifications already, so the timeout only protects against a relay that hangs.
+    private static final int PUSH_NOTIFICATION_RELAY_READ_TIMEOUT = 2 * 60 * 1000;
+
     @Bean
     @Profile(PROFILE_JENKINS)
     public RestTemplate jenkinsRestTemplate(JenkinsAuthorizationInterceptor jenkinsInterceptor) {
@@ -108,6 +115,16 @@ public class RestTemplateConfiguration {
         return createShortTimeoutRestTemplate();
     }
 
+    // Push notifications of a large course result in many concurrent requests to the relay. In contrast to the default request factory, the JDK HTTP client keeps a
+    // pool of connections to the relay that the requests reuse, and multiplexes them over one connection if the relay supports HTTP/2.
+    @Bean
+    public RestTemplate pushNotificationRelayRestTemplate() {
+        var httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(SHORT_CONNECTION_TIMEOUT)).build();
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(PUSH_NOTIFICATION_RELAY_READ_TIMEOUT);
+        return new RestTemplate(requestFactory);
+    }
+
     @Bean
     public RestTemplate shortTimeoutHermesRestTemplate() {
         final var requestFactory = getSimpleClientHttpRequestFactory(HERMES_HEALTH_READ_TIMEOUT, HERMES_HEALTH_CONNECTION_TIMEOUT);
@@ -0,0 +1,93 @@
+package de.tum.cit.aet.artemis.core.config.metric;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import de.tum.cit.aet.artemis.admin.dto.UserLastActivityDTO;
+
+/**
+ * Keeps the latest activity (submission date) per user in memory so that the active user metrics can be maintained incrementally.
+ * <p>
+ * Instead of rescanning all submissions of the largest window (30 days) on every calculation, only the submissions since the previous calculation
+ * ({@link #getWatermark()}) have to be queried and merged. Since submission dates can be edited retroactively, the tracker should still be rebuilt
+ * from a full scan periodically ({@link #isFullSyncDue(Instant, Duration)}).
+ */
+public class ActiveUserActivityTracker {
+
+    private final Map<Long, Instant> lastActivityPerUser = new HashMap<>();
+
+    @Nullable
+    private Instant lastFullSync;
+
+    @Nullable
+    private Instant watermark;
+
+    /**
+     * Checks whether the tracker has never been filled or the last full scan is older than the given interval.
+     *
+     * @param now              the current time
+     * @param fullSyncInterval the maximum age of the last full scan, {@link Duration#ZERO} to always request a full scan
+     * @return true if the tracker should be rebuilt with {@link #replaceAll(Collection, Instant)}
+     */
+    public synchronized boolean isFullSyncDue(Instant now, Duration fullSyncInterval) {
+        return lastFullSync == null || watermark == null || !now.isBefore(lastFullSync.plus(fullSyncInterval));
+    }
+
+    /**
+     * @return the upper bound of the last merged time range, or null if the tracker has not been filled yet
+     */
+    @Nullable
+    public synchronized Instant getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Replaces all tracked activities with the result of a full scan.
+     *
+     * @param activities the latest activity per user within the largest tracked window
+     * @param now        the upper bound of the scanned time range
+     */
+    public synchronized void replaceAll(Collection<UserLastActivityDTO> activities, Instant now) {
+        lastActivityPerUser.clear();
+        merge(activities, now);
+        lastFullSync = now;
+    }
+
+    /**
+     * Merges the activities of a delta scan into the tracked activities, keeping the latest activity per user.
+     * Overlapping time ranges are fine, merging the same activity twice does not change the result.
+     *
+     * @param activities the latest activity per user since the previous watermark
+     * @param now        the upper bound of the scanned time range, becomes the new watermark
+     */
+    public synchronized void merge(Collection<UserLastActivityDTO> activities, Instant now) {
+        for (UserLastActivityDTO activity : activities) {
+            if (activity.lastActivity() != null) {
+                lastActivityPerUser.merge(activity.userId(), activity.lastActivity().toInstant(), (existing, added) -> existing.isAfter(added) ? existing : added);
+            }
+        }
+        watermark = now;
+    }
+
+    /**
+     * Removes all users whose latest activity is before the given cutoff, i.e. that are not part of any tracked window anymore.
+     *
+     * @param cutoff the start of the largest tracked window
+     */
+    public synchronized void pruneBefore(Instant cutoff) {
+        lastActivityPerUser.values().removeIf(lastActivity -> lastActivity.isBefore(cutoff));
+    }
+
+    /**
+     * @param since the start of the window
+     * @return the number of users with an activity at or after the given time
+     */
+    public synchronized long countActiveSince(Instant since) {
+        return lastActivityPerUser.values().stream().filter(lastActivity -> !lastActivity.isBefore(since)).count();
+    }
+}
@@ -0,0 +1,136 @@
+package de.tum.cit.aet.artemis.core.config.metric;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+/**
+ * Elects a single node that computes the scheduled (database based) metrics and shares the computed values with the other nodes.
+ * <p>
+ * The leader holds a lease in a shared Hazelcast IMap that it renews whenever it computes metrics. If the leader leaves the cluster, the lease expires
+ * after {@link #LEADER_LEASE} and the next node asking for leadership takes over. The computed values are stored in a second IMap so that nodes that are
+ * not the leader can expose the same values without querying the database themselves.
+ * <p>
+ * Note: Uses HazelcastInstance directly (the DistributedDataProvider abstraction is scoped to LocalCI/BuildAgent profiles), like {@link NodeMetricsCollector}.
+ */
+@Profile(PROFILE_CORE)
+@Component
+@Lazy
+public class ScheduledMetricsCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledMetricsCoordinator.class);
+
+    private static final String LEADER_MAP_NAME = "scheduledMetricsLeader";
+
+    private static final String LEADER_KEY = "leader";
+
+    private static final String RESULTS_MAP_NAME = "scheduledMetricsResults";
+
+    /**
+     * Must be longer than the interval of the most frequent scheduled metric calculation, otherwise the leadership would change between runs.
+     */
+    private static final Duration LEADER_LEASE = Duration.ofMinutes(10);
+
+    private static final Duration RESULTS_TTL = Duration.ofHours(12);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    public ScheduledMetricsCoordinator(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    /**
+     * Acquires or renews the leadership for the scheduled metric calculation.
+     * If the distributed map cannot be accessed, the local node computes the metrics itself, as missing metrics are worse than duplicated queries.
+     *
+     * @return true if this node is (still) the leader and should compute the metrics
+     */
+    public boolean acquireLeadership() {
+        try {
+            String localNodeId = getLocalNodeId();
+            IMap<String, String> leaderMap = hazelcastInstance.getMap(LEADER_MAP_NAME);
+            String currentLeader = leaderMap.putIfAbsent(LEADER_KEY, localNodeId, LEADER_LEASE.toSeconds(), TimeUnit.SECONDS);
+            if (currentLeader == null) {
+                log.info("This node is now responsible for calculating the scheduled metrics");
+                return true;
+            }
+            if (localNodeId.equals(currentLeader)) {
+                leaderMap.setTtl(LEADER_KEY, LEADER_LEASE.toSeconds(), TimeUnit.SECONDS);
+                return true;
+            }
+            return false;
+        }
+        catch (Exception e) {
+            log.warn("Could not determine the leader for the scheduled metrics, calculating them locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Releases the leadership when the node shuts down, so that another node can take over without waiting for the lease to expire.
+     */
+    @PreDestroy
+    public void releaseLeadership() {
+        try {
+            IMap<String, String> leaderMap = hazelcastInstance.getMap(LEADER_MAP_NAME);
+            leaderMap.remove(LEADER_KEY, getLocalNodeId());
+        }
+        catch (Exception e) {
+            log.debug("Could not release the leadership for the scheduled metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Shares computed metric values with the other nodes.
+     *
+     * @param key    the key identifying the group of metrics
+     * @param values the metric values by name
+     */
+    public void publishResults(String key, Map<String, Long> values) {
+        try {
+            getResultsMap().put(key, new HashMap<>(values), RESULTS_TTL.toSeconds(), TimeUnit.SECONDS);
+        }
+        catch (Exception e) {
+            log.warn("Failed to share the scheduled metrics {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the metric values most recently shared by the leader.
+     *
+     * @param key the key identifying the group of metrics
+     * @return the metric values by name, or an empty map if the leader has not shared them yet
+     */
+    public Map<String, Long> getResults(String key) {
+        try {
+            HashMap<String, Long> values = getResultsMap().get(key);
+            return values != null ? values : Map.of();
+        }
+        catch (Exception e) {
+            log.warn("Failed to read the shared scheduled metrics {}: {}", key, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private IMap<String, HashMap<String, Long>> getResultsMap() {
+        return hazelcastInstance.getMap(RESULTS_MAP_NAME);
+    }
+
+    private String getLocalNodeId() {
+        return hazelcastInstance.getCluster().getLocalMember().getUuid().toString();
+    }
+}
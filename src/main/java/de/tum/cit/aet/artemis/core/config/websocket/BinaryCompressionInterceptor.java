@@ -0,0 +1,103 @@
+package de.tum.cit.aet.artemis.core.config.websocket;
+
+import static de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter.COMPRESSION_HEADER_KEY;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends compressed messages as binary websocket frames to clients that support them, instead of the Base64 encoded text frames.
+ * <p>
+ * Compressed payloads are Base64 encoded so that they can be sent in text frames to all clients, which adds a third to their size. Clients announce with the
+ * {@link #ACCEPT_BINARY_COMPRESSION_HEADER_KEY} header of their CONNECT frame that they can decompress binary frames. For these sessions, the outbound messages with the
+ * {@link GzipMessageConverter#COMPRESSION_HEADER_KEY} header are decoded back to the gzip bytes and marked as {@code application/octet-stream}, so that Spring sends them as
+ * binary frames. Messages of the simple broker and of the broker relay are both handled, because they pass the client outbound channel per session.
+ * <p>
+ * The interceptor has to be registered for the client inbound channel, to learn about the capabilities of the sessions, and the client outbound channel.
+ */
+public class BinaryCompressionInterceptor implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryCompressionInterceptor.class);
+
+    /**
+     * The header of the CONNECT frame with which clients announce that they accept compressed messages in binary frames.
+     * This header must be consistent with the corresponding client-side implementation (see websocket.service.ts).
+     * Only clients that connect without SockJS may send it, because SockJS only supports text frames.
+     */
+    public static final String ACCEPT_BINARY_COMPRESSION_HEADER_KEY = "X-Accept-Binary-Compression";
+
+    private final Set<String> binarySessionIds = ConcurrentHashMap.newKeySet();
+
+    private final Counter binaryMessages;
+
+    private final Counter savedBytes;
+
+    public BinaryCompressionInterceptor(MeterRegistry meterRegistry) {
+        this.binaryMessages = Counter.builder("artemis.websocket.compression.binary_messages").description("Number of compressed messages sent as binary frames")
+                .register(meterRegistry);
+        this.savedBytes = Counter.builder("artemis.websocket.compression.binary_saved_bytes").description("Number of bytes saved by sending compressed messages without Base64")
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (messageType == null || sessionId == null) {
+            return message;
+        }
+        return switch (messageType) {
+            case CONNECT -> {
+                if (Boolean.parseBoolean(StompHeaderAccessor.wrap(message).getFirstNativeHeader(ACCEPT_BINARY_COMPRESSION_HEADER_KEY))) {
+                    binarySessionIds.add(sessionId);
+                }
+                yield message;
+            }
+            case DISCONNECT -> {
+                binarySessionIds.remove(sessionId);
+                yield message;
+            }
+            case MESSAGE -> binarySessionIds.contains(sessionId) ? toBinaryMessage(message) : message;
+            default -> message;
+        };
+    }
+
+    private Message<?> toBinaryMessage(Message<?> message) {
+        if (!(message.getPayload() instanceof byte[] encodedPayload)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!Boolean.parseBoolean(accessor.getFirstNativeHeader(COMPRESSION_HEADER_KEY))) {
+            return message;
+        }
+        byte[] compressedPayload;
+        try {
+            compressedPayload = Base64.getDecoder().decode(encodedPayload);
+        }
+        catch (IllegalArgumentException ex) {
+            log.warn("Could not decode compressed message payload for session {}, sending it as text frame", accessor.getSessionId(), ex);
+            return message;
+        }
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER, MimeTypeUtils.APPLICATION_OCTET_STREAM_VALUE);
+        binaryMessages.increment();
+        savedBytes.increment(encodedPayload.length - compressedPayload.length);
+        return MessageBuilder.createMessage(compressedPayload, accessor.getMessageHeaders());
+    }
+}
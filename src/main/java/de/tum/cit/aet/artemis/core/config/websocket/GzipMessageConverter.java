@@ -105,10 +105,17 @@ public class GzipMessageConverter extends MappingJackson2MessageConverter {
         return original;
     }
 
-    // NOTE: we use a hybrid approach here mixing string based and binary data when compression is active.
-    // As a compromise, we use Base64 encoding to ensure that the compressed data can be safely transmitted as a string (without interfering with the WebSocket protocol).
-    // This can still reduce the payload size by up to 95% (for large payloads) compared to the original binary data (in standard json).
-    private String compressAndEncode(byte[] data) {
+    /**
+     * Compresses the serialized payload of an outgoing message, messages with this payload have to carry the {@link #COMPRESSION_HEADER_KEY} native header.
+     * <p>
+     * NOTE: we use a hybrid approach here mixing string based and binary data when compression is active.
+     * As a compromise, we use Base64 encoding to ensure that the compressed data can be safely transmitted as a string (without interfering with the WebSocket protocol).
+     * This can still reduce the payload size by up to 95% (for large payloads) compared to the original binary data (in standard json).
+     *
+     * @param data the serialized payload
+     * @return the gzip compressed and Base64 encoded payload
+     */
+    public static String compressAndEncode(byte[] data) {
         try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream(); GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteStream)) {
             gzipOutputStream.write(data);
             gzipOutputStream.finish();
@@ -0,0 +1,114 @@
+package de.tum.cit.aet.artemis.core.config.websocket;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration properties for the compression of outgoing websocket messages.
+ *
+ * <p>
+ * This class binds the artemis.websocket.compression.* properties. Messages to compressible topics are only compressed if their serialized payload reaches the threshold,
+ * because the gzip header and the Base64 encoding make small payloads larger instead of smaller.
+ * </p>
+ */
+@Profile(PROFILE_CORE)
+@Configuration
+@Lazy
+@ConfigurationProperties(prefix = "artemis.websocket.compression")
+public class WebsocketCompressionProperties {
+
+    /**
+     * The minimum size of the serialized payload in bytes from which messages to compressible topics are compressed.
+     * Default: 1024
+     */
+    private int thresholdBytes = 1024;
+
+    /**
+     * Overrides of the threshold for specific topics, the first override with a matching pattern applies.
+     */
+    private List<TopicOverride> topicOverrides = new ArrayList<>();
+
+    /**
+     * Whether the permessage-deflate extension is negotiated with clients that request it, which compresses all websocket frames on the transport level.
+     * Default: true
+     */
+    private boolean perMessageDeflate = true;
+
+    /**
+     * Whether compressed messages are sent as binary frames without Base64 encoding to clients that announce support for them when connecting.
+     * Default: true
+     */
+    private boolean binaryFrames = true;
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    public void setThresholdBytes(int thresholdBytes) {
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    public List<TopicOverride> getTopicOverrides() {
+        return topicOverrides;
+    }
+
+    public void setTopicOverrides(List<TopicOverride> topicOverrides) {
+        this.topicOverrides = topicOverrides;
+    }
+
+    public boolean isPerMessageDeflate() {
+        return perMessageDeflate;
+    }
+
+    public void setPerMessageDeflate(boolean perMessageDeflate) {
+        this.perMessageDeflate = perMessageDeflate;
+    }
+
+    public boolean isBinaryFrames() {
+        return binaryFrames;
+    }
+
+    public void setBinaryFrames(boolean binaryFrames) {
+        this.binaryFrames = binaryFrames;
+    }
+
+    /**
+     * The compression threshold for all topics matching a pattern. Overrides can also enable the compression for topics that are not compressed by default, as long as all
+     * clients subscribing to them support compressed messages.
+     */
+    public static class TopicOverride {
+
+        /**
+         * The regular expression the whole topic has to match, e.g. {@code ^/topic/admin/.*}
+         */
+        private String pattern;
+
+        /**
+         * The minimum size of the serialized payload in bytes from which messages are compressed, a negative value disables the compression.
+         */
+        private int thresholdBytes;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public int getThresholdBytes() {
+            return thresholdBytes;
+        }
+
+        public void setThresholdBytes(int thresholdBytes) {
+            this.thresholdBytes = thresholdBytes;
+        }
+    }
+}
@@ -52,6 +52,7 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -74,6 +75,7 @@ import de.tum.cit.aet.artemis.exam.config.ExamApiNotPresentException;
 import de.tum.cit.aet.artemis.exercise.domain.participation.StudentParticipation;
 import de.tum.cit.aet.artemis.exercise.repository.ExerciseRepository;
 import de.tum.cit.aet.artemis.exercise.repository.StudentParticipationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Profile(PROFILE_CORE)
 @Configuration
@@ -88,6 +90,8 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     private static final Pattern EXERCISE_SYNCHRONIZATION_TOPIC_PATTERN = Pattern.compile("^/topic/exercises/(\\d+)/synchronization$");
 
+    private static final String PER_MESSAGE_DEFLATE_EXTENSION = "permessage-deflate";
+
     public static final String IP_ADDRESS = "IP_ADDRESS";
 
     private final ObjectMapper objectMapper;
@@ -104,6 +108,10 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     private final Optional<ExamRepositoryApi> examRepositoryApi;
 
+    private final WebsocketCompressionProperties compressionProperties;
+
+    private final BinaryCompressionInterceptor binaryCompressionInterceptor;
+
     // Split the addresses by comma
     @Value("#{'${spring.websocket.broker.addresses}'.split(',')}")
     private List<String> brokerAddresses;
@@ -116,7 +124,7 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     public WebsocketConfiguration(MappingJackson2HttpMessageConverter springMvcJacksonConverter, TaskScheduler messageBrokerTaskScheduler, TokenProvider tokenProvider,
             StudentParticipationRepository studentParticipationRepository, AuthorizationCheckService authorizationCheckService, ExerciseRepository exerciseRepository,
-            Optional<ExamRepositoryApi> examRepositoryApi) {
+            Optional<ExamRepositoryApi> examRepositoryApi, WebsocketCompressionProperties compressionProperties, MeterRegistry meterRegistry) {
         this.objectMapper = springMvcJacksonConverter.getObjectMapper();
         this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
         this.tokenProvider = tokenProvider;
@@ -124,6 +132,8 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
         this.authorizationCheckService = authorizationCheckService;
         this.exerciseRepository = exerciseRepository;
         this.examRepositoryApi = examRepositoryApi;
+        this.compressionProperties = compressionProperties;
+        this.binaryCompressionInterceptor = new BinaryCompressionInterceptor(meterRegistry);
     }
 
     @Override
@@ -231,12 +241,18 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(new TopicSubscriptionInterceptor());
+        if (compressionProperties.isBinaryFrames()) {
+            // learns which sessions accept compressed messages in binary frames from their CONNECT frame
+            registration.interceptors(binaryCompressionInterceptor);
+        }
         registration.taskExecutor(createExecutor("ws-inbound-"));
     }
 
     @Override
     protected void configureClientOutboundChannel(ChannelRegistration registration) {
-        int cores = Runtime.getRuntime().availableProcessors();
+        if (compressionProperties.isBinaryFrames()) {
+            registration.interceptors(binaryCompressionInterceptor);
+        }
         registration.taskExecutor(createExecutor("ws-outbound-"));
     }
 
@@ -321,6 +337,19 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
                 }
                 return principal;
             }
+
+            /**
+             * Tomcat negotiates the permessage-deflate extension with all clients that request it, unless it is disabled in the configuration.
+             */
+            @Override
+            protected @NonNull List<WebSocketExtension> filterRequestedExtensions(@NonNull ServerHttpRequest request, List<WebSocketExtension> requestedExtensions,
+                    @NonNull List<WebSocketExtension> supportedExtensions) {
+                List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+                if (compressionProperties.isPerMessageDeflate()) {
+                    return extensions;
+                }
+                return extensions.stream().filter(extension -> !PER_MESSAGE_DEFLATE_EXTENSION.equalsIgnoreCase(extension.getName())).toList();
+            }
         };
     }
 
@@ -0,0 +1,78 @@
+package de.tum.cit.aet.artemis.core.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.jspecify.annotations.Nullable;
+
+import de.tum.cit.aet.artemis.core.util.LazyZipInputStream;
+
+/**
+ * Streams the given folders as one ZIP archive. Each folder is contained with its name as top-level directory, the same layout as created by
+ * {@link ZipFileService#createZipFile(Path, List)}.
+ * <p>
+ * The folders are traversed while the archive is read, so files have to remain in place until the stream is closed.
+ */
+final class FolderZipInputStream extends LazyZipInputStream {
+
+    private final Deque<Path> remainingFolders;
+
+    private @Nullable Path currentFolder;
+
+    private @Nullable Stream<Path> currentFiles;
+
+    private @Nullable Iterator<Path> currentIterator;
+
+    FolderZipInputStream(List<Path> folders) {
+        this.remainingFolders = new ArrayDeque<>(folders);
+    }
+
+    @Override
+    protected @Nullable Entry nextEntry() throws IOException {
+        while (currentIterator == null || !currentIterator.hasNext()) {
+            closeCurrentFolder();
+            Path folder = remainingFolders.poll();
+            if (folder == null) {
+                return null;
+            }
+            if (Files.isReadable(folder) && Files.isDirectory(folder)) {
+                currentFolder = folder;
+                currentFiles = Files.walk(folder);
+                currentIterator = currentFiles.iterator();
+            }
+        }
+
+        Path path = currentIterator.next();
+        String name = currentFolder.getFileName().resolve(currentFolder.relativize(path)).toString().replace('\\', '/');
+        if (Files.isDirectory(path)) {
+            return new Entry(new ZipArchiveEntry(name + "/"), null);
+        }
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setTime(Files.getLastModifiedTime(path).toMillis());
+        if (Files.isExecutable(path)) {
+            entry.setUnixMode(0100755);
+        }
+        return new Entry(entry, Files.newInputStream(path));
+    }
+
+    private void closeCurrentFolder() {
+        if (currentFiles != null) {
+            currentFiles.close();
+        }
+        currentFolder = null;
+        currentFiles = null;
+        currentIterator = null;
+    }
+
+    @Override
+    protected void closeSource() {
+        closeCurrentFolder();
+    }
+}
@@ -4,6 +4,7 @@ import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -65,6 +66,18 @@ public class ZipFileService {
         }
     }
 
+    /**
+     * Create a zip archive of the given folders that is written while the returned stream is read, without creating a zip file on disk.
+     * Each folder is contained with its name as top-level directory, like in {@link #createZipFile(Path, List)}.
+     *
+     * @param folders the folders that should be zipped, they have to remain in place until the stream is closed
+     * @return the stream of the zip archive
+     */
+    public InputStream createZipStreamWithFolders(List<Path> folders) {
+        log.debug("Creating zip stream for folders: {}", folders);
+        return new FolderZipInputStream(folders);
+    }
+
     /**
      * Create a zip file of the given paths and save it in the zipFilePath. The zipFilePath will be deleted after the specified delay.
      *
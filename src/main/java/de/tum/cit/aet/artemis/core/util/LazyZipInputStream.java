@@ -0,0 +1,164 @@
+package de.tum.cit.aet.artemis.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An input stream that creates a ZIP archive while it is read.
+ * <p>
+ * The archive is only written as far as the reader requested data, at most one chunk of an entry at a time. Handing the stream to the HTTP response therefore keeps the memory
+ * usage independent of the archive size, and the archive is created at the speed the client downloads it, instead of being assembled as byte array or temporary file first.
+ * <p>
+ * Subclasses provide the entries one after the other. The content of an entry is only opened when the entry is written, and closed once it was copied into the archive.
+ */
+public abstract class LazyZipInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * An entry of the archive.
+     *
+     * @param zipEntry the entry, including name, unix mode and modification time
+     * @param content  the content of the entry, null for directories
+     */
+    protected record Entry(ZipArchiveEntry zipEntry, @Nullable InputStream content) {
+    }
+
+    /**
+     * Holds the bytes of the archive that were written, but not read yet.
+     */
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+
+        private ChunkBuffer() {
+            super(CHUNK_SIZE);
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+    }
+
+    private final ChunkBuffer buffer = new ChunkBuffer();
+
+    private final ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(buffer);
+
+    private final byte[] copyBuffer = new byte[CHUNK_SIZE];
+
+    private @Nullable InputStream currentContent;
+
+    private int position;
+
+    private boolean finished;
+
+    private boolean closed;
+
+    /**
+     * Returns the next entry of the archive.
+     *
+     * @return the next entry, or null if all entries were written
+     * @throws IOException if the next entry cannot be read
+     */
+    protected abstract @Nullable Entry nextEntry() throws IOException;
+
+    @Override
+    public int read() throws IOException {
+        byte[] singleByte = new byte[1];
+        int count = read(singleByte, 0, 1);
+        return count < 0 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (position >= buffer.size()) {
+            if (finished) {
+                return -1;
+            }
+            buffer.reset();
+            position = 0;
+            writeNextChunk();
+        }
+        int count = Math.min(length, buffer.size() - position);
+        System.arraycopy(buffer.array(), position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Writes the next part of the archive into the buffer: either a chunk of the current entry, the end of the current entry, the header of the next entry or the central
+     * directory. The deflater might keep the written bytes until its own buffer is full, so the buffer can remain empty.
+     */
+    private void writeNextChunk() throws IOException {
+        if (currentContent != null) {
+            int count = currentContent.read(copyBuffer);
+            if (count >= 0) {
+                zipOutputStream.write(copyBuffer, 0, count);
+                return;
+            }
+            currentContent.close();
+            currentContent = null;
+            zipOutputStream.closeArchiveEntry();
+            return;
+        }
+        Entry entry = nextEntry();
+        if (entry == null) {
+            zipOutputStream.finish();
+            finished = true;
+            return;
+        }
+        zipOutputStream.putArchiveEntry(entry.zipEntry());
+        if (entry.content() == null) {
+            zipOutputStream.closeArchiveEntry();
+        }
+        else {
+            currentContent = entry.content();
+        }
+    }
+
+    /**
+     * Releases the source of the entries, e.g. an open repository. Invoked exactly once when the stream is closed.
+     *
+     * @throws IOException if the source cannot be released
+     */
+    protected void closeSource() throws IOException {
+    }
+
+    /**
+     * Closes the content of the current entry, releases the compressor and the source of the entries.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (currentContent != null) {
+                currentContent.close();
+            }
+        }
+        finally {
+            try {
+                zipOutputStream.close();
+            }
+            catch (IOException e) {
+                // the archive was abandoned before it was complete (e.g. the client cancelled the download), nothing is written to the buffer anymore
+            }
+            finally {
+                closeSource();
+            }
+        }
+    }
+}
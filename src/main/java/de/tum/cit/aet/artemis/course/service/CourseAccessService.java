@@ -34,6 +34,7 @@ import de.tum.cit.aet.artemis.core.service.EnrollmentService;
 import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.course.repository.CourseRepository;
 import de.tum.cit.aet.artemis.localvc.service.RepositoryVcsAccessTokenService;
+import de.tum.cit.aet.artemis.notification.service.UserCourseNotificationStatusService;
 
 /**
  * Service for managing course access, including enrollment and unenrollment of users.
@@ -64,9 +65,11 @@ public class CourseAccessService {
 
     private final RepositoryVcsAccessTokenService repositoryVcsAccessTokenService;
 
+    private final UserCourseNotificationStatusService userCourseNotificationStatusService;
+
     public CourseAccessService(AuthorizationCheckService authCheckService, EnrollmentService enrollmentService, CourseRepository courseRepository, UserService userService,
             Optional<LearnerProfileApi> learnerProfileApi, AuditEventRepository auditEventRepository, Optional<LearningPathApi> learningPathApi, UserRepository userRepository,
-            RepositoryVcsAccessTokenService repositoryVcsAccessTokenService) {
+            RepositoryVcsAccessTokenService repositoryVcsAccessTokenService, UserCourseNotificationStatusService userCourseNotificationStatusService) {
         this.authCheckService = authCheckService;
         this.enrollmentService = enrollmentService;
         this.courseRepository = courseRepository;
@@ -76,6 +79,7 @@ public class CourseAccessService {
         this.learningPathApi = learningPathApi;
         this.userRepository = userRepository;
         this.repositoryVcsAccessTokenService = repositoryVcsAccessTokenService;
+        this.userCourseNotificationStatusService = userCourseNotificationStatusService;
     }
 
     /**
@@ -112,7 +116,11 @@ public class CourseAccessService {
      */
     public void enrollUserForCourseOrThrow(User user, Course course) {
         enrollmentService.checkUserAllowedToEnrollInCourseElseThrow(user, course);
+        boolean wasCourseMember = authCheckService.isAtLeastStudentInCourse(course, user);
         userService.addUserToGroup(user, course.getStudentGroupName());
+        if (!wasCourseMember) {
+            userCourseNotificationStatusService.initializeWatermarksOfNewCourseMembers(Set.of(user.getId()), course.getId());
+        }
         if (course.getLearningPathsEnabled()) {
             learnerProfileApi.ifPresent(api -> api.createCourseLearnerProfile(course, user));
             learningPathApi.ifPresent(api -> api.generateLearningPathForUser(course, user));
@@ -142,17 +150,25 @@ public class CourseAccessService {
         String courseGroupName = course.defineCourseGroupName(courseGroup);
         Role courseGroupRole = Role.fromString(courseGroup);
         List<StudentDTO> notFoundStudentsDTOs = new ArrayList<>();
+        List<Long> addedUserIds = new ArrayList<>();
         for (var studentDto : studentDTOs) {
-            var optionalStudent = userService.findUserAndAddToCourse(studentDto.registrationNumber(), studentDto.login(), studentDto.email(), courseGroupName);
+            var optionalStudent = userService.findUser(studentDto.registrationNumber(), studentDto.login(), studentDto.email());
             if (optionalStudent.isEmpty()) {
                 notFoundStudentsDTOs.add(studentDto);
+                continue;
             }
-            else if (courseGroupRole == Role.STUDENT && course.getLearningPathsEnabled()) {
+            boolean wasCourseMember = authCheckService.isAtLeastStudentInCourse(course, optionalStudent.get());
+            userService.addUserToGroup(optionalStudent.get(), courseGroupName);
+            if (!wasCourseMember) {
+                addedUserIds.add(optionalStudent.get().getId());
+            }
+            if (courseGroupRole == Role.STUDENT && course.getLearningPathsEnabled()) {
                 final Course finalCourse = course;
                 learnerProfileApi.ifPresent(api -> api.createCourseLearnerProfile(finalCourse, optionalStudent.get()));
                 learningPathApi.ifPresent(api -> api.generateLearningPathForUser(finalCourse, optionalStudent.get()));
             }
         }
+        userCourseNotificationStatusService.initializeWatermarksOfNewCourseMembers(addedUserIds, course.getId());
 
         return notFoundStudentsDTOs;
     }
@@ -183,7 +199,11 @@ public class CourseAccessService {
      * @param course the course in which the user should be added
      */
     public void addUserToGroup(User user, String group, Course course) {
+        boolean wasCourseMember = authCheckService.isAtLeastStudentInCourse(course, user);
         userService.addUserToGroup(user, group);
+        if (!wasCourseMember) {
+            userCourseNotificationStatusService.initializeWatermarksOfNewCourseMembers(Set.of(user.getId()), course.getId());
+        }
         if (group.equals(course.getStudentGroupName()) && course.getLearningPathsEnabled()) {
             Course courseWithCompetencies = courseRepository.findWithEagerCompetenciesAndPrerequisitesByIdElseThrow(course.getId());
             learnerProfileApi.ifPresent(api -> api.createCourseLearnerProfile(course, user));
@@ -55,6 +55,7 @@ import de.tum.cit.aet.artemis.assessment.repository.ComplaintRepository;
 import de.tum.cit.aet.artemis.assessment.repository.ComplaintResponseRepository;
 import de.tum.cit.aet.artemis.assessment.repository.GradingScaleRepository;
 import de.tum.cit.aet.artemis.assessment.repository.ResultRepository;
+import de.tum.cit.aet.artemis.assessment.service.AssessmentCountService;
 import de.tum.cit.aet.artemis.assessment.service.BonusService;
 import de.tum.cit.aet.artemis.assessment.service.CourseScoreCalculationService;
 import de.tum.cit.aet.artemis.assessment.service.TutorLeaderboardService;
@@ -203,6 +204,8 @@ public class ExamService {
 
     private final Optional<SearchableEntityWeaviateService> searchableItemWeaviateService;
 
+    private final AssessmentCountService assessmentCountService;
+
     public ExamService(ExamRepository examRepository, StudentExamRepository studentExamRepository, TutorLeaderboardService tutorLeaderboardService,
             StudentParticipationRepository studentParticipationRepository, ComplaintRepository complaintRepository, ComplaintResponseRepository complaintResponseRepository,
             UserRepository userRepository, ProgrammingExerciseRepository programmingExerciseRepository, QuizExerciseRepository quizExerciseRepository,
@@ -213,7 +216,7 @@ public class ExamService {
             QuizResultService quizResultService, ExerciseRepository exerciseRepository, QuizQuestionRepository quizQuestionRepository,
             TemplateProgrammingExerciseParticipationRepository templateProgrammingExerciseParticipationRepository,
             SolutionProgrammingExerciseParticipationRepository solutionProgrammingExerciseParticipationRepository,
-            Optional<SearchableEntityWeaviateService> searchableItemWeaviateService) {
+            Optional<SearchableEntityWeaviateService> searchableItemWeaviateService, AssessmentCountService assessmentCountService) {
         this.examRepository = examRepository;
         this.studentExamRepository = studentExamRepository;
         this.userRepository = userRepository;
@@ -242,6 +245,7 @@ public class ExamService {
         this.templateProgrammingExerciseParticipationRepository = templateProgrammingExerciseParticipationRepository;
         this.solutionProgrammingExerciseParticipationRepository = solutionProgrammingExerciseParticipationRepository;
         this.searchableItemWeaviateService = searchableItemWeaviateService;
+        this.assessmentCountService = assessmentCountService;
     }
 
     private static boolean isSecondCorrectionEnabled(Exam exam) {
@@ -1389,8 +1393,9 @@ public class ExamService {
 
         int numberOfCorrectionRoundsInExam = examRepository.findNumberOfCorrectionRoundsByExamId(examId);
 
-        DueDateStat[] numberOfAssessmentsOfCorrectionRounds = resultRepository.countNumberOfFinishedAssessmentsForExamForCorrectionRounds(exerciseIds,
-                numberOfCorrectionRoundsInExam);
+        // the counts of all exercises are loaded with one aggregate query and cached for a short time, as tutors refresh the dashboard constantly
+        DueDateStat[] numberOfAssessmentsOfCorrectionRounds = AssessmentCountService
+                .toCorrectionRoundStats(assessmentCountService.getAssessmentCountsOfExam(examId, numberOfCorrectionRoundsInExam).values(), numberOfCorrectionRoundsInExam);
         stats.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds);
 
         final long numberOfComplaints = complaintRepository.countByExerciseIdsAndComplaintType(exerciseIds, ComplaintType.COMPLAINT);
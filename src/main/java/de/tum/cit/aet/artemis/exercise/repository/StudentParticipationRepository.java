@@ -466,6 +466,62 @@ public interface StudentParticipationRepository extends ArtemisJpaRepository<Stu
             """)
     List<StudentParticipation> findByExerciseIdWithLatestAutomaticResultAndFeedbacksAndTestCases(@Param("exerciseId") long exerciseId);
 
+    /**
+     * Get the ids of all student participations of an exercise, e.g. to process the participations in chunks.
+     *
+     * @param exerciseId Exercise id.
+     * @return the ids of the participations in ascending order.
+     */
+    @Query("""
+            SELECT p.id
+            FROM StudentParticipation p
+            WHERE p.exercise.id = :exerciseId
+            ORDER BY p.id
+            """)
+    List<Long> findIdsByExerciseId(@Param("exerciseId") long exerciseId);
+
+    /**
+     * Get the given participations with each latest {@link AssessmentType#AUTOMATIC} result and feedbacks (determined by id).
+     *
+     * @param participationIds the ids of the participations.
+     * @return the participations that have an automatic result.
+     */
+    @Query("""
+            SELECT DISTINCT p
+            FROM StudentParticipation p
+                LEFT JOIN FETCH p.submissions s
+                LEFT JOIN FETCH s.results r
+                LEFT JOIN FETCH r.feedbacks f
+                LEFT JOIN FETCH f.testCase
+            WHERE p.id IN :participationIds
+                AND (r.id = (
+                    SELECT MAX(r2.id)
+                    FROM Submission s2 JOIN s2.results r2
+                    WHERE s2.participation = p
+                      AND r2.assessmentType = de.tum.cit.aet.artemis.assessment.domain.AssessmentType.AUTOMATIC
+                ))
+            """)
+    List<StudentParticipation> findByIdsWithLatestAutomaticResultAndFeedbacksAndTestCases(@Param("participationIds") Collection<Long> participationIds);
+
+    /**
+     * Get the given participations with their manual ({@link AssessmentType#MANUAL} or {@link AssessmentType#SEMI_AUTOMATIC}) results and feedbacks.
+     *
+     * @param participationIds the ids of the participations.
+     * @return the participations that have a manual result.
+     */
+    @Query("""
+            SELECT DISTINCT p
+            FROM StudentParticipation p
+                LEFT JOIN FETCH p.submissions s
+                LEFT JOIN FETCH s.results r
+                LEFT JOIN FETCH r.feedbacks f
+                LEFT JOIN FETCH f.testCase
+            WHERE p.id IN :participationIds
+                AND (r.assessmentType = de.tum.cit.aet.artemis.assessment.domain.AssessmentType.MANUAL
+                    OR r.assessmentType = de.tum.cit.aet.artemis.assessment.domain.AssessmentType.SEMI_AUTOMATIC)
+            """)
+    List<StudentParticipation> findByIdsWithManualResultAndFeedbacksAndTestCases(@Param("participationIds") Collection<Long> participationIds);
+
     /**
      * Get all participations without individual due date for an exercise with each latest {@link AssessmentType#AUTOMATIC} result and feedbacks (determined by id).
      *
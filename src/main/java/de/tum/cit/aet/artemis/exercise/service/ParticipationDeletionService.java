@@ -38,6 +38,7 @@ import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseStudentParti
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingSubmission;
 import de.tum.cit.aet.artemis.programming.repository.ProgrammingExerciseStudentParticipationRepository;
 import de.tum.cit.aet.artemis.programming.service.BuildLogEntryService;
+import de.tum.cit.aet.artemis.programming.service.ProgrammingExerciseGradingStatisticsService;
 
 @Service
 @Profile(PROFILE_CORE)
@@ -76,13 +77,15 @@ public class ParticipationDeletionService {
 
     private final Optional<SharedQueueManagementService> localCISharedBuildJobQueueService;
 
+    private final ProgrammingExerciseGradingStatisticsService gradingStatisticsService;
+
     public ParticipationDeletionService(StudentParticipationRepository studentParticipationRepository, ParticipantScoreRepository participantScoreRepository,
             SubmissionRepository submissionRepository, Optional<CompetencyProgressApi> competencyProgressApi, ParticipationRepository participationRepository,
             TeamScoreRepository teamScoreRepository, ResultService resultService, StudentScoreRepository studentScoreRepository,
             ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository,
             Optional<ContinuousIntegrationService> continuousIntegrationService, Optional<VersionControlService> versionControlService, GitService gitService,
             BuildLogEntryService buildLogEntryService, ParticipationVcsAccessTokenService participationVcsAccessTokenService,
-            Optional<SharedQueueManagementService> localCISharedBuildJobQueueService) {
+            Optional<SharedQueueManagementService> localCISharedBuildJobQueueService, ProgrammingExerciseGradingStatisticsService gradingStatisticsService) {
         this.studentParticipationRepository = studentParticipationRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.submissionRepository = submissionRepository;
@@ -98,6 +101,7 @@ public class ParticipationDeletionService {
         this.buildLogEntryService = buildLogEntryService;
         this.participationVcsAccessTokenService = participationVcsAccessTokenService;
         this.localCISharedBuildJobQueueService = localCISharedBuildJobQueueService;
+        this.gradingStatisticsService = gradingStatisticsService;
     }
 
     /**
@@ -210,6 +214,11 @@ public class ParticipationDeletionService {
             }
             submissionRepository.deleteById(submission.getId());
         });
+
+        // the grading statistics still count the latest result of the participation, they are rebuilt without it on the next request
+        if (participation instanceof ProgrammingExerciseStudentParticipation && !resultsToBeDeleted.isEmpty()) {
+            gradingStatisticsService.invalidate(participation.getExercise().getId());
+        }
     }
 
     /**
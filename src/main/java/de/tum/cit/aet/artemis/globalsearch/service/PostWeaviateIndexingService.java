@@ -0,0 +1,300 @@
+package de.tum.cit.aet.artemis.globalsearch.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import de.tum.cit.aet.artemis.communication.domain.Post;
+import de.tum.cit.aet.artemis.communication.domain.conversation.Channel;
+import de.tum.cit.aet.artemis.communication.repository.PostRepository;
+import de.tum.cit.aet.artemis.core.security.SecurityUtils;
+import de.tum.cit.aet.artemis.globalsearch.config.WeaviateEnabled;
+import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Outbox for the synchronization of posts with Weaviate.
+ * <p>
+ * Creating or editing a message only records the change in a queue of this node, keyed by the post id, so that repeated edits of
+ * the same post before the next flush are written once with their latest state. A scheduled job flushes the due changes with one
+ * batch insert per {@link #BATCH_SIZE} posts via {@link SearchableEntityWeaviateService} and retries failed changes with exponential
+ * backoff. Deletions go through the same queue, so that they cannot be overtaken by a pending upsert of the deleted post.
+ * <p>
+ * Deleting or hiding a channel removes the pending upserts of its posts from the queue and records the removal of all its posts,
+ * which is written after the upserts of the same flush. Upserts that were already being written or retried can therefore not
+ * re-index posts of the channel afterwards.
+ * <p>
+ * The queue only contains the changes recorded on this node, so it cannot see a deletion of a post or a removal of a channel recorded
+ * on another node. Before a batch of upserts is written, the posts are therefore reloaded from the database: posts that no longer exist
+ * or no longer belong to an indexable channel are removed from Weaviate instead, all other posts are written with their current state.
+ * <p>
+ * The queue is not persisted: changes that are pending while the node shuts down are lost, like the asynchronous upserts used
+ * before.
+ */
+@Lazy
+@Service
+@Conditional(WeaviateEnabled.class)
+public class PostWeaviateIndexingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostWeaviateIndexingService.class);
+
+    /**
+     * The maximum number of posts written to Weaviate in one batch insert.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * The number of attempts to write a change, the delay before a retry doubles with each attempt.
+     */
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(10);
+
+    /**
+     * A change of a post that is not written to Weaviate yet.
+     *
+     * @param postId        the id of the post
+     * @param post          the latest state of the post, null if the post was deleted
+     * @param enqueuedAt    the time at which the first change of the post since the last successful flush was recorded
+     * @param attempts      the number of failed attempts to write the change
+     * @param nextAttemptAt the earliest time at which the change is written (again)
+     */
+    private record PendingPostChange(long postId, @Nullable PostSearchableEntityDTO post, Instant enqueuedAt, int attempts, Instant nextAttemptAt) {
+
+        boolean isDeletion() {
+            return post == null;
+        }
+    }
+
+    /**
+     * The removal of all posts of a channel that is not written to Weaviate yet.
+     *
+     * @param channelId     the id of the deleted, archived or private channel
+     * @param enqueuedAt    the time at which the removal was first recorded
+     * @param attempts      the number of failed attempts to write the removal
+     * @param nextAttemptAt the earliest time at which the removal is written (again)
+     */
+    private record PendingChannelRemoval(long channelId, Instant enqueuedAt, int attempts, Instant nextAttemptAt) {
+    }
+
+    private final SearchableEntityWeaviateService searchableEntityWeaviateService;
+
+    private final PostRepository postRepository;
+
+    private final Map<Long, PendingPostChange> pendingChanges = new ConcurrentHashMap<>();
+
+    private final Map<Long, PendingChannelRemoval> pendingChannelRemovals = new ConcurrentHashMap<>();
+
+    private final Counter indexedChanges;
+
+    private final Counter failedChanges;
+
+    private final Counter retriedChanges;
+
+    public PostWeaviateIndexingService(SearchableEntityWeaviateService searchableEntityWeaviateService, PostRepository postRepository, MeterRegistry meterRegistry) {
+        this.searchableEntityWeaviateService = searchableEntityWeaviateService;
+        this.postRepository = postRepository;
+
+        Gauge.builder("artemis.global_search.post_indexing.pending", this, PostWeaviateIndexingService::getPendingChangeCount)
+                .description("Number of post changes that are not written to Weaviate yet").register(meterRegistry);
+        Gauge.builder("artemis.global_search.post_indexing.lag", this, PostWeaviateIndexingService::getIndexingLagSeconds)
+                .description("Age in seconds of the oldest post change that is not written to Weaviate yet").baseUnit("seconds").register(meterRegistry);
+        this.indexedChanges = Counter.builder("artemis.global_search.post_indexing.indexed").description("Number of post changes written to Weaviate").register(meterRegistry);
+        this.failedChanges = Counter.builder("artemis.global_search.post_indexing.failed").description("Number of post changes dropped after the last failed attempt")
+                .register(meterRegistry);
+        this.retriedChanges = Counter.builder("artemis.global_search.post_indexing.retried").description("Number of post changes scheduled for a retry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the latest state of a post, which is written to Weaviate with the next flush.
+     *
+     * @param post the extracted post data
+     */
+    public void enqueueUpsert(PostSearchableEntityDTO post) {
+        if (post == null || post.postId() == null) {
+            log.warn("Cannot upsert post without an ID");
+            return;
+        }
+        enqueue(post.postId(), post);
+    }
+
+    /**
+     * Records the deletion of a post, which removes the post and its answer posts from Weaviate with the next flush.
+     *
+     * @param postId the id of the deleted post
+     */
+    public void enqueueDeletion(long postId) {
+        enqueue(postId, null);
+    }
+
+    /**
+     * Records that all posts of a channel and their answer posts have to be removed from Weaviate, because the channel was deleted, archived or made private.
+     * Pending upserts of posts of the channel are discarded, the removal is written with the next flush after the upserts that were already being written.
+     *
+     * @param channelId the id of the channel
+     */
+    public void enqueueChannelRemoval(long channelId) {
+        // discards only the upserts that did not change in the meantime, a concurrent upsert is removed from Weaviate by the channel removal
+        pendingChanges.values().removeIf(change -> !change.isDeletion() && change.post().channelId() == channelId);
+        Instant now = Instant.now();
+        pendingChannelRemovals.merge(channelId, new PendingChannelRemoval(channelId, now, 0, now),
+                (pendingRemoval, newRemoval) -> new PendingChannelRemoval(channelId, pendingRemoval.enqueuedAt(), 0, now));
+    }
+
+    /**
+     * Writes the due post changes to Weaviate in batches. Runs on a single thread per node, so the changes of a post are applied in order.
+     */
+    @Scheduled(initialDelay = 2_000, fixedDelay = 2_000)
+    public void flushPendingChanges() {
+        if (pendingChanges.isEmpty() && pendingChannelRemovals.isEmpty()) {
+            return;
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            SecurityUtils.setAuthorizationObject();
+        }
+
+        Instant now = Instant.now();
+        List<PendingPostChange> dueChanges = pendingChanges.values().stream().filter(change -> !change.nextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(PendingPostChange::enqueuedAt)).toList();
+        for (int from = 0; from < dueChanges.size(); from += BATCH_SIZE) {
+            flushBatch(dueChanges.subList(from, Math.min(from + BATCH_SIZE, dueChanges.size())));
+        }
+
+        // removals of channels recorded while the upserts were written are due as well, so that they also remove the posts of these upserts
+        Instant removalsDueAt = Instant.now();
+        for (PendingChannelRemoval removal : pendingChannelRemovals.values().stream().filter(removal -> !removal.nextAttemptAt().isAfter(removalsDueAt)).toList()) {
+            try {
+                searchableEntityWeaviateService.deletePostsOfChannel(removal.channelId());
+                if (pendingChannelRemovals.remove(removal.channelId(), removal)) {
+                    indexedChanges.increment();
+                }
+            }
+            catch (Exception e) {
+                log.warn("Failed to delete the posts of channel {} from Weaviate: {}", removal.channelId(), e.getMessage());
+                retryOrDrop(removal);
+            }
+        }
+    }
+
+    private void flushBatch(List<PendingPostChange> changes) {
+        List<PendingPostChange> upserts = changes.stream().filter(change -> !change.isDeletion()).toList();
+        List<PendingPostChange> deletions = new ArrayList<>(changes.stream().filter(PendingPostChange::isDeletion).toList());
+        if (!upserts.isEmpty()) {
+            try {
+                // the post may have been deleted or its channel removed on another node since the upsert was recorded
+                Map<Long, Post> currentPosts = postRepository.findAllWithConversationAndCourseByIdIn(upserts.stream().map(PendingPostChange::postId).toList()).stream()
+                        .collect(Collectors.toMap(Post::getId, Function.identity()));
+                List<PostSearchableEntityDTO> indexablePosts = new ArrayList<>();
+                List<PendingPostChange> writtenUpserts = new ArrayList<>();
+                List<PendingPostChange> staleUpserts = new ArrayList<>();
+                for (PendingPostChange upsert : upserts) {
+                    Post post = currentPosts.get(upsert.postId());
+                    if (post != null && post.getConversation() instanceof Channel channel && PostSearchableEntityDTO.isIndexable(channel)) {
+                        indexablePosts.add(PostSearchableEntityDTO.fromPost(post, channel));
+                        writtenUpserts.add(upsert);
+                    }
+                    else {
+                        staleUpserts.add(upsert);
+                    }
+                }
+                if (!indexablePosts.isEmpty()) {
+                    searchableEntityWeaviateService.upsertPosts(indexablePosts);
+                }
+                writtenUpserts.forEach(this::complete);
+                deletions.addAll(staleUpserts);
+            }
+            catch (Exception e) {
+                log.warn("Failed to upsert {} posts in Weaviate: {}", upserts.size(), e.getMessage());
+                upserts.forEach(this::retryOrDrop);
+            }
+        }
+
+        for (PendingPostChange deletion : deletions) {
+            try {
+                searchableEntityWeaviateService.deletePost(deletion.postId());
+                complete(deletion);
+            }
+            catch (Exception e) {
+                log.warn("Failed to delete post {} from Weaviate: {}", deletion.postId(), e.getMessage());
+                retryOrDrop(deletion);
+            }
+        }
+    }
+
+    private void enqueue(long postId, @Nullable PostSearchableEntityDTO post) {
+        Instant now = Instant.now();
+        // keep the time of the first pending change, so that the indexing lag is not hidden by frequent edits
+        pendingChanges.merge(postId, new PendingPostChange(postId, post, now, 0, now),
+                (pendingChange, newChange) -> new PendingPostChange(postId, post, pendingChange.enqueuedAt(), 0, now));
+    }
+
+    /**
+     * Removes a written change from the queue, unless the post changed again while it was written.
+     */
+    private void complete(PendingPostChange change) {
+        pendingChanges.remove(change.postId(), change);
+        indexedChanges.increment();
+    }
+
+    private void retryOrDrop(PendingPostChange change) {
+        int attempts = change.attempts() + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+            if (pendingChanges.remove(change.postId(), change)) {
+                failedChanges.increment();
+                log.error("Dropped change of post {} after {} failed attempts to write it to Weaviate", change.postId(), attempts);
+            }
+            return;
+        }
+        if (pendingChanges.replace(change.postId(), change, new PendingPostChange(change.postId(), change.post(), change.enqueuedAt(), attempts, nextAttemptAt(attempts)))) {
+            retriedChanges.increment();
+        }
+    }
+
+    private void retryOrDrop(PendingChannelRemoval removal) {
+        int attempts = removal.attempts() + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+            if (pendingChannelRemovals.remove(removal.channelId(), removal)) {
+                failedChanges.increment();
+                log.error("Dropped removal of the posts of channel {} after {} failed attempts to write it to Weaviate", removal.channelId(), attempts);
+            }
+            return;
+        }
+        if (pendingChannelRemovals.replace(removal.channelId(), removal, new PendingChannelRemoval(removal.channelId(), removal.enqueuedAt(), attempts, nextAttemptAt(attempts)))) {
+            retriedChanges.increment();
+        }
+    }
+
+    private static Instant nextAttemptAt(int attempts) {
+        return Instant.now().plus(INITIAL_RETRY_DELAY.multipliedBy(1L << (attempts - 1)));
+    }
+
+    private int getPendingChangeCount() {
+        return pendingChanges.size() + pendingChannelRemovals.size();
+    }
+
+    private double getIndexingLagSeconds() {
+        Instant now = Instant.now();
+        Stream<Instant> enqueuedAt = Stream.concat(pendingChanges.values().stream().map(PendingPostChange::enqueuedAt),
+                pendingChannelRemovals.values().stream().map(PendingChannelRemoval::enqueuedAt));
+        return enqueuedAt.min(Comparator.naturalOrder()).map(oldestChange -> Duration.between(oldestChange, now).toMillis() / 1000.0).orElse(0.0);
+    }
+}
@@ -1,6 +1,7 @@
 package de.tum.cit.aet.artemis.globalsearch.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -377,26 +378,48 @@ public class SearchableEntityWeaviateService {
     // ----- Post sync -----
 
     /**
-     * Asynchronously upserts a post (message) into the unified collection.
+     * Upserts a batch of posts into the unified collection with a single batch insert, which replaces existing rows with the same
+     * deterministic UUID. Invoked synchronously by {@link PostWeaviateIndexingService}, which retries the whole batch if it fails.
      *
-     * @param dto the extracted post data
+     * @param dtos the extracted post data
+     * @throws WeaviateException if the batch or any of its objects could not be written
      */
-    @Async
-    public void upsertPostAsync(PostSearchableEntityDTO dto) {
-        if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            SecurityUtils.setAuthorizationObject();
-        }
-        if (dto == null || dto.postId() == null) {
-            log.warn("Cannot upsert post without an ID");
+    public void upsertPosts(List<PostSearchableEntityDTO> dtos) {
+        List<WeaviateObject<Map<String, Object>>> batch = new ArrayList<>();
+        for (PostSearchableEntityDTO dto : dtos) {
+            String uuid = WeaviateUuidUtil.deterministicUuid(SearchableEntitySchema.TypeValues.POST, dto.postId());
+            Map<String, Object> properties = dto.toPropertyMap();
+            batch.add(WeaviateObject.of(objectBuilder -> objectBuilder.uuid(uuid).properties(properties)));
+        }
+        if (batch.isEmpty()) {
             return;
         }
+
+        List<String> errors;
         try {
-            upsertRow(SearchableEntitySchema.TypeValues.POST, dto.postId(), dto.toPropertyMap());
-            log.debug("Successfully upserted post {} in Weaviate", dto.postId());
+            errors = weaviateService.getCollection(SearchableEntitySchema.COLLECTION_NAME).data.insertMany(batch).errors();
         }
         catch (Exception e) {
-            log.error("Failed to upsert post {} in Weaviate: {}", dto.postId(), e.getMessage(), e);
+            throw new WeaviateException("Failed to upsert " + batch.size() + " posts in Weaviate: " + e.getMessage(), e);
         }
+        if (!errors.isEmpty()) {
+            throw new WeaviateException("Failed to upsert " + errors.size() + " of " + batch.size() + " posts in Weaviate: " + errors.getFirst(), null);
+        }
+        log.debug("Successfully upserted {} posts in Weaviate", batch.size());
+    }
+
+    /**
+     * Deletes a post and its answer posts from the unified collection. Invoked synchronously by {@link PostWeaviateIndexingService},
+     * so that the deletion is not overtaken by a pending upsert of the same post.
+     *
+     * @param postId the post id
+     */
+    public void deletePost(long postId) {
+        deleteEntityInternal(SearchableEntitySchema.TypeValues.POST, postId);
+        var collection = weaviateService.getCollection(SearchableEntitySchema.COLLECTION_NAME);
+        collection.data.deleteMany(Filter.and(Filter.property(SearchableEntitySchema.Properties.TYPE).eq(SearchableEntitySchema.TypeValues.ANSWER_POST),
+                Filter.property(SearchableEntitySchema.Properties.POST_ID).eq(postId)));
+        log.debug("Deleted post {} and its answer posts from Weaviate", postId);
     }
 
     // ----- Answer Post sync -----
@@ -425,50 +448,17 @@ public class SearchableEntityWeaviateService {
     }
 
     /**
-     * Asynchronously deletes every answer post row belonging to the given post. Invoked when
-     * a post is deleted so its cascade-deleted replies don't remain orphaned in Weaviate.
-     *
-     * @param postId the parent post id
-     */
-    @Async
-    public void deleteAllAnswerPostsForPostAsync(long postId) {
-        if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            SecurityUtils.setAuthorizationObject();
-        }
-        try {
-            var collection = weaviateService.getCollection(SearchableEntitySchema.COLLECTION_NAME);
-            var filter = Filter.and(Filter.property(SearchableEntitySchema.Properties.TYPE).eq(SearchableEntitySchema.TypeValues.ANSWER_POST),
-                    Filter.property(SearchableEntitySchema.Properties.POST_ID).eq(postId));
-            var result = collection.data.deleteMany(filter);
-            log.debug("Deleted {} answer post rows for post {}", result.successful(), postId);
-        }
-        catch (Exception e) {
-            log.error("Failed to delete answer post rows for post {}: {}", postId, e.getMessage(), e);
-        }
-    }
-
-    /**
-     * Asynchronously deletes every post row belonging to the given channel. Invoked when
-     * a channel is deleted or archived so posts don't remain searchable.
+     * Deletes every post and answer post row belonging to the given channel. Invoked synchronously by {@link PostWeaviateIndexingService}
+     * when a channel is deleted, archived or made private, after the pending upserts of its posts, so that posts don't remain searchable.
      *
      * @param channelId the channel id
      */
-    @Async
-    public void deleteAllPostsForChannelAsync(long channelId) {
-        if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            SecurityUtils.setAuthorizationObject();
-        }
-        try {
-            var collection = weaviateService.getCollection(SearchableEntitySchema.COLLECTION_NAME);
-            var typeFilter = Filter.or(Filter.property(SearchableEntitySchema.Properties.TYPE).eq(SearchableEntitySchema.TypeValues.POST),
-                    Filter.property(SearchableEntitySchema.Properties.TYPE).eq(SearchableEntitySchema.TypeValues.ANSWER_POST));
-            var filter = Filter.and(typeFilter, Filter.property(SearchableEntitySchema.Properties.CHANNEL_ID).eq(channelId));
-            var result = collection.data.deleteMany(filter);
-            log.debug("Deleted {} post/answer post rows for channel {}", result.successful(), channelId);
-        }
-        catch (Exception e) {
-            log.error("Failed to delete post/answer post rows for channel {}: {}", channelId, e.getMessage(), e);
-        }
+    public void deletePostsOfChannel(long channelId) {
+        var collection = weaviateService.getCollection(SearchableEntitySchema.COLLECTION_NAME);
+        var typeFilter = Filter.or(Filter.property(SearchableEntitySchema.Properties.TYPE).eq(SearchableEntitySchema.TypeValues.POST),
+                Filter.property(SearchableEntitySchema.Properties.TYPE).eq(SearchableEntitySchema.TypeValues.ANSWER_POST));
+        var result = collection.data.deleteMany(Filter.and(typeFilter, Filter.property(SearchableEntitySchema.Properties.CHANNEL_ID).eq(channelId)));
+        log.debug("Deleted {} post/answer post rows for channel {}", result.successful(), channelId);
     }
 
     /**
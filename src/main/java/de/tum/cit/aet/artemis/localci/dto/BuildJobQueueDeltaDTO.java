@@ -0,0 +1,24 @@
+package de.tum.cit.aet.artemis.localci.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.cit.aet.artemis.buildagent.dto.BuildJobQueueItem;
+
+/**
+ * The changes of a list of queued or running build jobs since the previous websocket message to the same topic.
+ *
+ * @param added   the jobs that were added to the list
+ * @param updated the jobs whose information changed, e.g. because a build agent started processing them
+ * @param removed the ids of the jobs that were removed from the list
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BuildJobQueueDeltaDTO(List<BuildJobQueueItem> added, List<BuildJobQueueItem> updated, List<String> removed) {
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+}
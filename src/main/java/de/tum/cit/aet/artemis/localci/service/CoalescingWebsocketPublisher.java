@@ -0,0 +1,109 @@
+package de.tum.cit.aet.artemis.localci.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Limits how often a websocket message is sent to a topic, by coalescing all updates within the minimum interval into one message.
+ * <p>
+ * The first update after a quiet period is sent immediately. Further updates within the interval only mark the topic as changed, and one message is sent when the interval has
+ * passed. The message is created by the most recent send action when it is sent, so it always contains the latest state instead of the state of the first update.
+ * <p>
+ * Sends to the same topic never run concurrently, so send actions can safely keep state between messages (e.g. to compute deltas).
+ */
+final class CoalescingWebsocketPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingWebsocketPublisher.class);
+
+    private final TaskScheduler scheduler;
+
+    private final long minIntervalNanos;
+
+    private final Map<String, TopicState> topics = new ConcurrentHashMap<>();
+
+    /**
+     * The throttling state of one topic. The fields are guarded by the monitor of the state, the sends by the separate send lock.
+     */
+    private static final class TopicState {
+
+        private final Object sendLock = new Object();
+
+        private long lastSentNanos;
+
+        private boolean sentBefore;
+
+        private boolean flushScheduled;
+
+        private @Nullable Runnable pendingSend;
+    }
+
+    /**
+     * @param scheduler   the scheduler used to send the coalesced updates
+     * @param minInterval the minimum time between two messages to the same topic, zero to send every update immediately
+     */
+    CoalescingWebsocketPublisher(TaskScheduler scheduler, Duration minInterval) {
+        this.scheduler = scheduler;
+        this.minIntervalNanos = minInterval.toNanos();
+    }
+
+    /**
+     * Sends an update to the topic, either immediately or coalesced with further updates once the minimum interval since the last message has passed.
+     *
+     * @param topic the key of the topic
+     * @param send  the action that reads the current state and sends it to the topic
+     */
+    void publish(String topic, Runnable send) {
+        TopicState state = topics.computeIfAbsent(topic, key -> new TopicState());
+        if (minIntervalNanos <= 0) {
+            synchronized (state.sendLock) {
+                send.run();
+            }
+            return;
+        }
+        synchronized (state) {
+            state.pendingSend = send;
+            if (state.flushScheduled) {
+                // coalesced into the scheduled message
+                return;
+            }
+            long waitNanos = state.sentBefore ? state.lastSentNanos + minIntervalNanos - System.nanoTime() : 0;
+            if (waitNanos > 0) {
+                state.flushScheduled = true;
+                scheduler.schedule(() -> flush(topic, state), Instant.now().plusNanos(waitNanos));
+                return;
+            }
+            state.flushScheduled = true;
+        }
+        // the interval has already passed, send on the calling thread like without throttling
+        flush(topic, state);
+    }
+
+    private void flush(String topic, TopicState state) {
+        synchronized (state.sendLock) {
+            Runnable send;
+            synchronized (state) {
+                send = state.pendingSend;
+                state.pendingSend = null;
+                state.flushScheduled = false;
+                state.sentBefore = true;
+                state.lastSentNanos = System.nanoTime();
+            }
+            if (send == null) {
+                return;
+            }
+            try {
+                send.run();
+            }
+            catch (Exception ex) {
+                log.warn("Failed to send coalesced websocket update for topic {}", topic, ex);
+            }
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package de.tum.cit.aet.artemis.localci.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
 import de.tum.cit.aet.artemis.buildagent.dto.BuildAgentInformation;
@@ -12,30 +20,59 @@ import de.tum.cit.aet.artemis.buildagent.dto.BuildConfig;
 import de.tum.cit.aet.artemis.buildagent.dto.BuildJobQueueItem;
 import de.tum.cit.aet.artemis.buildagent.dto.FinishedBuildJobDTO;
 import de.tum.cit.aet.artemis.buildagent.dto.RepositoryInfo;
+import de.tum.cit.aet.artemis.localci.dto.BuildJobQueueDeltaDTO;
 
 /**
  * This service is responsible for sending build job queue information over websockets.
  * It listens to changes in the build job queue and sends the updated information to the client.
  * NOTE: This service is only active if the profile "localci" and "scheduling" are active. This avoids sending the
  * same information multiple times and thus also avoids unnecessary load on the server.
+ * <p>
+ * The job lists and build agents change with every queue event, so the messages to each topic are throttled: all changes within the configured interval are coalesced into
+ * one message with the latest state. Optionally, only the changes of the job lists since the previous message are sent instead of the full lists.
  */
 @Lazy
 @Service
 @Profile("localci & scheduling")
 public class LocalCIQueueWebsocketService {
 
+    /**
+     * The number of deltas after which the full job list is sent again, so that clients that missed a message are eventually consistent.
+     */
+    private static final int DELTAS_BETWEEN_FULL_LISTS = 20;
+
     private final LocalCIWebsocketMessagingService localCIWebsocketMessagingService;
 
     private final DistributedDataAccessService distributedDataAccessService;
 
+    private final CoalescingWebsocketPublisher publisher;
+
+    private final boolean sendDeltas;
+
+    /**
+     * The jobs that were last sent to each job list topic, only used if deltas are sent.
+     */
+    private final Map<String, SentJobs> sentJobsByTopic = new ConcurrentHashMap<>();
+
+    private record SentJobs(Map<String, BuildJobQueueItem> jobsById, int deltasSinceFullList) {
+    }
+
     /**
      * Instantiates a new Local ci queue websocket service.
      *
      * @param localCIWebsocketMessagingService the local ci build queue websocket service
+     * @param distributedDataAccessService     the service to access the distributed build queue
+     * @param scheduler                        the scheduler used to send the coalesced messages
+     * @param minIntervalMillis                the minimum time between two messages to the same topic, 0 to send every change immediately
+     * @param sendDeltas                       whether only the changes of the job lists are sent instead of the full lists
      */
-    public LocalCIQueueWebsocketService(LocalCIWebsocketMessagingService localCIWebsocketMessagingService, DistributedDataAccessService distributedDataAccessService) {
+    public LocalCIQueueWebsocketService(LocalCIWebsocketMessagingService localCIWebsocketMessagingService, DistributedDataAccessService distributedDataAccessService,
+            @Qualifier("taskScheduler") TaskScheduler scheduler, @Value("${artemis.continuous-integration.websocket.min-interval-ms:500}") long minIntervalMillis,
+            @Value("${artemis.continuous-integration.websocket.send-deltas:false}") boolean sendDeltas) {
         this.localCIWebsocketMessagingService = localCIWebsocketMessagingService;
         this.distributedDataAccessService = distributedDataAccessService;
+        this.publisher = new CoalescingWebsocketPublisher(scheduler, Duration.ofMillis(minIntervalMillis));
+        this.sendDeltas = sendDeltas;
     }
 
     /**
@@ -44,10 +81,14 @@ public class LocalCIQueueWebsocketService {
      * @param courseId the course id of the programming exercise related to the job
      */
     void sendQueuedJobsOverWebsocket(long courseId) {
-        var queuedJobs = removeUnnecessaryInformation(distributedDataAccessService.getQueuedJobs());
-        var queuedJobsForCourse = queuedJobs.stream().filter(job -> job.courseId() == courseId).toList();
-        localCIWebsocketMessagingService.sendQueuedBuildJobs(queuedJobs);
-        localCIWebsocketMessagingService.sendQueuedBuildJobsForCourse(courseId, queuedJobsForCourse);
+        String adminTopic = "/topic/admin/queued-jobs";
+        publisher.publish(adminTopic, () -> sendJobs(adminTopic, queuedJobs(), localCIWebsocketMessagingService::sendQueuedBuildJobs,
+                delta -> localCIWebsocketMessagingService.sendQueuedBuildJobsDelta(null, delta)));
+
+        String courseTopic = "/topic/courses/" + courseId + "/queued-jobs";
+        publisher.publish(courseTopic, () -> sendJobs(courseTopic, jobsOfCourse(queuedJobs(), courseId),
+                jobs -> localCIWebsocketMessagingService.sendQueuedBuildJobsForCourse(courseId, jobs),
+                delta -> localCIWebsocketMessagingService.sendQueuedBuildJobsDelta(courseId, delta)));
     }
 
     /**
@@ -56,10 +97,82 @@ public class LocalCIQueueWebsocketService {
      * @param courseId the course id of the programming exercise related to the job
      */
     void sendProcessingJobsOverWebsocket(long courseId) {
-        var processingJobs = removeUnnecessaryInformation(distributedDataAccessService.getProcessingJobs());
-        var processingJobsForCourse = processingJobs.stream().filter(job -> job.courseId() == courseId).toList();
-        localCIWebsocketMessagingService.sendRunningBuildJobs(processingJobs);
-        localCIWebsocketMessagingService.sendRunningBuildJobsForCourse(courseId, processingJobsForCourse);
+        String adminTopic = "/topic/admin/running-jobs";
+        publisher.publish(adminTopic, () -> sendJobs(adminTopic, processingJobs(), localCIWebsocketMessagingService::sendRunningBuildJobs,
+                delta -> localCIWebsocketMessagingService.sendRunningBuildJobsDelta(null, delta)));
+
+        String courseTopic = "/topic/courses/" + courseId + "/running-jobs";
+        publisher.publish(courseTopic, () -> sendJobs(courseTopic, jobsOfCourse(processingJobs(), courseId),
+                jobs -> localCIWebsocketMessagingService.sendRunningBuildJobsForCourse(courseId, jobs),
+                delta -> localCIWebsocketMessagingService.sendRunningBuildJobsDelta(courseId, delta)));
+    }
+
+    private List<BuildJobQueueItem> queuedJobs() {
+        return removeUnnecessaryInformation(distributedDataAccessService.getQueuedJobs());
+    }
+
+    private List<BuildJobQueueItem> processingJobs() {
+        return removeUnnecessaryInformation(distributedDataAccessService.getProcessingJobs());
+    }
+
+    private static List<BuildJobQueueItem> jobsOfCourse(List<BuildJobQueueItem> jobs, long courseId) {
+        return jobs.stream().filter(job -> job.courseId() == courseId).toList();
+    }
+
+    /**
+     * Sends the current jobs of a topic, either as full list or as the changes since the previous message to the topic.
+     * The full list is sent if deltas are disabled, for the first message to a topic and regularly after {@link #DELTAS_BETWEEN_FULL_LISTS} deltas.
+     * Must only be invoked by the publisher, which never sends to the same topic concurrently.
+     *
+     * @param topic        the topic the jobs are sent to
+     * @param jobs         the current jobs
+     * @param sendFullList sends the full job list to the topic
+     * @param sendDelta    sends the changes of the job list to the topic
+     */
+    private void sendJobs(String topic, List<BuildJobQueueItem> jobs, Consumer<List<BuildJobQueueItem>> sendFullList, Consumer<BuildJobQueueDeltaDTO> sendDelta) {
+        if (!sendDeltas) {
+            sendFullList.accept(jobs);
+            return;
+        }
+        Map<String, BuildJobQueueItem> jobsById = new LinkedHashMap<>();
+        jobs.forEach(job -> jobsById.put(job.id(), job));
+
+        SentJobs previous = sentJobsByTopic.get(topic);
+        if (previous == null || previous.deltasSinceFullList() >= DELTAS_BETWEEN_FULL_LISTS) {
+            sendFullList.accept(jobs);
+            rememberSentJobs(topic, jobsById, 0);
+            return;
+        }
+
+        var added = new ArrayList<BuildJobQueueItem>();
+        var updated = new ArrayList<BuildJobQueueItem>();
+        jobsById.forEach((id, job) -> {
+            BuildJobQueueItem previousJob = previous.jobsById().get(id);
+            if (previousJob == null) {
+                added.add(job);
+            }
+            else if (!previousJob.equals(job)) {
+                updated.add(job);
+            }
+        });
+        List<String> removed = previous.jobsById().keySet().stream().filter(id -> !jobsById.containsKey(id)).toList();
+        var delta = new BuildJobQueueDeltaDTO(added, updated, removed);
+        if (delta.isEmpty()) {
+            // the coalesced changes cancelled each other out
+            return;
+        }
+        sendDelta.accept(delta);
+        rememberSentJobs(topic, jobsById, previous.deltasSinceFullList() + 1);
+    }
+
+    private void rememberSentJobs(String topic, Map<String, BuildJobQueueItem> jobsById, int deltasSinceFullList) {
+        if (jobsById.isEmpty()) {
+            // clients know the empty list, the next jobs are sent as full list again instead of keeping the state of idle topics
+            sentJobsByTopic.remove(topic);
+        }
+        else {
+            sentJobsByTopic.put(topic, new SentJobs(jobsById, deltasSinceFullList));
+        }
     }
 
     /**
@@ -97,7 +210,7 @@ public class LocalCIQueueWebsocketService {
      */
     void sendBuildAgentInformationOverWebsocket(String agentName) {
         sendBuildAgentSummaryOverWebsocket();
-        sendBuildAgentDetailsOverWebsocket(agentName);
+        publisher.publish("/topic/admin/build-agent/" + agentName, () -> sendBuildAgentDetailsOverWebsocket(agentName));
     }
 
     /**
@@ -105,8 +218,10 @@ public class LocalCIQueueWebsocketService {
      * This is called when build agent information changes or when processing jobs are added/removed.
      */
     void sendBuildAgentSummaryOverWebsocket() {
-        var buildAgentSummary = removeUnnecessaryInformationFromBuildAgentInformation(distributedDataAccessService.getBuildAgentInformation());
-        localCIWebsocketMessagingService.sendBuildAgentSummary(buildAgentSummary);
+        publisher.publish("/topic/admin/build-agents", () -> {
+            var buildAgentSummary = removeUnnecessaryInformationFromBuildAgentInformation(distributedDataAccessService.getBuildAgentInformation());
+            localCIWebsocketMessagingService.sendBuildAgentSummary(buildAgentSummary);
+        });
     }
 
     private void sendBuildAgentDetailsOverWebsocket(String agentName) {
@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
@@ -17,6 +18,7 @@ import de.tum.cit.aet.artemis.buildagent.dto.BuildAgentInformation;
 import de.tum.cit.aet.artemis.buildagent.dto.BuildJobQueueItem;
 import de.tum.cit.aet.artemis.buildagent.dto.FinishedBuildJobDTO;
 import de.tum.cit.aet.artemis.communication.service.WebsocketMessagingService;
+import de.tum.cit.aet.artemis.localci.dto.BuildJobQueueDeltaDTO;
 
 /**
  * This service sends out websocket messages for the local continuous integration system.
@@ -92,6 +94,32 @@ public class LocalCIWebsocketMessagingService {
         websocketMessagingService.sendMessage(channel, buildJobQueue);
     }
 
+    /**
+     * Sends the changes of the queued build jobs since the previous message over websocket.
+     * The delta is sent to the same topic as the full list, clients distinguish both by the type of the payload.
+     *
+     * @param courseId the id of the course for which to send the changes, or null for the admin topic
+     * @param delta    the added, updated and removed queued build jobs
+     */
+    public void sendQueuedBuildJobsDelta(@Nullable Long courseId, BuildJobQueueDeltaDTO delta) {
+        String channel = courseId == null ? "/topic/admin/queued-jobs" : "/topic/courses/" + courseId + "/queued-jobs";
+        log.debug("Sending delta on topic {}: {}", channel, delta);
+        websocketMessagingService.sendMessage(channel, delta);
+    }
+
+    /**
+     * Sends the changes of the running build jobs since the previous message over websocket.
+     * The delta is sent to the same topic as the full list, clients distinguish both by the type of the payload.
+     *
+     * @param courseId the id of the course for which to send the changes, or null for the admin topic
+     * @param delta    the added, updated and removed running build jobs
+     */
+    public void sendRunningBuildJobsDelta(@Nullable Long courseId, BuildJobQueueDeltaDTO delta) {
+        String channel = courseId == null ? "/topic/admin/running-jobs" : "/topic/courses/" + courseId + "/running-jobs";
+        log.debug("Sending delta on topic {}: {}", channel, delta);
+        websocketMessagingService.sendMessage(channel, delta);
+    }
+
     /**
      * Sends the build agent information over websocket. This is only allowed for admins.
      *
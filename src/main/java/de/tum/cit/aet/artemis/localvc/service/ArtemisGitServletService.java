@@ -89,6 +89,8 @@ public class ArtemisGitServletService extends GitServlet {
         this.addUploadPackFilter(new LocalVCFetchFilter(localVCServletService));
         this.addReceivePackFilter(new LocalVCPushFilter(localVCServletService));
 
+        // Replaces JGit's default factory, which only allows pushing if the repository config enables http.receivepack. Pushing without credentials is fine here,
+        // because authentication is handled by the LocalVCPushFilter, and the shared config of the cached repositories does not have to be modified per request.
         this.setReceivePackFactory((request, repository) -> {
             ReceivePack receivePack = new ReceivePack(repository);
             // we only need to set the PreReceiveHook and PostReceiveHook for authorized POST requests, as only these trigger onPreReceive or onPostReceive.
@@ -3,8 +3,9 @@ package de.tum.cit.aet.artemis.localvc.service;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -12,11 +13,10 @@ import java.util.Objects;
 import java.util.function.Predicate;
 
 import org.apache.commons.io.FileUtils;
-import org.eclipse.jgit.api.ArchiveCommand;
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.archive.ZipFormat;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +25,11 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.stereotype.Service;
 
+import de.tum.cit.aet.artemis.core.service.TempFileUtilService;
 import de.tum.cit.aet.artemis.core.service.ZipFileService;
 import de.tum.cit.aet.artemis.core.util.FileUtil;
-import de.tum.cit.aet.artemis.localvc.service.git.InMemoryRepositoryBuilder;
+import de.tum.cit.aet.artemis.localvc.service.git.RepositorySnapshotZipInputStream;
+import de.tum.cit.aet.artemis.localvc.service.git.RepositoryWithHistoryZipInputStream;
 import de.tum.cit.aet.artemis.programming.domain.AuxiliaryRepository;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExercise;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseStudentParticipation;
@@ -36,18 +38,17 @@ import de.tum.cit.aet.artemis.programming.domain.RepositoryType;
 import de.tum.cit.aet.artemis.programming.domain.VcsRepositoryUri;
 
 /**
- * Service for exporting Git repositories to ZIPs fully in memory.
+ * Service for exporting Git repositories to ZIPs without a checkout on disk.
  *
  * <p>
  * Supports two main export modes:
  * <ul>
- * <li>Snapshot export (no .git directory) using JGit's Archive command.</li>
- * <li>Full-history export (including a synthetic .git directory) using an in-memory
- * repository builder.</li>
+ * <li>Snapshot export (no .git directory) streamed from the object database while the response is written.</li>
+ * <li>Full-history export (including a synthetic .git directory) streamed from the object database, with the pack buffered in a temporary file.</li>
  * </ul>
  *
  * The service returns {@link org.springframework.core.io.InputStreamResource} instances so
- * controllers can stream responses without writing temporary files.
+ * controllers can stream responses without assembling the whole archive first.
  */
 @Profile(PROFILE_CORE)
 @Lazy
@@ -60,16 +61,12 @@ public class GitRepositoryExportService {
 
     private final ZipFileService zipFileService;
 
-    public GitRepositoryExportService(GitService gitService, ZipFileService zipFileService) {
+    private final TempFileUtilService tempFileUtilService;
+
+    public GitRepositoryExportService(GitService gitService, ZipFileService zipFileService, TempFileUtilService tempFileUtilService) {
         this.gitService = gitService;
         this.zipFileService = zipFileService;
-
-        try {
-            ArchiveCommand.registerFormat("zip", new ZipFormat());
-        }
-        catch (Exception e) {
-            log.error("Could not register zip format", e);
-        }
+        this.tempFileUtilService = tempFileUtilService;
     }
 
     /**
@@ -166,39 +163,94 @@ public class GitRepositoryExportService {
     }
 
     /**
-     * Exports a repository snapshot directly to memory without creating temporary files.
-     * This method uses JGit's ArchiveCommand to create a zip archive of the repository's HEAD state.
+     * Creates an InputStreamResource for a zip archive that is created while it is read. The length is unknown in advance, so the response is sent in chunks.
+     *
+     * @param zipStream the stream of the zip archive, closed after the response was written
+     * @param filename  the filename for the resource (without .zip extension)
+     * @return InputStreamResource streaming the zip archive
+     */
+    public InputStreamResource createZipStreamResource(InputStream zipStream, String filename) {
+        return new InputStreamResource(zipStream) {
+
+            @Override
+            public String getFilename() {
+                return filename + ".zip";
+            }
+
+            @Override
+            public long contentLength() {
+                // prevents Spring from reading the whole stream to determine the length
+                return -1;
+            }
+        };
+    }
+
+    /**
+     * Exports a repository snapshot (the files of the latest commit without the .git directory).
+     * The zip archive is streamed directly from the object database of the bare repository while the response is written, so neither a checkout nor the whole archive is
+     * kept on disk or in memory. The repository is closed once the returned stream is closed.
      *
      * @param repositoryUri the URI of the repository to export
      * @param filename      the desired filename for the export (without extension)
-     * @return InputStreamResource containing the zipped repository content
-     * @throws GitAPIException if the git operation fails
-     * @throws IOException     if IO operations fail
+     * @return InputStreamResource streaming the zipped repository content
+     * @throws IOException if the latest commit cannot be read
      */
-    public InputStreamResource exportRepositorySnapshot(VcsRepositoryUri repositoryUri, String filename) throws GitAPIException, IOException {
+    public InputStreamResource exportRepositorySnapshot(VcsRepositoryUri repositoryUri, String filename) throws IOException {
         Repository repository = gitService.getBareRepository(new LocalVCRepositoryUri(repositoryUri.toString()), false);
-        byte[] zipData = createInMemoryZipArchive(repository);
-        return createZipInputStreamResource(zipData, filename);
+        try {
+            ObjectId headId = repository.resolve(Constants.HEAD);
+            if (headId == null) {
+                log.debug("Could not resolve tree for HEAD");
+                repository.close();
+                return createZipInputStreamResource(new byte[0], filename);
+            }
+            RevCommit headCommit;
+            try (RevWalk revWalk = new RevWalk(repository)) {
+                headCommit = revWalk.parseCommit(headId);
+            }
+            return createZipStreamResource(new RepositorySnapshotZipInputStream(repository, headCommit), filename);
+        }
+        catch (IOException | RuntimeException e) {
+            repository.close();
+            throw e;
+        }
     }
 
     /**
-     * Exports a repository with full history including the .git directory directly to memory.
-     * This method uses JGit's ArchiveCommand to create a zip of the working tree and combines it
-     * with the .git directory for full history, all done in memory without disk checkout.
+     * Exports a repository with full history including the .git directory.
+     * The zip archive contains the files of the latest commit of the current branch and a synthetic .git directory, so that it can be used as repository once extracted. It is
+     * streamed from the object database of the bare repository while the response is written, only the pack with the history is buffered in a temporary file. The repository
+     * is closed and the temporary file is deleted once the returned stream is closed.
      *
      * @param repositoryUri the URI of the repository to export
      * @param filename      the desired filename for the export (without extension)
-     * @return InputStreamResource containing the zipped repository content with full history
+     * @return InputStreamResource streaming the zipped repository content with full history
      * @throws IOException if IO operations fail
      */
-    public InputStreamResource exportRepositoryWithFullHistoryToMemory(VcsRepositoryUri repositoryUri, String filename) throws IOException {
+    public InputStreamResource exportRepositoryWithFullHistory(VcsRepositoryUri repositoryUri, String filename) throws IOException {
         Repository repository = gitService.getBareRepository(new LocalVCRepositoryUri(repositoryUri.toString()), false);
-        byte[] zipData = InMemoryRepositoryBuilder.buildZip(repository);
-        return createZipInputStreamResource(zipData, filename);
+        Path packFile = null;
+        try {
+            String branch = repository.getBranch();
+            ObjectId commitId = repository.resolve(Constants.R_HEADS + branch);
+            if (commitId == null) {
+                throw new IllegalArgumentException("Branch not found: " + branch);
+            }
+            packFile = tempFileUtilService.createTempFile("repository-export-", ".pack");
+            URI remoteUri = repository.getLocalPath().toUri();
+            return createZipStreamResource(new RepositoryWithHistoryZipInputStream(repository, remoteUri, branch, commitId, packFile), filename);
+        }
+        catch (IOException | RuntimeException e) {
+            repository.close();
+            if (packFile != null) {
+                Files.deleteIfExists(packFile);
+            }
+            throw e;
+        }
     }
 
     /**
-     * Exports an instructor repository (template, solution, or tests) directly to memory as an InputStreamResource.
+     * Exports an instructor repository (template, solution, or tests) as an InputStreamResource that creates the zip archive while it is read.
      *
      * @param programmingExercise the programming exercise that has the repository
      * @param repositoryType      the type of repository to export (template, solution, or tests)
@@ -206,11 +258,11 @@ public class GitRepositoryExportService {
      */
     public InputStreamResource exportInstructorRepositoryForExerciseInMemory(ProgrammingExercise programmingExercise, RepositoryType repositoryType) throws IOException {
         String zippedRepoName = getZippedRepoName(programmingExercise, repositoryType.getName());
-        return exportRepositoryWithFullHistoryToMemory(programmingExercise.getRepositoryURI(repositoryType), zippedRepoName);
+        return exportRepositoryWithFullHistory(programmingExercise.getRepositoryURI(repositoryType), zippedRepoName);
     }
 
     /**
-     * Exports an auxiliary repository directly to memory as an InputStreamResource.
+     * Exports an auxiliary repository as an InputStreamResource that creates the zip archive while it is read.
      *
      * @param programmingExercise the programming exercise that has the repository
      * @param auxiliaryRepository the auxiliary repository to export
@@ -219,11 +271,11 @@ public class GitRepositoryExportService {
     public InputStreamResource exportInstructorAuxiliaryRepositoryForExerciseInMemory(ProgrammingExercise programmingExercise, AuxiliaryRepository auxiliaryRepository)
             throws IOException {
         String zippedRepoName = getZippedRepoName(programmingExercise, auxiliaryRepository.getRepositoryName());
-        return exportRepositoryWithFullHistoryToMemory(auxiliaryRepository.getVcsRepositoryUri(), zippedRepoName);
+        return exportRepositoryWithFullHistory(auxiliaryRepository.getVcsRepositoryUri(), zippedRepoName);
     }
 
     /**
-     * Exports a student repository directly to memory as an InputStreamResource.
+     * Exports a student repository as an InputStreamResource that creates the zip archive while it is read.
      *
      * @param programmingExercise the programming exercise
      * @param participation       the student participation for which to export the repository
@@ -250,7 +302,7 @@ public class GitRepositoryExportService {
             // For student repositories, we use snapshot export to exclude .git directory for privacy
             return exportRepositorySnapshot(participation.getVcsRepositoryUri(), repoName);
         }
-        catch (IOException | GitAPIException ex) {
+        catch (IOException ex) {
             String error = "Failed to export student repository for participation " + participation.getId() + " in programming exercise '" + programmingExercise.getTitle()
                     + "' (id: " + programmingExercise.getId() + ")";
             log.error(error, ex);
@@ -270,27 +322,4 @@ public class GitRepositoryExportService {
         String courseShortName = exercise.getCourseViaExerciseGroupOrCourseMember().getShortName();
         return FileUtil.sanitizeFilename(courseShortName + "-" + exercise.getTitle() + "-" + repositoryName);
     }
-
-    /**
-     * Creates a zip archive of the repository's HEAD state in memory.
-     * This method uses JGit's ArchiveCommand to create a zip archive without writing to disk.
-     *
-     * @param repository the repository to archive
-     * @return byte array containing the zip archive data
-     * @throws GitAPIException if the git operation fails
-     * @throws IOException     if IO operations fail
-     */
-    public byte[] createInMemoryZipArchive(Repository repository) throws GitAPIException, IOException {
-        ObjectId treeId = repository.resolve("HEAD");
-        if (treeId == null) {
-            log.debug("Could not resolve tree for HEAD");
-            return new byte[0];
-        }
-
-        ByteArrayOutputStream archiveData = new ByteArrayOutputStream();
-        try (Git git = new Git(repository)) {
-            git.archive().setFormat("zip").setTree(treeId).setOutputStream(archiveData).call();
-        }
-        return archiveData.toByteArray();
-    }
 }
@@ -0,0 +1,192 @@
+package de.tum.cit.aet.artemis.localvc.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_LOCALVC;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.programming.web.repository.RepositoryActionType;
+
+/**
+ * Remembers successful authentications and authorizations of git requests over HTTPS for a short time.
+ * <p>
+ * A single clone or fetch consists of several HTTP requests that all carry the same credentials. Without the cache, each of them verifies the password (bcrypt or an LDAP
+ * round-trip) and loads the exercise and participation again to check the access rights.
+ * <p>
+ * Credentials are never stored: the entries are keyed by an HMAC of the credentials with a random key generated at startup. Each entry also stores a fingerprint of the
+ * credentials stored for the user (password hash, access token and its expiry, activation), so changing the password or the token invalidates all entries of the user
+ * on every node, as the fingerprint is compared with the freshly loaded user on each request.
+ * <p>
+ * Only read decisions are cached. Whether a participation is locked is computed on each request (due date, submitted exam, submission limit) and only affects write access,
+ * so a lock never has to revoke a cached decision.
+ */
+@Profile(PROFILE_LOCALVC)
+@Lazy
+@Service
+public class LocalVCAuthorizationCacheService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Upper bound for the number of entries of each cache. Entries expire after a few seconds, so the bound is only reached during load peaks.
+     */
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Duration timeToLive;
+
+    private final SecretKeySpec key;
+
+    private final Map<String, CachedAuthentication> authentications = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedAuthorization> authorizations = new ConcurrentHashMap<>();
+
+    public LocalVCAuthorizationCacheService(@Value("${artemis.version-control.authorization-cache.time-to-live-seconds:60}") long timeToLiveSeconds) {
+        this.timeToLive = Duration.ofSeconds(timeToLiveSeconds);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    private record CachedAuthentication(String userFingerprint, Instant expiresAt) {
+    }
+
+    private record CachedAuthorization(String userFingerprint, Instant expiresAt) {
+    }
+
+    /**
+     * Checks whether the given credentials were verified for the user recently and the stored credentials of the user did not change since then.
+     *
+     * @param user            the user loaded for the current request
+     * @param passwordOrToken the password or token of the current request
+     * @return true if the credentials do not have to be verified again
+     */
+    public boolean isAuthenticated(User user, String passwordOrToken) {
+        if (isDisabled()) {
+            return false;
+        }
+        String cacheKey = hmac(user.getLogin(), passwordOrToken);
+        CachedAuthentication cached = authentications.get(cacheKey);
+        if (cached == null) {
+            return false;
+        }
+        if (Instant.now().isBefore(cached.expiresAt()) && cached.userFingerprint().equals(fingerprint(user))) {
+            return true;
+        }
+        authentications.remove(cacheKey, cached);
+        return false;
+    }
+
+    /**
+     * Remembers that the given credentials were verified successfully for the user.
+     *
+     * @param user            the authenticated user
+     * @param passwordOrToken the verified password or token
+     */
+    public void putAuthenticated(User user, String passwordOrToken) {
+        if (isDisabled()) {
+            return;
+        }
+        removeExpiredEntriesIfFull(authentications, CachedAuthentication::expiresAt);
+        authentications.put(hmac(user.getLogin(), passwordOrToken), new CachedAuthentication(fingerprint(user), Instant.now().plus(timeToLive)));
+    }
+
+    /**
+     * Checks whether the user was recently authorized to perform the given action on the repository.
+     *
+     * @param user                 the authenticated user
+     * @param localVCRepositoryUri the repository the user accesses
+     * @param repositoryAction     the action the user performs
+     * @return true if the access checks do not have to be performed again
+     */
+    public boolean isAuthorized(User user, LocalVCRepositoryUri localVCRepositoryUri, RepositoryActionType repositoryAction) {
+        if (isDisabled() || repositoryAction != RepositoryActionType.READ) {
+            return false;
+        }
+        String cacheKey = authorizationKey(user, localVCRepositoryUri, repositoryAction);
+        CachedAuthorization cached = authorizations.get(cacheKey);
+        if (cached == null) {
+            return false;
+        }
+        if (Instant.now().isBefore(cached.expiresAt()) && cached.userFingerprint().equals(fingerprint(user))) {
+            return true;
+        }
+        authorizations.remove(cacheKey, cached);
+        return false;
+    }
+
+    /**
+     * Remembers that the user passed the access checks for the given action on the repository. Only read access is cached.
+     *
+     * @param user                 the authorized user
+     * @param localVCRepositoryUri the repository the user accesses
+     * @param repositoryAction     the action the user performs
+     */
+    public void putAuthorized(User user, LocalVCRepositoryUri localVCRepositoryUri, RepositoryActionType repositoryAction) {
+        if (isDisabled() || repositoryAction != RepositoryActionType.READ) {
+            return;
+        }
+        removeExpiredEntriesIfFull(authorizations, CachedAuthorization::expiresAt);
+        authorizations.put(authorizationKey(user, localVCRepositoryUri, repositoryAction), new CachedAuthorization(fingerprint(user), Instant.now().plus(timeToLive)));
+    }
+
+    private boolean isDisabled() {
+        return timeToLive.isZero();
+    }
+
+    private static String authorizationKey(User user, LocalVCRepositoryUri localVCRepositoryUri, RepositoryActionType repositoryAction) {
+        return user.getId() + "|" + repositoryAction + "|" + localVCRepositoryUri;
+    }
+
+    /**
+     * The stored credentials of the user; any change to them results in a different fingerprint.
+     */
+    private String fingerprint(User user) {
+        return hmac(user.getLogin(), Objects.toString(user.getPassword(), ""), Objects.toString(user.getVcsAccessToken(), ""),
+                Objects.toString(user.getVcsAccessTokenExpiryDate(), ""), Boolean.toString(user.getActivated()));
+    }
+
+    private String hmac(String... values) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            for (String value : values) {
+                mac.update(value.getBytes(StandardCharsets.UTF_8));
+                // separate the values, so that different splits of the same characters do not collide
+                mac.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        }
+        catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Could not compute the credential digest", e);
+        }
+    }
+
+    private static <T> void removeExpiredEntriesIfFull(Map<String, T> cache, Function<T, Instant> expiresAt) {
+        if (cache.size() < MAX_ENTRIES) {
+            return;
+        }
+        Instant now = Instant.now();
+        cache.values().removeIf(entry -> !now.isBefore(expiresAt.apply(entry)));
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package de.tum.cit.aet.artemis.localvc.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_LOCALVC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.eclipse.jgit.errors.RepositoryNotFoundException;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Keeps the bare repositories of the local VC server open between git requests.
+ * <p>
+ * Every fetch and push over HTTPS or SSH used to build a new JGit {@link Repository}, which reads the config, the refs and the pack index from disk and resolves the real
+ * paths of the repository and the base directory. The cache uses the reference counting built into JGit instead: it holds one reference of each cached repository and hands
+ * out an additional one per request, so callers keep closing the repository as before. A repository is only released once the cache evicted it and all requests using it
+ * closed their reference.
+ * <p>
+ * Entries are evicted when the cache is full, after they were not used for the configured idle time and explicitly before a repository is deleted. Closing the repository
+ * also removes its pack files from JGit's window cache, so no file handles prevent the deletion on NFS (see {@link de.tum.cit.aet.artemis.core.config.JGitConfig}).
+ * <p>
+ * Besides the aggregated metrics, the number of requests served by each cached repository is published with the repository as tag. Only the repositories that are
+ * currently cached are published, so the number of series is bounded by the maximum cache size.
+ */
+@Profile(PROFILE_LOCALVC)
+@Lazy
+@Service
+public class LocalVCRepositoryCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalVCRepositoryCacheService.class);
+
+    private static final String METRIC_PREFIX = "artemis.localvc.repository_cache.";
+
+    private final Path localVCBasePath;
+
+    private final int maxSize;
+
+    private final Duration idleTimeout;
+
+    private final Map<Path, CachedRepository> repositories = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter openedCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final MultiGauge repositoryUsesGauge;
+
+    /**
+     * The real path of the base directory, resolved once and used to detect repositories that point outside the base directory via symbolic links.
+     */
+    private volatile @Nullable Path realBasePath;
+
+    public LocalVCRepositoryCacheService(@Value("${artemis.version-control.local-vcs-repo-path}") Path localVCBasePath,
+            @Value("${artemis.version-control.repository-cache.max-size:500}") int maxSize,
+            @Value("${artemis.version-control.repository-cache.idle-timeout-seconds:300}") long idleTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.localVCBasePath = localVCBasePath;
+        this.maxSize = maxSize;
+        this.idleTimeout = Duration.ofSeconds(idleTimeoutSeconds);
+        this.meterRegistry = meterRegistry;
+        this.hitCounter = Counter.builder(METRIC_PREFIX + "requests").description("Number of repository resolutions served by the cache").tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + "requests").description("Number of repository resolutions served by the cache").tag("result", "miss")
+                .register(meterRegistry);
+        this.openedCounter = Counter.builder(METRIC_PREFIX + "opened").description("Number of repositories opened from disk").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "size", repositories, Map::size).description("Number of repositories currently held open by the cache").register(meterRegistry);
+        this.repositoryUsesGauge = MultiGauge.builder(METRIC_PREFIX + "repository.uses").description("Number of requests served by a cached repository since it was opened")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The reason why a repository was removed from the cache, used as tag of the close metric.
+     */
+    private enum EvictionReason {
+        CAPACITY, IDLE, DELETED, STALE, SHUTDOWN
+    }
+
+    /**
+     * A repository held open by the cache.
+     * The cache's own reference is released exactly once, guarded by the monitor of the entry, so that no new reference is handed out for a closed repository.
+     */
+    private static final class CachedRepository {
+
+        private final Repository repository;
+
+        private final Object fileKey;
+
+        private volatile Instant lastAccess = Instant.now();
+
+        private long uses;
+
+        private boolean closed;
+
+        private CachedRepository(Repository repository, Object fileKey) {
+            this.repository = repository;
+            this.fileKey = fileKey;
+        }
+
+        /**
+         * Hands out a new reference to the repository.
+         *
+         * @return the repository, or null if the entry was evicted concurrently
+         */
+        private synchronized @Nullable Repository acquire() {
+            if (closed) {
+                return null;
+            }
+            repository.incrementOpen();
+            uses++;
+            lastAccess = Instant.now();
+            return repository;
+        }
+
+        private synchronized long getUses() {
+            return uses;
+        }
+
+        private synchronized long release() {
+            if (!closed) {
+                closed = true;
+                repository.close();
+            }
+            return uses;
+        }
+    }
+
+    /**
+     * Returns an open repository for the given directory, which has to be located within the local VC base directory.
+     * <p>
+     * The returned repository must be closed by the caller, e.g. by using try-with-resources or by handing it to JGit's servlet, which closes it after the request.
+     *
+     * @param repositoryDir the normalized path to the bare repository
+     * @return the opened repository
+     * @throws RepositoryNotFoundException if the directory does not exist, points outside the base directory or cannot be opened
+     */
+    public Repository acquire(Path repositoryDir) throws RepositoryNotFoundException {
+        CachedRepository cached = repositories.get(repositoryDir);
+        if (cached != null) {
+            if (Objects.equals(cached.fileKey, readFileKey(repositoryDir))) {
+                Repository repository = cached.acquire();
+                if (repository != null) {
+                    hitCounter.increment();
+                    return repository;
+                }
+            }
+            else {
+                // the repository was deleted or replaced on disk without going through the cache
+                evict(repositoryDir, cached, EvictionReason.STALE);
+            }
+        }
+        missCounter.increment();
+
+        Repository repository = open(repositoryDir);
+        if (maxSize <= 0) {
+            return repository;
+        }
+        // the cache keeps the reference of the opening, the caller receives an additional one
+        CachedRepository created = new CachedRepository(repository, readFileKey(repositoryDir));
+        Repository acquired = Objects.requireNonNull(created.acquire());
+        CachedRepository existing = repositories.putIfAbsent(repositoryDir, created);
+        if (existing != null) {
+            // another request opened the same repository in the meantime, keep only one instance in the cache
+            created.release();
+            return acquired;
+        }
+        if (repositories.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+        return acquired;
+    }
+
+    /**
+     * Closes the cached repository in the given directory. Must be invoked before the repository is deleted, so that no open file handles remain.
+     *
+     * @param repositoryDir the path to the bare repository
+     */
+    public void evict(Path repositoryDir) {
+        Path normalizedDir = repositoryDir.normalize();
+        CachedRepository cached = repositories.get(normalizedDir);
+        if (cached != null) {
+            evict(normalizedDir, cached, EvictionReason.DELETED);
+        }
+    }
+
+    /**
+     * Closes all cached repositories located in the given directory, e.g. before a whole project is deleted.
+     *
+     * @param directory the directory containing the bare repositories
+     */
+    public void evictAllWithin(Path directory) {
+        Path normalizedDir = directory.normalize();
+        repositories.forEach((path, cached) -> {
+            if (path.startsWith(normalizedDir)) {
+                evict(path, cached, EvictionReason.DELETED);
+            }
+        });
+    }
+
+    /**
+     * Periodically closes the repositories that were not used within the configured idle time and updates the per-repository metrics to the remaining repositories.
+     */
+    @Scheduled(fixedRate = 60_000, initialDelay = 60_000)
+    public void evictIdleRepositories() {
+        Instant idleSince = Instant.now().minus(idleTimeout);
+        repositories.forEach((path, cached) -> {
+            if (cached.lastAccess.isBefore(idleSince)) {
+                evict(path, cached, EvictionReason.IDLE);
+            }
+        });
+        updateRepositoryMetrics();
+    }
+
+    /**
+     * Publishes one series per cached repository and removes the series of repositories that were evicted since the last update.
+     */
+    private void updateRepositoryMetrics() {
+        List<MultiGauge.Row<?>> rows = repositories.entrySet().stream()
+                .map(entry -> MultiGauge.Row.of(Tags.of("repository", toRepositoryTag(entry.getKey())), entry.getValue(), CachedRepository::getUses))
+                .collect(Collectors.toList());
+        repositoryUsesGauge.register(rows, true);
+    }
+
+    private String toRepositoryTag(Path repositoryDir) {
+        Path relativePath = repositoryDir.startsWith(localVCBasePath) ? localVCBasePath.relativize(repositoryDir) : repositoryDir.getFileName();
+        return relativePath.toString().replace('\\', '/');
+    }
+
+    /**
+     * Releases all cached repositories when the application shuts down.
+     */
+    @PreDestroy
+    public void closeAll() {
+        repositories.forEach((path, cached) -> evict(path, cached, EvictionReason.SHUTDOWN));
+        updateRepositoryMetrics();
+    }
+
+    private Repository open(Path repositoryDir) throws RepositoryNotFoundException {
+        if (!Files.exists(repositoryDir)) {
+            throw new RepositoryNotFoundException(repositoryDir.toString());
+        }
+        try {
+            // After confirming the path exists, resolve symlinks and verify the real path is still within the base
+            Path realRepositoryDir = repositoryDir.toRealPath();
+            if (!realRepositoryDir.startsWith(getRealBasePath())) {
+                log.error("Blocked symlink-based path traversal for repository path: {}", repositoryDir);
+                throw new RepositoryNotFoundException(repositoryDir.toString());
+            }
+            Repository repository = FileRepositoryBuilder.create(repositoryDir.toFile());
+            openedCounter.increment();
+            return repository;
+        }
+        catch (RepositoryNotFoundException e) {
+            throw e;
+        }
+        catch (IOException e) {
+            throw new RepositoryNotFoundException(repositoryDir.toString(), e);
+        }
+    }
+
+    private Path getRealBasePath() throws IOException {
+        Path basePath = realBasePath;
+        if (basePath == null) {
+            basePath = localVCBasePath.toRealPath();
+            realBasePath = basePath;
+        }
+        return basePath;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (repositories.size() > maxSize) {
+            var leastRecentlyUsed = repositories.entrySet().stream().min(Comparator.comparing(entry -> entry.getValue().lastAccess));
+            if (leastRecentlyUsed.isEmpty()) {
+                return;
+            }
+            evict(leastRecentlyUsed.get().getKey(), leastRecentlyUsed.get().getValue(), EvictionReason.CAPACITY);
+        }
+    }
+
+    private void evict(Path repositoryDir, CachedRepository cached, EvictionReason reason) {
+        if (!repositories.remove(repositoryDir, cached)) {
+            // already evicted by another thread
+            return;
+        }
+        long uses = cached.release();
+        Counter.builder(METRIC_PREFIX + "closed").description("Number of repositories released by the cache").tag("reason", reason.name().toLowerCase())
+                .register(meterRegistry).increment();
+        log.debug("Released cached repository {} ({}) after {} uses", repositoryDir, reason, uses);
+    }
+
+    /**
+     * Identifies the directory on disk, so that a repository that was deleted and created again at the same path is not served from the cache.
+     */
+    private static @Nullable Object readFileKey(Path repositoryDir) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(repositoryDir, BasicFileAttributes.class);
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+}
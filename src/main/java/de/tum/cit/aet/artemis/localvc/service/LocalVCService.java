@@ -49,11 +49,14 @@ public class LocalVCService extends AbstractVersionControlService {
     @Value("${artemis.version-control.local-vcs-repo-path}")
     private Path localVCBasePath;
 
+    private final LocalVCRepositoryCacheService repositoryCacheService;
+
     public LocalVCService(UriService uriService, GitService gitService, ProgrammingExerciseStudentParticipationRepository studentParticipationRepository,
             ProgrammingExerciseRepository programmingExerciseRepository, TemplateProgrammingExerciseParticipationRepository templateProgrammingExerciseParticipationRepository,
-            ProgrammingExerciseBuildConfigRepository programmingExerciseBuildConfigRepository) {
+            ProgrammingExerciseBuildConfigRepository programmingExerciseBuildConfigRepository, LocalVCRepositoryCacheService repositoryCacheService) {
         super(gitService, uriService, studentParticipationRepository, programmingExerciseRepository, templateProgrammingExerciseParticipationRepository,
                 programmingExerciseBuildConfigRepository);
+        this.repositoryCacheService = repositoryCacheService;
     }
 
     /**
@@ -71,6 +74,8 @@ public class LocalVCService extends AbstractVersionControlService {
         if (!projectPath.startsWith(basePath) || !basePath.equals(projectPath.getParent())) {
             throw new LocalVCInternalException("Resolved project path is outside the local VC base path for project key: " + projectKey);
         }
+        // release the cached repositories first, open pack files would prevent the deletion on NFS
+        repositoryCacheService.evictAllWithin(projectPath);
         try {
             FileUtils.deleteDirectory(projectPath.toFile());
         }
@@ -96,6 +101,7 @@ public class LocalVCService extends AbstractVersionControlService {
             throw new LocalVCInternalException("Resolved repository path is outside the local VC base path.");
         }
 
+        repositoryCacheService.evict(localRepositoryPath);
         try {
             FileUtils.deleteDirectory(localRepositoryPath.toFile());
         }
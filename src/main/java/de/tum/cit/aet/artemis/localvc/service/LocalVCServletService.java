@@ -7,7 +7,6 @@ import static de.tum.cit.aet.artemis.localvc.service.LocalVCPersonalAccessTokenM
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.Base64;
@@ -27,7 +26,6 @@ import org.eclipse.jgit.errors.RepositoryNotFoundException;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -127,6 +125,10 @@ public class LocalVCServletService {
 
     private final ExerciseVersionService exerciseVersionService;
 
+    private final LocalVCRepositoryCacheService repositoryCacheService;
+
+    private final LocalVCAuthorizationCacheService authorizationCacheService;
+
     @Value("${artemis.version-control.url}")
     private URI localVCBaseUri;
 
@@ -147,7 +149,7 @@ public class LocalVCServletService {
             ProgrammingSubmissionMessagingService programmingSubmissionMessagingService, ProgrammingExerciseTestCaseChangedService programmingExerciseTestCaseChangedService,
             ParticipationVCSAccessTokenRepository participationVCSAccessTokenRepository, RepositoryVCSAccessTokenRepository repositoryVCSAccessTokenRepository,
             Optional<VcsAccessLogService> vcsAccessLogService, AuthorizationCheckService authorizationCheckService, RateLimitService rateLimitService,
-            ExerciseVersionService exerciseVersionService) {
+            ExerciseVersionService exerciseVersionService, LocalVCRepositoryCacheService repositoryCacheService, LocalVCAuthorizationCacheService authorizationCacheService) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.programmingExerciseRepository = programmingExerciseRepository;
@@ -164,13 +166,15 @@ public class LocalVCServletService {
         this.authorizationCheckService = authorizationCheckService;
         this.rateLimitService = rateLimitService;
         this.exerciseVersionService = exerciseVersionService;
+        this.repositoryCacheService = repositoryCacheService;
+        this.authorizationCacheService = authorizationCacheService;
     }
 
     /**
-     * Resolves the repository for the given path by creating a JGit repository and opening the local repository.
+     * Resolves the repository for the given path. Repositories are kept open between requests by the {@link LocalVCRepositoryCacheService}.
      * <p>
      * The returned {@link Repository} remains open after this method returns.
-     * It is the caller's responsibility to close it when no longer needed.
+     * It is the caller's responsibility to close it when no longer needed, which only releases the reference of the caller.
      * <strong>Do not</strong> use try-with-resources inside this method, as that would close the repository
      * before the caller can use it.
      *
@@ -194,35 +198,14 @@ public class LocalVCServletService {
             throw new RepositoryNotFoundException(repositoryPath);
         }
 
-        log.debug("Path to resolve repository from: {}", sanitizedPath);
-        if (!Files.exists(repositoryDir)) {
-            log.error("Could not find local repository with name {}", sanitizedPath);
-            throw new RepositoryNotFoundException(repositoryPath);
-        }
-
-        // After confirming the path exists, resolve symlinks and verify the real path is still within the base
+        log.debug("Resolving local repository {}", sanitizedPath);
         try {
-            Path realBasePath = localVCBasePath.toRealPath();
-            Path realRepositoryDir = repositoryDir.toRealPath();
-            if (!realRepositoryDir.startsWith(realBasePath)) {
-                log.error("Blocked symlink-based path traversal for repository path: {}", sanitizedPath);
-                throw new RepositoryNotFoundException(repositoryPath);
-            }
-        }
-        catch (IOException e) {
-            throw new RepositoryNotFoundException(repositoryPath, e);
-        }
-
-        log.debug("Opening local repository {}", sanitizedPath);
-        try {
-            Repository repository = FileRepositoryBuilder.create(repositoryDir.toFile());
-            // Enable pushing without credentials, authentication is handled by the LocalVCPushFilter.
-            repository.getConfig().setBoolean("http", null, "receivepack", true);
+            Repository repository = repositoryCacheService.acquire(repositoryDir);
 
             log.debug("Resolving repository for repository {} took {}", sanitizedPath, TimeLogUtil.formatDurationFrom(timeNanoStart));
             return repository;
         }
-        catch (IOException e) {
+        catch (RepositoryNotFoundException e) {
             log.error("Unable to open local repository {}", sanitizedPath);
             throw new RepositoryNotFoundException(repositoryPath, e);
         }
@@ -276,6 +259,13 @@ public class LocalVCServletService {
 
         User user = authenticateUser(authorizationHeader, exercise, localVCRepositoryUri);
 
+        // The data transfer requests of a git operation repeat the checks of the initial /info/refs request, which already stored the access log.
+        boolean isInfoRefsRequest = request.getRequestURI().endsWith("/info/refs");
+        if (!isInfoRefsRequest && authorizationCacheService.isAuthorized(user, localVCRepositoryUri, repositoryAction)) {
+            log.debug("Authorizing user {} for repository {} was served from the cache", user.getLogin(), localVCRepositoryUri);
+            return;
+        }
+
         // Check that offline IDE usage is allowed.
         try {
             repositoryAccessService.checkHasAccessToOfflineIDEElseThrow(exercise, user);
@@ -286,10 +276,11 @@ public class LocalVCServletService {
 
         try {
             var optionalParticipation = authorizeUser(repositoryTypeOrUserName, user, exercise, repositoryAction, localVCRepositoryUri, false);
+            authorizationCacheService.putAuthorized(user, localVCRepositoryUri, repositoryAction);
             // Only create the preliminary access log on /info/refs requests.
             // The data transfer requests (git-upload-pack, git-receive-pack) will update this log entry
             // via PreUploadHook / processNewPush rather than creating a duplicate.
-            if (request.getRequestURI().endsWith("/info/refs")) {
+            if (isInfoRefsRequest) {
                 savePreliminaryVcsAccessLogForHTTPs(request, localVCRepositoryUri, user, repositoryAction, optionalParticipation);
             }
         }
@@ -467,6 +458,11 @@ public class LocalVCServletService {
             throw new LocalVCAuthException(e.getMessage());
         }
 
+        // the password was verified for one of the previous requests of the same git operation and has not changed since
+        if (authorizationCacheService.isAuthenticated(user, passwordOrToken)) {
+            return user;
+        }
+
         // check user VCS access token
         if (Objects.equals(user.getVcsAccessToken(), passwordOrToken) && user.getVcsAccessTokenExpiryDate() != null
                 && user.getVcsAccessTokenExpiryDate().isAfter(ZonedDateTime.now())) {
@@ -487,6 +483,7 @@ public class LocalVCServletService {
         // Try to authenticate the user based on the configured options, this can include sending the data to an external system (e.g. LDAP) or using internal authentication.
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username, passwordOrToken);
         authenticationManager.authenticate(authenticationToken);
+        authorizationCacheService.putAuthenticated(user, passwordOrToken);
 
         return user;
     }
@@ -17,12 +17,15 @@ public class SshGitCommandFactoryService extends GitPackCommandFactory {
 
     public final LocalVCServletService localVCServletService;
 
-    public SshGitCommandFactoryService(LocalVCServletService localVCServletService) {
+    private final LocalVCRepositoryCacheService repositoryCacheService;
+
+    public SshGitCommandFactoryService(LocalVCServletService localVCServletService, LocalVCRepositoryCacheService repositoryCacheService) {
         this.localVCServletService = localVCServletService;
+        this.repositoryCacheService = repositoryCacheService;
     }
 
     @Override
     public GitPackCommand createGitCommand(String command) {
-        return new SshGitCommand(getGitLocationResolver(), command, resolveExecutorService(command), localVCServletService);
+        return new SshGitCommand(getGitLocationResolver(), command, resolveExecutorService(command), localVCServletService, repositoryCacheService);
     }
 }
@@ -91,7 +91,7 @@ public class SshGitLocationResolverService implements GitLocationResolver {
             }
         }
 
-        // we cannot trust unvalidated user input
+        // we cannot trust unvalidated user input, the repository is opened through the repository cache, so that the SshGitCommand reuses the opened instance
         final var localRepositoryPath = localVCRepositoryUri.getRelativeRepositoryPath().toString();
         try (Repository repo = localVCServletService.resolveRepository(localRepositoryPath)) {
             return repo.getDirectory().toPath();
@@ -0,0 +1,89 @@
+package de.tum.cit.aet.artemis.localvc.service.git;
+
+import java.io.IOException;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.jspecify.annotations.Nullable;
+
+import de.tum.cit.aet.artemis.core.util.LazyZipInputStream;
+
+/**
+ * Streams the files of a commit as ZIP archive without the {@code .git} directory, read directly from the object database of a (bare) repository.
+ * <p>
+ * The archive has the same layout as the one created by {@code git archive --format=zip}: directories are contained as separate entries, executable files and symbolic links
+ * keep their unix mode and all entries carry the commit time. Submodules are exported as empty directories.
+ * <p>
+ * The stream takes ownership of the repository and closes it when the stream is closed.
+ */
+public class RepositorySnapshotZipInputStream extends LazyZipInputStream {
+
+    private static final int DIRECTORY_MODE = 040755;
+
+    private static final int FILE_MODE = 0100644;
+
+    private static final int EXECUTABLE_FILE_MODE = 0100755;
+
+    private static final int SYMLINK_MODE = 0120777;
+
+    private final Repository repository;
+
+    private final TreeWalk treeWalk;
+
+    private final long commitTimeMillis;
+
+    /**
+     * Creates the stream for the files of the given commit.
+     *
+     * @param repository the repository containing the commit, closed together with the stream
+     * @param commit     the commit to export, has to be parsed
+     * @throws IOException if the tree of the commit cannot be read
+     */
+    public RepositorySnapshotZipInputStream(Repository repository, RevCommit commit) throws IOException {
+        this.repository = repository;
+        this.treeWalk = new TreeWalk(repository);
+        this.treeWalk.addTree(commit.getTree());
+        this.treeWalk.setRecursive(false);
+        this.commitTimeMillis = commit.getCommitTime() * 1000L;
+    }
+
+    @Override
+    protected @Nullable Entry nextEntry() throws IOException {
+        if (!treeWalk.next()) {
+            return null;
+        }
+        String path = treeWalk.getPathString();
+        FileMode fileMode = treeWalk.getFileMode(0);
+        if (treeWalk.isSubtree()) {
+            treeWalk.enterSubtree();
+            return new Entry(createEntry(path + "/", DIRECTORY_MODE), null);
+        }
+        if (FileMode.GITLINK.equals(fileMode)) {
+            return new Entry(createEntry(path + "/", DIRECTORY_MODE), null);
+        }
+
+        int unixMode = FileMode.EXECUTABLE_FILE.equals(fileMode) ? EXECUTABLE_FILE_MODE : FileMode.SYMLINK.equals(fileMode) ? SYMLINK_MODE : FILE_MODE;
+        ZipArchiveEntry entry = createEntry(path, unixMode);
+        ObjectLoader loader = treeWalk.getObjectReader().open(treeWalk.getObjectId(0), Constants.OBJ_BLOB);
+        entry.setSize(loader.getSize());
+        return new Entry(entry, loader.openStream());
+    }
+
+    private ZipArchiveEntry createEntry(String name, int unixMode) {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setUnixMode(unixMode);
+        entry.setTime(commitTimeMillis);
+        return entry;
+    }
+
+    @Override
+    protected void closeSource() {
+        treeWalk.close();
+        repository.close();
+    }
+}
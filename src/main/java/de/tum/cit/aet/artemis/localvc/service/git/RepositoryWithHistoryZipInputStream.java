@@ -0,0 +1,231 @@
+package de.tum.cit.aet.artemis.localvc.service.git;
+
+import static de.tum.cit.aet.artemis.localvc.service.git.InMemoryDirCache.DIRECTORY_EXECUTE_MODE;
+import static de.tum.cit.aet.artemis.localvc.service.git.InMemoryDirCache.EXECUTE_MODE;
+import static de.tum.cit.aet.artemis.localvc.service.git.InMemoryDirCache.READ_WRITE_MODE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.internal.storage.pack.PackWriter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.ObjectWalk;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.jspecify.annotations.Nullable;
+
+import de.tum.cit.aet.artemis.core.util.LazyZipInputStream;
+
+/**
+ * Streams a branch of a (bare) repository as ZIP archive that is a usable non-bare git repository once extracted.
+ * <p>
+ * The archive contains the files of the latest commit of the branch at the root and a {@code .git} directory with the refs, a config that points to the exported repository as
+ * {@code origin}, an index matching the files and a single pack with all objects reachable from the commit.
+ * <p>
+ * The files are read directly from the object database while the archive is read, like in {@link RepositorySnapshotZipInputStream}. The pack is only written once all files
+ * were streamed. It is written to the given temporary file instead of memory, because its index can only be created after the whole pack was written. The temporary file is
+ * deleted when the stream is closed.
+ * <p>
+ * The stream takes ownership of the repository and closes it when the stream is closed.
+ */
+public class RepositoryWithHistoryZipInputStream extends LazyZipInputStream {
+
+    private final Repository repository;
+
+    private final URI remoteUri;
+
+    private final String branch;
+
+    private final ObjectId commitId;
+
+    private final Path packFile;
+
+    private final TreeWalk treeWalk;
+
+    private final InMemoryDirCache dirCache = new InMemoryDirCache(null, null);
+
+    private final DirCacheBuilder dirCacheBuilder = dirCache.builder();
+
+    /**
+     * The entries that are written next, e.g. the parent directories of a file followed by the file.
+     */
+    private final Deque<Entry> pendingEntries = new ArrayDeque<>();
+
+    private final Set<String> createdDirectories = new HashSet<>();
+
+    private boolean gitDirectoryWritten;
+
+    /**
+     * Creates the stream for the given branch.
+     *
+     * @param repository the repository containing the branch, closed together with the stream
+     * @param remoteUri  the uri stored as {@code origin} in the config of the exported repository
+     * @param branch     the name of the branch, which is checked out in the exported repository
+     * @param commitId   the id of the latest commit of the branch
+     * @param packFile   an empty temporary file for the pack, deleted together with the stream
+     * @throws IOException if the tree of the commit cannot be read
+     */
+    public RepositoryWithHistoryZipInputStream(Repository repository, URI remoteUri, String branch, ObjectId commitId, Path packFile) throws IOException {
+        this.repository = repository;
+        this.remoteUri = remoteUri;
+        this.branch = branch;
+        this.commitId = commitId;
+        this.packFile = packFile;
+        this.treeWalk = new TreeWalk(repository);
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            this.treeWalk.addTree(revWalk.parseCommit(commitId).getTree());
+        }
+        this.treeWalk.setRecursive(true);
+
+        queueDirectory(".git/");
+        queueDirectory(".git/objects/");
+        queueDirectory(".git/objects/pack/");
+        queueDirectory(".git/refs/");
+        queueDirectory(".git/refs/heads/");
+    }
+
+    @Override
+    protected @Nullable Entry nextEntry() throws IOException {
+        while (pendingEntries.isEmpty()) {
+            if (gitDirectoryWritten) {
+                return null;
+            }
+            if (treeWalk.next()) {
+                queueFile();
+            }
+            else {
+                queueGitDirectory();
+            }
+        }
+        return pendingEntries.poll();
+    }
+
+    /**
+     * Adds the current file of the tree walk to the archive and to the index. Symbolic links are contained as text files with their target, submodules are skipped.
+     */
+    private void queueFile() throws IOException {
+        FileMode fileMode = treeWalk.getFileMode(0);
+        if (FileMode.GITLINK.equals(fileMode)) {
+            return;
+        }
+        String path = treeWalk.getPathString();
+        ObjectId blobId = treeWalk.getObjectId(0);
+
+        DirCacheEntry indexEntry = new DirCacheEntry(path);
+        indexEntry.setFileMode(fileMode);
+        indexEntry.setObjectId(blobId);
+        // the stat data is unknown, so git verifies the file on the first status
+        indexEntry.setLength(-1);
+        dirCacheBuilder.add(indexEntry);
+
+        queueParentDirectories(path);
+        ZipArchiveEntry entry = new ZipArchiveEntry(path);
+        entry.setUnixMode(FileMode.EXECUTABLE_FILE.equals(fileMode) ? EXECUTE_MODE : READ_WRITE_MODE);
+        ObjectLoader loader = treeWalk.getObjectReader().open(blobId, Constants.OBJ_BLOB);
+        entry.setSize(loader.getSize());
+        pendingEntries.add(new Entry(entry, loader.openStream()));
+    }
+
+    /**
+     * Adds the index, the pack, the refs and the config of the {@code .git} directory, after all files were written.
+     */
+    private void queueGitDirectory() throws IOException {
+        dirCacheBuilder.finish();
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        dirCache.writeTo(index);
+        queueGitFile("index", index.toByteArray());
+
+        String packName;
+        ByteArrayOutputStream packIndex = new ByteArrayOutputStream();
+        try (ObjectReader reader = repository.newObjectReader(); ObjectWalk objectWalk = new ObjectWalk(reader);
+                PackWriter packWriter = new PackWriter(new PackConfig(repository), reader); OutputStream packOutputStream = Files.newOutputStream(packFile)) {
+            objectWalk.markStart(objectWalk.parseCommit(commitId));
+            packWriter.preparePack(NullProgressMonitor.INSTANCE, objectWalk, Set.of(commitId), PackWriter.NONE, PackWriter.NONE);
+            packWriter.writePack(NullProgressMonitor.INSTANCE, NullProgressMonitor.INSTANCE, packOutputStream);
+            packName = "objects/pack/pack-" + packWriter.computeName().name();
+            packWriter.writeIndex(packIndex);
+        }
+        pendingEntries.add(new Entry(new ZipArchiveEntry(".git/" + packName + ".pack"), Files.newInputStream(packFile)));
+        queueGitFile(packName + ".idx", packIndex.toByteArray());
+
+        byte[] commitRef = (commitId.name() + "\n").getBytes(StandardCharsets.UTF_8);
+        queueGitFile("HEAD", ("ref: " + Constants.R_HEADS + branch + "\n").getBytes(StandardCharsets.UTF_8));
+        queueGitFile(Constants.R_HEADS + branch, commitRef);
+        queueGitFile(Constants.R_REMOTES + "origin/" + branch, commitRef);
+        String config = """
+                [core]
+                    repositoryformatversion = 0
+                    filemode = true
+                    bare = false
+                    logallrefupdates = true
+                [remote "origin"]
+                    url = %s
+                    fetch = +refs/heads/*:refs/remotes/origin/*
+                [branch "%s"]
+                    remote = origin
+                    merge = refs/heads/%s
+                """.formatted(remoteUri, branch, branch);
+        queueGitFile("config", config.getBytes(StandardCharsets.UTF_8));
+        gitDirectoryWritten = true;
+    }
+
+    private void queueGitFile(String relativePath, byte[] content) {
+        String path = ".git/" + relativePath;
+        queueParentDirectories(path);
+        pendingEntries.add(new Entry(new ZipArchiveEntry(path), new ByteArrayInputStream(content)));
+    }
+
+    private void queueParentDirectories(String path) {
+        int separator = path.indexOf('/');
+        while (separator >= 0) {
+            queueDirectory(path.substring(0, separator + 1));
+            separator = path.indexOf('/', separator + 1);
+        }
+    }
+
+    private void queueDirectory(String directory) {
+        if (createdDirectories.add(directory)) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(directory);
+            entry.setUnixMode(DIRECTORY_EXECUTE_MODE);
+            pendingEntries.add(new Entry(entry, null));
+        }
+    }
+
+    @Override
+    protected void closeSource() throws IOException {
+        try {
+            for (Entry entry : pendingEntries) {
+                InputStream content = entry.content();
+                if (content != null) {
+                    content.close();
+                }
+            }
+            treeWalk.close();
+            repository.close();
+        }
+        finally {
+            Files.deleteIfExists(packFile);
+        }
+    }
+}
@@ -13,17 +13,16 @@ import org.apache.sshd.git.GitLocationResolver;
 import org.apache.sshd.git.pack.GitPackCommand;
 import org.apache.sshd.server.Environment;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.lib.RepositoryCache;
 import org.eclipse.jgit.transport.GitProtocolConstants;
 import org.eclipse.jgit.transport.ReceivePack;
 import org.eclipse.jgit.transport.RemoteConfig;
 import org.eclipse.jgit.transport.UploadPack;
-import org.eclipse.jgit.util.FS;
 
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.localvc.service.LocalVCFetchPreUploadHookSSH;
 import de.tum.cit.aet.artemis.localvc.service.LocalVCPostPushHook;
 import de.tum.cit.aet.artemis.localvc.service.LocalVCPrePushHook;
+import de.tum.cit.aet.artemis.localvc.service.LocalVCRepositoryCacheService;
 import de.tum.cit.aet.artemis.localvc.service.LocalVCServletService;
 
 /**
@@ -34,17 +33,22 @@ public class SshGitCommand extends GitPackCommand {
 
     private final LocalVCServletService localVCServletService;
 
+    private final LocalVCRepositoryCacheService repositoryCacheService;
+
     /**
      * Constructs a new {@link SshGitCommand}.
      *
-     * @param rootDirResolver       Resolver for GIT root directory
-     * @param command               Git command string to execute
-     * @param executorService       Optional executor service for command execution
-     * @param localVCServletService LocalVC service providing pre/post push/fetch hooks
+     * @param rootDirResolver        Resolver for GIT root directory
+     * @param command                Git command string to execute
+     * @param executorService        Optional executor service for command execution
+     * @param localVCServletService  LocalVC service providing pre/post push/fetch hooks
+     * @param repositoryCacheService cache of the open repositories, shared with the HTTPS git requests
      */
-    public SshGitCommand(GitLocationResolver rootDirResolver, String command, CloseableExecutorService executorService, LocalVCServletService localVCServletService) {
+    public SshGitCommand(GitLocationResolver rootDirResolver, String command, CloseableExecutorService executorService, LocalVCServletService localVCServletService,
+            LocalVCRepositoryCacheService repositoryCacheService) {
         super(rootDirResolver, command, executorService);
         this.localVCServletService = localVCServletService;
+        this.repositoryCacheService = repositoryCacheService;
     }
 
     /**
@@ -86,10 +90,9 @@ public class SshGitCommand extends GitPackCommand {
 
             // Locate the Git repository root
             Path rootDir = resolveRootDirectory(command, args);
-            RepositoryCache.FileKey key = RepositoryCache.FileKey.lenient(rootDir.toFile(), FS.DETECTED);
 
-            // Open the Git repository
-            try (Repository repository = key.open(true)) {
+            // Open the Git repository, closing it only releases the reference of this command
+            try (Repository repository = repositoryCacheService.acquire(rootDir.normalize())) {
                 // Retrieve the authenticated user from the SSH session
                 User user = getServerSession().getAttribute(SshConstants.USER_KEY);
                 String subCommand = args[0];
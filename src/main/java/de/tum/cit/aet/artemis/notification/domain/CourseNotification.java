@@ -7,6 +7,8 @@ import java.util.Set;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -39,6 +41,10 @@ public class CourseNotification extends DomainObject {
     @Column(name = "deletion_date")
     private ZonedDateTime deletionDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "audience", nullable = false)
+    private CourseNotificationAudience audience = CourseNotificationAudience.RECIPIENTS;
+
     @OneToMany(mappedBy = "courseNotification", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<CourseNotificationParameter> parameters = new HashSet<>();
 
@@ -138,6 +144,24 @@ public class CourseNotification extends DomainObject {
         this.deletionDate = deletionDate;
     }
 
+    /**
+     * Gets the audience that can see this notification.
+     *
+     * @return the audience
+     */
+    public CourseNotificationAudience getAudience() {
+        return audience;
+    }
+
+    /**
+     * Sets the audience that can see this notification.
+     *
+     * @param audience the audience to set
+     */
+    public void setAudience(CourseNotificationAudience audience) {
+        this.audience = audience;
+    }
+
     /**
      * Gets the parameters associated with this notification.
      *
@@ -176,6 +200,6 @@ public class CourseNotification extends DomainObject {
 
     @Override
     public String toString() {
-        return "CourseNotification{" + "id=" + getId() + ", type=" + type + ", creationDate=" + creationDate + ", deletionDate=" + deletionDate + '}';
+        return "CourseNotification{" + "id=" + getId() + ", type=" + type + ", creationDate=" + creationDate + ", deletionDate=" + deletionDate + ", audience=" + audience + '}';
     }
 }
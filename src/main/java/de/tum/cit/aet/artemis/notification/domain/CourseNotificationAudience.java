@@ -0,0 +1,18 @@
+package de.tum.cit.aet.artemis.notification.domain;
+
+/**
+ * Defines who can see a course notification in the webapp.
+ */
+public enum CourseNotificationAudience {
+
+    /**
+     * Only the recipients, each of them has a {@link UserCourseNotificationStatus} entry.
+     */
+    RECIPIENTS,
+
+    /**
+     * All members of the course. The notification is stored once and {@link UserCourseNotificationStatus} entries only exist for users whose status differs from the one
+     * derived from their {@link UserCourseNotificationWatermark}.
+     */
+    COURSE
+}
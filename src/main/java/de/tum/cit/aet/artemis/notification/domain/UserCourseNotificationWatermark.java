@@ -0,0 +1,239 @@
+package de.tum.cit.aet.artemis.notification.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.course.domain.Course;
+
+/**
+ * Entity class for the status of a user for all course notifications with the audience {@link CourseNotificationAudience#COURSE} of a course.
+ * <p>
+ * Such notifications are stored once for the whole course instead of with one {@link UserCourseNotificationStatus} entry per recipient. Notifications up to the seen
+ * watermark are seen by the user, notifications up to the archived watermark are archived. A {@link UserCourseNotificationStatus} entry of the user takes precedence over
+ * the watermarks, so that single notifications can still be marked as seen or archived.
+ */
+@Entity
+@Table(name = "user_course_notification_watermark")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@IdClass(UserCourseNotificationWatermark.UserCourseNotificationWatermarkId.class)
+public class UserCourseNotificationWatermark implements Serializable {
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @Column(name = "seen_up_to_id", nullable = false)
+    private long seenUpToId;
+
+    @Column(name = "archived_up_to_id", nullable = false)
+    private long archivedUpToId;
+
+    /**
+     * Default constructor.
+     */
+    public UserCourseNotificationWatermark() {
+    }
+
+    /**
+     * Constructor with all fields except the watermarks, which start at 0 (no notification seen or archived).
+     *
+     * @param user   the user this watermark belongs to
+     * @param course the course this watermark is for
+     */
+    public UserCourseNotificationWatermark(User user, Course course) {
+        this.user = user;
+        this.course = course;
+    }
+
+    /**
+     * Gets the user this watermark belongs to.
+     *
+     * @return the user
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Sets the user this watermark belongs to.
+     *
+     * @param user the user to set
+     */
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    /**
+     * Gets the course this watermark is for.
+     *
+     * @return the course
+     */
+    public Course getCourse() {
+        return course;
+    }
+
+    /**
+     * Sets the course this watermark is for.
+     *
+     * @param course the course to set
+     */
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    /**
+     * Gets the id of the course notification up to which (inclusive) all notifications of the course audience are seen.
+     *
+     * @return the seen watermark
+     */
+    public long getSeenUpToId() {
+        return seenUpToId;
+    }
+
+    /**
+     * Sets the id of the course notification up to which (inclusive) all notifications of the course audience are seen.
+     *
+     * @param seenUpToId the seen watermark to set
+     */
+    public void setSeenUpToId(long seenUpToId) {
+        this.seenUpToId = seenUpToId;
+    }
+
+    /**
+     * Gets the id of the course notification up to which (inclusive) all notifications of the course audience are archived.
+     *
+     * @return the archived watermark
+     */
+    public long getArchivedUpToId() {
+        return archivedUpToId;
+    }
+
+    /**
+     * Sets the id of the course notification up to which (inclusive) all notifications of the course audience are archived.
+     *
+     * @param archivedUpToId the archived watermark to set
+     */
+    public void setArchivedUpToId(long archivedUpToId) {
+        this.archivedUpToId = archivedUpToId;
+    }
+
+    /**
+     * Checks if this watermark is equal to another object.
+     * Two watermarks are considered equal if they have the same user ID and course ID.
+     *
+     * @param other the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        UserCourseNotificationWatermark that = (UserCourseNotificationWatermark) other;
+        return Objects.equals(user.getId(), that.user.getId()) && Objects.equals(course.getId(), that.course.getId());
+    }
+
+    /**
+     * Generates a hash code for this watermark.
+     * The hash code is based on the user ID and course ID.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int somePrimeNumber = 43;
+        int result = 29;
+        result = somePrimeNumber * result + (user != null ? Objects.hash(user.getId()) : 0);
+        result = somePrimeNumber * result + (course != null ? Objects.hash(course.getId()) : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "UserCourseNotificationWatermark{" + "userId=" + (user != null ? user.getId() : null) + ", courseId=" + (course != null ? course.getId() : null) + ", seenUpToId="
+                + seenUpToId + ", archivedUpToId=" + archivedUpToId + '}';
+    }
+
+    /**
+     * Class representing the composite primary key for UserCourseNotificationWatermark.
+     * This class combines user ID and course ID to form a composite key.
+     */
+    public static class UserCourseNotificationWatermarkId implements Serializable {
+
+        private Long user;
+
+        private Long course;
+
+        /**
+         * Default constructor required by JPA.
+         */
+        public UserCourseNotificationWatermarkId() {
+        }
+
+        /**
+         * Constructs a composite key with the specified user ID and course ID.
+         *
+         * @param user   the user ID
+         * @param course the course ID
+         */
+        public UserCourseNotificationWatermarkId(Long user, Long course) {
+            this.user = user;
+            this.course = course;
+        }
+
+        /**
+         * Checks if this composite key is equal to another object.
+         * Two keys are considered equal if they have the same user ID and course ID.
+         *
+         * @param other the object to compare with
+         * @return true if the objects are equal, false otherwise
+         */
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            UserCourseNotificationWatermarkId that = (UserCourseNotificationWatermarkId) other;
+            return Objects.equals(user, that.user) && Objects.equals(course, that.course);
+        }
+
+        /**
+         * Generates a hash code for this composite key.
+         * The hash code is based on the user ID and course ID.
+         *
+         * @return the hash code
+         */
+        @Override
+        public int hashCode() {
+            int somePrimeNumber = 43;
+            int result = 29;
+            result = somePrimeNumber * result + (user != null ? Objects.hash(user) : 0);
+            result = somePrimeNumber * result + (course != null ? Objects.hash(course) : 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package de.tum.cit.aet.artemis.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO for an already rendered mail, used to send many mails in batches via the
+ * {@link de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService}.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record MailDTO(MailRecipientDTO recipient, String subject, String content) {
+}
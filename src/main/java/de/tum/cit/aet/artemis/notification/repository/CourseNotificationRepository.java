@@ -17,7 +17,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
 import de.tum.cit.aet.artemis.notification.domain.CourseNotification;
+import de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatusType;
+import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationWatermark;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationWithStatusDTO;
 
 /**
@@ -32,22 +34,111 @@ public interface CourseNotificationRepository extends ArtemisJpaRepository<Cours
      * Find all course notifications for a specific user and course where the status is not archived (value 2)
      * according to {{@link UserCourseNotificationStatusType}}.
      *
-     * @param userId   the ID of the user
-     * @param courseId the ID of the course
-     * @param pageable pageable to filter for
+     * <p>
+     * Notifications with the audience {@link CourseNotificationAudience#RECIPIENTS} are found through the status entry of the user. Notifications with the audience
+     * {@link CourseNotificationAudience#COURSE} are found unless the user has archived them, either with a status entry or with the archived watermark.
+     * The status of the returned DTO is {@code null} for notifications of the course audience without status entry.
+     * </p>
+     *
+     * @param userId         the ID of the user
+     * @param courseId       the ID of the course
+     * @param archivedUpToId the archived watermark of the user in the course, see {@link UserCourseNotificationWatermark}
+     * @param pageable       pageable to filter for
      * @return list of course notifications that match the criteria
      */
-    @Query("""
+    @Query(value = """
             SELECT new de.tum.cit.aet.artemis.notification.dto.CourseNotificationWithStatusDTO(cn, us)
             FROM CourseNotification cn
-                JOIN cn.userStatuses us
-            WHERE us.user.id = :userId
-                AND cn.course.id = :courseId
-                AND us.status <> 2
+                LEFT JOIN cn.userStatuses us ON us.user.id = :userId
+            WHERE cn.course.id = :courseId
+                AND (
+                    us.status <> 2
+                    OR (
+                        us.status IS NULL
+                        AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+                        AND cn.id > :archivedUpToId
+                    )
+                )
             ORDER BY cn.id DESC
+            """, countQuery = """
+            SELECT COUNT(cn)
+            FROM CourseNotification cn
+                LEFT JOIN cn.userStatuses us ON us.user.id = :userId
+            WHERE cn.course.id = :courseId
+                AND (
+                    us.status <> 2
+                    OR (
+                        us.status IS NULL
+                        AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+                        AND cn.id > :archivedUpToId
+                    )
+                )
             """)
     Page<CourseNotificationWithStatusDTO> findCourseNotificationsByUserIdAndCourseIdAndStatusNotArchived(@Param("userId") Long userId, @Param("courseId") Long courseId,
-            Pageable pageable);
+            @Param("archivedUpToId") long archivedUpToId, Pageable pageable);
+
+    /**
+     * Find the IDs of the given course notifications that have the audience {@link CourseNotificationAudience#COURSE} and no status entry for the user yet.
+     *
+     * @param courseId              the ID of the course
+     * @param userId                the ID of the user
+     * @param courseNotificationIds the IDs of the course notifications to check
+     * @return the IDs of the course notifications that need a status entry to deviate from the watermarks of the user
+     */
+    @Query("""
+            SELECT cn.id
+            FROM CourseNotification cn
+            WHERE cn.course.id = :courseId
+                AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+                AND cn.id IN :courseNotificationIds
+                AND NOT EXISTS (
+                    SELECT us
+                    FROM UserCourseNotificationStatus us
+                    WHERE us.courseNotification.id = cn.id
+                        AND us.user.id = :userId
+                )
+            """)
+    List<Long> findCourseAudienceIdsWithoutStatusOfUser(@Param("courseId") long courseId, @Param("userId") long userId,
+            @Param("courseNotificationIds") List<Long> courseNotificationIds);
+
+    /**
+     * Find the ID of the oldest course notification with the audience {@link CourseNotificationAudience#COURSE} after the given ID that is unseen by the user, i.e. it has
+     * no status entry for the user or an unseen one.
+     *
+     * @param courseId the ID of the course
+     * @param userId   the ID of the user
+     * @param afterId  the ID after which to search, usually the seen watermark of the user
+     * @return the ID of the oldest unseen course notification, or {@code null} if the user has seen all of them
+     */
+    @Query("""
+            SELECT MIN(cn.id)
+            FROM CourseNotification cn
+            WHERE cn.course.id = :courseId
+                AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+                AND cn.id > :afterId
+                AND NOT EXISTS (
+                    SELECT us
+                    FROM UserCourseNotificationStatus us
+                    WHERE us.courseNotification.id = cn.id
+                        AND us.user.id = :userId
+                        AND us.status <> 0
+                )
+            """)
+    Long findOldestUnseenCourseAudienceIdOfUserAfter(@Param("courseId") long courseId, @Param("userId") long userId, @Param("afterId") long afterId);
+
+    /**
+     * Find the ID of the newest course notification with the audience {@link CourseNotificationAudience#COURSE} of a course.
+     *
+     * @param courseId the ID of the course
+     * @return the ID of the newest course notification, or {@code null} if there is none
+     */
+    @Query("""
+            SELECT MAX(cn.id)
+            FROM CourseNotification cn
+            WHERE cn.course.id = :courseId
+                AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+            """)
+    Long findNewestCourseAudienceId(@Param("courseId") long courseId);
 
     /**
      * Find all course notifications that are past the specified deletion date.
@@ -2,6 +2,7 @@ package de.tum.cit.aet.artemis.notification.repository;
 
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.cache.annotation.CacheConfig;
@@ -36,6 +37,16 @@ public interface UserCourseNotificationSettingPresetRepository extends ArtemisJp
     @Cacheable(key = "'setting_preset_' + #userId + '_' + #courseId")
     UserCourseNotificationSettingPreset findUserCourseNotificationSettingPresetByUserIdAndCourseId(Long userId, Long courseId);
 
+    /**
+     * Get the user setting presets of the given users in a course. Not cached, used to resolve the settings of many recipients at once.
+     *
+     * @param courseId to query for
+     * @param userIds  to query for
+     *
+     * @return The setting presets of the users that selected one.
+     */
+    List<UserCourseNotificationSettingPreset> findAllByCourseIdAndUserIdIn(long courseId, Collection<Long> userIds);
+
     /***
      * Saving will clear the user's cached settings.
      *
@@ -2,6 +2,7 @@ package de.tum.cit.aet.artemis.notification.repository;
 
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.cache.annotation.CacheConfig;
@@ -36,6 +37,18 @@ public interface UserCourseNotificationSettingSpecificationRepository extends Ar
      */
     List<UserCourseNotificationSettingSpecification> findAllByUserIdAndCourseIdAndCourseNotificationTypeIn(Long userId, Long courseId, List<Short> notificationType);
 
+    /**
+     * Get the user setting specifications for a notification type of the given users in a course. Not cached, used to resolve the settings of many recipients at once.
+     *
+     * @param courseId               to query for
+     * @param courseNotificationType to query for
+     * @param userIds                to query for
+     *
+     * @return The setting specifications of the users for the notification type.
+     */
+    List<UserCourseNotificationSettingSpecification> findAllByCourseIdAndCourseNotificationTypeAndUserIdIn(long courseId, Short courseNotificationType,
+            Collection<Long> userIds);
+
     /***
      * Get the user setting specifications for a given user id and course id. Cached until changed (save or delete is called).
      *
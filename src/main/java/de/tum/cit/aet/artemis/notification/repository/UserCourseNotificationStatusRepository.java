@@ -14,8 +14,10 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
+import de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatus;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatusType;
+import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationWatermark;
 import de.tum.cit.aet.artemis.notification.service.CourseNotificationCacheService;
 
 /**
@@ -75,20 +77,67 @@ public interface UserCourseNotificationStatusRepository extends ArtemisJpaReposi
     /**
      * Counts the number of unseen course notifications for a specific user in a specific course.
      *
+     * <p>
+     * Notifications with the audience {@link CourseNotificationAudience#COURSE} without status entry of the user are unseen if they are newer than the seen watermark,
+     * see {@link UserCourseNotificationWatermark}.
+     * </p>
+     *
      * @param userId   the ID of the user
      * @param courseId the ID of the course
      * @return the count of unseen notifications
      */
     @Query("""
-            SELECT COUNT(ucns)
-            FROM UserCourseNotificationStatus ucns
-            WHERE ucns.user.id = :userId
-            AND ucns.courseNotification.course.id = :courseId
-            AND ucns.status = 0
+            SELECT COUNT(cn)
+            FROM CourseNotification cn
+                LEFT JOIN cn.userStatuses ucns ON ucns.user.id = :userId
+            WHERE cn.course.id = :courseId
+                AND (
+                    ucns.status = 0
+                    OR (
+                        ucns.status IS NULL
+                        AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+                        AND cn.id > COALESCE((
+                            SELECT w.seenUpToId
+                            FROM UserCourseNotificationWatermark w
+                            WHERE w.user.id = :userId
+                                AND w.course.id = :courseId
+                        ), 0)
+                    )
+                )
             """)
     @Cacheable(cacheNames = CourseNotificationCacheService.USER_COURSE_NOTIFICATION_CACHE, key = "'user_course_notification_count_' + #userId + '_' + #courseId")
     Long countUnseenCourseNotificationsForUserInCourse(@Param("userId") Long userId, @Param("courseId") Long courseId);
 
+    /**
+     * Deletes the status entries of a user with the given status for course notifications with the audience {@link CourseNotificationAudience#COURSE} up to a watermark,
+     * because the watermark already implies their status.
+     *
+     * <p>
+     * Important: Does not invalidate cache by itself. Use {@link CourseNotificationCacheService} for that.
+     * </p>
+     *
+     * @param userId   the ID of the user
+     * @param courseId the ID of the course
+     * @param upToId   the watermark up to which (inclusive) the status entries are deleted
+     * @param status   the status of the entries to delete
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            DELETE FROM UserCourseNotificationStatus ucns
+            WHERE ucns.user.id = :userId
+                AND ucns.status = :status
+                AND ucns.courseNotification.id IN (
+                    SELECT cn.id
+                    FROM CourseNotification cn
+                    WHERE cn.course.id = :courseId
+                        AND cn.audience = de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience.COURSE
+                        AND cn.id <= :upToId
+                )
+            """)
+    void deleteCourseAudienceStatusOfUserUpTo(@Param("userId") long userId, @Param("courseId") long courseId, @Param("upToId") long upToId,
+            @Param("status") UserCourseNotificationStatusType status);
+
     /**
      * Find all course notification status by user id.
      *
@@ -0,0 +1,75 @@
+package de.tum.cit.aet.artemis.notification.repository;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.util.Optional;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.cit.aet.artemis.core.repository.base.ArtemisJpaRepository;
+import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationWatermark;
+
+/**
+ * Repository for the {@link UserCourseNotificationWatermark} entity.
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Repository
+public interface UserCourseNotificationWatermarkRepository extends ArtemisJpaRepository<UserCourseNotificationWatermark, Long> {
+
+    /**
+     * Find the watermark of a user in a course.
+     *
+     * @param userId   the ID of the user
+     * @param courseId the ID of the course
+     * @return the watermark, empty if the user has not seen or archived any notification of the course audience yet
+     */
+    Optional<UserCourseNotificationWatermark> findByUserIdAndCourseId(long userId, long courseId);
+
+    /**
+     * Moves the watermarks of a user in a course up to the given ids. A watermark that is already higher is kept, so that concurrent requests never move it back.
+     *
+     * @param userId         the ID of the user
+     * @param courseId       the ID of the course
+     * @param seenUpToId     the new seen watermark
+     * @param archivedUpToId the new archived watermark
+     * @return the number of watermarks of the user in the course, 0 if the user does not have one yet
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query("""
+            UPDATE UserCourseNotificationWatermark w
+            SET w.seenUpToId = CASE WHEN w.seenUpToId < :seenUpToId THEN :seenUpToId ELSE w.seenUpToId END,
+                w.archivedUpToId = CASE WHEN w.archivedUpToId < :archivedUpToId THEN :archivedUpToId ELSE w.archivedUpToId END
+            WHERE w.user.id = :userId
+                AND w.course.id = :courseId
+            """)
+    int advanceWatermarks(@Param("userId") long userId, @Param("courseId") long courseId, @Param("seenUpToId") long seenUpToId, @Param("archivedUpToId") long archivedUpToId);
+
+    /**
+     * Creates the watermark of a user in a course. Fails with a {@link org.springframework.dao.DataIntegrityViolationException} if the watermark already exists, unlike
+     * {@code save}, which would overwrite a watermark created concurrently.
+     *
+     * @param userId         the ID of the user
+     * @param courseId       the ID of the course
+     * @param seenUpToId     the seen watermark
+     * @param archivedUpToId the archived watermark
+     */
+    @Transactional // ok because of modifying query
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_course_notification_watermark (user_id, course_id, seen_up_to_id, archived_up_to_id)
+            VALUES (:userId, :courseId, :seenUpToId, :archivedUpToId)
+            """, nativeQuery = true)
+    void insertWatermarks(@Param("userId") long userId, @Param("courseId") long courseId, @Param("seenUpToId") long seenUpToId, @Param("archivedUpToId") long archivedUpToId);
+
+    @Transactional // ok because of delete
+    @Modifying
+    void deleteAllByUserId(long userId);
+}
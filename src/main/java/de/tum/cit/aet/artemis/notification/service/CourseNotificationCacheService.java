@@ -2,7 +2,12 @@ package de.tum.cit.aet.artemis.notification.service;
 
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
+import java.io.Serializable;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +15,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -18,10 +24,15 @@ import com.hazelcast.map.IMap;
 import com.hazelcast.spring.cache.HazelcastCacheManager;
 
 import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
+import de.tum.cit.aet.artemis.notification.dto.CourseNotificationPageableDTO;
 
 /**
  * Service for managing course notification caches.
- * This service provides methods to invalidate caches related to course notifications.
+ * This service provides methods to read and invalidate caches related to course notifications.
+ * <p>
+ * All cached pages of the notifications of a user in a course are stored in a single cache entry, so that they can be invalidated by deleting one key instead of scanning
+ * the keys of the whole cluster-wide cache for a prefix. A page is only added to the entry if the entry was not invalidated while the page was loaded.
  */
 @Profile(PROFILE_CORE)
 @Lazy
@@ -40,6 +51,15 @@ public class CourseNotificationCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(CourseNotificationCacheService.class);
 
+    /**
+     * The cached pages of the notifications of a user in a course.
+     *
+     * @param version a random id that is different for each stored entry, so that an entry that was invalidated and stored again is never mistaken for the entry read before
+     * @param pages   the cached pages by page number and size
+     */
+    record CachedCourseNotificationPages(UUID version, Map<String, CourseNotificationPageableDTO<CourseNotificationDTO>> pages) implements Serializable {
+    }
+
     private final CacheManager cacheManager;
 
     public CourseNotificationCacheService(CacheManager cacheManager) {
@@ -57,9 +77,50 @@ public class CourseNotificationCacheService {
         }
     }
 
+    /**
+     * Returns the cached page of course notifications of the user in the course, or loads and caches it if it is not cached yet.
+     * Empty pages are not cached.
+     *
+     * @param userId   the id of the user
+     * @param courseId the id of the course
+     * @param pageable the requested page
+     * @param loader   loads the page if it is not cached
+     * @return the page of course notifications
+     */
+    protected CourseNotificationPageableDTO<CourseNotificationDTO> getCourseNotificationPage(long userId, long courseId, Pageable pageable,
+            Supplier<CourseNotificationPageableDTO<CourseNotificationDTO>> loader) {
+        IMap<Object, Object> cacheMap = getCacheMap(USER_COURSE_NOTIFICATION_CACHE);
+        String key = USER_COURSE_NOTIFICATION_CACHE_KEY_PREFIX + userId + '_' + courseId;
+        String pageKey = pageable == null ? "null" : pageable.isPaged() ? pageable.getPageNumber() + "_" + pageable.getPageSize() : "unpaged";
+
+        Object cachedValue = cacheMap.get(key);
+        var cachedPages = cachedValue instanceof CachedCourseNotificationPages cached ? cached : null;
+        if (cachedPages == null) {
+            // Reserve the entry before loading: an invalidation while the page is loaded deletes the reservation, so that the outdated page is not stored afterwards
+            var reservation = new CachedCourseNotificationPages(UUID.randomUUID(), Map.of());
+            Object existingValue = cacheMap.putIfAbsent(key, reservation);
+            cachedPages = existingValue == null ? reservation : existingValue instanceof CachedCourseNotificationPages existing ? existing : null;
+        }
+        if (cachedPages != null && cachedPages.pages().containsKey(pageKey)) {
+            return cachedPages.pages().get(pageKey);
+        }
+
+        var page = loader.get();
+        if (page.totalElements() == 0 || cachedPages == null) {
+            return page;
+        }
+        // a sorted map is serialized the same way after each read, which the comparison of the replaced entry relies on
+        var pages = new TreeMap<>(cachedPages.pages());
+        pages.put(pageKey, page);
+        // Each stored entry has a new version, so the page is only added if the entry read before loading was neither invalidated nor replaced in the meantime
+        cacheMap.replace(key, cachedPages, new CachedCourseNotificationPages(UUID.randomUUID(), pages));
+        return page;
+    }
+
     /**
      * Invalidates course notification cache entries for the specified users.
      * This method will clear all cached notifications for each user in the provided set.
+     * The cached pages and the unseen count of a user in the course each use a single key, so the costs only grow with the number of users.
      *
      * @param users    A set of users whose notification caches should be invalidated
      * @param courseId the id of the course
@@ -67,13 +128,17 @@ public class CourseNotificationCacheService {
      */
     @Async
     protected void invalidateCourseNotificationCacheForUsers(Set<User> users, long courseId) throws IllegalArgumentException {
+        if (users.isEmpty()) {
+            return;
+        }
+        IMap<Object, Object> cacheMap = getCacheMap(USER_COURSE_NOTIFICATION_CACHE);
         for (User user : users) {
             if (user.getId() == null) {
                 throw new IllegalArgumentException("Cannot invalidate cache for user without id.");
             }
 
-            invalidateCacheForKeyStartingWith(USER_COURSE_NOTIFICATION_CACHE, USER_COURSE_NOTIFICATION_CACHE_KEY_PREFIX + user.getId() + '_' + courseId);
-            invalidateCacheForKey(USER_COURSE_NOTIFICATION_CACHE, USER_COURSE_NOTIFICATION_COUNT_CACHE_KEY_PREFIX + user.getId() + '_' + courseId);
+            deleteCacheEntry(cacheMap, USER_COURSE_NOTIFICATION_CACHE_KEY_PREFIX + user.getId() + '_' + courseId);
+            deleteCacheEntry(cacheMap, USER_COURSE_NOTIFICATION_COUNT_CACHE_KEY_PREFIX + user.getId() + '_' + courseId);
         }
     }
 
@@ -88,29 +153,6 @@ public class CourseNotificationCacheService {
         invalidateCacheForKey(USER_COURSE_NOTIFICATION_SETTING_SPECIFICATION_CACHE, USER_COURSE_NOTIFICATION_SETTING_SPECIFICATION_CACHE_PREFIX + userId + '_' + courseId);
     }
 
-    /**
-     * Invalidates cache entries whose keys start with the specified prefix.
-     * Since we cannot tag our cache, this method is used to clear paging-related caches
-     * by matching and removing entries with keys that start with the given prefix.
-     *
-     * @param cache The name of the cache to invalidate entries from
-     * @param key   The key prefix to match against cache entries
-     */
-    private void invalidateCacheForKeyStartingWith(String cache, String key) {
-        HazelcastInstance hazelcastInstance = ((HazelcastCacheManager) cacheManager).getHazelcastInstance();
-        IMap<Object, Object> cacheMap = hazelcastInstance.getMap(cache);
-
-        Set<Object> keys = cacheMap.keySet();
-        keys.stream().filter(k -> k.toString().startsWith(key)).forEach(k -> {
-            try {
-                cacheMap.delete(k);
-            }
-            catch (ClassCastException | NullPointerException e) {
-                log.error("Failed to delete cache entry with key: {}", k, e);
-            }
-        });
-    }
-
     /**
      * Invalidates cache entries with a specified key.
      *
@@ -118,13 +160,20 @@ public class CourseNotificationCacheService {
      * @param key   The key to delete
      */
     private void invalidateCacheForKey(String cache, String key) {
+        deleteCacheEntry(getCacheMap(cache), key);
+    }
+
+    private IMap<Object, Object> getCacheMap(String cache) {
         HazelcastInstance hazelcastInstance = ((HazelcastCacheManager) cacheManager).getHazelcastInstance();
-        IMap<Object, Object> cacheMap = hazelcastInstance.getMap(cache);
+        return hazelcastInstance.getMap(cache);
+    }
+
+    private static void deleteCacheEntry(IMap<Object, Object> cacheMap, String key) {
         try {
             cacheMap.delete(key);
         }
         catch (ClassCastException | NullPointerException e) {
-            // Nothing needs to be done
+            log.error("Failed to delete cache entry with key: {}", key, e);
         }
     }
 }
@@ -3,13 +3,19 @@ package de.tum.cit.aet.artemis.notification.service;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Entities;
 import org.jsoup.safety.Safelist;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +32,7 @@ import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationRecipientDTO;
+import de.tum.cit.aet.artemis.notification.dto.MailDTO;
 import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.notification.service.notifications.MarkdownCustomLinkRendererService;
@@ -40,7 +47,7 @@ import de.tum.cit.aet.artemis.notification.service.notifications.MarkdownRelativ
  * <p>
  * This implementation of {@link CourseNotificationBroadcastService} handles email-based notifications
  * by generating localized email content from templates and sending them to the appropriate users.
- * Each email is processed asynchronously to improve performance when sending to multiple recipients.
+ * The content is rendered once per language and the emails are sent asynchronously in batches.
  * </p>
  */
 @Profile(PROFILE_CORE)
@@ -80,6 +87,16 @@ public class CourseNotificationEmailService extends CourseNotificationBroadcastS
     // In case a parameter includes markdown, add the key here to make sure the system renders it properly.
     private static final List<String> MARKDOWN_PARAMETERS = List.of("postMarkdownContent");
 
+    private static final Parser MARKDOWN_PARSER = Parser.builder().build();
+
+    private static final Safelist MARKDOWN_SAFELIST = new Safelist().addTags("p", "br", "b", "i", "em", "strong", "a", "code", "pre", "img").addAttributes(":all", "class")
+            .addAttributes("img", "align", "alt", "height", "width", "src").addProtocols("img", "src", "http", "https").addAttributes("a", "href")
+            .addProtocols("a", "href", "http", "https");
+
+    private static final String RECIPIENT_NAME_PLACEHOLDER_PREFIX = "RECIPIENT_NAME_";
+
+    private HtmlRenderer markdownRenderer;
+
     public CourseNotificationEmailService(MessageSource messageSource, SpringTemplateEngine templateEngine, MailSendingService mailSendingService,
             MarkdownCustomLinkRendererService markdownCustomLinkRendererService, MarkdownCustomReferenceRendererService markdownCustomReferenceRendererService) {
         this.messageSource = messageSource;
@@ -92,9 +109,9 @@ public class CourseNotificationEmailService extends CourseNotificationBroadcastS
      * Sends course notifications via email to all recipients. The emails are sent asynchronously.
      *
      * <p>
-     * This method creates a separate process for each email that needs to be sent.
-     * It uses the recipient's language preference to localize the content and subject
-     * of the email.
+     * The subject and content only depend on the recipient's language and name. They are therefore rendered once per
+     * language with a placeholder for the name, which is replaced with the escaped name of each recipient afterwards.
+     * The emails are then delivered in batches, see {@link MailSendingService#sendEmailsSync}.
      * </p>
      *
      * @param courseNotification The notification data to be sent
@@ -103,27 +120,31 @@ public class CourseNotificationEmailService extends CourseNotificationBroadcastS
     @Async
     @Override
     protected void sendCourseNotification(CourseNotificationDTO courseNotification, List<CourseNotificationRecipientDTO> recipients) {
-        recipients.forEach(recipient -> {
-            String localeKey = recipient.langKey();
-            if (localeKey == null) {
-                localeKey = "en";
+        if (recipients.isEmpty()) {
+            return;
+        }
+        var renderedParameters = new HashMap<>();
+        for (var entry : courseNotification.parameters().entrySet()) {
+            Object value = entry.getValue();
+            if (MARKDOWN_PARAMETERS.contains(entry.getKey())) {
+                value = renderMarkdown(value.toString());
             }
-            Locale locale = Locale.forLanguageTag(localeKey);
-            Context context = new Context(locale);
+            renderedParameters.put(entry.getKey(), value);
+        }
+
+        Map<String, List<CourseNotificationRecipientDTO>> recipientsByLocale = recipients.stream()
+                .collect(Collectors.groupingBy(recipient -> recipient.langKey() == null ? "en" : recipient.langKey(), LinkedHashMap::new, Collectors.toList()));
+
+        List<MailDTO> mails = new ArrayList<>(recipients.size());
+        recipientsByLocale.forEach((localeKey, localeRecipients) -> {
+            String namePlaceholder = RECIPIENT_NAME_PLACEHOLDER_PREFIX + UUID.randomUUID().toString().replace("-", "");
+            var placeholderRecipient = new CourseNotificationRecipientDTO(null, null, null, localeKey, namePlaceholder, null);
+
+            Context context = new Context(Locale.forLanguageTag(localeKey));
             context.setVariable(SERVER_URL_KEY, artemisServerUrl);
             context.setVariable(TYPE_KEY, courseNotification.notificationType());
-            context.setVariable(RECIPIENT_KEY, recipient);
+            context.setVariable(RECIPIENT_KEY, placeholderRecipient);
             context.setVariable(COURSE_ID_KEY, courseNotification.courseId());
-            var renderedParameters = new HashMap<>();
-
-            for (var entry : courseNotification.parameters().entrySet()) {
-                Object value = entry.getValue();
-                if (MARKDOWN_PARAMETERS.contains(entry.getKey())) {
-                    value = renderMarkdown(value.toString());
-                }
-                renderedParameters.put(entry.getKey(), value);
-            }
-
             context.setVariable(PARAMETERS_KEY, renderedParameters);
             context.setVariable(CREATION_DATE_KEY, courseNotification.creationDate());
             context.setVariable(CATEGORY_KEY, courseNotification.category());
@@ -145,9 +166,16 @@ public class CourseNotificationEmailService extends CourseNotificationBroadcastS
                 return;
             }
 
-            var mailRecipient = new MailRecipientDTO(recipient.email(), recipient.langKey(), recipient.login(), recipient.firstName(), recipient.lastName(), null, null);
-            mailSendingService.sendEmailSync(mailRecipient, subject, content, false, true);
+            for (var recipient : localeRecipients) {
+                // the template escapes the name as text, so the substituted name has to be escaped the same way
+                String recipientName = recipient.getName() == null ? "" : Entities.escape(recipient.getName());
+                var mailRecipient = new MailRecipientDTO(recipient.email(), recipient.langKey(), recipient.login(), recipient.firstName(), recipient.lastName(), null, null);
+                mails.add(new MailDTO(mailRecipient, subject, content.replace(namePlaceholder, recipientName)));
+            }
         });
+        if (!mails.isEmpty()) {
+            mailSendingService.sendEmailsSync(mails, false, true);
+        }
     }
 
     /**
@@ -157,19 +185,17 @@ public class CourseNotificationEmailService extends CourseNotificationBroadcastS
      * @return A rendered markdown string
      */
     private String renderMarkdown(String preRenderMarkdown) {
-        Parser parser = Parser.builder().build();
-        HtmlRenderer renderer = HtmlRenderer.builder()
-                .attributeProviderFactory(attributeContext -> new MarkdownRelativeToAbsolutePathAttributeProvider(artemisServerUrl.toString()))
-                .nodeRendererFactory(new MarkdownImageBlockRendererFactory(artemisServerUrl.toString())).build();
-        String renderedHtml = renderer.render(parser.parse(preRenderMarkdown));
+        if (markdownRenderer == null) {
+            // the server url is injected after construction, the renderer is thread-safe and can be reused afterwards
+            markdownRenderer = HtmlRenderer.builder()
+                    .attributeProviderFactory(attributeContext -> new MarkdownRelativeToAbsolutePathAttributeProvider(artemisServerUrl.toString()))
+                    .nodeRendererFactory(new MarkdownImageBlockRendererFactory(artemisServerUrl.toString())).build();
+        }
+        String renderedHtml = markdownRenderer.render(MARKDOWN_PARSER.parse(preRenderMarkdown));
 
         renderedHtml = markdownCustomRendererServices.stream().reduce(renderedHtml, (s, service) -> service.render(s), (s1, s2) -> s2);
 
-        Safelist restrictedList = new Safelist().addTags("p", "br", "b", "i", "em", "strong", "a", "code", "pre", "img").addAttributes(":all", "class")
-                .addAttributes("img", "align", "alt", "height", "width", "src").addProtocols("img", "src", "http", "https").addAttributes("a", "href")
-                .addProtocols("a", "href", "http", "https");
-
-        return Jsoup.clean(renderedHtml, restrictedList);
+        return Jsoup.clean(renderedHtml, MARKDOWN_SAFELIST);
     }
 
     /**
@@ -5,6 +5,7 @@ import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 import java.lang.reflect.InvocationTargetException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -13,7 +14,6 @@ import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
@@ -22,6 +22,7 @@ import org.springframework.stereotype.Service;
 
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.course.domain.Course;
+import de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience;
 import de.tum.cit.aet.artemis.notification.domain.CourseNotificationParameter;
 import de.tum.cit.aet.artemis.notification.domain.NotificationChannelOption;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatusType;
@@ -53,17 +54,20 @@ public class CourseNotificationService {
 
     private final UserCourseNotificationStatusService userCourseNotificationStatusService;
 
+    private final CourseNotificationCacheService courseNotificationCacheService;
+
     private final Map<NotificationChannelOption, CourseNotificationBroadcastService> serviceMap;
 
     public CourseNotificationService(CourseNotificationRegistryService courseNotificationRegistryService, CourseNotificationSettingService courseNotificationSettingService,
             CourseNotificationRepository courseNotificationRepository, CourseNotificationParameterRepository courseNotificationParameterRepository,
             UserCourseNotificationStatusService userCourseNotificationStatusService, CourseNotificationWebappService webappService, CourseNotificationPushService pushService,
-            CourseNotificationEmailService emailService) {
+            CourseNotificationEmailService emailService, CourseNotificationCacheService courseNotificationCacheService) {
         this.courseNotificationRegistryService = courseNotificationRegistryService;
         this.courseNotificationSettingService = courseNotificationSettingService;
         this.courseNotificationRepository = courseNotificationRepository;
         this.courseNotificationParameterRepository = courseNotificationParameterRepository;
         this.userCourseNotificationStatusService = userCourseNotificationStatusService;
+        this.courseNotificationCacheService = courseNotificationCacheService;
         this.serviceMap = Map.of(NotificationChannelOption.WEBAPP, webappService, NotificationChannelOption.PUSH, pushService, NotificationChannelOption.EMAIL, emailService);
     }
 
@@ -75,19 +79,59 @@ public class CourseNotificationService {
      * @param recipients         list of recipients. Will be filtered by user settings.
      */
     public void sendCourseNotification(CourseNotification courseNotification, List<User> recipients) {
+        var courseNotificationEntityId = createCourseNotification(courseNotification, CourseNotificationAudience.RECIPIENTS);
+        var setOfNotifiedUsers = sendToSupportedChannels(courseNotification, courseNotificationEntityId, recipients);
+
+        userCourseNotificationStatusService.batchCreateStatusForUsers(setOfNotifiedUsers, courseNotificationEntityId, courseNotification.courseId);
+    }
+
+    /**
+     * Sends a notification that all members of the course can see, e.g. an announcement in a course-wide channel. It is delivered on all channels the notification supports
+     * like {@link #sendCourseNotification(CourseNotification, List)}, but stored once for the whole course instead of with one status entry per recipient.
+     *
+     * <p>
+     * Only the course members that should not see the notification get a status entry: the excluded users and the recipients that disabled the notification type on all
+     * channels. The status of all other course members is derived from their watermarks, see {@link UserCourseNotificationStatusService}.
+     * </p>
+     *
+     * @param courseNotification to send.
+     * @param recipients         list of recipients. Will be filtered by user settings.
+     * @param excludedUsers      course members that should not see the notification, e.g. its author.
+     */
+    public void sendCourseNotificationToCourse(CourseNotification courseNotification, List<User> recipients, Collection<User> excludedUsers) {
+        var courseNotificationEntityId = createCourseNotification(courseNotification, CourseNotificationAudience.COURSE);
+        var setOfNotifiedUsers = sendToSupportedChannels(courseNotification, courseNotificationEntityId, recipients);
+
+        var setOfHiddenUsers = new HashSet<>(excludedUsers);
+        recipients.stream().filter(recipient -> !setOfNotifiedUsers.contains(recipient)).forEach(setOfHiddenUsers::add);
+
+        userCourseNotificationStatusService.batchCreateCourseAudienceExceptions(setOfNotifiedUsers, setOfHiddenUsers, courseNotificationEntityId, courseNotification.courseId);
+    }
+
+    /**
+     * Sends the notification on all channels it supports to the recipients that have the notification type enabled for the channel.
+     *
+     * @param courseNotification         to send.
+     * @param courseNotificationEntityId the ID of the stored notification
+     * @param recipients                 list of recipients. Will be filtered by user settings.
+     * @return the users that were notified on at least one channel
+     */
+    private Set<User> sendToSupportedChannels(CourseNotification courseNotification, long courseNotificationEntityId, List<User> recipients) {
         var supportedChannels = courseNotification.getSupportedChannels();
         var setOfNotifiedUsers = new HashSet<User>();
 
-        var courseNotificationEntityId = createCourseNotification(courseNotification);
-
         courseNotification.notificationId = courseNotificationEntityId;
 
+        // The settings of all recipients are resolved once for all channels
+        var recipientsByChannel = courseNotificationSettingService.filterRecipientsByChannels(courseNotification, recipients,
+                supportedChannels.stream().filter(serviceMap::containsKey).toList());
+
         for (var supportedChannel : supportedChannels) {
             var service = serviceMap.get(supportedChannel);
             if (service == null) {
                 continue;
             }
-            var filteredRecipients = courseNotificationSettingService.filterRecipientsBy(courseNotification, recipients, supportedChannel);
+            var filteredRecipients = recipientsByChannel.get(supportedChannel);
             var recipientDTOs = filteredRecipients.stream().map(CourseNotificationRecipientDTO::from).toList();
             service.sendCourseNotification(convertToCourseNotificationDTO(courseNotification, UserCourseNotificationStatusType.UNSEEN), recipientDTOs);
 
@@ -95,7 +139,7 @@ public class CourseNotificationService {
             setOfNotifiedUsers.addAll(filteredRecipients);
         }
 
-        userCourseNotificationStatusService.batchCreateStatusForUsers(setOfNotifiedUsers, courseNotificationEntityId, courseNotification.courseId);
+        return setOfNotifiedUsers;
     }
 
     /**
@@ -104,7 +148,7 @@ public class CourseNotificationService {
      * <p>
      * This method fetches non-archived course notifications from the repository,
      * converts each notification entity to its corresponding DTO using reflection,
-     * and returns the results as a paginated list. Results are cached unless empty.
+     * and returns the results as a paginated list. Results are cached unless empty, see {@link CourseNotificationCacheService}.
      * </p>
      *
      * <p>
@@ -117,11 +161,14 @@ public class CourseNotificationService {
      * @param userId   The ID of the user
      * @return A paginated list of {@link CourseNotificationDTO} objects
      */
-    @Cacheable(cacheNames = CourseNotificationCacheService.USER_COURSE_NOTIFICATION_CACHE, key = "'user_course_notification_' + #userId + '_' " + "+ #courseId + '_' "
-            + "+ (#pageable != null ? (#pageable.isPaged() ? #pageable.pageNumber : 'unpaged') : 'null') + '_' "
-            + "+ (#pageable != null ? (#pageable.isPaged() ? #pageable.pageSize : 'unpaged') : 'null')", unless = "#result.totalElements() == 0")
     public CourseNotificationPageableDTO<CourseNotificationDTO> getCourseNotifications(Pageable pageable, long courseId, long userId) {
-        var courseNotificationsEntityPage = courseNotificationRepository.findCourseNotificationsByUserIdAndCourseIdAndStatusNotArchived(userId, courseId, pageable);
+        return courseNotificationCacheService.getCourseNotificationPage(userId, courseId, pageable, () -> loadCourseNotifications(pageable, courseId, userId));
+    }
+
+    private CourseNotificationPageableDTO<CourseNotificationDTO> loadCourseNotifications(Pageable pageable, long courseId, long userId) {
+        var watermark = userCourseNotificationStatusService.getWatermark(userId, courseId);
+        var courseNotificationsEntityPage = courseNotificationRepository.findCourseNotificationsByUserIdAndCourseIdAndStatusNotArchived(userId, courseId,
+                watermark.getArchivedUpToId(), pageable);
 
         return CourseNotificationPageableDTO.from(courseNotificationsEntityPage.map((courseNotificationEntityDTO) -> {
             var courseNotificationEntity = courseNotificationEntityDTO.notification();
@@ -133,7 +180,11 @@ public class CourseNotificationService {
                 CourseNotification courseNotification = classType.getDeclaredConstructor(Long.class, Long.class, ZonedDateTime.class, Map.class).newInstance(
                         courseNotificationEntity.getId(), courseNotificationEntity.getCourse().getId(), courseNotificationEntity.getCreationDate(), parametersToMap(parameters));
 
-                return convertToCourseNotificationDTO(courseNotification, courseNotificationEntityDTO.status().getStatus());
+                // Notifications of the course audience only have a status entry if their status differs from the one derived from the watermark
+                var status = courseNotificationEntityDTO.status() != null ? courseNotificationEntityDTO.status().getStatus()
+                        : courseNotificationEntity.getId() <= watermark.getSeenUpToId() ? UserCourseNotificationStatusType.SEEN : UserCourseNotificationStatusType.UNSEEN;
+
+                return convertToCourseNotificationDTO(courseNotification, status);
             }
             catch (InstantiationException | IllegalAccessException | IllegalArgumentException | ExceptionInInitializerError | InvocationTargetException | SecurityException
                     | NoSuchMethodException e) {
@@ -181,9 +232,10 @@ public class CourseNotificationService {
      *
      * @param courseNotification The {@link CourseNotification} object containing notification data
      *                               including course ID, creation date and parameters
+     * @param audience           The audience that can see the notification
      * @return The ID of the newly created CourseNotification entity
      */
-    private long createCourseNotification(CourseNotification courseNotification) {
+    private long createCourseNotification(CourseNotification courseNotification, CourseNotificationAudience audience) {
         Course course = new Course();
         course.setId(courseNotification.courseId);
 
@@ -191,6 +243,7 @@ public class CourseNotificationService {
         var courseNotificationEntity = new de.tum.cit.aet.artemis.notification.domain.CourseNotification(course,
                 courseNotificationRegistryService.getNotificationIdentifier(courseNotification.getClass()), courseNotification.creationDate,
                 courseNotification.creationDate.plus(courseNotification.getCleanupDuration()));
+        courseNotificationEntity.setAudience(audience);
 
         courseNotificationEntity = courseNotificationRepository.save(courseNotificationEntity);
 
@@ -3,10 +3,13 @@ package de.tum.cit.aet.artemis.notification.service;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
@@ -32,6 +35,16 @@ import de.tum.cit.aet.artemis.notification.repository.UserCourseNotificationSett
 @Service
 public class CourseNotificationSettingService {
 
+    /**
+     * The preset used for users that have not selected one.
+     */
+    private static final int DEFAULT_PRESET_ID = 1;
+
+    /**
+     * The number of recipients from which their settings are loaded in bulk instead of with the cached per-user lookups.
+     */
+    private static final int BULK_RESOLUTION_MIN_RECIPIENTS = 10;
+
     private final CourseNotificationRegistryService courseNotificationRegistryService;
 
     private final CourseNotificationCacheService courseNotificationCacheService;
@@ -232,9 +245,7 @@ public class CourseNotificationSettingService {
     }
 
     /**
-     * Private helper method that performs the actual filtering of recipients based on notification type.
-     * This method checks user presets first. If a user has custom settings (preset 0), it looks up their
-     * specific notification preferences. Otherwise, it uses the preset registry.
+     * Filters the recipients of a notification for a single channel, see {@link #filterRecipientsByChannels(CourseNotification, List, Collection)}.
      *
      * @param notification The course notification to be sent
      * @param recipients   List of potential recipients
@@ -242,32 +253,130 @@ public class CourseNotificationSettingService {
      * @return Filtered list of users who have enabled notifications for the specified channel
      */
     protected List<User> filterRecipientsBy(CourseNotification notification, List<User> recipients, NotificationChannelOption filterFor) {
-        return recipients.stream().filter(recipient -> {
-            // Note: We run a single query per user, however, this query is cached, so this should not cause performance issues.
-            var preset = userCourseNotificationSettingPresetRepository.findUserCourseNotificationSettingPresetByUserIdAndCourseId(recipient.getId(), notification.courseId);
+        return filterRecipientsByChannels(notification, recipients, List.of(filterFor)).get(filterFor);
+    }
 
-            if (preset == null) {
-                // Run query on default preset if none are present
-                return this.courseNotificationSettingPresetRegistryService.isPresetSettingEnabled(1, notification.getClass(), filterFor);
+    /**
+     * Filters the recipients of a notification for all given channels in one pass. The settings of each recipient are resolved once into a bitmap of the enabled channels.
+     * Users without preset use the default preset, users with the "Custom" preset (0) use their specification for the notification type, all other users use their preset.
+     *
+     * <p>
+     * For few recipients, the settings are looked up per user, because these lookups are cached. For more recipients, the presets and specifications of all of them are
+     * loaded with at most two queries, so that a notification to a large course does not issue one query per recipient on a cold cache.
+     * </p>
+     *
+     * @param notification The course notification to be sent
+     * @param recipients   List of potential recipients
+     * @param channels     The notification channels to filter for
+     * @return The users who have enabled notifications for each of the channels, in the order of the recipients
+     */
+    protected Map<NotificationChannelOption, List<User>> filterRecipientsByChannels(CourseNotification notification, List<User> recipients,
+            Collection<NotificationChannelOption> channels) {
+        var notificationTypeId = courseNotificationRegistryService.getNotificationIdentifier(notification.getClass());
+        var presetChannels = new HashMap<Integer, Byte>();
+        var enabledChannels = recipients.size() < BULK_RESOLUTION_MIN_RECIPIENTS
+                ? resolveEnabledChannelsPerUser(notification, notificationTypeId, recipients, channels, presetChannels)
+                : resolveEnabledChannelsInBulk(notification, notificationTypeId, recipients, channels, presetChannels);
+
+        Map<NotificationChannelOption, List<User>> filteredRecipients = new EnumMap<>(NotificationChannelOption.class);
+        channels.forEach(channel -> filteredRecipients.put(channel, new ArrayList<>()));
+        for (int i = 0; i < recipients.size(); i++) {
+            for (var entry : filteredRecipients.entrySet()) {
+                if ((enabledChannels[i] & channelBit(entry.getKey())) != 0) {
+                    entry.getValue().add(recipients.get(i));
+                }
             }
-            else if (preset.getSettingPreset() == 0) {
-                // The specifications are cached per-user per-course. Similar to above.
+        }
+        return filteredRecipients;
+    }
+
+    /**
+     * Resolves the enabled channels of each recipient with the cached per-user lookups.
+     */
+    private byte[] resolveEnabledChannelsPerUser(CourseNotification notification, Short notificationTypeId, List<User> recipients,
+            Collection<NotificationChannelOption> channels, Map<Integer, Byte> presetChannels) {
+        var enabledChannels = new byte[recipients.size()];
+        for (int i = 0; i < recipients.size(); i++) {
+            var recipient = recipients.get(i);
+            var preset = userCourseNotificationSettingPresetRepository.findUserCourseNotificationSettingPresetByUserIdAndCourseId(recipient.getId(), notification.courseId);
+            if (preset != null && preset.getSettingPreset() == 0) {
                 var specifications = userCourseNotificationSettingSpecificationRepository.findAllByUserIdAndCourseId(recipient.getId(), notification.courseId);
+                enabledChannels[i] = specifications.stream().filter(specification -> Objects.equals(specification.getCourseNotificationType(), notificationTypeId)).findFirst()
+                        .map(CourseNotificationSettingService::specificationChannels).orElse((byte) 0);
+            }
+            else {
+                enabledChannels[i] = presetChannels(notification, preset == null ? DEFAULT_PRESET_ID : preset.getSettingPreset(), channels, presetChannels);
+            }
+        }
+        return enabledChannels;
+    }
 
-                var specification = specifications.stream().filter(
-                        (spec) -> Objects.equals(spec.getCourseNotificationType(), this.courseNotificationRegistryService.getNotificationIdentifier(notification.getClass())))
-                        .findFirst();
+    /**
+     * Resolves the enabled channels of all recipients with one query for the presets and, if any recipient uses the "Custom" preset, one query for their specifications.
+     */
+    private byte[] resolveEnabledChannelsInBulk(CourseNotification notification, Short notificationTypeId, List<User> recipients,
+            Collection<NotificationChannelOption> channels, Map<Integer, Byte> presetChannels) {
+        var userIds = recipients.stream().map(User::getId).collect(Collectors.toSet());
+
+        var presetIdByUserId = new HashMap<Long, Short>();
+        for (var preset : userCourseNotificationSettingPresetRepository.findAllByCourseIdAndUserIdIn(notification.courseId, userIds)) {
+            presetIdByUserId.put(preset.getUser().getId(), preset.getSettingPreset());
+        }
 
-                return specification.map(switch (filterFor) {
-                    case WEBAPP -> UserCourseNotificationSettingSpecification::isWebapp;
-                    case PUSH -> UserCourseNotificationSettingSpecification::isPush;
-                    case EMAIL -> UserCourseNotificationSettingSpecification::isEmail;
-                }).orElse(false);
+        var customUserIds = presetIdByUserId.entrySet().stream().filter(entry -> entry.getValue() == 0).map(Map.Entry::getKey).collect(Collectors.toSet());
+        var customChannelsByUserId = new HashMap<Long, Byte>();
+        if (!customUserIds.isEmpty()) {
+            for (var specification : userCourseNotificationSettingSpecificationRepository.findAllByCourseIdAndCourseNotificationTypeAndUserIdIn(notification.courseId,
+                    notificationTypeId, customUserIds)) {
+                customChannelsByUserId.put(specification.getUser().getId(), specificationChannels(specification));
+            }
+        }
+
+        var enabledChannels = new byte[recipients.size()];
+        for (int i = 0; i < recipients.size(); i++) {
+            var userId = recipients.get(i).getId();
+            var presetId = presetIdByUserId.get(userId);
+            if (presetId != null && presetId == 0) {
+                enabledChannels[i] = customChannelsByUserId.getOrDefault(userId, (byte) 0);
             }
             else {
-                return this.courseNotificationSettingPresetRegistryService.isPresetSettingEnabled(preset.getSettingPreset(), notification.getClass(), filterFor);
+                enabledChannels[i] = presetChannels(notification, presetId == null ? DEFAULT_PRESET_ID : presetId, channels, presetChannels);
             }
-        }).toList();
+        }
+        return enabledChannels;
+    }
+
+    /**
+     * Gets the enabled channels among the given ones of a preset for the notification, resolved once per preset.
+     */
+    private byte presetChannels(CourseNotification notification, int presetId, Collection<NotificationChannelOption> channels, Map<Integer, Byte> presetChannels) {
+        return presetChannels.computeIfAbsent(presetId, id -> {
+            int enabledChannels = 0;
+            for (var channel : channels) {
+                if (courseNotificationSettingPresetRegistryService.isPresetSettingEnabled(id, notification.getClass(), channel)) {
+                    enabledChannels |= channelBit(channel);
+                }
+            }
+            return (byte) enabledChannels;
+        });
+    }
+
+    private static byte specificationChannels(UserCourseNotificationSettingSpecification specification) {
+        int channels = 0;
+        if (specification.isWebapp()) {
+            channels |= channelBit(NotificationChannelOption.WEBAPP);
+        }
+        if (specification.isPush()) {
+            channels |= channelBit(NotificationChannelOption.PUSH);
+        }
+        if (specification.isEmail()) {
+            channels |= channelBit(NotificationChannelOption.EMAIL);
+        }
+        return (byte) channels;
+    }
+
+    private static int channelBit(NotificationChannelOption channel) {
+        return 1 << channel.ordinal();
     }
 
     /**
@@ -3,21 +3,34 @@ package de.tum.cit.aet.artemis.notification.service;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.notification.domain.CourseNotification;
+import de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatus;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatusType;
+import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationWatermark;
+import de.tum.cit.aet.artemis.notification.repository.CourseNotificationRepository;
 import de.tum.cit.aet.artemis.notification.repository.UserCourseNotificationStatusRepository;
+import de.tum.cit.aet.artemis.notification.repository.UserCourseNotificationWatermarkRepository;
 
 /**
  * Service for managing user course notification statuses.
+ * <p>
+ * Notifications with the audience {@link CourseNotificationAudience#RECIPIENTS} have one status entry per recipient. Notifications with the audience
+ * {@link CourseNotificationAudience#COURSE} are stored once, their status is derived from the {@link UserCourseNotificationWatermark} of the user in the course and status
+ * entries only exist for the exceptions.
  */
 @Profile(PROFILE_CORE)
 @Lazy
@@ -26,11 +39,18 @@ public class UserCourseNotificationStatusService {
 
     private final UserCourseNotificationStatusRepository userCourseNotificationStatusRepository;
 
+    private final UserCourseNotificationWatermarkRepository userCourseNotificationWatermarkRepository;
+
+    private final CourseNotificationRepository courseNotificationRepository;
+
     private final CourseNotificationCacheService courseNotificationCacheService;
 
     public UserCourseNotificationStatusService(UserCourseNotificationStatusRepository userCourseNotificationStatusRepository,
+            UserCourseNotificationWatermarkRepository userCourseNotificationWatermarkRepository, CourseNotificationRepository courseNotificationRepository,
             CourseNotificationCacheService courseNotificationCacheService) {
         this.userCourseNotificationStatusRepository = userCourseNotificationStatusRepository;
+        this.userCourseNotificationWatermarkRepository = userCourseNotificationWatermarkRepository;
+        this.courseNotificationRepository = courseNotificationRepository;
         this.courseNotificationCacheService = courseNotificationCacheService;
     }
 
@@ -58,11 +78,46 @@ public class UserCourseNotificationStatusService {
         userCourseNotificationStatusRepository.saveAll(status);
     }
 
+    /**
+     * Creates the exceptional status entries of a course notification with the audience {@link CourseNotificationAudience#COURSE}.
+     * Instead of one entry per recipient, only the course members that should not see the notification get an ARCHIVED entry.
+     * The notification caches of the notified and the hidden users are invalidated.
+     *
+     * @param notifiedUsers        Set of users that were notified, their status is derived from their watermarks
+     * @param hiddenUsers          Set of course members that should not see the notification, e.g. its author
+     * @param courseNotificationId The ID of the course notification
+     * @param courseId             The ID of the course, needed for cache invalidation
+     */
+    protected void batchCreateCourseAudienceExceptions(Set<User> notifiedUsers, Set<User> hiddenUsers, long courseNotificationId, long courseId) {
+        var courseNotification = new CourseNotification();
+        courseNotification.setId(courseNotificationId);
+
+        var status = new ArrayList<UserCourseNotificationStatus>();
+
+        for (var user : hiddenUsers) {
+            status.add(new UserCourseNotificationStatus(courseNotification, user, UserCourseNotificationStatusType.ARCHIVED));
+        }
+
+        var affectedUsers = new HashSet<>(notifiedUsers);
+        affectedUsers.addAll(hiddenUsers);
+        courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(affectedUsers, courseId);
+
+        if (!status.isEmpty()) {
+            userCourseNotificationStatusRepository.saveAll(status);
+        }
+    }
+
     /**
      * Updates the status of multiple course notifications for a specific user.
      * This method changes the status of all specified course notifications to the provided
      * new status for the given user and invalidates their notification cache.
      *
+     * <p>
+     * Notifications with the audience {@link CourseNotificationAudience#COURSE} get a status entry for the user if they do not have one yet. When notifications are marked
+     * as seen, the seen watermark of the user is moved up to the oldest notification of the course audience the user has not seen yet, and the then redundant SEEN entries
+     * are removed again, so that the number of status entries per user stays small.
+     * </p>
+     *
      * @param user                  The user whose notification statuses will be updated
      * @param courseNotificationIds List of course notification IDs to update
      * @param newStatus             The new status to set for the notifications
@@ -71,23 +126,138 @@ public class UserCourseNotificationStatusService {
     public void updateUserCourseNotificationStatus(User user, List<Long> courseNotificationIds, UserCourseNotificationStatusType newStatus, long courseId) {
         userCourseNotificationStatusRepository.updateUserCourseNotificationStatusForUserIdAndCourseNotificationIds(courseNotificationIds, user.getId(), newStatus);
 
+        if (!courseNotificationIds.isEmpty()) {
+            var courseAudienceIdsWithoutStatus = courseNotificationRepository.findCourseAudienceIdsWithoutStatusOfUser(courseId, user.getId(), courseNotificationIds);
+            if (!courseAudienceIdsWithoutStatus.isEmpty()) {
+                var userReference = new User(user.getId());
+                userCourseNotificationStatusRepository.saveAll(courseAudienceIdsWithoutStatus.stream().map(courseNotificationId -> {
+                    var courseNotification = new CourseNotification();
+                    courseNotification.setId(courseNotificationId);
+                    return new UserCourseNotificationStatus(courseNotification, userReference, newStatus);
+                }).toList());
+            }
+            if (newStatus == UserCourseNotificationStatusType.SEEN) {
+                advanceSeenWatermark(user.getId(), courseId);
+            }
+        }
+
         courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(Set.of(user), courseId);
     }
 
     /**
      * Archives all user viewing status for a given course.
      *
+     * <p>
+     * Notifications with the audience {@link CourseNotificationAudience#COURSE} are archived by moving both watermarks of the user to the newest of them, which makes all
+     * status entries of the user for them redundant.
+     * </p>
+     *
      * @param courseId The id of the course
      * @param userId   The id of the user
      */
     public void archiveUserCourseNotificationStatus(long courseId, long userId) {
         userCourseNotificationStatusRepository.updateUserCourseNotificationStatusForUserIdCourseId(userId, courseId, UserCourseNotificationStatusType.ARCHIVED);
 
+        var newestCourseAudienceId = courseNotificationRepository.findNewestCourseAudienceId(courseId);
+        if (newestCourseAudienceId != null) {
+            var watermark = getWatermark(userId, courseId);
+            if (newestCourseAudienceId > watermark.getArchivedUpToId()) {
+                advanceWatermarks(userId, courseId, newestCourseAudienceId, newestCourseAudienceId);
+                userCourseNotificationStatusRepository.deleteCourseAudienceStatusOfUserUpTo(userId, courseId, newestCourseAudienceId, UserCourseNotificationStatusType.ARCHIVED);
+            }
+        }
+
         courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(Set.of(new User(userId)), courseId);
     }
 
     /**
-     * Deletes all user notification status for a given user id.
+     * Gets the watermark of a user in a course. If the user has not seen or archived any notification of the course audience yet and did not get a watermark when joining
+     * the course, a new watermark starting at 0 is returned without storing it.
+     *
+     * @param userId   The id of the user
+     * @param courseId The id of the course
+     * @return the watermark of the user in the course
+     */
+    public UserCourseNotificationWatermark getWatermark(long userId, long courseId) {
+        return userCourseNotificationWatermarkRepository.findByUserIdAndCourseId(userId, courseId).orElseGet(() -> {
+            var course = new Course();
+            course.setId(courseId);
+            return new UserCourseNotificationWatermark(new User(userId), course);
+        });
+    }
+
+    /**
+     * Moves the seen watermark of the user up to the notification before the oldest notification of the course audience that the user has not seen yet, or to the newest
+     * one if the user has seen all of them. SEEN entries up to the new watermark are redundant and removed.
+     *
+     * @param userId   The id of the user
+     * @param courseId The id of the course
+     */
+    private void advanceSeenWatermark(long userId, long courseId) {
+        var watermark = getWatermark(userId, courseId);
+        var oldestUnseenId = courseNotificationRepository.findOldestUnseenCourseAudienceIdOfUserAfter(courseId, userId, watermark.getSeenUpToId());
+        Long seenUpToId = oldestUnseenId != null ? Long.valueOf(oldestUnseenId - 1) : courseNotificationRepository.findNewestCourseAudienceId(courseId);
+        if (seenUpToId == null || seenUpToId <= watermark.getSeenUpToId()) {
+            return;
+        }
+
+        advanceWatermarks(userId, courseId, seenUpToId, 0);
+        userCourseNotificationStatusRepository.deleteCourseAudienceStatusOfUserUpTo(userId, courseId, seenUpToId, UserCourseNotificationStatusType.SEEN);
+    }
+
+    /**
+     * Starts the watermarks of users that were added to a course at the newest notification of the course audience, so that the notifications sent before the users joined
+     * the course are archived for them, like notifications with the audience {@link CourseNotificationAudience#RECIPIENTS} that were sent before. Without a watermark, all
+     * notifications of the course audience would be shown as unseen to them. Existing watermarks, e.g. of users that were members of the course before, are kept.
+     * <p>
+     * Users that are added to the course group outside the course management, e.g. by a group synchronization, do not get a watermark and see the earlier notifications of
+     * the course audience as unseen.
+     *
+     * @param userIds  The ids of the users that were added to the course
+     * @param courseId The id of the course
+     */
+    public void initializeWatermarksOfNewCourseMembers(Collection<Long> userIds, long courseId) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        var newestCourseAudienceId = courseNotificationRepository.findNewestCourseAudienceId(courseId);
+        if (newestCourseAudienceId == null) {
+            return;
+        }
+        for (long userId : userIds) {
+            try {
+                userCourseNotificationWatermarkRepository.insertWatermarks(userId, courseId, newestCourseAudienceId, newestCourseAudienceId);
+            }
+            catch (DataIntegrityViolationException e) {
+                // the user already has a watermark in the course, which is kept
+            }
+        }
+        courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(userIds.stream().map(User::new).collect(Collectors.toSet()), courseId);
+    }
+
+    /**
+     * Moves the watermarks of the user in the course up to the given ids and creates the watermark if the user does not have one yet. Concurrent requests of the same user
+     * can both try to create the watermark, the request that fails because of the primary key moves up the watermark created by the other request instead.
+     *
+     * @param userId         The id of the user
+     * @param courseId       The id of the course
+     * @param seenUpToId     The new seen watermark
+     * @param archivedUpToId The new archived watermark
+     */
+    private void advanceWatermarks(long userId, long courseId, long seenUpToId, long archivedUpToId) {
+        if (userCourseNotificationWatermarkRepository.advanceWatermarks(userId, courseId, seenUpToId, archivedUpToId) > 0) {
+            return;
+        }
+        try {
+            userCourseNotificationWatermarkRepository.insertWatermarks(userId, courseId, seenUpToId, archivedUpToId);
+        }
+        catch (DataIntegrityViolationException e) {
+            userCourseNotificationWatermarkRepository.advanceWatermarks(userId, courseId, seenUpToId, archivedUpToId);
+        }
+    }
+
+    /**
+     * Deletes all user notification status and watermarks for a given user id.
      *
      * @param userId the user to delete for.
      */
@@ -95,5 +265,6 @@ public class UserCourseNotificationStatusService {
         var status = userCourseNotificationStatusRepository.findAllByUserId(userId);
 
         userCourseNotificationStatusRepository.deleteAll(status);
+        userCourseNotificationWatermarkRepository.deleteAllByUserId(userId);
     }
 }
@@ -4,9 +4,15 @@ import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -20,6 +26,7 @@ import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -29,7 +36,11 @@ import org.thymeleaf.exceptions.TemplateProcessingException;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import de.tum.cit.aet.artemis.core.config.ArtemisProperties;
+import de.tum.cit.aet.artemis.notification.dto.MailDTO;
 import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Service for sending emails asynchronously.
@@ -48,6 +59,23 @@ public class MailSendingService {
      */
     private static final String DEFAULT_MAIL_FROM = "artemis@localhost";
 
+    /**
+     * The number of mails sent over one SMTP connection by {@link #sendEmailsSync}.
+     */
+    private static final int MAIL_BATCH_SIZE = 50;
+
+    /**
+     * The maximum number of SMTP connections that {@link #sendEmailsSync} opens in parallel, across all callers.
+     */
+    private static final int MAX_PARALLEL_CONNECTIONS = 4;
+
+    /**
+     * The number of attempts to deliver a mail of a batch, the delay before a retry grows linearly with the attempt.
+     */
+    private static final int MAX_SEND_ATTEMPTS = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
     private final ArtemisProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
@@ -61,12 +89,28 @@ public class MailSendingService {
 
     private final SpringTemplateEngine templateEngine;
 
-    public MailSendingService(ArtemisProperties jHipsterProperties, JavaMailSender javaMailSender, MessageSource messageSource, SpringTemplateEngine templateEngine) {
+    private final Semaphore smtpConnections = new Semaphore(MAX_PARALLEL_CONNECTIONS);
+
+    private final AtomicInteger queuedMails = new AtomicInteger();
+
+    private final Counter sentMails;
+
+    private final Counter failedMails;
+
+    private final Counter retriedMails;
+
+    public MailSendingService(ArtemisProperties jHipsterProperties, JavaMailSender javaMailSender, MessageSource messageSource, SpringTemplateEngine templateEngine,
+            MeterRegistry meterRegistry) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
 
+        Gauge.builder("artemis.mail.queued", queuedMails, AtomicInteger::get).description("Number of mails that are rendered but not yet delivered").register(meterRegistry);
+        this.sentMails = Counter.builder("artemis.mail.sent").description("Number of mails delivered to the mail server").register(meterRegistry);
+        this.failedMails = Counter.builder("artemis.mail.failed").description("Number of mails that could not be delivered").register(meterRegistry);
+        this.retriedMails = Counter.builder("artemis.mail.retried").description("Number of mail deliveries that were retried").register(meterRegistry);
+
         // Check if mail is properly configured (not using the default placeholder)
         String mailFrom = jHipsterProperties.getMail().getFrom();
         this.mailConfigured = mailFrom != null && !mailFrom.isBlank() && !mailFrom.equalsIgnoreCase(DEFAULT_MAIL_FROM);
@@ -112,6 +156,55 @@ public class MailSendingService {
         executeSend(recipient.email(), recipient.login(), subject, content, isMultipart, isHtml);
     }
 
+    /**
+     * Sends already rendered e-mails synchronously in batches.
+     * <p>
+     * All mails of a batch are delivered over one SMTP connection instead of opening a connection per mail, and at most {@link #MAX_PARALLEL_CONNECTIONS} batches are
+     * delivered in parallel. Mails that the mail server rejects, e.g. because the connection broke, are retried with the next connection. A failing mail never prevents
+     * the delivery of the other mails.
+     *
+     * @param mails       the rendered mails with their recipients
+     * @param isMultipart Whether to create a multipart that supports alternative texts, inline elements
+     * @param isHtml      Whether the mails should support HTML tags
+     */
+    public void sendEmailsSync(List<MailDTO> mails, boolean isMultipart, boolean isHtml) {
+        if (!mailConfigured) {
+            log.debug("Skipping {} emails - mail not configured", mails.size());
+            return;
+        }
+        if (mails.isEmpty()) {
+            return;
+        }
+
+        Map<MimeMessage, String> recipientLogins = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(mails.size());
+        for (MailDTO mail : mails) {
+            try {
+                MimeMessage mimeMessage = createMimeMessage(mail.recipient().email(), mail.subject(), mail.content(), isMultipart, isHtml);
+                recipientLogins.put(mimeMessage, mail.recipient().login());
+                messages.add(mimeMessage);
+            }
+            catch (MessagingException e) {
+                failedMails.increment();
+                log.error("Email could not be prepared for user '{}'", mail.recipient().login(), e);
+            }
+        }
+        queuedMails.addAndGet(messages.size());
+
+        List<List<MimeMessage>> batches = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i += MAIL_BATCH_SIZE) {
+            batches.add(messages.subList(i, Math.min(i + MAIL_BATCH_SIZE, messages.size())));
+        }
+        if (batches.size() == 1) {
+            sendBatch(batches.getFirst(), recipientLogins);
+            return;
+        }
+        // the semaphore bounds the number of connections, the threads only wait for the mail server
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            batches.forEach(batch -> executor.execute(() -> sendBatch(batch, recipientLogins)));
+        }
+    }
+
     /**
      * Builds and sends an e-mail to the specified recipient synchronously
      *
@@ -208,21 +301,98 @@ public class MailSendingService {
         }
         log.debug("Send email[multipart '{}' and html '{}'] to '{}' with subject '{}'", isMultipart, isHtml, recipientLogin, subject);
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(recipientEmail);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
+            MimeMessage mimeMessage = createMimeMessage(recipientEmail, subject, content, isMultipart, isHtml);
             javaMailSender.send(mimeMessage);
+            sentMails.increment();
             log.info("Sent email with subject '{}' to user '{}'", subject, recipientLogin);
         }
         catch (MailException | MessagingException e) {
+            failedMails.increment();
             log.error("Email could not be sent to user '{}'", recipientLogin, e);
             // Note: we should not rethrow the exception here, as this would prevent sending out other emails in case multiple users are affected
         }
     }
 
+    /**
+     * Prepares an e-mail to the specified address using a Spring helper
+     *
+     * @param recipientEmail the e-mail address to send to
+     * @param subject        The mail subject
+     * @param content        The content of the mail. Can be enriched with HTML tags
+     * @param isMultipart    Whether to create a multipart that supports alternative texts, inline elements
+     * @param isHtml         Whether the mail should support HTML tags
+     * @return the prepared message
+     * @throws MessagingException if the message could not be prepared, e.g. because of an invalid address
+     */
+    private MimeMessage createMimeMessage(String recipientEmail, String subject, String content, boolean isMultipart, boolean isHtml) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(recipientEmail);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
+    /**
+     * Delivers a batch of messages over one SMTP connection and retries the messages that the mail server rejected.
+     *
+     * @param batch           the messages to deliver
+     * @param recipientLogins the logins of the recipients of the messages (used for logging only)
+     */
+    private void sendBatch(List<MimeMessage> batch, Map<MimeMessage, String> recipientLogins) {
+        List<MimeMessage> pending = batch;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<MimeMessage> failed;
+            boolean retryable = true;
+            smtpConnections.acquireUninterruptibly();
+            try {
+                javaMailSender.send(pending.toArray(MimeMessage[]::new));
+                failed = List.of();
+            }
+            catch (MailSendException e) {
+                failed = e.getFailedMessages().keySet().stream().filter(MimeMessage.class::isInstance).map(MimeMessage.class::cast).toList();
+                log.warn("{} of {} emails could not be sent in attempt {}", failed.size(), pending.size(), attempt, e);
+            }
+            catch (MailException e) {
+                // e.g. the authentication failed, which a retry does not fix
+                failed = pending;
+                retryable = false;
+                log.error("{} emails could not be sent", pending.size(), e);
+            }
+            finally {
+                smtpConnections.release();
+            }
+
+            int delivered = pending.size() - failed.size();
+            sentMails.increment(delivered);
+            queuedMails.addAndGet(-delivered);
+            log.info("Sent {} emails over one connection", delivered);
+            if (failed.isEmpty()) {
+                return;
+            }
+
+            if (!retryable || attempt >= MAX_SEND_ATTEMPTS || !sleepBeforeRetry(attempt)) {
+                failed.forEach(message -> log.error("Email could not be sent to user '{}'", recipientLogins.get(message)));
+                failedMails.increment(failed.size());
+                queuedMails.addAndGet(-failed.size());
+                return;
+            }
+            retriedMails.increment(failed.size());
+            pending = failed;
+        }
+    }
+
+    private static boolean sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
 }
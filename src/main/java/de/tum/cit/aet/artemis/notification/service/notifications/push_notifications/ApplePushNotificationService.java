@@ -6,6 +6,7 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
@@ -15,6 +16,7 @@ import org.springframework.web.client.RestTemplate;
 
 import de.tum.cit.aet.artemis.notification.domain.push_notification.PushNotificationDeviceType;
 import de.tum.cit.aet.artemis.notification.repository.PushNotificationDeviceConfigurationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Handles the sending of iOS Notifications to the Relay Service
@@ -32,8 +34,9 @@ public class ApplePushNotificationService extends PushNotificationService {
     @Value("${artemis.push-notification-relay:https://hermes-staging.artemis.cit.tum.de}")
     private String relayServerBaseUrl;
 
-    public ApplePushNotificationService(PushNotificationDeviceConfigurationRepository repository, RestTemplate restTemplate) {
-        super(restTemplate);
+    public ApplePushNotificationService(PushNotificationDeviceConfigurationRepository repository, @Qualifier("pushNotificationRelayRestTemplate") RestTemplate restTemplate,
+            MeterRegistry meterRegistry) {
+        super(restTemplate, meterRegistry);
         this.repository = repository;
     }
 
@@ -62,7 +65,7 @@ public class ApplePushNotificationService extends PushNotificationService {
         requests.forEach(request -> {
             try {
                 String body = mapper.writeValueAsString(request);
-                sendRelayRequest(body, relayServerBaseUrl);
+                sendRelayRequest(body, 1, relayServerBaseUrl);
             }
             catch (Exception e) {
                 log.error("Failed to send push notification to relay server", e);
@@ -3,11 +3,10 @@ package de.tum.cit.aet.artemis.notification.service.notifications.push_notificat
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
-import org.apache.commons.collections4.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
@@ -19,6 +18,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import de.tum.cit.aet.artemis.notification.domain.push_notification.PushNotificationDeviceType;
 import de.tum.cit.aet.artemis.notification.repository.PushNotificationDeviceConfigurationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Handles the sending of Android Notifications to the Relay Service
@@ -36,20 +36,12 @@ public class FirebasePushNotificationService extends PushNotificationService {
     @Value("${artemis.push-notification-relay:https://hermes-staging.artemis.cit.tum.de}")
     private String relayServerBaseUrl;
 
-    public FirebasePushNotificationService(PushNotificationDeviceConfigurationRepository pushNotificationDeviceConfigurationRepository, RestTemplate restTemplate) {
-        super(restTemplate);
+    public FirebasePushNotificationService(PushNotificationDeviceConfigurationRepository pushNotificationDeviceConfigurationRepository,
+            @Qualifier("pushNotificationRelayRestTemplate") RestTemplate restTemplate, MeterRegistry meterRegistry) {
+        super(restTemplate, meterRegistry);
         repository = pushNotificationDeviceConfigurationRepository;
     }
 
-    @Override
-    void sendNotificationRequestsToEndpoint(List<RelayNotificationRequest> requests, String relayBaseUrl) {
-        // The relay server accepts at most 500 messages per batch
-        var futures = ListUtils.partition(requests, 500).stream().map(batch -> CompletableFuture.runAsync(() -> sendSpecificNotificationRequestsToEndpoint(batch, relayBaseUrl)))
-                .toArray(CompletableFuture[]::new);
-
-        CompletableFuture.allOf(futures);
-    }
-
     @Override
     public PushNotificationDeviceConfigurationRepository getRepository() {
         return repository;
@@ -70,11 +62,17 @@ public class FirebasePushNotificationService extends PushNotificationService {
         return "/api/push_notification/send_firebase";
     }
 
+    @Override
+    int getMaxRelayBatchSize() {
+        // The relay server accepts at most 500 messages per batch
+        return 500;
+    }
+
     @Override
     void sendSpecificNotificationRequestsToEndpoint(List<RelayNotificationRequest> requests, String relayServerBaseUrl) {
         try {
             final String body = mapper.writeValueAsString(new FirebaseRelayNotificationRequests(requests));
-            sendRelayRequest(body, relayServerBaseUrl);
+            sendRelayRequest(body, requests.size(), relayServerBaseUrl);
         }
         catch (JsonProcessingException e) {
             log.error("Failed to send push notification to relay server", e);
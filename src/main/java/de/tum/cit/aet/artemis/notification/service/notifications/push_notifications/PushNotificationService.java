@@ -1,6 +1,7 @@
 package de.tum.cit.aet.artemis.notification.service.notifications.push_notifications;
 
-import java.nio.charset.StandardCharsets;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -9,7 +10,11 @@ import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.crypto.BadPaddingException;
@@ -20,7 +25,9 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
-import org.jspecify.annotations.NonNull;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.collections4.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
@@ -29,6 +36,7 @@ import org.springframework.http.MediaType;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -43,6 +51,9 @@ import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationRecipientDTO;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationSerializedDTO;
 import de.tum.cit.aet.artemis.notification.repository.PushNotificationDeviceConfigurationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Wraps the sending of iOS and Android Notifications to the Relay Service
@@ -52,55 +63,146 @@ public abstract class PushNotificationService {
 
     private static final SecureRandom random = new SecureRandom();
 
+    /**
+     * Ciphers are not thread-safe, but getting a new instance for every device is expensive. Each thread therefore keeps its own cipher, which is initialized with the key
+     * and initialization vector of the device before every encryption.
+     */
+    private static final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(Constants.PUSH_NOTIFICATION_ENCRYPTION_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Push notification encryption algorithm is not available", e);
+        }
+    });
+
+    /**
+     * Below this number of devices, encrypting the payloads on the calling thread is faster than distributing them across cores.
+     */
+    private static final int PARALLEL_ENCRYPTION_THRESHOLD = 64;
+
+    /**
+     * The maximum number of requests to the relay that are in flight at once per device type. Dispatching further requests waits until a request completes, so that
+     * a large course neither floods the relay nor piles up retrying requests.
+     */
+    private static final int MAX_IN_FLIGHT_RELAY_REQUESTS = 16;
+
+    private static final RetryTemplate relayRetryTemplate = RetryTemplate.builder().exponentialBackoff(1000, 4, 60 * 1000).retryOn(RestClientException.class).maxAttempts(4)
+            .build();
+
     protected final ObjectMapper mapper = JsonObjectMapper.get();
 
     private static final Logger log = LoggerFactory.getLogger(PushNotificationService.class);
 
     private final RestTemplate restTemplate;
 
-    protected PushNotificationService(RestTemplate restTemplate) {
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore inFlightRelayRequests = new Semaphore(MAX_IN_FLIGHT_RELAY_REQUESTS);
+
+    // the relay requests mostly wait for the network, so they run on virtual threads and the semaphore bounds their number
+    private final ExecutorService relayExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    protected PushNotificationService(RestTemplate restTemplate, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("artemis.push_notification.relay.in_flight", inFlightRelayRequests, permits -> MAX_IN_FLIGHT_RELAY_REQUESTS - permits.availablePermits())
+                .description("Number of requests to the relay that are in flight").tag("device_type", getDeviceType().name()).register(meterRegistry);
     }
 
     /**
-     * Send all the notifications requests to the endpoint. Potentially, optimize the sending using a batched request.
+     * Stops accepting relay requests and waits shortly for the requests in flight, so that no virtual threads keep sending notifications after the shutdown.
+     */
+    @PreDestroy
+    public void shutdownRelayExecutor() {
+        relayExecutor.shutdown();
+        try {
+            if (!relayExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Relay requests for {} notifications did not complete in time, cancelling them", getDeviceType());
+                relayExecutor.shutdownNow();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            relayExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Send all the notifications requests to the endpoint. The requests are split into chunks of at most {@link #getMaxRelayBatchSize()} requests, which are sent
+     * concurrently. At most {@link #MAX_IN_FLIGHT_RELAY_REQUESTS} chunks are in flight at once, the calling thread waits for a free slot before dispatching the next chunk.
      *
      * @param requests           the requests previously built using buildSendRequest
      * @param relayServerBaseUrl the url of the relay
      */
     void sendNotificationRequestsToEndpoint(List<RelayNotificationRequest> requests, String relayServerBaseUrl) {
-        var futures = requests.stream().map(request -> CompletableFuture.runAsync(() -> sendSpecificNotificationRequestsToEndpoint(List.of(request), relayServerBaseUrl))).toList()
-                .toArray(CompletableFuture[]::new);
-
-        CompletableFuture.allOf(futures);
+        for (List<RelayNotificationRequest> chunk : ListUtils.partition(requests, getMaxRelayBatchSize())) {
+            inFlightRelayRequests.acquireUninterruptibly();
+            try {
+                relayExecutor.execute(() -> {
+                    try {
+                        sendSpecificNotificationRequestsToEndpoint(chunk, relayServerBaseUrl);
+                    }
+                    finally {
+                        inFlightRelayRequests.release();
+                    }
+                });
+            }
+            catch (RejectedExecutionException e) {
+                inFlightRelayRequests.release();
+                log.error("Could not dispatch {} notifications", getDeviceType(), e);
+                recordRelayResult("failed", chunk.size());
+            }
+        }
     }
 
     /**
      * Sends the actual request to the Hermes Relay Service (see here: <a href="https://github.com/ls1intum/Hermes">...</a>)
-     * It uses exponential backoff to retry once the request fails
+     * It uses exponential backoff to retry once the request fails. A request that timed out while waiting for the response is not retried, because the relay may
+     * have sent the notifications already and a retry would deliver them twice.
      *
      * @param body               to be sent to Hermes. Differs between iOS and Android
+     * @param notificationCount  the number of notifications contained in the body
      * @param relayServerBaseUrl the url where Hermes is hosted
      */
-    @Async
-    void sendRelayRequest(String body, String relayServerBaseUrl) {
-        RetryTemplate template = RetryTemplate.builder().exponentialBackoff(1000, 4, 60 * 1000).retryOn(RestClientException.class).maxAttempts(4).build();
-
+    void sendRelayRequest(String body, int notificationCount, String relayServerBaseUrl) {
         try {
-            template.execute((RetryCallback<Void, RestClientException>) context -> {
+            relayRetryTemplate.execute((RetryCallback<Void, RestClientException>) context -> {
                 HttpHeaders httpHeaders = new HttpHeaders();
                 httpHeaders.setContentType(MediaType.APPLICATION_JSON);
                 HttpEntity<String> httpEntity = new HttpEntity<>(body, httpHeaders);
-                restTemplate.postForObject(relayServerBaseUrl + getRelayPath(), httpEntity, String.class);
+                try {
+                    restTemplate.postForObject(relayServerBaseUrl + getRelayPath(), httpEntity, String.class);
+                }
+                catch (ResourceAccessException e) {
+                    if (isReadTimeout(e)) {
+                        context.setExhaustedOnly();
+                    }
+                    throw e;
+                }
 
                 return null;
             });
+            recordRelayResult("sent", notificationCount);
         }
         catch (RestClientException e) {
             log.error("Could not send {} notifications", getDeviceType().toString());
+            recordRelayResult("failed", notificationCount);
         }
     }
 
+    /**
+     * Checks whether the request was sent, but the relay did not answer in time. A connection timeout is not a read timeout, as the request was not sent.
+     */
+    private static boolean isReadTimeout(ResourceAccessException exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException && !(cause instanceof HttpConnectTimeoutException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Encrypts and sends the course notification to the hermes service.
      *
@@ -135,20 +237,17 @@ public abstract class PushNotificationService {
         }
 
         try {
-            var payload = mapper.writeValueAsString(notificationData);
-            final byte[] initializationVector = new byte[16];
-
-            List<RelayNotificationRequest> notificationRequests = userDeviceConfigurations.stream().flatMap(deviceConfiguration -> {
-                random.nextBytes(initializationVector);
+            final byte[] payload = mapper.writeValueAsBytes(notificationData);
 
-                SecretKey key = new SecretKeySpec(deviceConfiguration.getSecretKey(), "AES");
-
-                String ivAsString = Base64.getEncoder().encodeToString(initializationVector);
-                Optional<String> payloadCiphertext = encrypt(payload, key, initializationVector);
-
-                return payloadCiphertext.stream()
-                        .map(s -> new RelayNotificationRequest(ivAsString, s, deviceConfiguration.getToken(), deviceConfiguration.getApiType().getDatabaseKey()));
-            }).toList();
+            Timer encryptionTimer = meterRegistry.timer("artemis.push_notification.encryption", "device_type", getDeviceType().name());
+            List<RelayNotificationRequest> notificationRequests = encryptionTimer.record(() -> {
+                var deviceConfigurations = userDeviceConfigurations.size() < PARALLEL_ENCRYPTION_THRESHOLD ? userDeviceConfigurations.stream()
+                        : userDeviceConfigurations.parallelStream();
+                return deviceConfigurations.map(deviceConfiguration -> buildRelayRequest(payload, deviceConfiguration)).flatMap(Optional::stream).toList();
+            });
+            if (notificationRequests.size() < userDeviceConfigurations.size()) {
+                recordRelayResult("failed", userDeviceConfigurations.size() - notificationRequests.size());
+            }
 
             sendNotificationRequestsToEndpoint(notificationRequests, relayServerBaseUrl);
         }
@@ -157,6 +256,16 @@ public abstract class PushNotificationService {
         }
     }
 
+    /**
+     * Counts the notifications of this device type that were sent to the relay or could not be sent.
+     *
+     * @param result            either {@code sent} or {@code failed}
+     * @param notificationCount the number of notifications
+     */
+    private void recordRelayResult(String result, int notificationCount) {
+        meterRegistry.counter("artemis.push_notification.relay", "device_type", getDeviceType().name(), "result", result).increment(notificationCount);
+    }
+
     protected abstract PushNotificationDeviceConfigurationRepository getRepository();
 
     abstract PushNotificationDeviceType getDeviceType();
@@ -165,26 +274,49 @@ public abstract class PushNotificationService {
 
     abstract String getRelayPath();
 
+    /**
+     * Returns the maximum number of notification requests that the relay accepts in one request.
+     *
+     * @return the maximum number of requests per relay request, 1 if the relay does not support batches for this device type
+     */
+    int getMaxRelayBatchSize() {
+        return 1;
+    }
+
     abstract void sendSpecificNotificationRequestsToEndpoint(List<RelayNotificationRequest> requests, String relayServerBaseUrl);
 
+    /**
+     * Encrypts the payload for a device with a fresh initialization vector and builds the request for the relay.
+     *
+     * @param payload             the serialized notification
+     * @param deviceConfiguration the device to encrypt the payload for
+     * @return the request for the relay, empty if the payload could not be encrypted
+     */
+    private static Optional<RelayNotificationRequest> buildRelayRequest(byte[] payload, PushNotificationDeviceConfiguration deviceConfiguration) {
+        final byte[] initializationVector = new byte[16];
+        random.nextBytes(initializationVector);
+        SecretKey key = new SecretKeySpec(deviceConfiguration.getSecretKey(), "AES");
+
+        return encrypt(payload, key, initializationVector).map(payloadCiphertext -> new RelayNotificationRequest(Base64.getEncoder().encodeToString(initializationVector),
+                payloadCiphertext, deviceConfiguration.getToken(), deviceConfiguration.getApiType().getDatabaseKey()));
+    }
+
     /**
      * Perform symmetric AES encryption.
      *
-     * @param payload              the text to encrypt
+     * @param payload              the bytes to encrypt
      * @param key                  the secret key to encrypt with
      * @param initializationVector the initialization vector needed for CBC
      * @return the ciphertext
      */
-    private static Optional<String> encrypt(@NonNull String payload, SecretKey key, byte[] initializationVector) {
+    private static Optional<String> encrypt(byte[] payload, SecretKey key, byte[] initializationVector) {
         try {
-            // We need to get a fresh instance here for every notification to avoid a race condition between tasks
-            var cipher = Cipher.getInstance(Constants.PUSH_NOTIFICATION_ENCRYPTION_ALGORITHM);
-
-            cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(initializationVector));
+            var threadCipher = cipher.get();
+            threadCipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(initializationVector));
 
-            return Optional.of(Base64.getEncoder().encodeToString(cipher.doFinal(payload.getBytes(StandardCharsets.UTF_8))));
+            return Optional.of(Base64.getEncoder().encodeToString(threadCipher.doFinal(payload)));
         }
-        catch (InvalidKeyException | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException | NoSuchPaddingException | NoSuchAlgorithmException e) {
+        catch (InvalidKeyException | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException e) {
             log.error("Error encrypting push notification payload!", e);
             return Optional.empty();
         }
@@ -0,0 +1,14 @@
+package de.tum.cit.aet.artemis.programming.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The progress of a re-evaluation of all results of a programming exercise.
+ *
+ * @param processedParticipations the number of student participations that have been re-evaluated so far
+ * @param totalParticipations     the number of student participations of the exercise
+ * @param updatedResults          the number of results (including template and solution) that have been updated so far
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ProgrammingExerciseReEvaluationProgressDTO(int processedParticipations, int totalParticipations, int updatedResults) {
+}
@@ -0,0 +1,110 @@
+package de.tum.cit.aet.artemis.programming.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Caches the decoded content of git blobs by their object id.
+ * <p>
+ * The file contents of repositories are extracted for Athena, Iris, Hyperion and the review features. Template and test files are identical in all student repositories of
+ * an exercise and therefore share the same blob id, so repeated extractions across a course are mostly served from memory. As a blob id identifies the content, the entries
+ * never become stale and are only evicted once the cache exceeds its size, least recently used first.
+ * <p>
+ * Blobs larger than the configured entry size are decoded on every access, binary blobs are not decoded at all.
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Service
+public class BlobContentCacheService {
+
+    private final long maxSizeInBytes;
+
+    private final long maxEntrySizeInBytes;
+
+    /**
+     * Access-ordered, so that the iteration starts with the least recently used entry. Guarded by its own monitor.
+     */
+    private final LinkedHashMap<ObjectId, CachedContent> contents = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long sizeInBytes;
+
+    private record CachedContent(String content, long sizeInBytes) {
+    }
+
+    public BlobContentCacheService(@Value("${artemis.programming.blob-content-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${artemis.programming.blob-content-cache.max-entry-size:256KB}") DataSize maxEntrySize) {
+        this.maxSizeInBytes = maxSize.toBytes();
+        this.maxEntrySizeInBytes = maxEntrySize.toBytes();
+    }
+
+    /**
+     * Returns the content of the given blob decoded as UTF-8.
+     *
+     * @param reader the reader of the repository containing the blob
+     * @param blobId the id of the blob
+     * @return the content, or an empty optional if the blob contains binary data
+     * @throws IOException if the blob cannot be read
+     */
+    public Optional<String> getTextContent(ObjectReader reader, ObjectId blobId) throws IOException {
+        String cached = get(blobId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        ObjectLoader loader = reader.open(blobId, Constants.OBJ_BLOB);
+        byte[] bytes;
+        try (InputStream inputStream = loader.openStream()) {
+            bytes = inputStream.readAllBytes();
+        }
+        if (RawText.isBinary(bytes)) {
+            return Optional.empty();
+        }
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        if (bytes.length <= maxEntrySizeInBytes) {
+            put(blobId.copy(), content, bytes.length);
+        }
+        return Optional.of(content);
+    }
+
+    private @Nullable String get(ObjectId blobId) {
+        synchronized (contents) {
+            CachedContent cached = contents.get(blobId);
+            return cached != null ? cached.content() : null;
+        }
+    }
+
+    private void put(ObjectId blobId, String content, long contentSizeInBytes) {
+        if (contentSizeInBytes > maxSizeInBytes) {
+            return;
+        }
+        synchronized (contents) {
+            if (contents.putIfAbsent(blobId, new CachedContent(content, contentSizeInBytes)) != null) {
+                return;
+            }
+            sizeInBytes += contentSizeInBytes;
+            var iterator = contents.entrySet().iterator();
+            while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+                var leastRecentlyUsed = iterator.next();
+                sizeInBytes -= leastRecentlyUsed.getValue().sizeInBytes();
+                iterator.remove();
+            }
+        }
+    }
+}
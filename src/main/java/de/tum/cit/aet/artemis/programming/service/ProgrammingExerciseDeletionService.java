@@ -44,10 +44,13 @@ public class ProgrammingExerciseDeletionService {
 
     private final RepositoryVcsAccessTokenService repositoryVcsAccessTokenService;
 
+    private final ProgrammingExerciseGradingStatisticsService gradingStatisticsService;
+
     public ProgrammingExerciseDeletionService(ProgrammingExerciseRepositoryService programmingExerciseRepositoryService,
             ProgrammingExerciseRepository programmingExerciseRepository, ParticipationDeletionService participationDeletionService,
             Optional<ContinuousIntegrationService> continuousIntegrationService, InstanceMessageSendService instanceMessageSendService,
-            ProgrammingExerciseTaskRepository programmingExerciseTaskRepository, RepositoryVcsAccessTokenService repositoryVcsAccessTokenService) {
+            ProgrammingExerciseTaskRepository programmingExerciseTaskRepository, RepositoryVcsAccessTokenService repositoryVcsAccessTokenService,
+            ProgrammingExerciseGradingStatisticsService gradingStatisticsService) {
         this.programmingExerciseRepositoryService = programmingExerciseRepositoryService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.participationDeletionService = participationDeletionService;
@@ -55,6 +58,7 @@ public class ProgrammingExerciseDeletionService {
         this.instanceMessageSendService = instanceMessageSendService;
         this.programmingExerciseTaskRepository = programmingExerciseTaskRepository;
         this.repositoryVcsAccessTokenService = repositoryVcsAccessTokenService;
+        this.gradingStatisticsService = gradingStatisticsService;
     }
 
     /**
@@ -96,6 +100,7 @@ public class ProgrammingExerciseDeletionService {
         repositoryVcsAccessTokenService.deleteByExerciseId(programmingExerciseId);
         // This will also delete the template & solution participation: we explicitly use deleteById to avoid potential Hibernate issues during deletion
         programmingExerciseRepository.deleteById(programmingExerciseId);
+        gradingStatisticsService.invalidate(programmingExerciseId);
     }
 
     private void deleteBuildPlans(ProgrammingExercise programmingExercise) {
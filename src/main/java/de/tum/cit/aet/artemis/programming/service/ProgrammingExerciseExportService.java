@@ -4,7 +4,9 @@ import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 import static de.tum.cit.aet.artemis.jenkins.service.JenkinsXmlFileUtils.getDocumentBuilderFactory;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -46,6 +48,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
 import org.w3c.dom.Document;
@@ -91,6 +94,11 @@ public class ProgrammingExerciseExportService extends ExerciseWithSubmissionsExp
 
     private static final Logger log = LoggerFactory.getLogger(ProgrammingExerciseExportService.class);
 
+    /**
+     * Upper bound for the time a streamed export of student repositories may take until the checked out repositories are deleted.
+     */
+    private static final long STREAMED_EXPORT_DELETION_DELAY_IN_MINUTES = 60;
+
     // The downloaded repos should be cloned into another path in order to not interfere with the repo used by the student
     @Value("${artemis.repo-download-clone-path}")
     private Path repoDownloadClonePath;
@@ -438,24 +446,28 @@ public class ProgrammingExerciseExportService extends ExerciseWithSubmissionsExp
     }
 
     /**
-     * Get participations of programming exercises of a requested list of students packed together in one zip file.
+     * Get participations of programming exercises of a requested list of students packed together in one zip archive.
      * <p>
-     * The repository download directory is used as the output directory and is destroyed after 5 minutes.
+     * The repositories are checked out (and processed according to the export options) in parallel by a bounded pool of workers. The zip archive containing them is not
+     * written to disk, but created while the returned resource is read, i.e. directly into the response. The checked out repositories are deleted once the archive was read
+     * completely or the download was cancelled, at the latest after {@value #STREAMED_EXPORT_DELETION_DELAY_IN_MINUTES} minutes.
      *
      * @param programmingExercise       the programming exercise for which student repositories should be exported
      * @param participations            participations that should be exported
      * @param repositoryExportOptions   the options that should be used for the export
      * @param participationCommitHashes a map containing the relevant commit hashes to be used for each participation (typically only relevant when filtering for specific
      *                                      submissions)
-     * @return a zip file containing all requested participations
+     * @return a resource streaming the zip archive containing all requested participations, or null if no repository could be exported
      */
-    public File exportStudentRepositoriesToZipFile(ProgrammingExercise programmingExercise, @NonNull Collection<ProgrammingExerciseStudentParticipation> participations,
-            RepositoryExportOptionsDTO repositoryExportOptions, Map<Long, String> participationCommitHashes) {
+    @Nullable
+    public InputStreamResource exportStudentRepositoriesAsZipStream(ProgrammingExercise programmingExercise,
+            @NonNull Collection<ProgrammingExerciseStudentParticipation> participations, RepositoryExportOptionsDTO repositoryExportOptions,
+            Map<Long, String> participationCommitHashes) {
 
-        Path outputDir = fileService.getTemporaryUniquePathWithoutPathCreation(repoDownloadClonePath, 10);
-        List<Path> zippedRepos;
+        Path outputDir = fileService.getTemporaryUniquePathWithoutPathCreation(repoDownloadClonePath, STREAMED_EXPORT_DELETION_DELAY_IN_MINUTES);
+        List<Path> exportedRepos;
         try {
-            zippedRepos = exportStudentRepositories(programmingExercise, participations, participationCommitHashes, outputDir, outputDir, new ArrayList<>(),
+            exportedRepos = exportStudentRepositories(programmingExercise, participations, participationCommitHashes, outputDir, outputDir, new ArrayList<>(),
                     repositoryExportOptions);
         }
         catch (GitException e) {
@@ -463,14 +475,27 @@ public class ProgrammingExerciseExportService extends ExerciseWithSubmissionsExp
             return null;
         }
 
-        try {
-            // Create a zip folder containing the directories with the repositories.
-            return createZipWithAllRepositories(programmingExercise, zippedRepos, outputDir);
-        }
-        catch (IOException ex) {
-            log.error("Creating zip file for programming exercise {} did not work correctly: {} ", programmingExercise.getTitle(), ex.getMessage());
+        if (exportedRepos.isEmpty()) {
+            log.warn("The zip file could not be created. Ignoring the request to export repositories for exercise {}", programmingExercise.getTitle());
             return null;
         }
+
+        log.debug("Stream zip archive of {} repositorie(s) of programming exercise: {}", exportedRepos.size(), programmingExercise.getTitle());
+        String filename = programmingExercise.getCourseViaExerciseGroupOrCourseMember().getShortName() + "-" + programmingExercise.getShortName() + "-"
+                + System.currentTimeMillis();
+        InputStream zipStream = new FilterInputStream(zipFileService.createZipStreamWithFolders(exportedRepos)) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                }
+                finally {
+                    fileService.scheduleDirectoryPathForRecursiveDeletion(outputDir, 0);
+                }
+            }
+        };
+        return gitRepositoryExportService.createZipStreamResource(zipStream, filename);
     }
 
     /**
@@ -558,29 +583,6 @@ public class ProgrammingExerciseExportService extends ExerciseWithSubmissionsExp
         return gitRepositoryExportService.zipFiles(localRepoPath, zipFilename, outputDir.toString(), contentFilter);
     }
 
-    /**
-     * Creates one single zip archive containing all zipped repositories found under the given paths
-     *
-     * @param programmingExercise The programming exercise to which all repos belong to
-     * @param pathsToZippedRepos  The paths to all zipped repositories
-     * @param outputDir           The directory used for downloading and zipping the repository
-     * @return the zip file
-     */
-    private File createZipWithAllRepositories(ProgrammingExercise programmingExercise, List<Path> pathsToZippedRepos, Path outputDir) throws IOException {
-        if (pathsToZippedRepos.isEmpty()) {
-            log.warn("The zip file could not be created. Ignoring the request to export repositories for exercise {}", programmingExercise.getTitle());
-            return null;
-        }
-
-        log.debug("Create zip file for {} repositorie(s) of programming exercise: {}", pathsToZippedRepos.size(), programmingExercise.getTitle());
-        String filename = programmingExercise.getCourseViaExerciseGroupOrCourseMember().getShortName() + "-" + programmingExercise.getShortName() + "-" + System.currentTimeMillis()
-                + ".zip";
-
-        Path zipFilePath = Path.of(outputDir.toString(), filename);
-        zipFileService.createZipFile(zipFilePath, pathsToZippedRepos);
-        return zipFilePath.toFile();
-    }
-
     /**
      * Checks out the repository for the given participation and return the path to a copy of it.
      *
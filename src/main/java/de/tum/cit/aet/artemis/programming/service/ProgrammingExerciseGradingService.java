@@ -6,16 +6,16 @@ import static de.tum.cit.aet.artemis.programming.domain.ProgrammingSubmission.cr
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.math3.util.Precision;
 import org.jspecify.annotations.NonNull;
@@ -55,13 +55,12 @@ import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseStudentParti
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseTestCase;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingSubmission;
 import de.tum.cit.aet.artemis.programming.domain.SolutionProgrammingExerciseParticipation;
-import de.tum.cit.aet.artemis.programming.domain.StaticCodeAnalysisCategory;
 import de.tum.cit.aet.artemis.programming.domain.TemplateProgrammingExerciseParticipation;
 import de.tum.cit.aet.artemis.programming.domain.submissionpolicy.LockRepositoryPolicy;
 import de.tum.cit.aet.artemis.programming.domain.submissionpolicy.SubmissionPenaltyPolicy;
 import de.tum.cit.aet.artemis.programming.domain.submissionpolicy.SubmissionPolicy;
 import de.tum.cit.aet.artemis.programming.dto.BuildResultNotification;
-import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseGradingStatisticsDTO;
+import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseReEvaluationProgressDTO;
 import de.tum.cit.aet.artemis.programming.exception.ContinuousIntegrationException;
 import de.tum.cit.aet.artemis.programming.repository.ProgrammingExerciseRepository;
 import de.tum.cit.aet.artemis.programming.repository.ProgrammingExerciseTestCaseRepository;
@@ -77,6 +76,11 @@ public class ProgrammingExerciseGradingService {
 
     private static final Logger log = LoggerFactory.getLogger(ProgrammingExerciseGradingService.class);
 
+    /**
+     * The number of student participations whose results are loaded, re-evaluated and saved together during a re-evaluation of all results.
+     */
+    private static final int RE_EVALUATION_CHUNK_SIZE = 100;
+
     private final Optional<ContinuousIntegrationResultService> continuousIntegrationResultService;
 
     private final ProgrammingExerciseTestCaseRepository testCaseRepository;
@@ -111,13 +115,18 @@ public class ProgrammingExerciseGradingService {
 
     private final FeedbackService feedbackService;
 
+    private final ProgrammingMessagingService programmingMessagingService;
+
+    private final ProgrammingExerciseGradingStatisticsService gradingStatisticsService;
+
     public ProgrammingExerciseGradingService(StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository,
             Optional<ContinuousIntegrationResultService> continuousIntegrationResultService, ProgrammingExerciseTestCaseRepository testCaseRepository,
             TemplateProgrammingExerciseParticipationRepository templateProgrammingExerciseParticipationRepository, FeedbackService feedbackService,
             SolutionProgrammingExerciseParticipationRepository solutionProgrammingExerciseParticipationRepository, ProgrammingSubmissionRepository programmingSubmissionRepository,
             AuditEventRepository auditEventRepository, GroupNotificationService groupNotificationService, ResultService resultService, ExerciseDateService exerciseDateService,
             SubmissionPolicyService submissionPolicyService, ProgrammingExerciseRepository programmingExerciseRepository, BuildLogEntryService buildLogService,
-            StaticCodeAnalysisCategoryRepository staticCodeAnalysisCategoryRepository, ProgrammingExerciseFeedbackCreationService feedbackCreationService) {
+            StaticCodeAnalysisCategoryRepository staticCodeAnalysisCategoryRepository, ProgrammingExerciseFeedbackCreationService feedbackCreationService,
+            ProgrammingMessagingService programmingMessagingService, ProgrammingExerciseGradingStatisticsService gradingStatisticsService) {
         this.studentParticipationRepository = studentParticipationRepository;
         this.continuousIntegrationResultService = continuousIntegrationResultService;
         this.resultRepository = resultRepository;
@@ -135,6 +144,8 @@ public class ProgrammingExerciseGradingService {
         this.staticCodeAnalysisCategoryRepository = staticCodeAnalysisCategoryRepository;
         this.feedbackCreationService = feedbackCreationService;
         this.feedbackService = feedbackService;
+        this.programmingMessagingService = programmingMessagingService;
+        this.gradingStatisticsService = gradingStatisticsService;
     }
 
     /**
@@ -344,6 +355,12 @@ public class ProgrammingExerciseGradingService {
         programmingSubmission.addResult(processedResult);
         programmingSubmissionRepository.save(programmingSubmission);
 
+        if (isStudentParticipation && participation instanceof ProgrammingExerciseStudentParticipation studentParticipation) {
+            // The new result is the latest automatic result of the student, so it replaces the student's previous one in the grading statistics
+            final Result savedResult = processedResult;
+            studentParticipation.getStudent().ifPresent(student -> gradingStatisticsService.recordResult(programmingExercise.getId(), student.getId(), savedResult));
+        }
+
         return processedResult;
     }
 
@@ -409,6 +426,9 @@ public class ProgrammingExerciseGradingService {
         }
 
         // We only apply submission policies if it is a student participation
+        if (isStudentParticipation) {
+            loadSubmissionPolicy(exercise);
+        }
         return calculateScoreForResult(testCases, relevantTestCases, result, exercise, isStudentParticipation);
     }
 
@@ -424,24 +444,78 @@ public class ProgrammingExerciseGradingService {
      * <p>
      * If there are no test cases stored in the database for the given exercise (i.e. we have a legacy exercise) or the weight has not been changed, then the result will not
      * change.
+     * <p>
+     * The updated results are neither saved nor released, so all of them are kept in memory. Use {@link #reEvaluateAllResults(ProgrammingExercise)} for exercises with many
+     * participations.
      *
      * @param exercise whose results should be updated.
      * @return the results of the exercise that have been updated.
      */
     public List<Result> updateAllResults(final ProgrammingExercise exercise) {
-        final Set<ProgrammingExerciseTestCase> testCases = testCaseRepository.findByExerciseIdAndActive(exercise.getId(), true);
-
-        final Stream<Result> updatedTemplateAndSolutionResult = updateTemplateAndSolutionResults(exercise, testCases);
+        final List<Result> updatedResults = new ArrayList<>();
+        updateAllResultsInChunks(exercise, updatedResults::addAll, _ -> {
+        });
+        return updatedResults;
+    }
 
-        final List<StudentParticipation> studentParticipations = new ArrayList<>();
-        // We only update the latest automatic results here, later manual assessments are not affected
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithLatestAutomaticResultAndFeedbacksAndTestCases(exercise.getId()));
-        // Also update manual results
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithManualResultAndFeedbacksAndTestCases(exercise.getId()));
+    /**
+     * Re-evaluates <b>all</b> latest results of the given exercise, see {@link #updateAllResults(ProgrammingExercise)} for details what will be updated.
+     * <p>
+     * The student participations are loaded and updated in chunks of {@value #RE_EVALUATION_CHUNK_SIZE}. The updated results of each chunk are saved in their own
+     * transaction and then released, so the memory usage does not grow with the number of participations.
+     * The progress is sent to the instructors via websocket after each chunk.
+     *
+     * @param exercise whose results should be re-evaluated.
+     * @return the number of results that have been updated.
+     */
+    public int reEvaluateAllResults(final ProgrammingExercise exercise) {
+        int updatedResultCount = updateAllResultsInChunks(exercise, resultRepository::saveAll,
+                progress -> programmingMessagingService.notifyInstructorAboutReEvaluationProgress(exercise, progress));
+        // the feedbacks of the latest results might have changed, so the grading statistics have to be rebuilt
+        gradingStatisticsService.invalidate(exercise.getId());
+        return updatedResultCount;
+    }
 
-        final Stream<Result> updatedStudentResults = updateResults(exercise, testCases, studentParticipations);
+    /**
+     * Updates the latest results of the template, solution and all student participations, processing the student participations in chunks.
+     *
+     * @param exercise         whose results should be updated.
+     * @param chunkConsumer    receives the updated results of each chunk, the results are not referenced by this method afterward.
+     * @param progressConsumer receives the progress after each chunk.
+     * @return the number of results that have been updated.
+     */
+    private int updateAllResultsInChunks(final ProgrammingExercise exercise, final Consumer<List<Result>> chunkConsumer,
+            final Consumer<ProgrammingExerciseReEvaluationProgressDTO> progressConsumer) {
+        // Prepare everything that is the same for all results only once instead of once per result
+        final Set<ProgrammingExerciseTestCase> testCases = testCaseRepository.findByExerciseIdAndActive(exercise.getId(), true);
+        final Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate = filterTestCasesForStudents(testCases, true);
+        final Set<ProgrammingExerciseTestCase> testCasesAfterDueDate = filterTestCasesForStudents(testCases, false);
+        loadSubmissionPolicy(exercise);
+
+        final List<Result> updatedTemplateAndSolutionResults = updateTemplateAndSolutionResults(exercise, testCases).toList();
+        chunkConsumer.accept(updatedTemplateAndSolutionResults);
+        int updatedResultCount = updatedTemplateAndSolutionResults.size();
+
+        // Only the ids of all participations are kept in memory, the participations with their results and feedbacks are loaded per chunk
+        final List<Long> participationIds = studentParticipationRepository.findIdsByExerciseId(exercise.getId());
+        int processedParticipationCount = 0;
+        for (List<Long> participationIdChunk : ListUtils.partition(participationIds, RE_EVALUATION_CHUNK_SIZE)) {
+            final List<StudentParticipation> studentParticipations = new ArrayList<>();
+            // We only update the latest automatic results here, later manual assessments are not affected
+            studentParticipations.addAll(studentParticipationRepository.findByIdsWithLatestAutomaticResultAndFeedbacksAndTestCases(participationIdChunk));
+            // Also update manual results
+            studentParticipations.addAll(studentParticipationRepository.findByIdsWithManualResultAndFeedbacksAndTestCases(participationIdChunk));
+
+            final List<Result> updatedStudentResults = updateResults(exercise, testCases, testCasesBeforeDueDate, testCasesAfterDueDate, studentParticipations).toList();
+            chunkConsumer.accept(updatedStudentResults);
+
+            updatedResultCount += updatedStudentResults.size();
+            processedParticipationCount += participationIdChunk.size();
+            progressConsumer.accept(new ProgrammingExerciseReEvaluationProgressDTO(processedParticipationCount, participationIds.size(), updatedResultCount));
+        }
 
-        return Stream.concat(updatedTemplateAndSolutionResult, updatedStudentResults).toList();
+        log.debug("Re-evaluated {} results of {} student participations in exercise {}", updatedResultCount, participationIds.size(), exercise.getId());
+        return updatedResultCount;
     }
 
     /**
@@ -463,7 +537,9 @@ public class ProgrammingExerciseGradingService {
         // Also update manual results
         studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithManualResultAndFeedbacksAndTestCasesWithoutIndividualDueDate(exercise.getId()));
 
-        final Stream<Result> updatedStudentResults = updateResults(exercise, testCases, studentParticipations);
+        loadSubmissionPolicy(exercise);
+        final Stream<Result> updatedStudentResults = updateResults(exercise, testCases, filterTestCasesForStudents(testCases, true), filterTestCasesForStudents(testCases, false),
+                studentParticipations);
 
         return Stream.concat(updatedTemplateAndSolutionResult, updatedStudentResults).toList();
     }
@@ -481,6 +557,7 @@ public class ProgrammingExerciseGradingService {
         final Set<ProgrammingExerciseTestCase> testCases = testCaseRepository.findByExerciseIdAndActive(exercise.getId(), true);
         final Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate = filterTestCasesForStudents(testCases, true);
         final Set<ProgrammingExerciseTestCase> testCasesAfterDueDate = filterTestCasesForStudents(testCases, false);
+        loadSubmissionPolicy(exercise);
 
         final Optional<Result> updatedAutomaticResult = studentParticipationRepository.findByIdWithLatestAutomaticResultAndFeedbacksAndTestCases(participation.getId())
                 .flatMap(studentParticipation -> updateLatestResult(exercise, studentParticipation, testCases, testCasesBeforeDueDate, testCasesAfterDueDate, true));
@@ -492,16 +569,18 @@ public class ProgrammingExerciseGradingService {
 
     /**
      * Updates the latest results for the given participations.
+     * The submission policy of the exercise has to be loaded before (see {@link #loadSubmissionPolicy(ProgrammingExercise)}).
      *
-     * @param exercise       the participations belong to.
-     * @param allTestCases   of the programming exercise.
-     * @param participations for which the latest results should be updated.
+     * @param exercise               the participations belong to.
+     * @param allTestCases           of the programming exercise.
+     * @param testCasesBeforeDueDate the test cases that are visible to the student before the due date.
+     * @param testCasesAfterDueDate  the test cases that are visible to the student after the due date.
+     * @param participations         for which the latest results should be updated.
      * @return all results that have been updated.
      */
-    private Stream<Result> updateResults(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> allTestCases, final List<StudentParticipation> participations) {
-        final Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate = filterTestCasesForStudents(allTestCases, true);
-        final Set<ProgrammingExerciseTestCase> testCasesAfterDueDate = filterTestCasesForStudents(allTestCases, false);
-
+    private Stream<Result> updateResults(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> allTestCases,
+            final Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate, final Set<ProgrammingExerciseTestCase> testCasesAfterDueDate,
+            final List<StudentParticipation> participations) {
         return participations.stream().map(participation -> updateLatestResult(exercise, participation, allTestCases, testCasesBeforeDueDate, testCasesAfterDueDate, true))
                 .flatMap(Optional::stream);
     }
@@ -552,19 +631,29 @@ public class ProgrammingExerciseGradingService {
         return Optional.of(result);
     }
 
+    /**
+     * Loads the submission policy of the given exercise, so that it is taken into account when calculating the score of student results.
+     *
+     * @param exercise for which the submission policy should be loaded.
+     */
+    private void loadSubmissionPolicy(ProgrammingExercise exercise) {
+        SubmissionPolicy submissionPolicy = programmingExerciseRepository.findByIdWithSubmissionPolicyElseThrow(exercise.getId()).getSubmissionPolicy();
+        exercise.setSubmissionPolicy(submissionPolicy);
+    }
+
     /**
      * Creates an audit event logging that a re-evaluation was triggered.
      *
-     * @param user     who triggered the re-evaluation.
-     * @param exercise for which the evaluation was triggered.
-     * @param course   the exercise belongs to.
-     * @param results  of the exercise.
+     * @param user        who triggered the re-evaluation.
+     * @param exercise    for which the evaluation was triggered.
+     * @param course      the exercise belongs to.
+     * @param resultCount the number of re-evaluated results of the exercise.
      */
-    public void logReEvaluate(User user, ProgrammingExercise exercise, Course course, List<Result> results) {
+    public void logReEvaluate(User user, ProgrammingExercise exercise, Course course, int resultCount) {
         var auditEvent = new AuditEvent(user.getLogin(), Constants.RE_EVALUATE_RESULTS, "exercise=" + exercise.getTitle(), "course=" + course.getTitle(),
-                "results=" + results.size());
+                "results=" + resultCount);
         auditEventRepository.add(auditEvent);
-        log.info("User {} triggered a re-evaluation of {} results for exercise {} with id {}", user.getLogin(), results.size(), exercise.getTitle(), exercise.getId());
+        log.info("User {} triggered a re-evaluation of {} results for exercise {} with id {}", user.getLogin(), resultCount, exercise.getTitle(), exercise.getId());
     }
 
     /**
@@ -643,11 +732,6 @@ public class ProgrammingExerciseGradingService {
         // Remove feedback that is in an invisible SCA category
         feedbackCreationService.categorizeScaFeedback(result, staticCodeAnalysisFeedback, exercise);
 
-        if (applySubmissionPolicy) {
-            SubmissionPolicy submissionPolicy = programmingExerciseRepository.findByIdWithSubmissionPolicyElseThrow(exercise.getId()).getSubmissionPolicy();
-            exercise.setSubmissionPolicy(submissionPolicy);
-        }
-
         // Case 1: There are tests and test case feedback, find out which tests were not executed or should only count to the score after the due date.
         if (!relevantTestCases.isEmpty() && !testCaseFeedback.isEmpty() && !result.getFeedbacks().isEmpty()) {
             filterAutomaticFeedbacksWithoutTestCase(result, testCases);
@@ -986,162 +1070,4 @@ public class ProgrammingExerciseGradingService {
         result.setPassedTestCaseCount(0);
         result.setCodeIssueCount(0);
     }
-
-    /**
-     * Generates grading statistics for a programming exercise.
-     * <p>
-     * This method compiles various statistics for a programming exercise identified by the provided exercise ID.
-     * It gathers data on the number of passed and failed tests per test case, as well as the number of issues
-     * detected in static code analysis per category. The results are encapsulated in a
-     * {@link ProgrammingExerciseGradingStatisticsDTO} object which includes:
-     * - The number of results processed
-     * - A map of test case names to their respective pass/fail statistics
-     * - A map of static code analysis category names to the number of students per issue count
-     * <p>
-     * The method performs the following steps:
-     * 1. Initializes statistics for the number of passed and failed tests per test case.
-     * 2. Initializes statistics for the number of students per amount of detected issues per category.
-     * 3. Fetches the latest automatic results for the exercise along with their feedback.
-     * 4. Processes each result to update test case statistics and detect issues per category.
-     * 5. Merges individual result statistics into overall statistics.
-     *
-     * @param exerciseId the ID of the exercise
-     * @return a {@link ProgrammingExerciseGradingStatisticsDTO} object containing the compiled grading statistics
-     */
-    public ProgrammingExerciseGradingStatisticsDTO generateGradingStatistics(Long exerciseId) {
-        // Initialize statistics for the number of passed and failed tests per test case
-        final var testCases = testCaseRepository.findByExerciseId(exerciseId);
-        final var testCaseStatsMap = new HashMap<String, ProgrammingExerciseGradingStatisticsDTO.TestCaseStats>();
-        for (ProgrammingExerciseTestCase testCase : testCases) {
-            testCaseStatsMap.put(testCase.getTestName(), new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(0, 0));
-        }
-
-        // Initialize statistics for the number of students per amount of detected issues per category
-        final Set<StaticCodeAnalysisCategory> categories = staticCodeAnalysisCategoryRepository.findByExerciseId(exerciseId);
-        final var categoryIssuesStudentsMap = new HashMap<String, Map<Integer, Integer>>();
-        for (StaticCodeAnalysisCategory category : categories) {
-            categoryIssuesStudentsMap.put(category.getName(), new HashMap<>());
-        }
-
-        final var results = resultRepository.findLatestAutomaticResultsWithEagerFeedbacksTestCasesForExercise(exerciseId);
-        for (Result result : results) {
-            // Count the number of detected issues per category for the current result
-            final var categoryIssuesMap = categorizeStaticCodeAnalysisIssues(result);
-
-            // Update the statistics for each test case based on the feedback
-            updateTestCaseMapBasedOnResultFeedback(result, testCaseStatsMap);
-
-            // Merge the current result's category issues map into the overall map
-            mergeCategoryIssuesMap(categoryIssuesStudentsMap, categoryIssuesMap);
-        }
-
-        return new ProgrammingExerciseGradingStatisticsDTO(results.size(), testCaseStatsMap, categoryIssuesStudentsMap);
-    }
-
-    /**
-     * Categorizes static code analysis issues from a given result.
-     * <p>
-     * This method processes the feedbacks associated with the provided result to identify
-     * and count the occurrences of static code analysis issues for each category. The result
-     * is a map where the key is the category name and the value is the count of issues detected
-     * in that category.
-     *
-     * @param result The {@link Result} object containing feedbacks to be analyzed
-     * @return A map where the key is the static code analysis category name and the value is the count of occurrences of issues in that category
-     */
-    private static Map<String, Integer> categorizeStaticCodeAnalysisIssues(Result result) {
-        return result.getFeedbacks().stream()
-                // Filter the feedbacks to include only those that are related to static code analysis
-                .filter(Feedback::isStaticCodeAnalysisFeedback)
-                // Map each filtered feedback to its static code analysis category name
-                .map(Feedback::getStaticCodeAnalysisCategory)
-                // Filter out any empty category names to avoid counting them
-                .filter(categoryName -> !categoryName.isEmpty())
-                // Collect the results into a map where the key is the category name and the value is the count of occurrences
-                .collect(Collectors.toMap(
-                        // The key in the resulting map is the category name
-                        categoryName -> categoryName,
-                        // The initial value for each key is 1, representing the first occurrence
-                        categoryName -> 1,
-                        // If the key already exists, sum the existing value with the new value (i.e., increment the count)
-                        Integer::sum));
-    }
-
-    /**
-     * Updates the test case statistics map based on the feedback from a given result.
-     * <p>
-     * This method processes the feedbacks associated with the provided result to update
-     * the test case statistics map. It counts the number of positive and non-positive feedbacks
-     * for each test case and updates the corresponding entries in the provided test case statistics map.
-     *
-     * @param result           The {@link Result} object containing feedbacks to be analyzed
-     * @param testCaseStatsMap The map of test case names to their respective statistics (passed and failed counts)
-     */
-    private static void updateTestCaseMapBasedOnResultFeedback(Result result, HashMap<String, ProgrammingExerciseGradingStatisticsDTO.TestCaseStats> testCaseStatsMap) {
-        result.getFeedbacks().stream()
-                // Filter the feedbacks to include only those that are automatic and have an assigned test case
-                .filter(feedback -> {
-                    if (!FeedbackType.AUTOMATIC.equals(feedback.getType())) {
-                        return false;
-                    }
-                    if (feedback.getTestCase() == null) {
-                        return false;
-                    }
-                    if (feedback.getTestCase().getTestName() == null) {
-                        // Log the feedback id with null test name to analyse NullPointer issue if it occurs again in the future
-                        log.warn("Feedback with ID {} has a test case with a null test name.", feedback.getId());
-                        return false;
-                    }
-                    if (feedback.isPositive() == null) {
-                        // Log the feedback with null isPositive value to analyse NullPointer issue if it occurs again in the future
-                        log.warn("Feedback with ID {} has a test case with a null isPositive value.", feedback.getId());
-                        return false;
-                    }
-                    return true;
-                })
-                // Collect the filtered feedbacks into a map grouped by test case name, and partitioned by whether the feedback is positive
-                .collect(Collectors.groupingBy(
-                        // Group by the name of the test case associated with the feedback
-                        feedback -> feedback.getTestCase().getTestName(),
-                        // Partition each group into positive and non-positive feedbacks, and count the occurrences
-                        Collectors.partitioningBy(Feedback::isPositive, Collectors.counting())
-                // Process each entry in the resulting map
-                )).forEach((testName, partitionedFeedbacks) -> {
-                    // Get the count of positive feedbacks for the test case, defaulting to 0 if none exist
-                    long numPassed = partitionedFeedbacks.getOrDefault(true, 0L);
-                    // Get the count of non-positive feedbacks for the test case, defaulting to 0 if none exist
-                    long numFailed = partitionedFeedbacks.getOrDefault(false, 0L);
-                    // Ensure there is an entry for the test case in the testCaseStatsMap, initializing with zero passed and failed if absent
-                    testCaseStatsMap.putIfAbsent(testName, new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(0, 0));
-                    // Update the entry for the test case in the testCaseStatsMap, incrementing the passed and failed counts
-                    testCaseStatsMap.computeIfPresent(testName,
-                            // Create a new TestCaseStats object with the updated counts and replace the existing entry
-                            (key, stats) -> new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(stats.numPassed() + (int) numPassed, stats.numFailed() + (int) numFailed));
-                });
-    }
-
-    /**
-     * Merges the result map of a single student with the overall issues map.
-     * <p>
-     * This method updates the overall issues map for all students by incorporating the issues
-     * detected for a single student. Each category of issues is updated with the count of issues
-     * detected for that category and the number of students who had that count of issues.
-     *
-     * @param issuesAllStudents   The overall issues map for all students. The key is the category name,
-     *                                and the value is a map where the key is the issue count and the value
-     *                                is the number of students with that issue count.
-     * @param issuesSingleStudent The issues map for one student. The key is the category name, and the value
-     *                                is the number of issues detected in that category for this student.
-     */
-    private static void mergeCategoryIssuesMap(final Map<String, Map<Integer, Integer>> issuesAllStudents, final Map<String, Integer> issuesSingleStudent) {
-        // Iterate over each entry in the issues map for a single student
-        issuesSingleStudent.forEach((category, issueCount) -> {
-            // Ensure the overall issues map has an entry for the current category
-            issuesAllStudents.putIfAbsent(category, new HashMap<>());
-            // Ensure the category map has an entry for the current issue count with an initial value of 0
-            issuesAllStudents.get(category).putIfAbsent(issueCount, 0);
-            // Increment the number of students who had the current issue count for the current category by 1
-            issuesAllStudents.get(category).merge(issueCount, 1, Integer::sum);
-        });
-    }
 }
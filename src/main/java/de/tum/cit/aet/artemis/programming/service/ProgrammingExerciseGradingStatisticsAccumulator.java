@@ -0,0 +1,141 @@
+package de.tum.cit.aet.artemis.programming.service;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Per-exercise grading statistics kept in the distributed {@code programming-exercise-grading-statistics} map.
+ * Instead of loading the latest automatic result of every student with all feedback on each request, the counters are updated whenever a new result is processed.
+ * <p>
+ * The counters only hold the aggregated numbers. The {@link Contribution} of each student, i.e. what the student's latest automatic result added to the counters,
+ * is stored separately in one map entry per exercise and student so that it can be subtracted again once the student receives a newer result.
+ * All contributions that belong to these counters carry the same {@link #generation}, contributions of an older generation are ignored.
+ * <p>
+ * Records are serializable because the entries are replicated across the cluster; all maps are unmodifiable copies and every update returns a fresh instance.
+ *
+ * @param generation         the time this accumulator was (re-)built, used to identify the matching contributions
+ * @param numParticipations  the number of students whose latest automatic result is counted
+ * @param numPassed          the number of passed tests per test case name
+ * @param numFailed          the number of failed tests per test case name
+ * @param categoryIssueCount per static code analysis category, the number of students per amount of detected issues
+ */
+public record ProgrammingExerciseGradingStatisticsAccumulator(Instant generation, int numParticipations, Map<String, Integer> numPassed, Map<String, Integer> numFailed,
+        Map<String, Map<Integer, Integer>> categoryIssueCount) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ProgrammingExerciseGradingStatisticsAccumulator {
+        numPassed = Collections.unmodifiableMap(new HashMap<>(numPassed));
+        numFailed = Collections.unmodifiableMap(new HashMap<>(numFailed));
+        var categoryIssueCountCopy = new HashMap<String, Map<Integer, Integer>>();
+        categoryIssueCount.forEach((category, histogram) -> categoryIssueCountCopy.put(category, Collections.unmodifiableMap(new HashMap<>(histogram))));
+        categoryIssueCount = Collections.unmodifiableMap(categoryIssueCountCopy);
+    }
+
+    /**
+     * Creates empty counters that already contain an entry for each known test case and static code analysis category, so that they also show up without any results.
+     *
+     * @param generation    the time the accumulator is built
+     * @param testNames     the names of the test cases of the exercise
+     * @param categoryNames the names of the static code analysis categories of the exercise
+     * @return the empty accumulator
+     */
+    public static ProgrammingExerciseGradingStatisticsAccumulator empty(Instant generation, Collection<String> testNames, Collection<String> categoryNames) {
+        var zeroCounts = new HashMap<String, Integer>();
+        testNames.forEach(testName -> zeroCounts.put(testName, 0));
+        var emptyHistograms = new HashMap<String, Map<Integer, Integer>>();
+        categoryNames.forEach(categoryName -> emptyHistograms.put(categoryName, Map.of()));
+        return new ProgrammingExerciseGradingStatisticsAccumulator(generation, 0, zeroCounts, zeroCounts, emptyHistograms);
+    }
+
+    /**
+     * Returns fresh counters in which the previous contribution of a student is replaced by the new one.
+     *
+     * @param previous the contribution that is currently counted for the student, null if the student is not counted yet
+     * @param next     the contribution of the student's new latest automatic result
+     * @return the updated accumulator
+     */
+    public ProgrammingExerciseGradingStatisticsAccumulator with(@Nullable Contribution previous, Contribution next) {
+        var passed = new HashMap<>(numPassed);
+        var failed = new HashMap<>(numFailed);
+        var issues = new HashMap<String, Map<Integer, Integer>>();
+        categoryIssueCount.forEach((category, histogram) -> issues.put(category, new HashMap<>(histogram)));
+        int participations = numParticipations;
+
+        if (isCounted(previous)) {
+            previous.numPassed().forEach((testName, count) -> passed.merge(testName, -count, Integer::sum));
+            previous.numFailed().forEach((testName, count) -> failed.merge(testName, -count, Integer::sum));
+            previous.categoryIssues().forEach((category, issueCount) -> issues.computeIfPresent(category, (_, histogram) -> {
+                histogram.computeIfPresent(issueCount, (_, students) -> students > 1 ? students - 1 : null);
+                return histogram;
+            }));
+        }
+        else {
+            participations++;
+        }
+
+        next.numPassed().forEach((testName, count) -> {
+            passed.merge(testName, count, Integer::sum);
+            failed.putIfAbsent(testName, 0);
+        });
+        next.numFailed().forEach((testName, count) -> {
+            failed.merge(testName, count, Integer::sum);
+            passed.putIfAbsent(testName, 0);
+        });
+        next.categoryIssues().forEach((category, issueCount) -> issues.computeIfAbsent(category, _ -> new HashMap<>()).merge(issueCount, 1, Integer::sum));
+
+        return new ProgrammingExerciseGradingStatisticsAccumulator(generation, participations, passed, failed, issues);
+    }
+
+    /**
+     * Checks whether the given contribution is part of these counters.
+     *
+     * @param contribution the stored contribution of a student, may be null
+     * @return true if the contribution was added to these counters
+     */
+    public boolean isCounted(@Nullable Contribution contribution) {
+        return contribution != null && generation.equals(contribution.generation());
+    }
+
+    /**
+     * What the latest automatic result of one student adds to the counters.
+     *
+     * @param generation     the generation of the accumulator this contribution was added to
+     * @param resultId       the id of the result
+     * @param completionDate the completion date of the result, older results never replace newer ones
+     * @param numPassed      the number of passed tests per test case name
+     * @param numFailed      the number of failed tests per test case name
+     * @param categoryIssues the number of detected issues per static code analysis category
+     */
+    public record Contribution(Instant generation, long resultId, @Nullable ZonedDateTime completionDate, Map<String, Integer> numPassed, Map<String, Integer> numFailed,
+            Map<String, Integer> categoryIssues) implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        public Contribution {
+            numPassed = Collections.unmodifiableMap(new HashMap<>(numPassed));
+            numFailed = Collections.unmodifiableMap(new HashMap<>(numFailed));
+            categoryIssues = Collections.unmodifiableMap(new HashMap<>(categoryIssues));
+        }
+
+        /**
+         * Checks whether this contribution stems from a result that completed after the given one.
+         *
+         * @param other the other contribution
+         * @return true if this contribution is newer than the other one
+         */
+        public boolean isNewerThan(Contribution other) {
+            return completionDate != null && other.completionDate() != null && completionDate.isAfter(other.completionDate());
+        }
+    }
+}
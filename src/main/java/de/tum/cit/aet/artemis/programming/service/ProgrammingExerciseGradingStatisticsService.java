@@ -0,0 +1,314 @@
+package de.tum.cit.aet.artemis.programming.service;
+
+import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import de.tum.cit.aet.artemis.assessment.domain.Feedback;
+import de.tum.cit.aet.artemis.assessment.domain.FeedbackType;
+import de.tum.cit.aet.artemis.assessment.domain.Result;
+import de.tum.cit.aet.artemis.assessment.dto.ResultIdAndStudentIdDTO;
+import de.tum.cit.aet.artemis.assessment.repository.ResultRepository;
+import de.tum.cit.aet.artemis.core.domain.DomainObject;
+import de.tum.cit.aet.artemis.localci.service.distributed.api.DistributedDataProvider;
+import de.tum.cit.aet.artemis.localci.service.distributed.api.map.DistributedMap;
+import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseTestCase;
+import de.tum.cit.aet.artemis.programming.domain.StaticCodeAnalysisCategory;
+import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseGradingStatisticsDTO;
+import de.tum.cit.aet.artemis.programming.repository.ProgrammingExerciseTestCaseRepository;
+import de.tum.cit.aet.artemis.programming.repository.StaticCodeAnalysisCategoryRepository;
+import de.tum.cit.aet.artemis.programming.service.ProgrammingExerciseGradingStatisticsAccumulator.Contribution;
+
+/**
+ * Provides the grading statistics of programming exercises, i.e. the number of passed and failed tests per test case and the number of students per amount of detected static
+ * code analysis issues per category, based on the latest automatic result of each student.
+ * <p>
+ * The statistics are kept as compact counters in the distributed {@value #STATISTICS_MAP_NAME} map and are updated with each new result in
+ * {@link #recordResult(long, long, Result)}. The contribution of each student is kept in its own entry of the {@value #CONTRIBUTIONS_MAP_NAME} map, so that a new result
+ * only reads and writes the contribution of its student and the counters, whose size only depends on the number of test cases and categories. Contributions of previous
+ * counters are recognized by their generation and ignored. The counters are only built from the database on the first request after a start, after 24 hours or after
+ * they were invalidated, which happens when the test cases of the exercise change, when its results are re-evaluated, when participations are deleted or reset and when
+ * the exercise is deleted. Instructors can also force a rebuild.
+ * <p>
+ * Every update runs inside a per-exercise {@link DistributedMap#lock(Object) lock}/{@link DistributedMap#unlock(Object) unlock} critical section, so concurrent results
+ * processed on different nodes do not overwrite each other. The distributed maps do not offer entry processors for all providers, so the counters are replaced as a whole.
+ * Without a {@link DistributedDataProvider} (i.e. without the localci profile) the statistics are computed on each request.
+ */
+@Profile(PROFILE_CORE)
+@Lazy
+@Service
+public class ProgrammingExerciseGradingStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgrammingExerciseGradingStatisticsService.class);
+
+    public static final String STATISTICS_MAP_NAME = "programming-exercise-grading-statistics";
+
+    public static final String CONTRIBUTIONS_MAP_NAME = "programming-exercise-grading-statistics-contributions";
+
+    /**
+     * The age after which the counters are rebuilt. The contributions written together with the counters expire one hour later (see HazelcastConfiguration), so a
+     * contribution of counted results cannot disappear while the counters are still used.
+     */
+    private static final Duration MAX_STATISTICS_AGE = Duration.ofHours(24);
+
+    /**
+     * The key of the contribution of a student to the counters of an exercise.
+     *
+     * @param exerciseId the id of the exercise
+     * @param studentId  the id of the student
+     */
+    record ContributionKey(long exerciseId, long studentId) implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    private final Optional<DistributedDataProvider> distributedDataProvider;
+
+    private final ResultRepository resultRepository;
+
+    private final ProgrammingExerciseTestCaseRepository testCaseRepository;
+
+    private final StaticCodeAnalysisCategoryRepository staticCodeAnalysisCategoryRepository;
+
+    public ProgrammingExerciseGradingStatisticsService(Optional<DistributedDataProvider> distributedDataProvider, ResultRepository resultRepository,
+            ProgrammingExerciseTestCaseRepository testCaseRepository, StaticCodeAnalysisCategoryRepository staticCodeAnalysisCategoryRepository) {
+        this.distributedDataProvider = distributedDataProvider;
+        this.resultRepository = resultRepository;
+        this.testCaseRepository = testCaseRepository;
+        this.staticCodeAnalysisCategoryRepository = staticCodeAnalysisCategoryRepository;
+    }
+
+    private DistributedMap<Long, ProgrammingExerciseGradingStatisticsAccumulator> statisticsMap(DistributedDataProvider provider) {
+        return provider.getMap(STATISTICS_MAP_NAME);
+    }
+
+    private DistributedMap<ContributionKey, Contribution> contributionsMap(DistributedDataProvider provider) {
+        return provider.getMap(CONTRIBUTIONS_MAP_NAME);
+    }
+
+    /**
+     * Returns the grading statistics of the given exercise. The counters are built from the latest automatic results in the database if they do not exist yet.
+     *
+     * @param exerciseId the id of the exercise
+     * @return the grading statistics of the exercise
+     */
+    public ProgrammingExerciseGradingStatisticsDTO getStatistics(long exerciseId) {
+        if (distributedDataProvider.isEmpty()) {
+            return toDTO(buildAccumulator(exerciseId, Instant.now(), (_, _) -> {
+            }));
+        }
+        var statistics = statisticsMap(distributedDataProvider.get());
+        var accumulator = statistics.get(exerciseId);
+        if (accumulator == null || isExpired(accumulator)) {
+            accumulator = rebuildIfAbsent(exerciseId, false);
+        }
+        return toDTO(accumulator);
+    }
+
+    /**
+     * Discards the counters of the given exercise and builds them again from the latest automatic results in the database.
+     *
+     * @param exerciseId the id of the exercise
+     * @return the rebuilt grading statistics of the exercise
+     */
+    public ProgrammingExerciseGradingStatisticsDTO rebuildStatistics(long exerciseId) {
+        if (distributedDataProvider.isEmpty()) {
+            return getStatistics(exerciseId);
+        }
+        return toDTO(rebuildIfAbsent(exerciseId, true));
+    }
+
+    private ProgrammingExerciseGradingStatisticsAccumulator rebuildIfAbsent(long exerciseId, boolean force) {
+        var provider = distributedDataProvider.orElseThrow();
+        var statistics = statisticsMap(provider);
+        var contributions = contributionsMap(provider);
+        statistics.lock(exerciseId);
+        try {
+            var accumulator = force ? null : statistics.get(exerciseId);
+            if (accumulator == null || isExpired(accumulator)) {
+                // the contributions of the new generation replace those of the previous counters, the remaining ones are ignored because of their older generation
+                accumulator = buildAccumulator(exerciseId, Instant.now(), (studentId, contribution) -> contributions.put(new ContributionKey(exerciseId, studentId), contribution));
+                statistics.put(exerciseId, accumulator);
+                log.debug("Built grading statistics of programming exercise {} from {} results", exerciseId, accumulator.numParticipations());
+            }
+            return accumulator;
+        }
+        finally {
+            statistics.unlock(exerciseId);
+        }
+    }
+
+    /**
+     * Adds a new automatic result of a student to the counters of the exercise, replacing the student's previous latest automatic result.
+     * Nothing happens if the counters of the exercise have not been built yet, they will include the result once they are built.
+     *
+     * @param exerciseId the id of the exercise the result belongs to
+     * @param studentId  the id of the student of the result's participation
+     * @param result     the saved automatic result with its feedbacks and their test cases
+     */
+    public void recordResult(long exerciseId, long studentId, Result result) {
+        if (distributedDataProvider.isEmpty()) {
+            return;
+        }
+        var provider = distributedDataProvider.get();
+        var statistics = statisticsMap(provider);
+        var contributions = contributionsMap(provider);
+        statistics.lock(exerciseId);
+        try {
+            var accumulator = statistics.get(exerciseId);
+            if (accumulator == null) {
+                return;
+            }
+            if (isExpired(accumulator)) {
+                // the contributions of students without recent results might expire soon, so the counters are rebuilt on the next request
+                statistics.remove(exerciseId);
+                return;
+            }
+            var contributionKey = new ContributionKey(exerciseId, studentId);
+            Contribution previous = contributions.get(contributionKey);
+            Contribution next = toContribution(accumulator.generation(), result);
+            if (accumulator.isCounted(previous) && previous.isNewerThan(next)) {
+                // the result of a newer submission has already been processed
+                return;
+            }
+            contributions.put(contributionKey, next);
+            statistics.put(exerciseId, accumulator.with(previous, next));
+        }
+        catch (RuntimeException ex) {
+            // the counters might be inconsistent now, they are rebuilt on the next request
+            log.warn("Could not update the grading statistics of programming exercise {} with result {}: {}", exerciseId, result.getId(), ex.getMessage());
+            statistics.remove(exerciseId);
+        }
+        finally {
+            statistics.unlock(exerciseId);
+        }
+    }
+
+    /**
+     * Discards the counters of the given exercise, so that they are rebuilt on the next request. The contributions of the discarded counters are ignored from then on and
+     * expire.
+     * This is necessary whenever existing results change or disappear without being processed as new results, e.g. when the test cases change and the results are
+     * re-evaluated, when participations are deleted or reset, or when the exercise is deleted.
+     *
+     * @param exerciseId the id of the exercise
+     */
+    public void invalidate(long exerciseId) {
+        distributedDataProvider.ifPresent(provider -> {
+            var statistics = statisticsMap(provider);
+            statistics.lock(exerciseId);
+            try {
+                statistics.remove(exerciseId);
+            }
+            finally {
+                statistics.unlock(exerciseId);
+            }
+        });
+    }
+
+    private static boolean isExpired(ProgrammingExerciseGradingStatisticsAccumulator accumulator) {
+        return accumulator.generation().isBefore(Instant.now().minus(MAX_STATISTICS_AGE));
+    }
+
+    /**
+     * Builds the counters of the given exercise from the latest automatic result of each student in the database.
+     *
+     * @param exerciseId          the id of the exercise
+     * @param generation          the generation of the new counters
+     * @param contributionHandler receives the contribution of each student
+     * @return the new counters
+     */
+    private ProgrammingExerciseGradingStatisticsAccumulator buildAccumulator(long exerciseId, Instant generation, BiConsumer<Long, Contribution> contributionHandler) {
+        // Initialize the counters for all test cases and categories, so that they also show up without any results
+        final var testNames = testCaseRepository.findByExerciseId(exerciseId).stream().map(ProgrammingExerciseTestCase::getTestName).toList();
+        final var categoryNames = staticCodeAnalysisCategoryRepository.findByExerciseId(exerciseId).stream().map(StaticCodeAnalysisCategory::getName).toList();
+        var accumulator = ProgrammingExerciseGradingStatisticsAccumulator.empty(generation, testNames, categoryNames);
+
+        final List<ResultIdAndStudentIdDTO> latestResults = resultRepository.findLatestAutomaticResultIdsWithStudentIdForExercise(exerciseId);
+        if (latestResults.isEmpty()) {
+            return accumulator;
+        }
+        final Map<Long, Result> resultsById = resultRepository.findResultsWithFeedbacksAndTestCaseByIdIn(latestResults.stream().map(ResultIdAndStudentIdDTO::resultId).toList())
+                .stream().collect(Collectors.toMap(DomainObject::getId, Function.identity()));
+        for (ResultIdAndStudentIdDTO latestResult : latestResults) {
+            final Result result = resultsById.get(latestResult.resultId());
+            if (result == null) {
+                continue;
+            }
+            final Contribution contribution = toContribution(generation, result);
+            contributionHandler.accept(latestResult.studentId(), contribution);
+            accumulator = accumulator.with(null, contribution);
+        }
+        return accumulator;
+    }
+
+    private static ProgrammingExerciseGradingStatisticsDTO toDTO(ProgrammingExerciseGradingStatisticsAccumulator accumulator) {
+        final var testCaseStatsMap = new HashMap<String, ProgrammingExerciseGradingStatisticsDTO.TestCaseStats>();
+        accumulator.numPassed().forEach((testName, numPassed) -> testCaseStatsMap.put(testName,
+                new ProgrammingExerciseGradingStatisticsDTO.TestCaseStats(numPassed, accumulator.numFailed().getOrDefault(testName, 0))));
+        final var categoryIssuesMap = new HashMap<String, Map<Integer, Integer>>();
+        accumulator.categoryIssueCount().forEach((category, histogram) -> categoryIssuesMap.put(category, new HashMap<>(histogram)));
+        return new ProgrammingExerciseGradingStatisticsDTO(accumulator.numParticipations(), testCaseStatsMap, categoryIssuesMap);
+    }
+
+    private static Contribution toContribution(Instant generation, Result result) {
+        final var numPassed = new HashMap<String, Integer>();
+        final var numFailed = new HashMap<String, Integer>();
+        result.getFeedbacks().stream().filter(ProgrammingExerciseGradingStatisticsService::isCountableTestFeedback)
+                .forEach(feedback -> (feedback.isPositive() ? numPassed : numFailed).merge(feedback.getTestCase().getTestName(), 1, Integer::sum));
+        return new Contribution(generation, result.getId(), result.getCompletionDate(), numPassed, numFailed, categorizeStaticCodeAnalysisIssues(result));
+    }
+
+    /**
+     * Checks whether the feedback is automatic and has an assigned test case, i.e. whether it counts as a passed or failed test.
+     *
+     * @param feedback the feedback to check
+     * @return true if the feedback counts as a passed or failed test
+     */
+    private static boolean isCountableTestFeedback(Feedback feedback) {
+        if (!FeedbackType.AUTOMATIC.equals(feedback.getType())) {
+            return false;
+        }
+        if (feedback.getTestCase() == null) {
+            return false;
+        }
+        if (feedback.getTestCase().getTestName() == null) {
+            // Log the feedback id with null test name to analyse NullPointer issue if it occurs again in the future
+            log.warn("Feedback with ID {} has a test case with a null test name.", feedback.getId());
+            return false;
+        }
+        if (feedback.isPositive() == null) {
+            // Log the feedback with null isPositive value to analyse NullPointer issue if it occurs again in the future
+            log.warn("Feedback with ID {} has a test case with a null isPositive value.", feedback.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Counts the static code analysis issues of the given result per category.
+     *
+     * @param result The {@link Result} object containing feedbacks to be analyzed
+     * @return A map where the key is the static code analysis category name and the value is the count of occurrences of issues in that category
+     */
+    private static Map<String, Integer> categorizeStaticCodeAnalysisIssues(Result result) {
+        return result.getFeedbacks().stream().filter(Feedback::isStaticCodeAnalysisFeedback).map(Feedback::getStaticCodeAnalysisCategory)
+                .filter(categoryName -> !categoryName.isEmpty()).collect(Collectors.toMap(categoryName -> categoryName, _ -> 1, Integer::sum));
+    }
+}
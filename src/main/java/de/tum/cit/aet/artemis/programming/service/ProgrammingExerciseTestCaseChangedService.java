@@ -32,13 +32,16 @@ public class ProgrammingExerciseTestCaseChangedService {
 
     private final Optional<ContinuousIntegrationTriggerService> continuousIntegrationTriggerService;
 
+    private final ProgrammingExerciseGradingStatisticsService gradingStatisticsService;
+
     public ProgrammingExerciseTestCaseChangedService(ProgrammingExerciseRepository programmingExerciseRepository, ResultRepository resultRepository,
             ProgrammingTestCaseChangedUserNotificationService programmingTestCaseChangedUserNotificationService,
-            Optional<ContinuousIntegrationTriggerService> continuousIntegrationTriggerService) {
+            Optional<ContinuousIntegrationTriggerService> continuousIntegrationTriggerService, ProgrammingExerciseGradingStatisticsService gradingStatisticsService) {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.resultRepository = resultRepository;
         this.programmingTestCaseChangedUserNotificationService = programmingTestCaseChangedUserNotificationService;
         this.continuousIntegrationTriggerService = continuousIntegrationTriggerService;
+        this.gradingStatisticsService = gradingStatisticsService;
     }
 
     /**
@@ -84,6 +87,10 @@ public class ProgrammingExerciseTestCaseChangedService {
      * @throws EntityNotFoundException if the programming exercise does not exist.
      */
     public void setTestCasesChanged(ProgrammingExercise programmingExercise, boolean testCasesChanged) throws EntityNotFoundException {
+        if (testCasesChanged) {
+            // The grading statistics are only updated incrementally with new results, changed test cases require a full rebuild
+            gradingStatisticsService.invalidate(programmingExercise.getId());
+        }
 
         // If the flag testCasesChanged has not changed, we can stop the execution
         // Also, if the programming exercise has no results yet, there is no point in setting test cases changed to *true*.
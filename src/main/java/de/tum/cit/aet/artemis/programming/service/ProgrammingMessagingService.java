@@ -29,6 +29,7 @@ import de.tum.cit.aet.artemis.programming.domain.ProgrammingExercise;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseParticipation;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseStudentParticipation;
 import de.tum.cit.aet.artemis.programming.domain.build.BuildRunState;
+import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseReEvaluationProgressDTO;
 import de.tum.cit.aet.artemis.programming.dto.SubmissionProcessingDTO;
 
 @Profile(PROFILE_CORE)
@@ -72,6 +73,10 @@ public class ProgrammingMessagingService {
         return "/topic/programming-exercises/" + programmingExerciseId + "/all-builds-triggered";
     }
 
+    private static String getProgrammingExerciseReEvaluationTopic(Long programmingExerciseId) {
+        return "/topic/programming-exercises/" + programmingExerciseId + "/re-evaluation";
+    }
+
     public void notifyInstructorAboutStartedExerciseBuildRun(ProgrammingExercise programmingExercise) {
         websocketMessagingService.sendMessage(getProgrammingExerciseAllExerciseBuildsTriggeredTopic(programmingExercise.getId()), BuildRunState.RUNNING);
         // Send a notification to the client to inform the instructor about started builds.
@@ -84,6 +89,16 @@ public class ProgrammingMessagingService {
         groupNotificationService.notifyEditorAndInstructorGroupsAboutBuildRunUpdate(programmingExercise);
     }
 
+    /**
+     * Notify the instructors about the progress of a running re-evaluation of all results of the exercise.
+     *
+     * @param programmingExercise the exercise whose results are re-evaluated.
+     * @param progress            the current progress of the re-evaluation.
+     */
+    public void notifyInstructorAboutReEvaluationProgress(ProgrammingExercise programmingExercise, ProgrammingExerciseReEvaluationProgressDTO progress) {
+        websocketMessagingService.sendMessage(getProgrammingExerciseReEvaluationTopic(programmingExercise.getId()), progress);
+    }
+
     /**
      * Notify user about new result.
      *
@@ -14,18 +14,20 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeIterator;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,9 +72,12 @@ public class RepositoryService {
 
     private static final Logger log = LoggerFactory.getLogger(RepositoryService.class);
 
-    public RepositoryService(GitService gitService, Optional<VcsAccessLogService> vcsAccessLogService) {
+    private final BlobContentCacheService blobContentCacheService;
+
+    public RepositoryService(GitService gitService, Optional<VcsAccessLogService> vcsAccessLogService, BlobContentCacheService blobContentCacheService) {
         this.gitService = gitService;
         this.vcsAccessLogService = vcsAccessLogService;
+        this.blobContentCacheService = blobContentCacheService;
     }
 
     /**
@@ -209,8 +214,7 @@ public class RepositoryService {
      */
     public Map<String, String> getFilesContentFromBareRepositoryForLastCommit(LocalVCRepositoryUri repositoryUri) throws IOException {
 
-        try {
-            var bareRepository = gitService.getBareRepository(repositoryUri, false);
+        try (Repository bareRepository = gitService.getBareRepository(repositoryUri, false)) {
             return getFilesContentFromBareRepositoryForLastCommit(bareRepository);
         }
         catch (GitException exception) {
@@ -280,8 +284,8 @@ public class RepositoryService {
      * Retrieves a mapping of file paths to their content for a specific commit in a bare Git repository for non binary files
      * This method extracts file content by traversing the repository's tree from the specified commit.
      * It is primarily designed to read text files, converting the binary content to a UTF-8 string.
-     * Usage of this method with binary files may lead to data corruption or misrepresentation as
-     * binary data does not convert cleanly into UTF-8 strings.
+     * Binary files are skipped based on their file extension, their git attributes or their content.
+     * The decoded contents are cached by blob id in the {@link BlobContentCacheService}.
      *
      * @param repository The repository from which file contents are to be retrieved. Must be a bare repository.
      * @param commitId   The commit id from which to extract file contents.
@@ -291,13 +295,11 @@ public class RepositoryService {
      *                         opening and reading the file stream.
      */
     private Map<String, String> getFileContentFromBareRepositoryForCommitId(Repository repository, @NonNull ObjectId commitId) throws IOException {
-        RevWalk revWalk = new RevWalk(repository);
-        RevCommit commit = revWalk.parseCommit(commitId);
-
         // Initialize your map to store file paths and their contents
         Map<String, String> filesWithContent = new HashMap<>();
 
-        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
             treeWalk.addTree(commit.getTree());
             treeWalk.setRecursive(true);
 
@@ -314,15 +316,16 @@ public class RepositoryService {
                     continue;
                 }
 
-                ObjectId objectId = treeWalk.getObjectId(0);
+                // Skip files marked as binary in the .gitattributes of the repository (the 'binary' macro unsets 'text') without reading them
+                if (treeWalk.getAttributes().isUnset("text")) {
+                    continue;
+                }
 
-                // Open the object stream to read the file content
-                try (InputStream inputStream = repository.open(objectId).openStream()) {
-                    byte[] bytes = inputStream.readAllBytes(); // Read all bytes at once
-                    String content = new String(bytes, StandardCharsets.UTF_8); // Convert bytes to string with UTF-8 encoding
+                ObjectId objectId = treeWalk.getObjectId(0);
 
-                    // Put the path and corresponding file content into the map
-                    filesWithContent.put(path, content);
+                // Read the content through the reader of the tree walk, identical blobs of other repositories are served from the cache
+                try {
+                    blobContentCacheService.getTextContent(treeWalk.getObjectReader(), objectId).ifPresent(content -> filesWithContent.put(path, content));
                 }
                 catch (MissingObjectException e) {
                     // Log diagnostic info to help debug intermittent CI failures where objects
@@ -338,7 +341,6 @@ public class RepositoryService {
                 }
             }
         }
-        revWalk.close();
         return filesWithContent;
     }
 
@@ -400,42 +402,84 @@ public class RepositoryService {
 
     /**
      * Gets the files of the repository and checks whether they were changed during a student participation.
-     * Compares the files from the students' repository with the files of the template repository.
+     * Compares the files in the working copy of the students' repository with the files of the latest commit of the template repository.
+     * <p>
+     * Uncommitted changes in the working copy, e.g. from the online editor, are taken into account. The template repository is read directly from its bare repository, so it is
+     * not checked out. Files are compared by their git blob id, the ids of unmodified files of the working copy are taken from the index.
      *
-     * @param repository         the students' repository with possibly new files and changed files
-     * @param templateRepository the template repository with default files on which the student started working on
+     * @param repository            the working copy of the students' repository with possibly new files and changed files
+     * @param templateRepositoryUri the uri of the template repository with default files on which the student started working on
      * @return a map of files with the information if they were changed/are new.
+     * @throws IOException if one of the repositories cannot be read
      */
-    public Map<String, Boolean> getFilesWithInformationAboutChange(Repository repository, Repository templateRepository) {
-        Map<String, Boolean> filesWithInformationAboutChange = new HashMap<>();
+    public Map<String, Boolean> getFilesWithInformationAboutChange(Repository repository, LocalVCRepositoryUri templateRepositoryUri) throws IOException {
+        Map<String, ObjectId> templateFiles;
+        try (Repository templateRepository = gitService.getBareRepository(templateRepositoryUri, false)) {
+            templateFiles = getFileBlobIdsOfLastCommit(templateRepository);
+        }
 
-        var repoFiles = gitService.listFilesAndFolders(repository).entrySet().stream().filter(entry -> entry.getValue() == FileType.FILE).map(Map.Entry::getKey).toList();
+        Map<String, Boolean> filesWithInformationAboutChange = new HashMap<>();
+        getFileBlobIdsOfWorkingCopy(repository).forEach((path, blobId) -> filesWithInformationAboutChange.put(path, !blobId.equals(templateFiles.get(path))));
+        return filesWithInformationAboutChange;
+    }
 
-        Map<String, File> templateRepoFiles = gitService.listFilesAndFolders(templateRepository).entrySet().stream().filter(entry -> entry.getValue() == FileType.FILE)
-                .collect(Collectors.toMap(entry -> entry.getKey().toString(), Map.Entry::getKey));
+    /**
+     * Collects the blob ids of all regular files in the working copy of the given repository, including uncommitted and untracked files.
+     *
+     * @param repository the checked out repository
+     * @return the blob id per file path
+     * @throws IOException if the working copy cannot be read
+     */
+    private Map<String, ObjectId> getFileBlobIdsOfWorkingCopy(Repository repository) throws IOException {
+        Map<String, ObjectId> blobIds = new HashMap<>();
+        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+            int dirCacheIndex = treeWalk.addTree(new DirCacheIterator(repository.readDirCache()));
+            FileTreeIterator workingTreeIterator = new FileTreeIterator(repository);
+            // reuse the blob ids of the index for files that were not modified since they were staged, instead of hashing their content
+            workingTreeIterator.setDirCacheIterator(treeWalk, dirCacheIndex);
+            int workingTreeIndex = treeWalk.addTree(workingTreeIterator);
+            treeWalk.setRecursive(true);
+            while (treeWalk.next()) {
+                WorkingTreeIterator workingTreeEntry = treeWalk.getTree(workingTreeIndex, WorkingTreeIterator.class);
+                if (workingTreeEntry == null) {
+                    // deleted in the working copy, but still in the index
+                    continue;
+                }
+                FileMode fileMode = workingTreeEntry.getEntryFileMode();
+                if (fileMode == FileMode.REGULAR_FILE || fileMode == FileMode.EXECUTABLE_FILE) {
+                    blobIds.put(treeWalk.getPathString(), workingTreeEntry.getEntryObjectId());
+                }
+            }
+        }
+        return blobIds;
+    }
 
-        repoFiles.forEach(file -> {
-            String fileName = file.toString();
+    /**
+     * Collects the blob ids of all regular files in the latest commit of the given repository. Symbolic links and submodules are skipped, as they are in the working copy.
+     *
+     * @param repository the repository
+     * @return the blob id per file path, empty if the repository does not contain any commit
+     * @throws IOException if the repository cannot be read
+     */
+    private Map<String, ObjectId> getFileBlobIdsOfLastCommit(Repository repository) throws IOException {
+        ObjectId headCommitId = repository.resolve("HEAD");
+        if (headCommitId == null) {
+            log.warn("Cannot resolve HEAD. The repository might be empty.");
+            return Map.of();
+        }
 
-            if (templateRepoFiles.get(fileName) == null) {
-                filesWithInformationAboutChange.put(fileName, true);
-            }
-            else {
-                File templateFile = templateRepoFiles.get(fileName);
-                try {
-                    if (FileUtils.contentEquals(file, templateFile)) {
-                        filesWithInformationAboutChange.put(fileName, false);
-                    }
-                    else {
-                        filesWithInformationAboutChange.put(fileName, true);
-                    }
-                }
-                catch (IOException e) {
-                    log.error("Comparing files '{}' with '{}' failed: {}", fileName, templateFile, e.getMessage());
+        Map<String, ObjectId> blobIds = new HashMap<>();
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(revWalk.parseCommit(headCommitId).getTree());
+            treeWalk.setRecursive(true);
+            while (treeWalk.next()) {
+                FileMode fileMode = treeWalk.getFileMode(0);
+                if (fileMode == FileMode.REGULAR_FILE || fileMode == FileMode.EXECUTABLE_FILE) {
+                    blobIds.put(treeWalk.getPathString(), treeWalk.getObjectId(0));
                 }
             }
-        });
-        return filesWithInformationAboutChange;
+        }
+        return blobIds;
     }
 
     /**
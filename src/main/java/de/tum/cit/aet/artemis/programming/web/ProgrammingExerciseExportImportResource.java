@@ -3,7 +3,6 @@ package de.tum.cit.aet.artemis.programming.web;
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 import static de.tum.cit.aet.artemis.core.util.TimeLogUtil.formatDurationFrom;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
@@ -482,19 +481,17 @@ public class ProgrammingExerciseExportImportResource {
                     .build();
         }
 
-        File zipFile = programmingExerciseExportService.exportStudentRepositoriesToZipFile(programmingExercise, studentParticipations, repositoryExportOptions,
-                participationCommitHashes);
-        if (zipFile == null) {
+        InputStreamResource resource = programmingExerciseExportService.exportStudentRepositoriesAsZipStream(programmingExercise, studentParticipations,
+                repositoryExportOptions, participationCommitHashes);
+        if (resource == null) {
             return ResponseEntity.internalServerError().headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "internalServerError",
                     "There was an error on the server and the zip file could not be created.")).body(null);
         }
 
-        InputStreamResource resource = new InputStreamResource(Files.newInputStream(zipFile.toPath()));
-
-        log.info("Export {} student repositories of programming exercise {} with title '{}' was successful in {}.", studentParticipations.size(), programmingExercise.getId(),
+        log.info("Export {} student repositories of programming exercise {} with title '{}' was prepared in {}.", studentParticipations.size(), programmingExercise.getId(),
                 programmingExercise.getTitle(), formatDurationFrom(start));
 
-        return ResponseEntity.ok().contentLength(zipFile.length()).contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", zipFile.getName()).body(resource);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename()).body(resource);
     }
 
 }
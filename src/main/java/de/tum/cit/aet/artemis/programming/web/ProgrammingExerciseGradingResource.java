@@ -2,8 +2,6 @@ package de.tum.cit.aet.artemis.programming.web;
 
 import static de.tum.cit.aet.artemis.core.config.Constants.PROFILE_CORE;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
@@ -11,14 +9,13 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.account.repository.UserRepository;
-import de.tum.cit.aet.artemis.assessment.domain.Result;
-import de.tum.cit.aet.artemis.assessment.repository.ResultRepository;
 import de.tum.cit.aet.artemis.core.security.Role;
 import de.tum.cit.aet.artemis.core.security.annotations.EnforceAtLeastEditor;
 import de.tum.cit.aet.artemis.core.security.annotations.EnforceAtLeastInstructor;
@@ -28,6 +25,7 @@ import de.tum.cit.aet.artemis.programming.domain.ProgrammingExercise;
 import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseGradingStatisticsDTO;
 import de.tum.cit.aet.artemis.programming.repository.ProgrammingExerciseRepository;
 import de.tum.cit.aet.artemis.programming.service.ProgrammingExerciseGradingService;
+import de.tum.cit.aet.artemis.programming.service.ProgrammingExerciseGradingStatisticsService;
 
 /**
  * REST controller for managing ProgrammingExerciseTestCase. Test cases are created automatically from build run results which is why there are no endpoints available for POST,
@@ -49,15 +47,15 @@ public class ProgrammingExerciseGradingResource {
 
     private final UserRepository userRepository;
 
-    private final ResultRepository resultRepository;
+    private final ProgrammingExerciseGradingStatisticsService gradingStatisticsService;
 
     public ProgrammingExerciseGradingResource(ProgrammingExerciseGradingService programmingExerciseGradingService, ProgrammingExerciseRepository programmingExerciseRepository,
-            AuthorizationCheckService authCheckService, UserRepository userRepository, ResultRepository resultRepository) {
+            AuthorizationCheckService authCheckService, UserRepository userRepository, ProgrammingExerciseGradingStatisticsService gradingStatisticsService) {
         this.programmingExerciseGradingService = programmingExerciseGradingService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.authCheckService = authCheckService;
         this.userRepository = userRepository;
-        this.resultRepository = resultRepository;
+        this.gradingStatisticsService = gradingStatisticsService;
     }
 
     /**
@@ -76,11 +74,11 @@ public class ProgrammingExerciseGradingResource {
 
         authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.INSTRUCTOR, programmingExercise, user);
 
-        List<Result> updatedResults = programmingExerciseGradingService.updateAllResults(programmingExercise);
+        // the results are saved in chunks while they are re-evaluated, the progress is sent via websocket
+        int updatedResultCount = programmingExerciseGradingService.reEvaluateAllResults(programmingExercise);
 
-        programmingExerciseGradingService.logReEvaluate(user, programmingExercise, course, updatedResults);
-        resultRepository.saveAll(updatedResults);
-        return ResponseEntity.ok(updatedResults.size());
+        programmingExerciseGradingService.logReEvaluate(user, programmingExercise, course, updatedResultCount);
+        return ResponseEntity.ok(updatedResultCount);
     }
 
     /**
@@ -97,7 +95,26 @@ public class ProgrammingExerciseGradingResource {
 
         authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.EDITOR, programmingExercise, null);
 
-        var statistics = programmingExerciseGradingService.generateGradingStatistics(exerciseId);
+        var statistics = gradingStatisticsService.getStatistics(exerciseId);
+        return ResponseEntity.ok(statistics);
+    }
+
+    /**
+     * Rebuilds the exercise's test case statistics from the latest automatic results of the students.
+     * The statistics are usually updated with each new result, this is only necessary if they got out of sync.
+     *
+     * @param exerciseId of the exercise.
+     * @return the rebuilt test case statistics for the exercise.
+     */
+    @PostMapping("programming-exercises/{exerciseId}/grading/statistics/rebuild")
+    @EnforceAtLeastEditor
+    public ResponseEntity<ProgrammingExerciseGradingStatisticsDTO> rebuildGradingStatistics(@PathVariable Long exerciseId) {
+        log.debug("REST request to rebuild the test case statistics for programming exercise {}", exerciseId);
+        ProgrammingExercise programmingExercise = programmingExerciseRepository.findByIdElseThrow(exerciseId);
+
+        authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.EDITOR, programmingExercise, null);
+
+        var statistics = gradingStatisticsService.rebuildStatistics(exerciseId);
         return ResponseEntity.ok(statistics);
     }
 
@@ -7,7 +7,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Optional;
 
-import org.eclipse.jgit.api.errors.GitAPIException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -106,8 +105,7 @@ public class ProgrammingExerciseRepositoryExportResource {
         log.info("Export of the repository of type {} programming exercise {} with title '{}' was successful in {}.", repositoryType, programmingExercise.getId(),
                 programmingExercise.getTitle(), formatDurationFrom(start));
 
-        return ResponseEntity.ok().contentLength(resource.contentLength()).contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename())
-                .body(resource);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename()).body(resource);
     }
 
     /**
@@ -145,8 +143,7 @@ public class ProgrammingExerciseRepositoryExportResource {
         log.info("Export of auxiliary repository {} for programming exercise {} with title '{}' was successful in {}.", auxiliaryRepository.getName(), programmingExercise.getId(),
                 programmingExercise.getTitle(), formatDurationFrom(start));
 
-        return ResponseEntity.ok().contentLength(resource.contentLength()).contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename())
-                .body(resource);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename()).body(resource);
     }
 
     /**
@@ -181,24 +178,17 @@ public class ProgrammingExerciseRepositoryExportResource {
                     "Failed to export repository because the repository URI is not defined.")).body(null);
         }
 
-        try {
-            String zippedRepoName = programmingExercise.getCourseViaExerciseGroupOrCourseMember().getShortName() + "-" + programmingExercise.getTitle() + "-"
-                    + repositoryType.getName();
-            zippedRepoName = FileUtil.sanitizeFilename(zippedRepoName);
+        String zippedRepoName = programmingExercise.getCourseViaExerciseGroupOrCourseMember().getShortName() + "-" + programmingExercise.getTitle() + "-"
+                + repositoryType.getName();
+        zippedRepoName = FileUtil.sanitizeFilename(zippedRepoName);
 
-            InputStreamResource zipResource = gitRepositoryExportService.exportRepositorySnapshot(repositoryUri, zippedRepoName);
+        // the archive is created from the bare repository while the response is written
+        InputStreamResource zipResource = gitRepositoryExportService.exportRepositorySnapshot(repositoryUri, zippedRepoName);
 
-            log.info("Successfully exported repository for programming exercise {} with title {} in {} ms", programmingExercise.getId(), programmingExercise.getTitle(),
-                    (System.nanoTime() - start) / 1000000);
+        log.info("Started export of repository for programming exercise {} with title {} after {} ms", programmingExercise.getId(), programmingExercise.getTitle(),
+                (System.nanoTime() - start) / 1000000);
 
-            return ResponseEntity.ok().contentLength(zipResource.contentLength()).contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", zipResource.getFilename())
-                    .body(zipResource);
-        }
-        catch (GitAPIException e) {
-            log.error("Failed to export repository: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "internalServerError", "Failed to export repository: " + e.getMessage())).body(null);
-        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", zipResource.getFilename()).body(zipResource);
     }
 
     /**
@@ -233,10 +223,9 @@ public class ProgrammingExerciseRepositoryExportResource {
                     "Could not export the student repository of participation " + participationId + ". Logged errors: " + exportErrors);
         }
 
-        log.info("Export of student repository for participation {} in programming exercise {} with title '{}' was successful in {}.", participationId, programmingExercise.getId(),
+        log.info("Export of student repository for participation {} in programming exercise {} with title '{}' was started in {}.", participationId, programmingExercise.getId(),
                 programmingExercise.getTitle(), formatDurationFrom(start));
 
-        return ResponseEntity.ok().contentLength(resource.contentLength()).contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename())
-                .body(resource);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).header("filename", resource.getFilename()).body(resource);
     }
 }
@@ -250,9 +250,11 @@ public class RepositoryProgrammingExerciseParticipationResource extends Reposito
             Repository repository = getRepository(participationId, RepositoryActionType.READ, true, false);
             var participation = participationRepository.findByIdElseThrow(participationId);
             var exercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationElseThrow(participation.getExercise().getId());
+            var templateParticipation = exercise.getTemplateParticipation();
+            repositoryAccessService.checkAccessRepositoryElseThrow(templateParticipation, userRepository.getUserWithGroupsAndAuthorities(), exercise, RepositoryActionType.READ);
 
-            Repository templateRepository = getRepository(exercise.getTemplateParticipation().getId(), RepositoryActionType.READ, true, false);
-            var filesWithInformationAboutChange = super.repositoryService.getFilesWithInformationAboutChange(repository, templateRepository);
+            // the working copy of the student contains uncommitted changes of the online editor, the template is read from its bare repository without checking it out
+            var filesWithInformationAboutChange = super.repositoryService.getFilesWithInformationAboutChange(repository, templateParticipation.getVcsRepositoryUri());
             return new ResponseEntity<>(filesWithInformationAboutChange, HttpStatus.OK);
         });
     }
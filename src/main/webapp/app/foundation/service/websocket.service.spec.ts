@@ -1,7 +1,7 @@
 import { TestBed } from '@angular/core/testing';
 import { provideHttpClient } from '@angular/common/http';
 import { provideHttpClientTesting } from '@angular/common/http/testing';
-import { COMPRESSION_HEADER, COMPRESSION_HEADER_KEY, ConnectionState, WebsocketService } from 'app/foundation/service/websocket.service';
+import { ACCEPT_BINARY_COMPRESSION_HEADER_KEY, COMPRESSION_HEADER, COMPRESSION_HEADER_KEY, ConnectionState, WebsocketService } from 'app/foundation/service/websocket.service';
 import { AccountService } from 'app/core/auth/account.service';
 import { MockAccountService } from 'test/helpers/mocks/service/mock-account.service';
 import { RxStompState } from '@stomp/rx-stomp';
@@ -9,6 +9,7 @@ import { BehaviorSubject, EMPTY, filter, firstValueFrom, of } from 'rxjs';
 import { IMessage } from '@stomp/stompjs';
 import { afterEach, beforeEach, describe, expect, it, vi } from 'vitest';
 import { setupTestBed } from '@analogjs/vitest-angular/setup-testbed';
+import { gzipSync, strToU8 } from 'fflate';
 
 // vi.mock is hoisted above imports, so any value its factory references must be created via vi.hoisted().
 const { constructedRxStompClients, watchMock, captureExceptionMock } = vi.hoisted(() => ({
@@ -163,6 +164,21 @@ describe('WebsocketService', () => {
         expect(result).toEqual({ data: 'test' });
     });
 
+    it('subscribes and parses compressed messages sent as binary frames', async () => {
+        const binaryBody = gzipSync(strToU8(JSON.stringify({ data: 'test' })));
+        const message: IMessage = { ...baseMessage, binaryBody, headers: { [COMPRESSION_HEADER_KEY]: 'true', 'content-type': 'application/octet-stream' } };
+        watchMock.mockReturnValue(of(message));
+
+        const result = await firstValueFrom(websocketService.subscribe('/topic/test')!);
+        expect(result).toEqual({ data: 'test' });
+    });
+
+    it('announces support for binary compressed messages when connecting', () => {
+        websocketService.connect();
+        const rxStomp = constructedRxStompClients[0];
+        expect(rxStomp.configure).toHaveBeenCalledWith(expect.objectContaining({ connectHeaders: { [ACCEPT_BINARY_COMPRESSION_HEADER_KEY]: 'true' } }));
+    });
+
     it('reports decompression errors and propagates them', async () => {
         const decodeSpy = vi.spyOn(WebsocketService as any, 'decodeAndDecompress').mockImplementation(() => {
             throw new Error('boom');
@@ -23,6 +23,16 @@ export const COMPRESSION_HEADER_KEY = 'X-Compressed';
  */
 export const COMPRESSION_HEADER: Record<string, string> = { [COMPRESSION_HEADER_KEY]: 'true' };
 
+/**
+ * Name of the STOMP CONNECT header with which the client announces that it accepts compressed messages as binary frames.
+ *
+ * The server then sends compressed messages as raw GZIP bytes with the content type `application/octet-stream` instead of Base64-encoded text
+ * (see {@code BinaryCompressionInterceptor.java} on the server). This is only possible because the client connects without SockJS.
+ */
+export const ACCEPT_BINARY_COMPRESSION_HEADER_KEY = 'X-Accept-Binary-Compression';
+
+const BINARY_CONTENT_TYPE = 'application/octet-stream';
+
 /**
  * Delay in milliseconds before emitting non-OPEN connection states to consumers.
  * This grace period allows brief disconnections to recover without triggering UI warnings.
@@ -304,7 +314,7 @@ export class WebsocketService implements IWebsocketService, OnDestroy {
         const url = `//${window.location.host}/websocket/websocket`;
         const config: RxStompConfig = {
             brokerURL: url,
-            connectHeaders: {} as StompHeaders,
+            connectHeaders: { [ACCEPT_BINARY_COMPRESSION_HEADER_KEY]: 'true' } as StompHeaders,
             heartbeatOutgoing: 10000, // should be identical to the server settings
             heartbeatIncoming: 10000, // should be identical to the server settings
             reconnectDelay: 500, // initial value is quite small, will be increased by ReconnectionTimeMode.EXPONENTIAL
@@ -394,7 +404,7 @@ export class WebsocketService implements IWebsocketService, OnDestroy {
      *
      * The returned function:
      * 1. Checks whether the incoming message is marked as compressed via the {@link COMPRESSION_HEADER_KEY}.
-     * 2. If compressed, attempts to decode and decompress the payload.
+     * 2. If compressed, attempts to decompress the payload, which is either sent as binary frame or Base64-encoded as text frame.
      * 3. Parses the resulting string as JSON into type `T`.
      *
      * @typeParam T Expected type of the parsed message payload.
@@ -406,15 +416,18 @@ export class WebsocketService implements IWebsocketService, OnDestroy {
         return (message: IMessage): T => {
             // this code is invoked if a new websocket message was received from the server, we pass the message to the subscriber (e.g. a component who will be notified and can handle the message)
             const isCompressed = message.headers[COMPRESSION_HEADER_KEY] === 'true';
-            let payload = message.body;
+            let payload: string;
 
             if (isCompressed) {
                 try {
-                    payload = WebsocketService.decodeAndDecompress(payload);
+                    const isBinary = message.headers['content-type']?.startsWith(BINARY_CONTENT_TYPE) ?? false;
+                    payload = isBinary ? strFromU8(gunzipSync(message.binaryBody)) : WebsocketService.decodeAndDecompress(message.body);
                 } catch (error) {
                     captureException(error, { mechanism: { handled: true, type: 'websocket-decompression', data: { message: 'Failed to decompress message' } } });
                     throw error;
                 }
+            } else {
+                payload = message.body;
             }
             return WebsocketService.parseJSON<T>(payload);
         };
@@ -11,7 +11,7 @@ import { CommonModule } from '@angular/common';
 import { TranslateDirective } from 'app/foundation/language/translate.directive';
 import { ArtemisDatePipe } from 'app/foundation/pipes/artemis-date.pipe';
 import { BuildJobStatisticsComponent } from 'app/localci/build-job-statistics/build-job-statistics.component';
-import { BuildJob, BuildJobStatistics, FinishedBuildJob } from 'app/localci/shared/entities/build-job.model';
+import { BuildJob, BuildJobQueueDelta, BuildJobStatistics, FinishedBuildJob, applyBuildJobQueueUpdate } from 'app/localci/shared/entities/build-job.model';
 import { HelpIconComponent } from 'app/shared-ui/components/help-icon/help-icon.component';
 import { ITEMS_PER_PAGE } from 'app/foundation/constants/pagination.constants';
 import { FinishedBuildJobFilter, FinishedBuildsFilterModalComponent } from 'app/localci/build-queue/finished-builds-filter-modal/finished-builds-filter-modal.component';
@@ -223,9 +223,9 @@ export class BuildAgentDetailsComponent implements OnInit, OnDestroy {
             });
 
         // Subscribe to all running jobs and filter to only show jobs for this agent
-        this.runningJobsWebsocketSubscription = this.websocketService.subscribe<BuildJob[]>(this.runningBuildJobsChannel).subscribe((allRunningBuildJobs: BuildJob[]) => {
+        this.runningJobsWebsocketSubscription = this.websocketService.subscribe<BuildJob[] | BuildJobQueueDelta>(this.runningBuildJobsChannel).subscribe((update) => {
             // Filter to only include jobs running on this specific agent
-            const agentRunningJobs = allRunningBuildJobs.filter((buildJob: BuildJob) => buildJob.buildAgent?.name === this.agentName());
+            const agentRunningJobs = applyBuildJobQueueUpdate(this.runningBuildJobs(), update).filter((buildJob: BuildJob) => buildJob.buildAgent?.name === this.agentName());
             if (agentRunningJobs.length > 0) {
                 this.runningBuildJobs.set(this.updateBuildJobDuration(agentRunningJobs));
             } else {
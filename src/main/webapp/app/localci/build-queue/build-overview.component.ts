@@ -1,6 +1,6 @@
 import { ChangeDetectionStrategy, Component, OnDestroy, OnInit, computed, inject, signal, viewChild } from '@angular/core';
 import { ActivatedRoute, Router } from '@angular/router';
-import { BuildJob, FinishedBuildJob } from 'app/localci/shared/entities/build-job.model';
+import { BuildJob, BuildJobQueueDelta, FinishedBuildJob, applyBuildJobQueueUpdate } from 'app/localci/shared/entities/build-job.model';
 import { faFilter, faSync, faTimes } from '@fortawesome/free-solid-svg-icons';
 import { WebsocketService } from 'app/foundation/service/websocket.service';
 import { BuildOverviewService } from 'app/localci/build-queue/build-overview.service';
@@ -236,13 +236,13 @@ export class BuildOverviewComponent implements OnInit, OnDestroy {
             const runningJobsTopic = `/topic/courses/${courseId}/running-jobs`;
             const finishedJobsTopic = `/topic/courses/${courseId}/finished-jobs`;
             this.websocketSubscriptions.push(
-                this.websocketService.subscribe<BuildJob[]>(queuedJobsTopic).subscribe((queuedBuildJobs: BuildJob[]) => {
-                    this.queuedBuildJobs.set(queuedBuildJobs);
+                this.websocketService.subscribe<BuildJob[] | BuildJobQueueDelta>(queuedJobsTopic).subscribe((update: BuildJob[] | BuildJobQueueDelta) => {
+                    this.queuedBuildJobs.set(applyBuildJobQueueUpdate(this.queuedBuildJobs(), update));
                 }),
             );
             this.websocketSubscriptions.push(
-                this.websocketService.subscribe<BuildJob[]>(runningJobsTopic).subscribe((runningBuildJobs: BuildJob[]) => {
-                    this.runningBuildJobs.set(this.updateBuildJobDuration(runningBuildJobs));
+                this.websocketService.subscribe<BuildJob[] | BuildJobQueueDelta>(runningJobsTopic).subscribe((update: BuildJob[] | BuildJobQueueDelta) => {
+                    this.runningBuildJobs.set(this.updateBuildJobDuration(applyBuildJobQueueUpdate(this.runningBuildJobs(), update)));
                 }),
             );
             this.websocketSubscriptions.push(
@@ -253,13 +253,13 @@ export class BuildOverviewComponent implements OnInit, OnDestroy {
         } else {
             // Admin mode: subscribe to global admin channels for all courses
             this.websocketSubscriptions.push(
-                this.websocketService.subscribe<BuildJob[]>(`/topic/admin/queued-jobs`).subscribe((queuedBuildJobs: BuildJob[]) => {
-                    this.queuedBuildJobs.set(queuedBuildJobs);
+                this.websocketService.subscribe<BuildJob[] | BuildJobQueueDelta>(`/topic/admin/queued-jobs`).subscribe((update: BuildJob[] | BuildJobQueueDelta) => {
+                    this.queuedBuildJobs.set(applyBuildJobQueueUpdate(this.queuedBuildJobs(), update));
                 }),
             );
             this.websocketSubscriptions.push(
-                this.websocketService.subscribe<BuildJob[]>(`/topic/admin/running-jobs`).subscribe((runningBuildJobs: BuildJob[]) => {
-                    this.runningBuildJobs.set(this.updateBuildJobDuration(runningBuildJobs));
+                this.websocketService.subscribe<BuildJob[] | BuildJobQueueDelta>(`/topic/admin/running-jobs`).subscribe((update: BuildJob[] | BuildJobQueueDelta) => {
+                    this.runningBuildJobs.set(this.updateBuildJobDuration(applyBuildJobQueueUpdate(this.runningBuildJobs(), update)));
                 }),
             );
             this.websocketSubscriptions.push(
@@ -0,0 +1,28 @@
+import { describe, expect, it } from 'vitest';
+import { BuildJob, applyBuildJobQueueUpdate } from 'app/localci/shared/entities/build-job.model';
+
+describe('applyBuildJobQueueUpdate', () => {
+    const job = (id: string, status?: string): BuildJob => ({ id, status }) as BuildJob;
+
+    it('should replace the known jobs with a full job list', () => {
+        const fullList = [job('3')];
+
+        expect(applyBuildJobQueueUpdate([job('1'), job('2')], fullList)).toEqual(fullList);
+    });
+
+    it('should apply added, updated and removed jobs of a delta', () => {
+        const result = applyBuildJobQueueUpdate([job('1', 'QUEUED'), job('2', 'QUEUED')], {
+            added: [job('3', 'QUEUED')],
+            updated: [job('2', 'PROCESSING')],
+            removed: ['1'],
+        });
+
+        expect(result).toEqual([job('2', 'PROCESSING'), job('3', 'QUEUED')]);
+    });
+
+    it('should not duplicate an added job that is already known', () => {
+        const result = applyBuildJobQueueUpdate([job('1', 'QUEUED'), job('2', 'QUEUED')], { added: [job('1', 'PROCESSING')] });
+
+        expect(result).toEqual([job('2', 'QUEUED'), job('1', 'PROCESSING')]);
+    });
+});
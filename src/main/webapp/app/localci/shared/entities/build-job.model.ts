@@ -22,6 +22,35 @@ export class BuildJob implements StringBaseEntity {
     public submissionResult?: Result;
 }
 
+/**
+ * The changes of the queued or running build jobs since the previous websocket message to the same topic.
+ * The server only sends these instead of the full job lists if sending deltas is enabled.
+ */
+export class BuildJobQueueDelta {
+    public added?: BuildJob[];
+    public updated?: BuildJob[];
+    public removed?: string[];
+}
+
+/**
+ * Applies a websocket message of a queued or running build jobs topic, which is either the full job list or the changes since the previous message.
+ *
+ * @param buildJobs the currently known build jobs
+ * @param update the full job list or the changes of the job list
+ * @returns the updated build jobs
+ */
+export function applyBuildJobQueueUpdate(buildJobs: BuildJob[], update: BuildJob[] | BuildJobQueueDelta): BuildJob[] {
+    if (Array.isArray(update)) {
+        return update;
+    }
+    const addedJobs = update.added ?? [];
+    // an added job replaces a known job with the same id, e.g. if a job was requeued or a delta was applied twice
+    const replacedIds = new Set([...(update.removed ?? []), ...addedJobs.map((buildJob) => buildJob.id!)]);
+    const updatedJobs = new Map((update.updated ?? []).map((buildJob) => [buildJob.id, buildJob]));
+    const remainingJobs = buildJobs.filter((buildJob) => !replacedIds.has(buildJob.id!)).map((buildJob) => updatedJobs.get(buildJob.id) ?? buildJob);
+    return [...remainingJobs, ...addedJobs];
+}
+
 export class FinishedBuildJob implements StringBaseEntity {
     public id?: string;
     public name?: string;
@@ -0,0 +1,190 @@
+package de.tum.cit.aet.artemis.admin.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import de.tum.cit.aet.artemis.admin.domain.GraphType;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsRollup;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsRollupGranularity;
+import de.tum.cit.aet.artemis.admin.domain.StatisticsView;
+import de.tum.cit.aet.artemis.admin.dto.StatisticsEntry;
+import de.tum.cit.aet.artemis.admin.repository.StatisticsRepository;
+import de.tum.cit.aet.artemis.admin.repository.StatisticsRollupRepository;
+import de.tum.cit.aet.artemis.assessment.domain.AssessmentType;
+import de.tum.cit.aet.artemis.assessment.repository.GradingScaleRepository;
+import de.tum.cit.aet.artemis.assessment.repository.ParticipantScoreRepository;
+import de.tum.cit.aet.artemis.core.domain.SpanType;
+import de.tum.cit.aet.artemis.course.domain.Course;
+import de.tum.cit.aet.artemis.exercise.participation.util.ParticipationUtilService;
+import de.tum.cit.aet.artemis.exercise.repository.TeamRepository;
+import de.tum.cit.aet.artemis.exercise.test_repository.StudentParticipationTestRepository;
+import de.tum.cit.aet.artemis.modeling.util.ModelingExerciseUtilService;
+import de.tum.cit.aet.artemis.shared.base.AbstractSpringIntegrationIndependentTest;
+import de.tum.cit.aet.artemis.text.domain.TextExercise;
+import de.tum.cit.aet.artemis.text.domain.TextSubmission;
+import de.tum.cit.aet.artemis.text.util.TextExerciseUtilService;
+
+class StatisticsRollupServiceTest extends AbstractSpringIntegrationIndependentTest {
+
+    private static final String TEST_PREFIX = "statisticsrollup";
+
+    @Autowired
+    private StatisticsRollupService statisticsRollupService;
+
+    @Autowired
+    private StatisticsRollupRepository statisticsRollupRepository;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private StatisticsRepository statisticsRepository;
+
+    @Autowired
+    private ParticipantScoreRepository participantScoreRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private StudentParticipationTestRepository studentParticipationRepository;
+
+    @Autowired
+    private GradingScaleRepository gradingScaleRepository;
+
+    @Autowired
+    private ModelingExerciseUtilService modelingExerciseUtilService;
+
+    @Autowired
+    private TextExerciseUtilService textExerciseUtilService;
+
+    @Autowired
+    private ParticipationUtilService participationUtilService;
+
+    private Course course;
+
+    private TextExercise exercise;
+
+    @BeforeEach
+    void initTestCase() {
+        userUtilService.addUsers(TEST_PREFIX, 2, 1, 0, 1);
+        course = modelingExerciseUtilService.addCourseWithOneModelingExercise();
+        ZonedDateTime pastTimestamp = ZonedDateTime.now().minusDays(5);
+        exercise = textExerciseUtilService.createIndividualTextExercise(course, pastTimestamp, pastTimestamp, pastTimestamp);
+    }
+
+    @Test
+    void testUpdateRecentRollupsCountsSubmissionsAndActiveUsersPerScope() {
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 1; i <= 2; i++) {
+            TextSubmission submission = new TextSubmission();
+            submission.submissionDate(now);
+            var savedSubmission = participationUtilService.addSubmission(exercise, submission, TEST_PREFIX + "student" + i);
+            participationUtilService.addResultToSubmission(savedSubmission, AssessmentType.MANUAL);
+        }
+
+        statisticsRollupService.updateRecentRollups(now);
+
+        ZonedDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+        assertThat(amountOf(GraphType.SUBMISSIONS, StatisticsView.EXERCISE, exercise.getId(), StatisticsRollupGranularity.HOUR, hour)).isEqualTo(2);
+        assertThat(amountOf(GraphType.SUBMISSIONS, StatisticsView.COURSE, course.getId(), StatisticsRollupGranularity.HOUR, hour)).isEqualTo(2);
+        assertThat(amountOf(GraphType.ACTIVE_USERS, StatisticsView.COURSE, course.getId(), StatisticsRollupGranularity.HOUR, hour)).isEqualTo(2);
+
+        ZonedDateTime day = now.truncatedTo(ChronoUnit.DAYS);
+        assertThat(amountOf(GraphType.CREATED_RESULTS, StatisticsView.EXERCISE, exercise.getId(), StatisticsRollupGranularity.DAY, day)).isEqualTo(2);
+    }
+
+    @Test
+    void testUpdateRecentRollupsIsIdempotent() {
+        ZonedDateTime now = ZonedDateTime.now();
+        TextSubmission submission = new TextSubmission();
+        submission.submissionDate(now);
+        participationUtilService.addSubmission(exercise, submission, TEST_PREFIX + "student1");
+
+        statisticsRollupService.updateRecentRollups(now);
+        statisticsRollupService.updateRecentRollups(now);
+
+        ZonedDateTime day = now.truncatedTo(ChronoUnit.DAYS);
+        assertThat(amountOf(GraphType.SUBMISSIONS, StatisticsView.EXERCISE, exercise.getId(), StatisticsRollupGranularity.DAY, day)).isEqualTo(1);
+    }
+
+    @Test
+    void testGraphsAreNotServedFromDisabledRollups() {
+        // the rollups are disabled by default, so the charts keep using the live data
+        assertThat(statisticsRollupService.isServedFromRollups(GraphType.SUBMISSIONS, SpanType.WEEK, StatisticsView.COURSE)).isFalse();
+    }
+
+    @Test
+    void testGlobalEntityIdIsUsedForInstanceWideScope() {
+        ZonedDateTime now = ZonedDateTime.now();
+        TextSubmission submission = new TextSubmission();
+        submission.submissionDate(now);
+        participationUtilService.addSubmission(exercise, submission, TEST_PREFIX + "student1");
+
+        statisticsRollupService.updateRecentRollups(now);
+
+        ZonedDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+        assertThat(amountOf(GraphType.SUBMISSIONS, StatisticsView.ARTEMIS, StatisticsRollup.GLOBAL_ENTITY_ID, StatisticsRollupGranularity.HOUR, hour)).isPositive();
+    }
+
+    /**
+     * Compares the charts served from the rollups with the charts of the live queries. The data contains submissions right before and after an hour and a day boundary,
+     * and the current hour and day are only partially filled when they are rolled up.
+     *
+     * @param graphType the graph type that is read from the rollups
+     */
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @EnumSource(value = GraphType.class, names = { "SUBMISSIONS", "ACTIVE_USERS" })
+    void testChartDataFromRollupsEqualsLiveData(GraphType graphType) {
+        // the rollups are disabled in the test configuration, the service is created manually so that the backfill runs synchronously
+        var enabledRollupService = new StatisticsRollupService(statisticsRepository, statisticsRollupRepository, true);
+        var rollupStatisticsService = new StatisticsService(statisticsRepository, participantScoreRepository, courseRepository, exerciseRepository, userTestRepository,
+                teamRepository, studentParticipationRepository, gradingScaleRepository, enabledRollupService);
+
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime currentDay = now.truncatedTo(ChronoUnit.DAYS);
+        ZonedDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        addSubmission(currentDay.minusSeconds(1), "student1");
+        addSubmission(currentDay, "student2");
+        addSubmission(currentHour.minusSeconds(1), "student1");
+        addSubmission(currentHour, "student2");
+        enabledRollupService.backfill(currentDay.minusDays(1), now);
+
+        // a submission of the current hour that arrives after the backfill is picked up by the next scheduled update
+        addSubmission(now, "student1");
+        enabledRollupService.updateRecentRollups(now);
+
+        assertThat(rollupStatisticsService.getChartData(SpanType.DAY, 0, graphType, StatisticsView.EXERCISE, exercise.getId())).anyMatch(amount -> amount > 0);
+        for (StatisticsView view : List.of(StatisticsView.COURSE, StatisticsView.EXERCISE)) {
+            long entityId = view == StatisticsView.COURSE ? course.getId() : exercise.getId();
+            for (SpanType span : List.of(SpanType.DAY, SpanType.WEEK, SpanType.MONTH)) {
+                assertThat(enabledRollupService.isServedFromRollups(graphType, span, view)).isTrue();
+                for (int periodIndex : List.of(0, -1)) {
+                    var liveChart = statisticsService.getChartData(span, periodIndex, graphType, view, entityId);
+                    var rollupChart = rollupStatisticsService.getChartData(span, periodIndex, graphType, view, entityId);
+                    assertThat(rollupChart).as("%s chart of the %s view for period %d", span, view, periodIndex).isEqualTo(liveChart);
+                }
+            }
+        }
+    }
+
+    private void addSubmission(ZonedDateTime submissionDate, String student) {
+        TextSubmission submission = new TextSubmission();
+        submission.submissionDate(submissionDate);
+        participationUtilService.addSubmission(exercise, submission, TEST_PREFIX + student);
+    }
+
+    private long amountOf(GraphType graphType, StatisticsView scope, long entityId, StatisticsRollupGranularity granularity, ZonedDateTime bucketStart) {
+        List<StatisticsEntry> entries = statisticsRollupRepository.findEntries(graphType, scope, entityId, granularity, bucketStart, bucketStart);
+        return entries.stream().mapToLong(StatisticsEntry::getAmount).sum();
+    }
+}
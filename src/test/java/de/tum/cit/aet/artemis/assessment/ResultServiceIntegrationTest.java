@@ -640,6 +640,39 @@ class ResultServiceIntegrationTest extends AbstractSpringIntegrationLocalCILocal
         assertThat(assessments[1].inTime()).isEqualTo(1);    // correction round 2
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void testGetAssessmentCountsPerExerciseOfCourse() {
+        var now = ZonedDateTime.now();
+        TextExercise textExercise = TextExerciseFactory.generateTextExercise(now.minusDays(1), now.minusHours(2), now.plusHours(2), course);
+        textExercise = textExerciseRepository.save(textExercise);
+
+        StudentParticipation studentParticipation = new StudentParticipation();
+        studentParticipation.setParticipant(userTestRepository.findOneByLogin(TEST_PREFIX + "student1").orElseThrow());
+        studentParticipation.setExercise(textExercise);
+        studentParticipationRepository.save(studentParticipation);
+
+        TextSubmission textSubmission = new TextSubmission();
+        textSubmission.setParticipation(studentParticipation);
+        textSubmission.setSubmitted(true);
+        textSubmission.setSubmissionDate(now.minusHours(3));
+        textSubmission.setText("abc");
+        textSubmission = submissionRepository.save(textSubmission);
+
+        var result = participationUtilService.addResultToSubmission(AssessmentType.MANUAL, ZonedDateTime.now(), textSubmission, TEST_PREFIX + "tutor1", new ArrayList<>());
+        result.setRated(true);
+        result.setSubmission(textSubmission);
+        textSubmission.addResult(resultRepository.save(result));
+        submissionRepository.save(textSubmission);
+
+        final long textExerciseId = textExercise.getId();
+        var assessmentCounts = resultRepository.countFinishedAssessmentsPerExerciseByCourseIdIgnoreTestRuns(course.getId());
+        assertThat(assessmentCounts).filteredOn(counts -> counts.exerciseId() == textExerciseId).singleElement().satisfies(counts -> {
+            assertThat(counts.numberOfFirstRoundAssessments()).isEqualTo(1);
+            assertThat(counts.numberOfSecondRoundAssessments()).isZero();
+        });
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
     void testGetAssessmentCountByCorrectionRoundForProgrammingExercise() {
@@ -1,5 +1,6 @@
 package de.tum.cit.aet.artemis.communication;
 
+import static de.tum.cit.aet.artemis.communication.util.ConversationWebsocketMatchers.personalConversationTopics;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.any;
@@ -143,7 +144,7 @@ class AnswerMessageIntegrationTest extends AbstractSpringIntegrationIndependentT
         assertThat(answerPostRepository.count()).isEqualTo(countBefore + 1);
 
         // both conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")), (Object) argThat(
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)), (Object) argThat(
                 argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(existingConversationPostsWithAnswers.get(2)))));
     }
 
@@ -218,9 +219,16 @@ class AnswerMessageIntegrationTest extends AbstractSpringIntegrationIndependentT
         checkCreatedAnswerPost(answerPostToSave, createdAnswerPost);
         assertThat(answerPostRepository.count()).isEqualTo(countBefore + 1);
 
-        // conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(wantedNumberOfWSMessages)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
-                (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(savedMessage))));
+        // conversation participants should be notified, either on the course-wide topic or on their personal topics with a single multicast
+        if (channel.getIsCourseWide()) {
+            verify(websocketMessagingService, timeout(2000).times(wantedNumberOfWSMessages)).sendMessage(
+                    argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
+                    (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(savedMessage))));
+        }
+        else {
+            verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(wantedNumberOfWSMessages)),
+                    (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(savedMessage))));
+        }
 
     }
 
@@ -250,7 +258,7 @@ class AnswerMessageIntegrationTest extends AbstractSpringIntegrationIndependentT
         assertThat(answerPostRepository.count()).isEqualTo(countBefore + 1);
 
         // both conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")), (Object) argThat(
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)), (Object) argThat(
                 argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(existingConversationPostsWithAnswers.get(2)))));
     }
 
@@ -338,7 +346,7 @@ class AnswerMessageIntegrationTest extends AbstractSpringIntegrationIndependentT
         assertThat(updatedAnswerPost.id()).isEqualTo(conversationAnswerPostToUpdate.getId());
 
         // both conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")), (Object) argThat(
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)), (Object) argThat(
                 argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(conversationAnswerPostToUpdate.getPost()))));
     }
 
@@ -647,7 +655,7 @@ class AnswerMessageIntegrationTest extends AbstractSpringIntegrationIndependentT
         assertThat(answerPostRepository.findById(conversationAnswerPostToDelete.getId())).isEmpty();
 
         // both conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")), (Object) argThat(
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)), (Object) argThat(
                 argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(existingConversationPostsWithAnswers.get(2)))));
     }
 
@@ -1,6 +1,7 @@
 package de.tum.cit.aet.artemis.communication;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -14,6 +15,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.util.LinkedMultiValueMap;
@@ -28,6 +30,7 @@ import de.tum.cit.aet.artemis.communication.dto.ConversationUserDTO;
 import de.tum.cit.aet.artemis.communication.dto.GroupChatDTO;
 import de.tum.cit.aet.artemis.communication.dto.OneToOneChatDTO;
 import de.tum.cit.aet.artemis.communication.dto.ResponsibleUserDTO;
+import de.tum.cit.aet.artemis.communication.service.conversation.ConversationSummaryCacheService;
 import de.tum.cit.aet.artemis.communication.util.ConversationUtilService;
 import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.course.domain.CourseInformationSharingConfiguration;
@@ -54,6 +57,9 @@ class ConversationIntegrationTest extends AbstractConversationTest {
     @Autowired
     private ConversationUtilService conversationUtilService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private List<User> users = List.of();
 
     @BeforeEach
@@ -169,11 +175,14 @@ class ConversationIntegrationTest extends AbstractConversationTest {
 
         var courseWideChannel = createChannel(false, TEST_PREFIX + "2");
         conversationUtilService.createCourseWideChannel(exampleCourse, "course-wide");
+        clearConversationSummaryCaches();
         // then
         // TODO: Hibernate 7 increased query count from 10 to 11 — investigate remaining 1 extra query in a follow-up
         // 4 calls are for user authentication checks, 6 calls are made for retrieving conversation related data
         // + 1 additional query from Hibernate 7 entity loading changes
         assertThatDb(() -> request.getList("/api/communication/courses/" + exampleCourseId + "/conversations", HttpStatus.OK, ConversationDTO.class)).hasBeenCalledTimes(11);
+        // the user and general information about the conversations and the number of course members are cached now
+        assertThatDb(() -> request.getList("/api/communication/courses/" + exampleCourseId + "/conversations", HttpStatus.OK, ConversationDTO.class)).hasBeenCalledTimes(8);
 
         // cleanup
         conversationMessageRepository.deleteById(post.id());
@@ -183,6 +192,32 @@ class ConversationIntegrationTest extends AbstractConversationTest {
         conversationRepository.deleteById(courseWideChannel.getId());
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void getConversationsOfUser_shouldUpdateCachedSummariesOnNewMessagesAndReadState() throws Exception {
+        // given
+        var groupChat = createGroupChat("tutor1");
+
+        userUtilService.changeUser(testPrefix + "tutor1");
+        assertThat(getUnreadMessagesCount(groupChat.getId())).isZero();
+
+        // when
+        userUtilService.changeUser(testPrefix + "instructor1");
+        var post = this.postInConversation(groupChat.getId(), "instructor1");
+
+        // then
+        userUtilService.changeUser(testPrefix + "tutor1");
+        // the unread messages are updated after the message creation asynchronously, the requests need the security context of the test thread
+        await().pollInSameThread().untilAsserted(() -> assertThat(getUnreadMessagesCount(groupChat.getId())).isEqualTo(1));
+
+        request.patch("/api/communication/courses/" + exampleCourseId + "/conversations/" + groupChat.getId() + "/mark-as-read", null, HttpStatus.OK);
+        assertThat(getUnreadMessagesCount(groupChat.getId())).isZero();
+
+        // cleanup
+        conversationMessageRepository.deleteById(post.id());
+        conversationRepository.deleteById(groupChat.getId());
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
     void getConversationsOfUser_onlyChannelsIfMessagingDisabled() throws Exception {
@@ -642,4 +677,14 @@ class ConversationIntegrationTest extends AbstractConversationTest {
             request.put("/api/communication/courses/" + courseId + "/enable?withMessaging=true", null, HttpStatus.OK);
         }
     }
+
+    private long getUnreadMessagesCount(long conversationId) throws Exception {
+        var conversations = request.getList("/api/communication/courses/" + exampleCourseId + "/conversations", HttpStatus.OK, ConversationDTO.class);
+        return conversations.stream().filter(conversation -> conversation.getId().equals(conversationId)).findFirst().orElseThrow().getUnreadMessagesCount();
+    }
+
+    private void clearConversationSummaryCaches() {
+        cacheManager.getCache(ConversationSummaryCacheService.USER_CONVERSATION_INFO_CACHE).clear();
+        cacheManager.getCache(ConversationSummaryCacheService.GENERAL_CONVERSATION_INFO_CACHE).clear();
+    }
 }
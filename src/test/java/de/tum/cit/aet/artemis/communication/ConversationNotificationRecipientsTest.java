@@ -0,0 +1,65 @@
+package de.tum.cit.aet.artemis.communication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.communication.domain.ConversationNotificationRecipientSummary;
+import de.tum.cit.aet.artemis.communication.domain.ConversationNotificationRecipients;
+
+class ConversationNotificationRecipientsTest {
+
+    private static final long AUTHOR_ID = 1L;
+
+    @Test
+    void shouldExcludeAuthorMentionedHiddenAndMutedRecipientsFromPostNotification() {
+        var recipientSummaries = Set.of(summary(AUTHOR_ID, false, false, true), summary(2L, false, false, false), summary(3L, true, false, false),
+                summary(4L, false, true, false), summary(5L, false, false, false));
+
+        var recipients = ConversationNotificationRecipients.partition(recipientSummaries, AUTHOR_ID, List.of(5L), false, true);
+
+        assertThat(recipients.recipientIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(recipients.notificationRecipients()).extracting(User::getId).containsExactly(2L);
+        assertThat(recipients.notificationRecipients().getFirst().getLogin()).isEqualTo("user2");
+    }
+
+    @Test
+    void shouldOnlyNotifyTutorsIfConversationIsNotVisibleToStudents() {
+        var recipientSummaries = Set.of(summary(2L, false, false, false), summary(3L, false, false, true));
+
+        var recipients = ConversationNotificationRecipients.partition(recipientSummaries, AUTHOR_ID, List.of(), false, false);
+
+        assertThat(recipients.notificationRecipients()).extracting(User::getId).containsExactly(3L);
+    }
+
+    @Test
+    void shouldNotifyAllRecipientsExceptAuthorAboutAnnouncements() {
+        var recipientSummaries = Set.of(summary(AUTHOR_ID, false, false, true), summary(2L, true, true, false), summary(3L, false, false, false));
+
+        var recipients = ConversationNotificationRecipients.partition(recipientSummaries, AUTHOR_ID, List.of(3L), true, false);
+
+        assertThat(recipients.notificationRecipients()).extracting(User::getId).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(recipients.notificationRecipients()).extracting(User::getEmail).containsExactlyInAnyOrder("user2@test.de", "user3@test.de");
+    }
+
+    @Test
+    void shouldPartitionRecipientsOfLargeChannels() {
+        var recipientSummaries = LongStream.rangeClosed(1, 5000).mapToObj(userId -> summary(userId, userId % 10 == 0, false, false)).toList();
+        var mentionedUserIds = LongStream.rangeClosed(1, 500).map(index -> index * 7).boxed().toList();
+
+        var recipients = ConversationNotificationRecipients.partition(recipientSummaries, AUTHOR_ID, mentionedUserIds, false, true);
+
+        var expectedUserIds = LongStream.rangeClosed(2, 5000).filter(userId -> userId % 10 != 0 && (userId % 7 != 0 || userId > 3500)).boxed().toList();
+        assertThat(recipients.recipientIds()).hasSize(5000);
+        assertThat(recipients.notificationRecipients()).extracting(User::getId).containsExactlyElementsOf(expectedUserIds);
+    }
+
+    private static ConversationNotificationRecipientSummary summary(long userId, boolean isMuted, boolean isHidden, boolean isAtLeastTutor) {
+        return new ConversationNotificationRecipientSummary(userId, "user" + userId, "First", "Last", "en", "user" + userId + "@test.de", isMuted, isHidden, isAtLeastTutor);
+    }
+}
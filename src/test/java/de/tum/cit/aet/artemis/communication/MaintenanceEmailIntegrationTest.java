@@ -41,6 +41,7 @@ import de.tum.cit.aet.artemis.notification.repository.GlobalNotificationSettingR
 import de.tum.cit.aet.artemis.notification.repository.MaintenanceEmailRecipientRepository;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.shared.base.AbstractSpringIntegrationIndependentTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Integration tests that verify maintenance email notifications are delivered with correct content
@@ -89,7 +90,7 @@ class MaintenanceEmailIntegrationTest extends AbstractSpringIntegrationIndepende
         var mailEnabledProperties = new ArtemisProperties();
         mailEnabledProperties.getMail().setFrom("test@greenmail.test");
 
-        testMailService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine);
+        testMailService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine, new SimpleMeterRegistry());
         ReflectionTestUtils.setField(testMailService, "artemisServerUrl", new URL("http://localhost:9000"));
 
         recipient = new User();
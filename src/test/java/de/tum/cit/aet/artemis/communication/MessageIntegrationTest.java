@@ -1,5 +1,7 @@
 package de.tum.cit.aet.artemis.communication;
 
+import static de.tum.cit.aet.artemis.communication.util.ConversationWebsocketMatchers.containsPersonalConversationTopicsOf;
+import static de.tum.cit.aet.artemis.communication.util.ConversationWebsocketMatchers.personalConversationTopics;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.any;
@@ -38,6 +40,7 @@ import de.tum.cit.aet.artemis.communication.domain.ConversationParticipant;
 import de.tum.cit.aet.artemis.communication.domain.DisplayPriority;
 import de.tum.cit.aet.artemis.communication.domain.Post;
 import de.tum.cit.aet.artemis.communication.domain.PostSortCriterion;
+import de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode;
 import de.tum.cit.aet.artemis.communication.domain.conversation.Channel;
 import de.tum.cit.aet.artemis.communication.domain.conversation.Conversation;
 import de.tum.cit.aet.artemis.communication.domain.conversation.OneToOneChat;
@@ -52,7 +55,9 @@ import de.tum.cit.aet.artemis.communication.dto.PostResponseDTO;
 import de.tum.cit.aet.artemis.communication.dto.UpdatePostingDTO;
 import de.tum.cit.aet.artemis.communication.repository.ConversationMessageRepository;
 import de.tum.cit.aet.artemis.communication.test_repository.ConversationParticipantTestRepository;
+import de.tum.cit.aet.artemis.communication.test_repository.ConversationTestRepository;
 import de.tum.cit.aet.artemis.communication.test_repository.OneToOneChatTestRepository;
+import de.tum.cit.aet.artemis.communication.util.ConversationFactory;
 import de.tum.cit.aet.artemis.communication.util.ConversationUtilService;
 import de.tum.cit.aet.artemis.core.dto.SortingOrder;
 import de.tum.cit.aet.artemis.core.security.SecurityUtils;
@@ -78,6 +83,9 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
     @Autowired
     private ConversationParticipantTestRepository conversationParticipantRepository;
 
+    @Autowired
+    private ConversationTestRepository conversationRepository;
+
     @Autowired
     private ConversationUtilService conversationUtilService;
 
@@ -164,7 +172,7 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
         assertThat(conversationMessageRepository.findMessages(postContextFilter, Pageable.unpaged(), requestingUser.getId())).hasSize(1);
 
         // both conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)),
                 (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(createdPost))));
     }
 
@@ -209,7 +217,7 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
         checkCreatedMessagePost(postToSave, createdPost);
 
         // conversation participants should be notified individually
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)),
                 (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(createdPost))));
         verify(websocketMessagingService, never()).sendMessage(eq("/topic/metis/courses/" + courseId), any(PostBroadcastDTO.class));
     }
@@ -287,9 +295,8 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
         checkCreatedMessagePost(postToSave, createdPost);
 
         // both users are updated
-        verify(websocketMessagingService, timeout(2000)).sendMessage(eq("/topic/user/" + author.getUser().getId() + "/notifications/conversations"),
-                (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(createdPost))));
-        verify(websocketMessagingService, timeout(2000)).sendMessage(eq("/topic/user/" + mentionedUserParticipant.getUser().getId() + "/notifications/conversations"),
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(
+                argThat(containsPersonalConversationTopicsOf(author.getUser().getId(), mentionedUserParticipant.getUser().getId())),
                 (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(createdPost))));
     }
 
@@ -592,7 +599,7 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
         assertThat(updatedPost.content()).isEqualTo(conversationPostToUpdate.getContent());
 
         // both conversation participants should be notified about the update
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)),
                 (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(updatedPost))));
     }
 
@@ -634,7 +641,7 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
         assertThat(updatedPost.content()).isEqualTo(postToUpdate.getContent());
 
         // both conversation participants should be notified about the update
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)),
                 (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(updatedPost))));
     }
 
@@ -664,7 +671,7 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
 
         assertThat(conversationMessageRepository.findById(conversationPostToDelete.getId())).isEmpty();
         // both conversation participants should be notified
-        verify(websocketMessagingService, timeout(2000).times(2)).sendMessage(argThat((String topic) -> topic != null && !topic.startsWith("/topic/metis/")),
+        verify(websocketMessagingService, timeout(2000)).multicastMessage(argThat(personalConversationTopics(2)),
                 (Object) argThat(argument -> argument instanceof PostBroadcastDTO postBroadcastDTO && idOf(postBroadcastDTO.post()).equals(idOf(conversationPostToDelete))));
     }
 
@@ -800,6 +807,69 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
         });
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
+    void testSequenceUnreadTrackingInCourseWideChannel() throws Exception {
+        var student1 = userTestRepository.findOneByLogin(TEST_PREFIX + "student1").orElseThrow();
+        var student2 = userTestRepository.findOneByLogin(TEST_PREFIX + "student2").orElseThrow();
+        Channel channel = ConversationFactory.generatePublicChannel(course, "sequence", true);
+        channel.setUnreadTracking(UnreadTrackingMode.SEQUENCE);
+        Channel savedChannel = conversationRepository.save(channel);
+        conversationParticipantRepository.save(ConversationParticipant.createWithDefaultValues(student1, savedChannel));
+        conversationParticipantRepository.save(ConversationParticipant.createWithDefaultValues(student2, savedChannel));
+
+        for (int i = 0; i < 2; i++) {
+            Post postToSave = new Post();
+            postToSave.setAuthor(student1);
+            postToSave.setConversation(savedChannel);
+            postToSave.setContent("message " + i);
+            createPostAndAwaitAsyncCode(postToSave);
+        }
+
+        await().untilAsserted(() -> {
+            SecurityUtils.setAuthorizationObject();
+            assertThat(getUnreadMessagesCountOfChannel(savedChannel.getId(), student1)).isZero();
+            assertThat(getUnreadMessagesCountOfChannel(savedChannel.getId(), student2)).isEqualTo(2);
+        });
+        // new messages only increment the message sequence of the channel, the counters of the participants are not updated
+        var participantOfStudent2 = conversationParticipantRepository.findConversationParticipantByConversationIdAndUserId(savedChannel.getId(), student2.getId()).orElseThrow();
+        assertThat(participantOfStudent2.getUnreadMessagesCount()).isZero();
+
+        userUtilService.changeUser(TEST_PREFIX + "student2");
+        request.patch("/api/communication/courses/" + courseId + "/conversations/" + savedChannel.getId() + "/mark-as-read", null, HttpStatus.OK);
+        await().untilAsserted(() -> {
+            SecurityUtils.setAuthorizationObject();
+            assertThat(getUnreadMessagesCountOfChannel(savedChannel.getId(), student2)).isZero();
+        });
+    }
+
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
+    void testSequenceUnreadTrackingDoesNotMarkConcurrentMessageAsReadForAuthor() {
+        var student1 = userTestRepository.findOneByLogin(TEST_PREFIX + "student1").orElseThrow();
+        var student2 = userTestRepository.findOneByLogin(TEST_PREFIX + "student2").orElseThrow();
+        Channel channel = ConversationFactory.generatePublicChannel(course, "concurrent", true);
+        channel.setUnreadTracking(UnreadTrackingMode.SEQUENCE);
+        Channel savedChannel = conversationRepository.save(channel);
+        conversationParticipantRepository.save(ConversationParticipant.createWithDefaultValues(student1, savedChannel));
+        conversationParticipantRepository.save(ConversationParticipant.createWithDefaultValues(student2, savedChannel));
+
+        // student1 and student2 send a message at the same time: both message sequence increments happen before the last read sequences are updated
+        conversationRepository.incrementMessageSequence(savedChannel.getId());
+        conversationRepository.incrementMessageSequence(savedChannel.getId());
+        conversationParticipantRepository.incrementLastReadSequence(student1.getId(), savedChannel.getId());
+        conversationParticipantRepository.incrementLastReadSequence(student2.getId(), savedChannel.getId());
+
+        assertThat(getUnreadMessagesCountOfChannel(savedChannel.getId(), student1)).isOne();
+        assertThat(getUnreadMessagesCountOfChannel(savedChannel.getId(), student2)).isOne();
+
+        // the last read sequence never moves beyond the message sequence, e.g. if the author already marked the conversation as read
+        conversationParticipantRepository.incrementLastReadSequence(student1.getId(), savedChannel.getId());
+        conversationParticipantRepository.incrementLastReadSequence(student1.getId(), savedChannel.getId());
+        var participantOfStudent1 = conversationParticipantRepository.findConversationParticipantByConversationIdAndUserId(savedChannel.getId(), student1.getId()).orElseThrow();
+        assertThat(participantOfStudent1.getLastReadSequence()).isEqualTo(2);
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
     void testMarkMessageAsUnreadNonMemberForbidden() throws Exception {
@@ -1054,6 +1124,58 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
                 Arguments.of("answer", baseAuthor, false));
     }
 
+    @ParameterizedTest
+    @MethodSource("fullTextSearchQueryProvider")
+    @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
+    void testSearchMessagesByWordsOfContentAndAnswers(String searchQuery, boolean shouldBeIncluded) throws Exception {
+        Post basePostEntity = createPostWithOneToOneChat(TEST_PREFIX);
+        basePostEntity.setContent("Recursion and dynamic programming");
+        PostResponseDTO basePost = createPostAndAwaitAsyncCode(basePostEntity);
+        basePostEntity.setId(basePost.id());
+
+        userUtilService.changeUser(TEST_PREFIX + "student2");
+        AnswerPost answer = new AnswerPost();
+        answer.setContent("Memoization helps, e.g. for fibonacci");
+        answer.setPost(basePostEntity);
+        createAnswerPostAndAwaitAsyncCode(answer);
+
+        PostContextFilterDTO filter = new PostContextFilterDTO(courseId, null, new long[] { basePost.conversation().id() }, null, searchQuery, false, false, false,
+                PostSortCriterion.CREATION_DATE, SortingOrder.DESCENDING);
+        List<Post> returnedPosts = conversationMessageRepository.findMessages(filter, Pageable.unpaged(), 0L /* Not used here */).getContent();
+
+        if (shouldBeIncluded) {
+            assertThat(returnedPosts).extracting(Post::getId).containsExactly(basePost.id());
+        }
+        else {
+            assertThat(returnedPosts).isEmpty();
+        }
+    }
+
+    private static Stream<Arguments> fullTextSearchQueryProvider() {
+        return Stream.of(Arguments.of("recur", true), Arguments.of("Programming DYNAMIC", true), Arguments.of("memoization fibo", true), Arguments.of("dynamic, program!", true),
+                Arguments.of("graph", false), Arguments.of("dynamic graph", false),
+                // words are matched by their beginning only
+                Arguments.of("ursion", false),
+                // too short words for the full-text indexes are searched as substring
+                Arguments.of("ur", true), Arguments.of("e.g", true),
+                // stop words of the MySQL full-text indexes are searched as substring as well
+                Arguments.of("for fibonacci", true), Arguments.of("with recursion", false));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
+    void testRebuildMessageSearchIndexes() throws Exception {
+        Post postEntity = createPostWithOneToOneChat(TEST_PREFIX);
+        postEntity.setContent("Indexed message");
+        PostResponseDTO post = createPostAndAwaitAsyncCode(postEntity);
+
+        conversationMessageRepository.rebuildMessageSearchIndexes();
+
+        PostContextFilterDTO filter = new PostContextFilterDTO(courseId, null, new long[] { post.conversation().id() }, null, "indexed", false, false, false,
+                PostSortCriterion.CREATION_DATE, SortingOrder.DESCENDING);
+        assertThat(conversationMessageRepository.findMessages(filter, Pageable.unpaged(), 0L).getContent()).extracting(Post::getId).containsExactly(post.id());
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
     void shouldSendCourseNotificationForNewPostWhenFeatureIsEnabled() throws Exception {
@@ -1141,6 +1263,11 @@ class MessageIntegrationTest extends AbstractSpringIntegrationIndependentTest {
                 .filter(conversationParticipant -> Objects.equals(conversationParticipant.getUser().getId(), user.getId())).findFirst().orElseThrow().getUnreadMessagesCount();
     }
 
+    private long getUnreadMessagesCountOfChannel(Long channelId, User user) {
+        var channel = conversationRepository.findByIdElseThrow(channelId);
+        return conversationParticipantRepository.findConversationParticipantByConversationIdAndUserId(channelId, user.getId()).orElseThrow().getUnreadMessagesCount(channel);
+    }
+
     private Post createPostWithOneToOneChat(String userPrefix) {
         var student1 = userTestRepository.findOneByLogin(userPrefix + "student1").orElseThrow();
         var student2 = userTestRepository.findOneByLogin(userPrefix + "student2").orElseThrow();
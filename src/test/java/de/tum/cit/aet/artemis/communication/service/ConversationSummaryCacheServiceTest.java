@@ -0,0 +1,235 @@
+package de.tum.cit.aet.artemis.communication.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+
+import de.tum.cit.aet.artemis.communication.domain.UnreadTrackingMode;
+import de.tum.cit.aet.artemis.communication.dto.ConversationMessageSequenceDTO;
+import de.tum.cit.aet.artemis.communication.dto.GeneralConversationInfo;
+import de.tum.cit.aet.artemis.communication.dto.UserConversationInfo;
+import de.tum.cit.aet.artemis.communication.service.conversation.ConversationSummaryCacheService;
+
+@ExtendWith(MockitoExtension.class)
+class ConversationSummaryCacheServiceTest {
+
+    private static final long USER_ID = 1L;
+
+    private static final long COURSE_ID = 123L;
+
+    private static final String USER_KEY = "user_conversation_info_1_123";
+
+    private ConversationSummaryCacheService conversationSummaryCacheService;
+
+    @Mock
+    private HazelcastInstance hazelcastInstance;
+
+    @Mock
+    private IMap<Object, Object> cacheMap;
+
+    @BeforeEach
+    void setUp() {
+        conversationSummaryCacheService = new ConversationSummaryCacheService(new HazelcastCacheManager(hazelcastInstance));
+    }
+
+    @Test
+    void shouldLoadOnlyConversationsThatAreNotCachedYet() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var cachedInfos = cachedEntry(Map.of(10L, counterInfo(10L, 2L)));
+        when(cacheMap.get(USER_KEY)).thenReturn(cachedInfos);
+
+        var infos = conversationSummaryCacheService.getUserConversationInfos(USER_ID, COURSE_ID, List.of(10L, 11L), missingConversationIds -> {
+            assertThat(missingConversationIds).containsExactly(11L);
+            return List.of(counterInfo(11L, 0L));
+        });
+
+        assertThat(infos).containsOnlyKeys(10L, 11L);
+        var captor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap).replace(eq(USER_KEY), same(cachedInfos), captor.capture());
+        assertThat(castEntry(captor.getValue()).infos()).containsOnlyKeys(10L, 11L);
+        assertThat(castEntry(captor.getValue()).version()).isNotEqualTo(cachedInfos.version());
+    }
+
+    @Test
+    void shouldNotStoreLoadedInformationIfEntryWasInvalidatedWhileLoading() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+
+        // the first request reserves the entry, which is invalidated while the information is loaded, so the second request reserves the entry again
+        conversationSummaryCacheService.getUserConversationInfos(USER_ID, COURSE_ID, List.of(10L), missingConversationIds -> List.of(counterInfo(10L, 2L)));
+        conversationSummaryCacheService.getUserConversationInfos(USER_ID, COURSE_ID, List.of(10L), missingConversationIds -> List.of(counterInfo(10L, 3L)));
+
+        var reservationCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap, times(2)).putIfAbsent(eq(USER_KEY), reservationCaptor.capture());
+        var firstReservation = castEntry(reservationCaptor.getAllValues().getFirst());
+        assertThat(firstReservation.infos()).isEmpty();
+        // the information loaded before the invalidation can only replace its own reservation, which differs from the reservation after the invalidation
+        assertThat(firstReservation).isNotEqualTo(reservationCaptor.getAllValues().getLast());
+        verify(cacheMap).replace(eq(USER_KEY), same(firstReservation), any());
+        verify(cacheMap, never()).put(any(), any());
+        verify(cacheMap, never()).set(any(), any());
+    }
+
+    @Test
+    void shouldReturnCachedInformationWithoutLoading() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        when(cacheMap.get(USER_KEY)).thenReturn(cachedEntry(Map.of(10L, counterInfo(10L, 2L))));
+
+        var infos = conversationSummaryCacheService.getUserConversationInfos(USER_ID, COURSE_ID, List.of(10L), missingConversationIds -> {
+            throw new IllegalStateException("The cached information should be used");
+        });
+
+        assertThat(infos.get(10L).getUnreadMessagesCount()).isEqualTo(2L);
+        verify(cacheMap, never()).putIfAbsent(any(), any());
+    }
+
+    @Test
+    void shouldDeriveUnreadMessagesFromMessageSequence() {
+        var info = new UserConversationInfo(10L, 5L, false, false, false, false, ZonedDateTime.now(), 3L, UnreadTrackingMode.SEQUENCE, 7L, 4L, 0L);
+
+        // the read sequence (4) stays the same, new messages only increase the message sequence of the conversation
+        assertThat(info.withMessageSequence(9L).getUnreadMessagesCount()).isEqualTo(5L);
+        assertThat(info.withNewMessage()).isSameAs(info);
+        assertThat(info.asRead(ZonedDateTime.now(), 9L).withMessageSequence(10L).getUnreadMessagesCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldCountNewMessagesOfCounterTrackedConversationsWithOneOperationForAllRecipients() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var userIds = LongStream.rangeClosed(1, 2000).boxed().toList();
+
+        conversationSummaryCacheService.addNewMessage(userIds, COURSE_ID, 10L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Set<Object>> keysCaptor = ArgumentCaptor.forClass(Set.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<EntryProcessor<Object, Object, Object>> processorCaptor = ArgumentCaptor.forClass(EntryProcessor.class);
+        verify(cacheMap).executeOnKeys(keysCaptor.capture(), processorCaptor.capture());
+        assertThat(keysCaptor.getValue()).hasSize(2000).contains(USER_KEY);
+        verify(cacheMap, never()).get(any());
+        verify(cacheMap, never()).replace(any(), any(), any());
+
+        var cachedInfos = cachedEntry(Map.of(10L, counterInfo(10L, 2L), 11L, counterInfo(11L, 1L)));
+        var entry = new AbstractMap.SimpleEntry<Object, Object>(USER_KEY, cachedInfos);
+        processorCaptor.getValue().process(entry);
+        var updatedInfos = castEntry(entry.getValue());
+        assertThat(updatedInfos.infos().get(10L).getUnreadMessagesCount()).isEqualTo(3L);
+        assertThat(updatedInfos.infos().get(11L).getUnreadMessagesCount()).isOne();
+        assertThat(updatedInfos.version()).isNotEqualTo(cachedInfos.version());
+    }
+
+    @Test
+    void shouldNotChangeEntriesWithoutTheConversationOfTheNewMessage() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+
+        conversationSummaryCacheService.addNewMessage(List.of(USER_ID), COURSE_ID, 12L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<EntryProcessor<Object, Object, Object>> processorCaptor = ArgumentCaptor.forClass(EntryProcessor.class);
+        verify(cacheMap).executeOnKeys(eq(Set.<Object>of(USER_KEY)), processorCaptor.capture());
+        var cachedInfos = cachedEntry(Map.of(10L, counterInfo(10L, 2L)));
+        var entry = new AbstractMap.SimpleEntry<Object, Object>(USER_KEY, cachedInfos);
+        processorCaptor.getValue().process(entry);
+        assertThat(entry.getValue()).isSameAs(cachedInfos);
+        var missingEntry = new AbstractMap.SimpleEntry<Object, Object>(USER_KEY, null);
+        processorCaptor.getValue().process(missingEntry);
+        assertThat(missingEntry.getValue()).isNull();
+    }
+
+    @Test
+    void shouldMarkConversationsAsReadWithCurrentMessageSequence() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var sequenceInfo = new UserConversationInfo(11L, 6L, false, false, false, false, ZonedDateTime.now(), 3L, UnreadTrackingMode.SEQUENCE, 7L, 4L, 0L);
+        var cachedInfos = cachedEntry(Map.of(10L, counterInfo(10L, 2L), 11L, sequenceInfo));
+        when(cacheMap.get(USER_KEY)).thenReturn(cachedInfos);
+        when(cacheMap.replace(eq(USER_KEY), same(cachedInfos), any())).thenReturn(true);
+
+        conversationSummaryCacheService.markConversationsAsRead(USER_ID, COURSE_ID, Set.of(10L, 11L), ZonedDateTime.now(), conversationIds -> {
+            assertThat(conversationIds).containsExactly(11L);
+            return List.of(new ConversationMessageSequenceDTO(11L, 8L));
+        });
+
+        var captor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap).replace(eq(USER_KEY), same(cachedInfos), captor.capture());
+        var infos = castEntry(captor.getValue()).infos();
+        assertThat(infos.get(10L).getUnreadMessagesCount()).isZero();
+        assertThat(infos.get(11L).withMessageSequence(8L).getUnreadMessagesCount()).isZero();
+    }
+
+    @Test
+    void shouldInvalidateEntryIfItChangedConcurrently() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var cachedInfos = cachedEntry(Map.of(10L, counterInfo(10L, 2L)));
+        when(cacheMap.get(USER_KEY)).thenReturn(cachedInfos);
+        when(cacheMap.replace(eq(USER_KEY), same(cachedInfos), any())).thenReturn(false);
+
+        conversationSummaryCacheService.markConversationsAsRead(USER_ID, COURSE_ID, Set.of(10L), ZonedDateTime.now(), conversationIds -> List.of());
+
+        verify(cacheMap).delete(USER_KEY);
+    }
+
+    @Test
+    void shouldShareGeneralInformationAcrossUsers() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        when(cacheMap.getAll(Set.of(10L, 11L))).thenReturn(Map.<Object, Object>of(10L, 4));
+
+        var infos = conversationSummaryCacheService.getGeneralConversationInfos(List.of(10L, 11L), missingConversationIds -> {
+            assertThat(missingConversationIds).containsExactly(11L);
+            return List.of(new GeneralConversationInfo(11L, 2L));
+        });
+
+        assertThat(infos.get(10L).getNumberOfParticipants()).isEqualTo(4);
+        assertThat(infos.get(11L).getNumberOfParticipants()).isEqualTo(2);
+        verify(cacheMap).putAll(Map.of(11L, 2));
+    }
+
+    @Test
+    void shouldCacheNumberOfCourseMembers() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        when(cacheMap.get("course_members_123")).thenReturn(null, 42);
+
+        assertThat(conversationSummaryCacheService.getNumberOfCourseMembers(COURSE_ID, () -> 42)).isEqualTo(42);
+        assertThat(conversationSummaryCacheService.getNumberOfCourseMembers(COURSE_ID, () -> {
+            throw new IllegalStateException("The cached number should be used");
+        })).isEqualTo(42);
+        verify(cacheMap).set("course_members_123", 42);
+    }
+
+    private static UserConversationInfo counterInfo(long conversationId, long unreadMessagesCount) {
+        return new UserConversationInfo(conversationId, conversationId + 100, false, false, false, false, ZonedDateTime.now(), unreadMessagesCount, UnreadTrackingMode.COUNTER,
+                0L, null, unreadMessagesCount);
+    }
+
+    private static ConversationSummaryCacheService.CachedUserConversationInfos cachedEntry(Map<Long, UserConversationInfo> infos) {
+        return new ConversationSummaryCacheService.CachedUserConversationInfos(UUID.randomUUID(), infos);
+    }
+
+    private static ConversationSummaryCacheService.CachedUserConversationInfos castEntry(Object value) {
+        return (ConversationSummaryCacheService.CachedUserConversationInfos) value;
+    }
+}
@@ -0,0 +1,176 @@
+package de.tum.cit.aet.artemis.communication.service;
+
+import static de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter.COMPRESSION_HEADER_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter;
+import de.tum.cit.aet.artemis.core.config.websocket.WebsocketCompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WebsocketMessagingServiceTest {
+
+    private static final String MULTICAST_METRIC_PREFIX = "artemis.websocket.multicast.";
+
+    private static final String COMPRESSION_METRIC_PREFIX = "artemis.websocket.compression.";
+
+    private static final String LARGE_CONTENT = "queued build job ".repeat(200);
+
+    record TestPayload(String content) {
+    }
+
+    private final List<Message<?>> sentMessages = new CopyOnWriteArrayList<>();
+
+    private final WebsocketCompressionProperties compressionProperties = new WebsocketCompressionProperties();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WebsocketMessagingService websocketMessagingService;
+
+    @BeforeEach
+    void setUp() {
+        createService();
+    }
+
+    private void createService() {
+        var messagingTemplate = new SimpMessagingTemplate((message, timeout) -> sentMessages.add(message));
+        messagingTemplate.setMessageConverter(new GzipMessageConverter(new ObjectMapper()));
+        meterRegistry = new SimpleMeterRegistry();
+        websocketMessagingService = new WebsocketMessagingService(messagingTemplate, Runnable::run, meterRegistry, compressionProperties);
+    }
+
+    @Test
+    void multicastMessage_encodesPayloadOnceForAllTopics() {
+        var topics = List.of("/topic/user/1/notifications/conversations", "/topic/user/2/notifications/conversations", "/topic/user/3/notifications/conversations");
+
+        websocketMessagingService.multicastMessage(topics, new TestPayload("hello")).join();
+
+        assertThat(sentMessages).extracting(message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders())).containsExactlyElementsOf(topics);
+        byte[] payload = (byte[]) sentMessages.getFirst().getPayload();
+        assertThat(sentMessages).allSatisfy(message -> assertThat(message.getPayload()).isSameAs(payload));
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo("{\"content\":\"hello\"}");
+
+        assertThat(meterRegistry.get(MULTICAST_METRIC_PREFIX + "messages").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MULTICAST_METRIC_PREFIX + "saved_bytes").counter().count()).isEqualTo(2.0 * payload.length);
+    }
+
+    @Test
+    void multicastMessage_compressesPayloadOnceForCompressibleTopics() throws Exception {
+        var topics = List.of("/topic/courses/1/queued-jobs", "/topic/admin/queued-jobs", "/topic/user/1/notifications/conversations");
+
+        websocketMessagingService.multicastMessage(topics, new TestPayload(LARGE_CONTENT)).join();
+
+        assertThat(sentMessages).hasSize(3);
+        Message<?> courseMessage = sentMessageTo("/topic/courses/1/queued-jobs");
+        Message<?> adminMessage = sentMessageTo("/topic/admin/queued-jobs");
+        Message<?> userMessage = sentMessageTo("/topic/user/1/notifications/conversations");
+
+        assertThat(courseMessage.getPayload()).isSameAs(adminMessage.getPayload());
+        assertThat(SimpMessageHeaderAccessor.wrap(courseMessage).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isEqualTo("true");
+        assertThat(SimpMessageHeaderAccessor.wrap(userMessage).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isNull();
+        assertThat(decompress((byte[]) courseMessage.getPayload())).isEqualTo(new String((byte[]) userMessage.getPayload(), StandardCharsets.UTF_8));
+        assertThat(meterRegistry.get(COMPRESSION_METRIC_PREFIX + "encode_time").tag("compressed", "true").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void multicastMessage_recordsEncodeTimeOfPayloadBelowThresholdOnce() {
+        var topics = List.of("/topic/courses/1/queued-jobs", "/topic/admin/queued-jobs", "/topic/user/1/notifications/conversations");
+
+        websocketMessagingService.multicastMessage(topics, new TestPayload("hello")).join();
+
+        assertThat(sentMessages).hasSize(3);
+        assertThat(meterRegistry.get(COMPRESSION_METRIC_PREFIX + "encode_time").tag("compressed", "false").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(COMPRESSION_METRIC_PREFIX + "encode_time").tag("compressed", "true").timer()).isNull();
+    }
+
+    @Test
+    void multicastMessage_sendsSingleTopicWithoutMulticast() {
+        websocketMessagingService.multicastMessage(List.of("/topic/user/1/notifications/conversations"), new TestPayload("hello")).join();
+
+        assertThat(sentMessages).hasSize(1);
+        assertThat(meterRegistry.get(MULTICAST_METRIC_PREFIX + "messages").counter().count()).isZero();
+    }
+
+    @Test
+    void sendMessage_compressesPayloadAboveThreshold() throws Exception {
+        websocketMessagingService.sendMessage("/topic/courses/42/queued-jobs", new TestPayload(LARGE_CONTENT)).join();
+
+        Message<?> message = sentMessageTo("/topic/courses/42/queued-jobs");
+        assertThat(SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isEqualTo("true");
+        assertThat(decompress((byte[]) message.getPayload())).isEqualTo("{\"content\":\"" + LARGE_CONTENT + "\"}");
+
+        var ratio = meterRegistry.get(COMPRESSION_METRIC_PREFIX + "ratio").tag("topic", "/topic/courses/{id}/queued-jobs").summary();
+        assertThat(ratio.count()).isEqualTo(1);
+        assertThat(ratio.totalAmount()).isLessThan(1);
+        assertThat(meterRegistry.get(COMPRESSION_METRIC_PREFIX + "encode_time").tag("compressed", "true").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendMessage_doesNotCompressPayloadBelowThreshold() {
+        websocketMessagingService.sendMessage("/topic/admin/queued-jobs", new TestPayload("small")).join();
+
+        Message<?> message = sentMessageTo("/topic/admin/queued-jobs");
+        assertThat(SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isNull();
+        assertThat(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"content\":\"small\"}");
+        assertThat(meterRegistry.get(COMPRESSION_METRIC_PREFIX + "encode_time").tag("compressed", "false").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendMessage_appliesTopicOverrides() throws Exception {
+        compressionProperties.setTopicOverrides(List.of(topicOverride("^/topic/admin/build-agents$", -1), topicOverride("^/topic/exercises/\\d+/status$", 0)));
+        createService();
+
+        websocketMessagingService.sendMessage("/topic/admin/build-agents", new TestPayload(LARGE_CONTENT)).join();
+        websocketMessagingService.sendMessage("/topic/exercises/7/status", new TestPayload("small")).join();
+        websocketMessagingService.sendMessage("/topic/exercises/7/other", new TestPayload(LARGE_CONTENT)).join();
+
+        assertThat(SimpMessageHeaderAccessor.wrap(sentMessageTo("/topic/admin/build-agents")).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isNull();
+        Message<?> overriddenMessage = sentMessageTo("/topic/exercises/7/status");
+        assertThat(SimpMessageHeaderAccessor.wrap(overriddenMessage).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isEqualTo("true");
+        assertThat(decompress((byte[]) overriddenMessage.getPayload())).isEqualTo("{\"content\":\"small\"}");
+        assertThat(SimpMessageHeaderAccessor.wrap(sentMessageTo("/topic/exercises/7/other")).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isNull();
+    }
+
+    @Test
+    void sendMessageToUser_compressesPayloadForUserDestination() throws Exception {
+        compressionProperties.setTopicOverrides(List.of(topicOverride("^/topic/jobs$", 0)));
+        createService();
+
+        websocketMessagingService.sendMessageToUser("student/1", "/topic/jobs", new TestPayload("job")).join();
+
+        Message<?> message = sentMessageTo("/user/student%2F1/topic/jobs");
+        assertThat(SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isEqualTo("true");
+        assertThat(decompress((byte[]) message.getPayload())).isEqualTo("{\"content\":\"job\"}");
+    }
+
+    private static WebsocketCompressionProperties.TopicOverride topicOverride(String pattern, int thresholdBytes) {
+        var override = new WebsocketCompressionProperties.TopicOverride();
+        override.setPattern(pattern);
+        override.setThresholdBytes(thresholdBytes);
+        return override;
+    }
+
+    private Message<?> sentMessageTo(String topic) {
+        return sentMessages.stream().filter(message -> topic.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))).findFirst().orElseThrow();
+    }
+
+    private static String decompress(byte[] payload) throws Exception {
+        try (var gzipStream = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(payload)))) {
+            return new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
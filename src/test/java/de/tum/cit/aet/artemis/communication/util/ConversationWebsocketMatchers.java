@@ -0,0 +1,62 @@
+package de.tum.cit.aet.artemis.communication.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.mockito.ArgumentMatcher;
+
+/**
+ * Matchers for the topics of websocket messages about conversations, e.g. for posts that are broadcast to all conversation members with a single multicast.
+ */
+public class ConversationWebsocketMatchers {
+
+    private static final String PERSONAL_TOPIC_PREFIX = "/topic/user/";
+
+    private static final String PERSONAL_TOPIC_SUFFIX = "/notifications/conversations";
+
+    /**
+     * Matches the personal conversation topics of the given number of users.
+     *
+     * @param numberOfUsers the number of users that should receive the message
+     * @return the matcher for the topics of a multicast
+     */
+    public static ArgumentMatcher<Collection<String>> personalConversationTopics(int numberOfUsers) {
+        return new ArgumentMatcher<>() {
+
+            @Override
+            public boolean matches(Collection<String> topics) {
+                return topics != null && topics.size() == numberOfUsers
+                        && topics.stream().allMatch(topic -> topic.startsWith(PERSONAL_TOPIC_PREFIX) && topic.endsWith(PERSONAL_TOPIC_SUFFIX));
+            }
+
+            @Override
+            public String toString() {
+                return "personal conversation topics of " + numberOfUsers + " users";
+            }
+        };
+    }
+
+    /**
+     * Matches topics that contain the personal conversation topics of all given users.
+     *
+     * @param userIds the ids of the users that should receive the message
+     * @return the matcher for the topics of a multicast
+     */
+    public static ArgumentMatcher<Collection<String>> containsPersonalConversationTopicsOf(Long... userIds) {
+        Set<String> expectedTopics = Arrays.stream(userIds).map(userId -> PERSONAL_TOPIC_PREFIX + userId + PERSONAL_TOPIC_SUFFIX).collect(Collectors.toSet());
+        return new ArgumentMatcher<>() {
+
+            @Override
+            public boolean matches(Collection<String> topics) {
+                return topics != null && topics.containsAll(expectedTopics);
+            }
+
+            @Override
+            public String toString() {
+                return "personal conversation topics containing " + expectedTopics;
+            }
+        };
+    }
+}
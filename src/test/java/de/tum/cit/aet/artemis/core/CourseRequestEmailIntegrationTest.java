@@ -29,6 +29,7 @@ import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.shared.base.AbstractSpringIntegrationIndependentTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Integration tests that verify course request emails are actually delivered with correct content.
@@ -86,7 +87,7 @@ class CourseRequestEmailIntegrationTest extends AbstractSpringIntegrationIndepen
         var mailEnabledProperties = new ArtemisProperties();
         mailEnabledProperties.getMail().setFrom("test@greenmail.test");
 
-        testMailService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine);
+        testMailService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine, new SimpleMeterRegistry());
         ReflectionTestUtils.setField(testMailService, "artemisServerUrl", new URL("http://localhost:9000"));
 
         recipient = new User();
@@ -0,0 +1,93 @@
+package de.tum.cit.aet.artemis.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Guards the binding of {@code artemis.jgit.window-cache} to {@link JGitConfig} and the window cache configuration created from it. The configuration is not installed,
+ * because JGit's window cache is shared by all tests of the JVM.
+ */
+class JGitConfigBindingTest {
+
+    private static final String PRODUCTION_CONFIG = "src/main/resources/config/application-artemis.yml";
+
+    private JGitConfig bind(Resource resource) throws IOException {
+        assertThat(resource.exists()).as("config resource must be resolvable").isTrue();
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader().load("jgit-test", resource);
+        MutablePropertySources propertySources = new MutablePropertySources();
+        sources.forEach(propertySources::addLast);
+        Binder binder = new Binder(ConfigurationPropertySources.from(propertySources));
+        JGitConfig config = new JGitConfig();
+        binder.bind("artemis.jgit.window-cache", Bindable.ofInstance(config));
+        return config;
+    }
+
+    private JGitConfig bindYaml(String yaml) throws IOException {
+        return bind(new ByteArrayResource(yaml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void productionConfigKeepsJGitDefaultsWithoutMemoryMapping() throws IOException {
+        WindowCacheConfig cfg = bind(new FileSystemResource(PRODUCTION_CONFIG)).createWindowCacheConfig();
+        WindowCacheConfig jgitDefaults = new WindowCacheConfig();
+
+        assertThat(cfg.isPackedGitMMAP()).isFalse();
+        assertThat(cfg.getPackedGitLimit()).isEqualTo(jgitDefaults.getPackedGitLimit());
+        assertThat(cfg.getPackedGitWindowSize()).isEqualTo(jgitDefaults.getPackedGitWindowSize());
+        assertThat(cfg.getPackedGitOpenFiles()).isEqualTo(jgitDefaults.getPackedGitOpenFiles());
+        assertThat(cfg.getDeltaBaseCacheLimit()).isEqualTo(jgitDefaults.getDeltaBaseCacheLimit());
+        assertThat(cfg.getStreamFileThreshold()).isEqualTo(jgitDefaults.getStreamFileThreshold());
+    }
+
+    @Test
+    void missingPropertiesFallBackToDefaults() throws IOException {
+        var config = bindYaml("""
+                artemis:
+                  jgit:
+                    window-cache:
+                      packed-git-open-files: 256
+                """);
+
+        assertThat(config.getPackedGitOpenFiles()).isEqualTo(256);
+        assertThat(config.isPackedGitMmap()).isFalse();
+        assertThat(config.getPackedGitLimit()).isEqualTo(DataSize.ofMegabytes(10));
+    }
+
+    @Test
+    void configuredPropertiesAreAppliedToWindowCacheConfig() throws IOException {
+        WindowCacheConfig cfg = bindYaml("""
+                artemis:
+                  jgit:
+                    window-cache:
+                      packed-git-mmap: true
+                      packed-git-limit: 256MB
+                      packed-git-window-size: 64KB
+                      packed-git-open-files: 512
+                      delta-base-cache-limit: 32MB
+                      stream-file-threshold: 100MB
+                """).createWindowCacheConfig();
+
+        assertThat(cfg.isPackedGitMMAP()).isTrue();
+        assertThat(cfg.getPackedGitLimit()).isEqualTo(DataSize.ofMegabytes(256).toBytes());
+        assertThat(cfg.getPackedGitWindowSize()).isEqualTo(64 * 1024);
+        assertThat(cfg.getPackedGitOpenFiles()).isEqualTo(512);
+        assertThat(cfg.getDeltaBaseCacheLimit()).isEqualTo(32 * 1024 * 1024);
+        assertThat(cfg.getStreamFileThreshold()).isEqualTo(100 * 1024 * 1024);
+    }
+}
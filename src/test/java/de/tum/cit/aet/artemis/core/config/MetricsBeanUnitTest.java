@@ -4,11 +4,13 @@ import static de.tum.cit.aet.artemis.core.config.ArtemisConstants.SPRING_PROFILE
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,6 +27,7 @@ import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
 import de.tum.cit.aet.artemis.account.test_repository.UserTestRepository;
 import de.tum.cit.aet.artemis.admin.repository.StatisticsRepository;
 import de.tum.cit.aet.artemis.buildagent.dto.BuildJobResultCountDTO;
+import de.tum.cit.aet.artemis.core.config.metric.ScheduledMetricsCoordinator;
 import de.tum.cit.aet.artemis.core.service.ProfileService;
 import de.tum.cit.aet.artemis.core.test_repository.CourseTestRepository;
 import de.tum.cit.aet.artemis.exercise.repository.ExerciseTestRepository;
@@ -70,6 +73,9 @@ class MetricsBeanUnitTest {
     @Mock
     private BuildJobTestRepository buildJobRepository;
 
+    @Mock
+    private ScheduledMetricsCoordinator scheduledMetricsCoordinator;
+
     private MeterRegistry meterRegistry;
 
     private MetricsBean metricsBean;
@@ -82,9 +88,11 @@ class MetricsBeanUnitTest {
         when(profileService.isLocalCIActive()).thenReturn(true);
         when(profileService.isProfileActive(SPRING_PROFILE_TEST)).thenReturn(true);
         when(userRepository.findAllActiveAdminLogins()).thenReturn(Set.<String>of());
+        when(scheduledMetricsCoordinator.acquireLeadership()).thenReturn(true);
 
         metricsBean = new MetricsBean(meterRegistry, scheduler, webSocketStats, userRegistry, webSocketHandler, List.of(), Optional.empty(), exerciseRepository,
-                exerciseMetricsService, Optional.empty(), courseRepository, userRepository, statisticsRepository, profileService, Optional.empty(), buildJobRepository);
+                exerciseMetricsService, Optional.empty(), courseRepository, userRepository, statisticsRepository, profileService, Optional.empty(), buildJobRepository,
+                scheduledMetricsCoordinator);
         metricsBean.applicationReady();
     }
 
@@ -99,4 +107,41 @@ class MetricsBeanUnitTest {
         assertThat(meterRegistry.get("artemis.global.buildjobs.missing_results").gauge().value()).isEqualTo(1);
         verify(buildJobRepository).getBuildJobsResultsStatistics(any(ZonedDateTime.class), isNull());
     }
+
+    @Test
+    void shouldRemoveLeaderOnlyMetricsWhenLeadershipIsLost() {
+        when(userRepository.findAllActiveAdminLogins()).thenReturn(Set.of("admin"));
+        when(buildJobRepository.getBuildJobsResultsStatistics(any(ZonedDateTime.class), isNull())).thenReturn(List.of(new BuildJobResultCountDTO(BuildStatus.FAILED, 2)));
+        metricsBean.calculateActiveUserMetrics();
+        metricsBean.calculateBuildJobResultMetrics();
+        assertThat(meterRegistry.get("artemis.users.admins.active").tag("admin", "admin").gauge().value()).isOne();
+        assertThat(meterRegistry.get("artemis.global.buildjobs.failed").gauge().value()).isEqualTo(2);
+
+        // another node took over the leadership
+        when(scheduledMetricsCoordinator.acquireLeadership()).thenReturn(false);
+        metricsBean.calculateBuildJobResultMetrics();
+
+        assertThat(meterRegistry.find("artemis.users.admins.active").gauges()).isEmpty();
+        assertThat(meterRegistry.find("artemis.global.buildjobs.failed").gauges()).isEmpty();
+        assertThat(meterRegistry.find("artemis.global.buildjobs.missing_results").gauges()).isEmpty();
+
+        // the leadership is regained
+        when(scheduledMetricsCoordinator.acquireLeadership()).thenReturn(true);
+        metricsBean.calculateBuildJobResultMetrics();
+
+        assertThat(meterRegistry.get("artemis.global.buildjobs.failed").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExposeSharedPublicMetricsWhenNotLeader() {
+        when(scheduledMetricsCoordinator.acquireLeadership()).thenReturn(false);
+        when(scheduledMetricsCoordinator.getResults("publicArtemisMetrics")).thenReturn(Map.of("active_users.7", 12L, "courses", 3L, "exams", 2L));
+
+        metricsBean.updatePublicArtemisMetrics();
+
+        assertThat(meterRegistry.get("artemis.statistics.public.active_users").tag("period", "7").gauge().value()).isEqualTo(12);
+        assertThat(meterRegistry.get("artemis.statistics.public.courses").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("artemis.statistics.public.exams").gauge().value()).isEqualTo(2);
+        verify(courseRepository, never()).findAllActiveWithoutTestCourses(any(ZonedDateTime.class));
+    }
 }
@@ -0,0 +1,54 @@
+package de.tum.cit.aet.artemis.core.config.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.tum.cit.aet.artemis.admin.dto.UserLastActivityDTO;
+
+class ActiveUserActivityTrackerTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2026, 10, 19, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final ActiveUserActivityTracker tracker = new ActiveUserActivityTracker();
+
+    @Test
+    void shouldRequireFullSyncInitiallyAndAfterInterval() {
+        assertThat(tracker.isFullSyncDue(NOW.toInstant(), Duration.ofHours(24))).isTrue();
+
+        tracker.replaceAll(List.of(), NOW.toInstant());
+
+        assertThat(tracker.isFullSyncDue(NOW.plusHours(5).toInstant(), Duration.ofHours(24))).isFalse();
+        assertThat(tracker.isFullSyncDue(NOW.plusHours(24).toInstant(), Duration.ofHours(24))).isTrue();
+        assertThat(tracker.isFullSyncDue(NOW.toInstant(), Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    void shouldMergeDeltasAndKeepLatestActivityPerUser() {
+        tracker.replaceAll(List.of(new UserLastActivityDTO(1L, NOW.minusDays(10)), new UserLastActivityDTO(2L, NOW.minusDays(3))), NOW.toInstant());
+
+        Instant later = NOW.plusHours(5).toInstant();
+        // user 1 became active again, user 2 is returned twice because of the overlapping time range, user 3 is new
+        tracker.merge(List.of(new UserLastActivityDTO(1L, NOW.plusHours(1)), new UserLastActivityDTO(2L, NOW.minusDays(3)), new UserLastActivityDTO(3L, NOW.plusHours(2))),
+                later);
+
+        assertThat(tracker.getWatermark()).isEqualTo(later);
+        assertThat(tracker.countActiveSince(NOW.minusDays(1).toInstant())).isEqualTo(2);
+        assertThat(tracker.countActiveSince(NOW.minusDays(7).toInstant())).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPruneUsersOutsideOfLargestPeriod() {
+        tracker.replaceAll(List.of(new UserLastActivityDTO(1L, NOW.minusDays(31)), new UserLastActivityDTO(2L, NOW.minusDays(29))), NOW.toInstant());
+
+        tracker.pruneBefore(NOW.minusDays(30).toInstant());
+
+        assertThat(tracker.countActiveSince(Instant.EPOCH)).isEqualTo(1);
+    }
+}
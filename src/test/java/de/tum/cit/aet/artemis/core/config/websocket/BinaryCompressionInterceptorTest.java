@@ -0,0 +1,96 @@
+package de.tum.cit.aet.artemis.core.config.websocket;
+
+import static de.tum.cit.aet.artemis.core.config.websocket.BinaryCompressionInterceptor.ACCEPT_BINARY_COMPRESSION_HEADER_KEY;
+import static de.tum.cit.aet.artemis.core.config.websocket.GzipMessageConverter.COMPRESSION_HEADER_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BinaryCompressionInterceptorTest {
+
+    private static final byte[] JSON_PAYLOAD = "{\"content\":\"queued build job\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BinaryCompressionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new BinaryCompressionInterceptor(meterRegistry);
+    }
+
+    @Test
+    void preSend_sendsCompressedMessagesAsBinaryToSupportingSessions() {
+        connect("binary-session", true);
+        String encodedPayload = GzipMessageConverter.compressAndEncode(JSON_PAYLOAD);
+
+        Message<?> result = interceptor.preSend(message("binary-session", encodedPayload.getBytes(StandardCharsets.UTF_8), true), channel);
+
+        assertThat(result.getPayload()).isEqualTo(Base64.getDecoder().decode(encodedPayload));
+        var accessor = SimpMessageHeaderAccessor.wrap(result);
+        assertThat(accessor.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        assertThat(accessor.getFirstNativeHeader(COMPRESSION_HEADER_KEY)).isEqualTo("true");
+        assertThat(meterRegistry.get("artemis.websocket.compression.binary_messages").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.websocket.compression.binary_saved_bytes").counter().count()).isPositive();
+    }
+
+    @Test
+    void preSend_keepsMessagesOfOtherSessionsAndUncompressedMessages() {
+        connect("text-session", false);
+        connect("binary-session", true);
+        Message<?> compressedMessage = message("text-session", GzipMessageConverter.compressAndEncode(JSON_PAYLOAD).getBytes(StandardCharsets.UTF_8), true);
+        Message<?> uncompressedMessage = message("binary-session", JSON_PAYLOAD, false);
+
+        assertThat(interceptor.preSend(compressedMessage, channel)).isSameAs(compressedMessage);
+        assertThat(interceptor.preSend(uncompressedMessage, channel)).isSameAs(uncompressedMessage);
+    }
+
+    @Test
+    void preSend_forgetsSessionOnDisconnect() {
+        connect("binary-session", true);
+        var disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("binary-session");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), channel);
+
+        Message<?> compressedMessage = message("binary-session", GzipMessageConverter.compressAndEncode(JSON_PAYLOAD).getBytes(StandardCharsets.UTF_8), true);
+        assertThat(interceptor.preSend(compressedMessage, channel)).isSameAs(compressedMessage);
+    }
+
+    private void connect(String sessionId, boolean acceptsBinaryCompression) {
+        var connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setSessionId(sessionId);
+        if (acceptsBinaryCompression) {
+            connect.setNativeHeader(ACCEPT_BINARY_COMPRESSION_HEADER_KEY, "true");
+        }
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), channel);
+    }
+
+    private static Message<?> message(String sessionId, byte[] payload, boolean compressed) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/topic/admin/queued-jobs");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (compressed) {
+            accessor.setNativeHeader(COMPRESSION_HEADER_KEY, "true");
+        }
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
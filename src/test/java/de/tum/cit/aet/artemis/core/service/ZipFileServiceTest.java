@@ -4,9 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
@@ -71,4 +76,30 @@ class ZipFileServiceTest extends AbstractSpringIntegrationIndependentTest {
         ZipTestUtil.verifyZipStructureAndContent(result.getByteArray());
     }
 
+    @Test
+    void testCreateZipStreamWithFolders() throws Exception {
+        Path firstDir = tempFileUtilService.createTempDirectory("first-repo");
+        Path secondDir = tempFileUtilService.createTempDirectory("second-repo");
+        Path subDir = tempFileUtilService.createTempDirectory(secondDir, "src");
+        Path firstFile = tempFileUtilService.createTempFile(firstDir, "file1", ".txt");
+        Path secondFile = tempFileUtilService.createTempFile(subDir, "file2", ".txt");
+        FileUtils.writeStringToFile(firstFile.toFile(), "first content", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(secondFile.toFile(), "second content", StandardCharsets.UTF_8);
+
+        Map<String, String> entries = new HashMap<>();
+        try (var zipInputStream = new ZipInputStream(zipFileService.createZipStreamWithFolders(List.of(firstDir, secondDir)))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        String firstName = firstDir.getFileName().toString();
+        String secondName = secondDir.getFileName().toString();
+        String subDirName = secondName + "/" + subDir.getFileName();
+        assertThat(entries).containsOnlyKeys(firstName + "/", firstName + "/" + firstFile.getFileName(), secondName + "/", subDirName + "/",
+                subDirName + "/" + secondFile.getFileName());
+        assertThat(entries).containsEntry(firstName + "/" + firstFile.getFileName(), "first content").containsEntry(subDirName + "/" + secondFile.getFileName(),
+                "second content");
+    }
 }
@@ -0,0 +1,111 @@
+package de.tum.cit.aet.artemis.course.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
+
+import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.account.service.user.UserService;
+import de.tum.cit.aet.artemis.account.test_repository.UserTestRepository;
+import de.tum.cit.aet.artemis.core.dto.StudentDTO;
+import de.tum.cit.aet.artemis.core.service.AuthorizationCheckService;
+import de.tum.cit.aet.artemis.core.service.EnrollmentService;
+import de.tum.cit.aet.artemis.core.test_repository.CourseTestRepository;
+import de.tum.cit.aet.artemis.course.domain.Course;
+import de.tum.cit.aet.artemis.localvc.service.RepositoryVcsAccessTokenService;
+import de.tum.cit.aet.artemis.notification.service.UserCourseNotificationStatusService;
+
+@ExtendWith(MockitoExtension.class)
+class CourseAccessServiceTest {
+
+    private static final long COURSE_ID = 1L;
+
+    @Mock
+    private AuthorizationCheckService authCheckService;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private CourseTestRepository courseRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    @Mock
+    private UserTestRepository userRepository;
+
+    @Mock
+    private RepositoryVcsAccessTokenService repositoryVcsAccessTokenService;
+
+    @Mock
+    private UserCourseNotificationStatusService userCourseNotificationStatusService;
+
+    private CourseAccessService courseAccessService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        courseAccessService = new CourseAccessService(authCheckService, enrollmentService, courseRepository, userService, Optional.empty(), auditEventRepository,
+                Optional.empty(), userRepository, repositoryVcsAccessTokenService, userCourseNotificationStatusService);
+
+        course = new Course();
+        course.setId(COURSE_ID);
+        course.setStudentGroupName("course-students");
+        course.setTeachingAssistantGroupName("course-tutors");
+        when(courseRepository.findByIdElseThrow(COURSE_ID)).thenReturn(course);
+    }
+
+    @Test
+    void shouldNotInitializeWatermarksWhenExistingMemberIsRegisteredForAnotherGroup() {
+        User member = createUser(2L, "member", "course-students");
+        when(userService.findUser(null, "member", null)).thenReturn(Optional.of(member));
+        when(authCheckService.isAtLeastStudentInCourse(course, member)).thenReturn(true);
+
+        var notFound = courseAccessService.registerUsersForCourseGroup(COURSE_ID, List.of(new StudentDTO("member", null, null, null, null)), "tutors");
+
+        assertThat(notFound).isEmpty();
+        verify(userService).addUserToGroup(member, "course-tutors");
+        verify(userCourseNotificationStatusService).initializeWatermarksOfNewCourseMembers(List.of(), COURSE_ID);
+    }
+
+    @Test
+    void shouldInitializeWatermarksOnlyForNewCourseMembers() {
+        User member = createUser(2L, "member", "course-students");
+        User newcomer = createUser(3L, "newcomer");
+        when(userService.findUser(null, "member", null)).thenReturn(Optional.of(member));
+        when(userService.findUser(null, "newcomer", null)).thenReturn(Optional.of(newcomer));
+        when(authCheckService.isAtLeastStudentInCourse(course, member)).thenReturn(true);
+        when(authCheckService.isAtLeastStudentInCourse(course, newcomer)).thenReturn(false);
+
+        var studentDTOs = List.of(new StudentDTO("member", null, null, null, null), new StudentDTO("newcomer", null, null, null, null));
+        var notFound = courseAccessService.registerUsersForCourseGroup(COURSE_ID, studentDTOs, "students");
+
+        assertThat(notFound).isEmpty();
+        verify(userService).addUserToGroup(newcomer, "course-students");
+        verify(userCourseNotificationStatusService).initializeWatermarksOfNewCourseMembers(List.of(newcomer.getId()), COURSE_ID);
+    }
+
+    private static User createUser(long id, String login, String... groups) {
+        User user = new User(id);
+        user.setLogin(login);
+        user.setGroups(new HashSet<>(Set.of(groups)));
+        return user;
+    }
+}
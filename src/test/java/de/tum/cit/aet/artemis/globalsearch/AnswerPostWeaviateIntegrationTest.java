@@ -42,6 +42,7 @@ import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.globalsearch.config.schema.entityschemas.SearchableEntitySchema;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.AnswerPostSearchableEntityDTO;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
 import de.tum.cit.aet.artemis.globalsearch.service.WeaviateService;
 import de.tum.cit.aet.artemis.programming.AbstractProgrammingIntegrationLocalCILocalVCTest;
@@ -64,6 +65,9 @@ class AnswerPostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLo
     @Autowired
     private SearchableEntityWeaviateService searchableEntityWeaviateService;
 
+    @Autowired
+    private PostWeaviateIndexingService postWeaviateIndexingService;
+
     @Autowired
     private WeaviateService weaviateService;
 
@@ -224,7 +228,7 @@ class AnswerPostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLo
             AnswerPost answer1 = createAndSaveAnswerPost(post);
             AnswerPost answer2 = createAndSaveAnswerPost(post);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             searchableEntityWeaviateService.upsertAnswerPostAsync(AnswerPostSearchableEntityDTO.fromAnswerPost(answer1, channel));
             searchableEntityWeaviateService.upsertAnswerPostAsync(AnswerPostSearchableEntityDTO.fromAnswerPost(answer2, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
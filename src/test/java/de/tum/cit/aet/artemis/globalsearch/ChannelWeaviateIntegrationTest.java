@@ -38,6 +38,7 @@ import de.tum.cit.aet.artemis.exercise.util.ExerciseUtilService;
 import de.tum.cit.aet.artemis.globalsearch.config.schema.entityschemas.SearchableEntitySchema;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.AnswerPostSearchableEntityDTO;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
 import de.tum.cit.aet.artemis.globalsearch.service.WeaviateService;
 import de.tum.cit.aet.artemis.lecture.domain.Lecture;
@@ -74,6 +75,9 @@ class ChannelWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocal
     @Autowired
     private SearchableEntityWeaviateService searchableEntityWeaviateService;
 
+    @Autowired
+    private PostWeaviateIndexingService postWeaviateIndexingService;
+
     @Autowired
     private PostTestRepository postRepository;
 
@@ -144,7 +148,7 @@ class ChannelWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocal
         Post post = ConversationFactory.createBasicPost(0, instructor);
         post.setConversation(createdChannel);
         post = postRepository.save(post);
-        searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, createdChannel));
+        postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, createdChannel));
         long postId = post.getId();
         await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertPostExistsInWeaviate(weaviateService, postId));
 
@@ -365,7 +369,7 @@ class ChannelWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocal
             Post post = ConversationFactory.createBasicPost(0, instructor);
             post.setConversation(createdChannel);
             post = postRepository.save(post);
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, createdChannel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, createdChannel));
             long postId = post.getId();
             await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertPostExistsInWeaviate(weaviateService, postId));
 
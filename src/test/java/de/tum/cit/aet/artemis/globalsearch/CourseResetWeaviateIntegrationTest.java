@@ -25,7 +25,7 @@ import de.tum.cit.aet.artemis.communication.test_repository.PostTestRepository;
 import de.tum.cit.aet.artemis.communication.util.ConversationFactory;
 import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
-import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.globalsearch.service.WeaviateService;
 import de.tum.cit.aet.artemis.programming.AbstractProgrammingIntegrationLocalCILocalVCTest;
 import de.tum.cit.aet.artemis.programming.util.ProgrammingExerciseUtilService;
@@ -42,7 +42,7 @@ class CourseResetWeaviateIntegrationTest extends AbstractProgrammingIntegrationL
     private static final String TEST_PREFIX = "crsweaviateint";
 
     @Autowired
-    private SearchableEntityWeaviateService searchableEntityWeaviateService;
+    private PostWeaviateIndexingService postWeaviateIndexingService;
 
     @Autowired
     private WeaviateService weaviateService;
@@ -94,8 +94,8 @@ class CourseResetWeaviateIntegrationTest extends AbstractProgrammingIntegrationL
         Post post1 = createAndSavePost(channel);
         Post post2 = createAndSavePost(channel);
 
-        searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post1, channel));
-        searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post2, channel));
+        postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post1, channel));
+        postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post2, channel));
         assertPostExistsInWeaviate(weaviateService, post1.getId());
         assertPostExistsInWeaviate(weaviateService, post2.getId());
 
@@ -115,7 +115,7 @@ class CourseResetWeaviateIntegrationTest extends AbstractProgrammingIntegrationL
         Channel channel = createPublicChannel("reset-channel-preserved-test");
         Post post = createAndSavePost(channel);
 
-        searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+        postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
         assertPostExistsInWeaviate(weaviateService, post.getId());
         assertChannelExistsInWeaviate(weaviateService, channel);
 
@@ -144,8 +144,8 @@ class CourseResetWeaviateIntegrationTest extends AbstractProgrammingIntegrationL
         Channel createdOtherChannel = channelService.createChannel(otherCourse, otherChannel, Optional.of(otherInstructor));
         Post otherPost = createAndSavePost(createdOtherChannel);
 
-        searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
-        searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(otherPost, createdOtherChannel));
+        postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
+        postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(otherPost, createdOtherChannel));
         assertPostExistsInWeaviate(weaviateService, post.getId());
         assertPostExistsInWeaviate(weaviateService, otherPost.getId());
 
@@ -39,6 +39,7 @@ import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.globalsearch.config.schema.entityschemas.SearchableEntitySchema;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.AnswerPostSearchableEntityDTO;
 import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
+import de.tum.cit.aet.artemis.globalsearch.service.PostWeaviateIndexingService;
 import de.tum.cit.aet.artemis.globalsearch.service.SearchableEntityWeaviateService;
 import de.tum.cit.aet.artemis.globalsearch.service.WeaviateService;
 import de.tum.cit.aet.artemis.programming.AbstractProgrammingIntegrationLocalCILocalVCTest;
@@ -60,6 +61,9 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
     @Autowired
     private SearchableEntityWeaviateService searchableEntityWeaviateService;
 
+    @Autowired
+    private PostWeaviateIndexingService postWeaviateIndexingService;
+
     @Autowired
     private WeaviateService weaviateService;
 
@@ -142,7 +146,7 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Channel channel = createPublicChannel("upsert-test");
             Post post = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
 
             assertPostExistsInWeaviate(weaviateService, post.getId());
         }
@@ -153,7 +157,7 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Channel channel = createPublicChannel("props-test");
             Post post = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
 
             await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
                 var properties = queryPostProperties(weaviateService, post.getId());
@@ -170,12 +174,12 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Channel channel = createPublicChannel("update-test");
             Post post = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
 
             // Simulate content update
             post.setContent("Updated content");
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
 
             await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
                 var properties = queryPostProperties(weaviateService, post.getId());
@@ -208,7 +212,7 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Channel channel = createPublicChannel("delete-post-test");
             Post post = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
 
             long postId = post.getId();
@@ -224,8 +228,8 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Post post1 = createAndSavePost(channel);
             Post post2 = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post1, channel));
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post2, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post1, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post2, channel));
             assertPostExistsInWeaviate(weaviateService, post1.getId());
             assertPostExistsInWeaviate(weaviateService, post2.getId());
 
@@ -243,7 +247,7 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Channel channel = createPublicChannel("archive-post-test");
             Post post = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
 
             long postId = post.getId();
@@ -258,7 +262,7 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             Channel channel = createPublicChannel("course-delete-post-test");
             Post post = createAndSavePost(channel);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
 
             long postId = post.getId();
@@ -269,27 +273,27 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
 
         @Test
         @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
-        void testDeleteAllAnswerPostsForPost_removesAnswerPostsFromWeaviate() throws Exception {
+        void testEnqueueDeletion_removesPostAndAnswerPostsFromWeaviate() throws Exception {
             Channel channel = createPublicChannel("delete-answers-test");
             Post post = createAndSavePost(channel);
             AnswerPost answer1 = createAndSaveAnswerPost(post);
             AnswerPost answer2 = createAndSaveAnswerPost(post);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             searchableEntityWeaviateService.upsertAnswerPostAsync(AnswerPostSearchableEntityDTO.fromAnswerPost(answer1, channel));
             searchableEntityWeaviateService.upsertAnswerPostAsync(AnswerPostSearchableEntityDTO.fromAnswerPost(answer2, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
             assertAnswerPostExistsInWeaviate(weaviateService, answer1.getId());
             assertAnswerPostExistsInWeaviate(weaviateService, answer2.getId());
 
+            long postId = post.getId();
             long answer1Id = answer1.getId();
             long answer2Id = answer2.getId();
-            searchableEntityWeaviateService.deleteAllAnswerPostsForPostAsync(post.getId());
+            postWeaviateIndexingService.enqueueDeletion(postId);
 
+            assertPostNotInWeaviate(weaviateService, postId);
             assertAnswerPostNotInWeaviate(weaviateService, answer1Id);
             assertAnswerPostNotInWeaviate(weaviateService, answer2Id);
-            // The parent post itself should still exist
-            assertPostExistsInWeaviate(weaviateService, post.getId());
         }
 
         @Test
@@ -300,7 +304,7 @@ class PostWeaviateIntegrationTest extends AbstractProgrammingIntegrationLocalCIL
             AnswerPost answer1 = createAndSaveAnswerPost(post);
             AnswerPost answer2 = createAndSaveAnswerPost(post);
 
-            searchableEntityWeaviateService.upsertPostAsync(PostSearchableEntityDTO.fromPost(post, channel));
+            postWeaviateIndexingService.enqueueUpsert(PostSearchableEntityDTO.fromPost(post, channel));
             searchableEntityWeaviateService.upsertAnswerPostAsync(AnswerPostSearchableEntityDTO.fromAnswerPost(answer1, channel));
             searchableEntityWeaviateService.upsertAnswerPostAsync(AnswerPostSearchableEntityDTO.fromAnswerPost(answer2, channel));
             assertPostExistsInWeaviate(weaviateService, post.getId());
@@ -0,0 +1,208 @@
+package de.tum.cit.aet.artemis.globalsearch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import de.tum.cit.aet.artemis.communication.domain.Post;
+import de.tum.cit.aet.artemis.communication.domain.conversation.Channel;
+import de.tum.cit.aet.artemis.communication.repository.PostRepository;
+import de.tum.cit.aet.artemis.course.domain.Course;
+import de.tum.cit.aet.artemis.globalsearch.dto.searchableentity.PostSearchableEntityDTO;
+import de.tum.cit.aet.artemis.globalsearch.exception.WeaviateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PostWeaviateIndexingServiceTest {
+
+    @Mock
+    private SearchableEntityWeaviateService searchableEntityWeaviateService;
+
+    @Mock
+    private PostRepository postRepository;
+
+    /**
+     * The posts that are currently stored in the database, keyed by their id.
+     */
+    private final Map<Long, Post> storedPosts = new HashMap<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PostWeaviateIndexingService postWeaviateIndexingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postWeaviateIndexingService = new PostWeaviateIndexingService(searchableEntityWeaviateService, postRepository, meterRegistry);
+        lenient().when(postRepository.findAllWithConversationAndCourseByIdIn(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream().filter(storedPosts::containsKey).map(storedPosts::get).toList());
+    }
+
+    @Test
+    void shouldWriteLatestStateOfRepeatedlyEditedPostsInOneBatch() {
+        store(post(1L, "edited"), true);
+        store(post(2L, "other"), true);
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "first"));
+        postWeaviateIndexingService.enqueueUpsert(post(2L, "other"));
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "edited"));
+
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verify(searchableEntityWeaviateService).upsertPosts(List.of(post(1L, "edited"), post(2L, "other")));
+        assertThat(pendingChanges()).isZero();
+        assertThat(meterRegistry.get("artemis.global_search.post_indexing.indexed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotWritePendingUpsertOfDeletedPost() {
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "content"));
+        postWeaviateIndexingService.enqueueDeletion(1L);
+
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verify(searchableEntityWeaviateService, never()).upsertPosts(anyList());
+        verify(searchableEntityWeaviateService).deletePost(1L);
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldKeepFailedChangesForRetryWithBackoff() {
+        store(post(1L, "content"), true);
+        doThrow(new WeaviateException("unavailable", null)).when(searchableEntityWeaviateService).upsertPosts(anyList());
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "content"));
+
+        postWeaviateIndexingService.flushPendingChanges();
+        // the retry is not due yet
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verify(searchableEntityWeaviateService, times(1)).upsertPosts(anyList());
+        assertThat(pendingChanges()).isOne();
+        assertThat(meterRegistry.get("artemis.global_search.post_indexing.retried").counter().count()).isOne();
+        assertThat(meterRegistry.get("artemis.global_search.post_indexing.lag").gauge().value()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void shouldDiscardPendingUpsertsOfRemovedChannel() {
+        doThrow(new WeaviateException("unavailable", null)).doNothing().when(searchableEntityWeaviateService).upsertPosts(anyList());
+        store(post(1L, "retried"), true);
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "retried"));
+        postWeaviateIndexingService.flushPendingChanges();
+        postWeaviateIndexingService.enqueueUpsert(post(2L, "pending"));
+        PostSearchableEntityDTO postOfOtherChannel = new PostSearchableEntityDTO(3L, 10L, 30L, null, "other channel");
+        store(postOfOtherChannel, true);
+        postWeaviateIndexingService.enqueueUpsert(postOfOtherChannel);
+
+        postWeaviateIndexingService.enqueueChannelRemoval(20L);
+        postWeaviateIndexingService.flushPendingChanges();
+
+        InOrder inOrder = inOrder(searchableEntityWeaviateService);
+        inOrder.verify(searchableEntityWeaviateService).upsertPosts(List.of(postOfOtherChannel));
+        inOrder.verify(searchableEntityWeaviateService).deletePostsOfChannel(20L);
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldRemoveChannelAfterUpsertThatWasWrittenWhileRemovalWasRecorded() {
+        doAnswer(invocation -> {
+            postWeaviateIndexingService.enqueueChannelRemoval(20L);
+            return null;
+        }).when(searchableEntityWeaviateService).upsertPosts(anyList());
+        store(post(1L, "content"), true);
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "content"));
+
+        postWeaviateIndexingService.flushPendingChanges();
+
+        InOrder inOrder = inOrder(searchableEntityWeaviateService);
+        inOrder.verify(searchableEntityWeaviateService).upsertPosts(List.of(post(1L, "content")));
+        inOrder.verify(searchableEntityWeaviateService).deletePostsOfChannel(20L);
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldWriteCurrentStateOfPostFromDatabase() {
+        // the post was edited again on another node
+        store(post(1L, "edited on another node"), true);
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "content"));
+
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verify(searchableEntityWeaviateService).upsertPosts(List.of(post(1L, "edited on another node")));
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldRemovePostDeletedOnAnotherNodeInsteadOfWritingPendingUpsert() {
+        store(post(2L, "other"), true);
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "content"));
+        postWeaviateIndexingService.enqueueUpsert(post(2L, "other"));
+
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verify(searchableEntityWeaviateService).upsertPosts(List.of(post(2L, "other")));
+        verify(searchableEntityWeaviateService).deletePost(1L);
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldRemovePostOfChannelRemovedOnAnotherNodeInsteadOfWritingPendingUpsert() {
+        store(post(1L, "content"), false);
+        postWeaviateIndexingService.enqueueUpsert(post(1L, "content"));
+
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verify(searchableEntityWeaviateService, never()).upsertPosts(anyList());
+        verify(searchableEntityWeaviateService).deletePost(1L);
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldNotAccessWeaviateWithoutPendingChanges() {
+        postWeaviateIndexingService.flushPendingChanges();
+
+        verifyNoInteractions(searchableEntityWeaviateService);
+        assertThat(meterRegistry.get("artemis.global_search.post_indexing.lag").gauge().value()).isZero();
+    }
+
+    private double pendingChanges() {
+        return meterRegistry.get("artemis.global_search.post_indexing.pending").gauge().value();
+    }
+
+    private static PostSearchableEntityDTO post(long postId, String content) {
+        return new PostSearchableEntityDTO(postId, 10L, 20L, null, content);
+    }
+
+    private void store(PostSearchableEntityDTO post, boolean inIndexableChannel) {
+        Course course = new Course();
+        course.setId(post.courseId());
+        Channel channel = new Channel();
+        channel.setId(post.channelId());
+        channel.setCourse(course);
+        channel.setIsPublic(true);
+        channel.setIsArchived(!inIndexableChannel);
+        Post storedPost = new Post(post.postId());
+        storedPost.setTitle(post.title());
+        storedPost.setContent(post.content());
+        storedPost.setConversation(channel);
+        storedPosts.put(post.postId(), storedPost);
+    }
+}
@@ -29,6 +29,7 @@ import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailService;
 import de.tum.cit.aet.artemis.shared.base.AbstractSpringIntegrationIndependentTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Integration tests for Iris dashboard emails sent via {@link MailService}.
@@ -71,7 +72,7 @@ class IrisDashboardEmailIntegrationTest extends AbstractSpringIntegrationIndepen
         var mailEnabledProperties = new ArtemisProperties();
         mailEnabledProperties.getMail().setFrom("test@greenmail.test");
 
-        var testMailSendingService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine);
+        var testMailSendingService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine, new SimpleMeterRegistry());
         ReflectionTestUtils.setField(testMailSendingService, "artemisServerUrl", new URL("http://localhost:9000"));
 
         testMailService = new MailService(mainMessageSource, testTemplateEngine, testMailSendingService);
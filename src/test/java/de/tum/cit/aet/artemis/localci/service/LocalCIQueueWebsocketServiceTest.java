@@ -0,0 +1,145 @@
+package de.tum.cit.aet.artemis.localci.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import de.tum.cit.aet.artemis.buildagent.dto.BuildConfig;
+import de.tum.cit.aet.artemis.buildagent.dto.BuildJobQueueItem;
+import de.tum.cit.aet.artemis.buildagent.dto.JobTimingInfo;
+import de.tum.cit.aet.artemis.buildagent.dto.RepositoryInfo;
+import de.tum.cit.aet.artemis.localci.dto.BuildJobQueueDeltaDTO;
+import de.tum.cit.aet.artemis.programming.domain.RepositoryType;
+
+/**
+ * Unit tests for the throttling and the deltas of the build queue websocket messages sent by the {@link LocalCIQueueWebsocketService}.
+ */
+class LocalCIQueueWebsocketServiceTest {
+
+    private static final long COURSE_ID = 1;
+
+    private static final ZonedDateTime SUBMISSION_DATE = ZonedDateTime.now().minusMinutes(1);
+
+    private LocalCIWebsocketMessagingService localCIWebsocketMessagingService;
+
+    private DistributedDataAccessService distributedDataAccessService;
+
+    private TaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        localCIWebsocketMessagingService = mock(LocalCIWebsocketMessagingService.class);
+        distributedDataAccessService = mock(DistributedDataAccessService.class);
+        scheduler = mock(TaskScheduler.class);
+    }
+
+    @Test
+    void sendQueuedJobsOverWebsocket_coalescesChangesWithinInterval() {
+        var service = createService(60_000, false);
+        var firstJob = buildJob("job-1", 1);
+        var secondJob = buildJob("job-2", 1);
+
+        when(distributedDataAccessService.getQueuedJobs()).thenReturn(List.of(firstJob));
+        service.sendQueuedJobsOverWebsocket(COURSE_ID);
+        verify(localCIWebsocketMessagingService).sendQueuedBuildJobs(List.of(firstJob));
+
+        // further changes within the interval are only sent once the interval has passed
+        service.sendQueuedJobsOverWebsocket(COURSE_ID);
+        when(distributedDataAccessService.getQueuedJobs()).thenReturn(List.of(firstJob, secondJob));
+        service.sendQueuedJobsOverWebsocket(COURSE_ID);
+        verify(localCIWebsocketMessagingService, times(1)).sendQueuedBuildJobs(any());
+
+        var scheduledFlushes = ArgumentCaptor.forClass(Runnable.class);
+        // one flush for the admin topic and one for the course topic
+        verify(scheduler, times(2)).schedule(scheduledFlushes.capture(), any(Instant.class));
+        scheduledFlushes.getAllValues().forEach(Runnable::run);
+
+        verify(localCIWebsocketMessagingService).sendQueuedBuildJobs(List.of(firstJob, secondJob));
+        verify(localCIWebsocketMessagingService).sendQueuedBuildJobsForCourse(COURSE_ID, List.of(firstJob, secondJob));
+        verify(localCIWebsocketMessagingService, never()).sendQueuedBuildJobsDelta(any(), any());
+    }
+
+    @Test
+    void sendQueuedJobsOverWebsocket_sendsEveryChangeWithoutInterval() {
+        var service = createService(0, false);
+        when(distributedDataAccessService.getQueuedJobs()).thenReturn(List.of(buildJob("job-1", 1)));
+
+        service.sendQueuedJobsOverWebsocket(COURSE_ID);
+        service.sendQueuedJobsOverWebsocket(COURSE_ID);
+
+        verify(localCIWebsocketMessagingService, times(2)).sendQueuedBuildJobs(any());
+        verify(scheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void sendProcessingJobsOverWebsocket_sendsDeltasAfterFullList() {
+        var service = createService(0, true);
+        var firstJob = buildJob("job-1", 1);
+        var secondJob = buildJob("job-2", 1);
+        var updatedSecondJob = buildJob("job-2", 2);
+        var thirdJob = buildJob("job-3", 1);
+
+        when(distributedDataAccessService.getProcessingJobs()).thenReturn(List.of(firstJob, secondJob));
+        service.sendProcessingJobsOverWebsocket(COURSE_ID);
+        verify(localCIWebsocketMessagingService).sendRunningBuildJobs(List.of(firstJob, secondJob));
+
+        when(distributedDataAccessService.getProcessingJobs()).thenReturn(List.of(updatedSecondJob, thirdJob));
+        service.sendProcessingJobsOverWebsocket(COURSE_ID);
+
+        var expectedDelta = new BuildJobQueueDeltaDTO(List.of(thirdJob), List.of(updatedSecondJob), List.of("job-1"));
+        verify(localCIWebsocketMessagingService).sendRunningBuildJobsDelta(isNull(), eq(expectedDelta));
+        verify(localCIWebsocketMessagingService).sendRunningBuildJobsDelta(COURSE_ID, expectedDelta);
+
+        // unchanged jobs do not result in an empty delta
+        service.sendProcessingJobsOverWebsocket(COURSE_ID);
+        verify(localCIWebsocketMessagingService, times(2)).sendRunningBuildJobsDelta(any(), any());
+        verify(localCIWebsocketMessagingService, times(1)).sendRunningBuildJobs(any());
+    }
+
+    @Test
+    void sendProcessingJobsOverWebsocket_sendsFullListAgainAfterJobsFinished() {
+        var service = createService(0, true);
+        var job = buildJob("job-1", 1);
+
+        when(distributedDataAccessService.getProcessingJobs()).thenReturn(List.of(job));
+        service.sendProcessingJobsOverWebsocket(COURSE_ID);
+        when(distributedDataAccessService.getProcessingJobs()).thenReturn(List.of());
+        service.sendProcessingJobsOverWebsocket(COURSE_ID);
+        when(distributedDataAccessService.getProcessingJobs()).thenReturn(List.of(job));
+        service.sendProcessingJobsOverWebsocket(COURSE_ID);
+
+        verify(localCIWebsocketMessagingService, times(2)).sendRunningBuildJobs(List.of(job));
+        var delta = ArgumentCaptor.forClass(BuildJobQueueDeltaDTO.class);
+        verify(localCIWebsocketMessagingService).sendRunningBuildJobsDelta(isNull(), delta.capture());
+        assertThat(delta.getValue().removed()).containsExactly("job-1");
+    }
+
+    private LocalCIQueueWebsocketService createService(long minIntervalMillis, boolean sendDeltas) {
+        return new LocalCIQueueWebsocketService(localCIWebsocketMessagingService, distributedDataAccessService, scheduler, minIntervalMillis, sendDeltas);
+    }
+
+    /**
+     * Creates a build job that only contains the information that is sent over the websocket, so that it equals the job that is sent.
+     */
+    private static BuildJobQueueItem buildJob(String id, int priority) {
+        var jobTimingInfo = new JobTimingInfo(SUBMISSION_DATE, null, null, null, 15);
+        var repositoryInfo = new RepositoryInfo("dummy-repo-slug", RepositoryType.USER, RepositoryType.USER, "", "", "", null, null);
+        var buildConfig = new BuildConfig("", "", "dummy-commit-hash", "", "", "", null, null, false, false, null, 15, "", "", "", null);
+        return new BuildJobQueueItem(id, "dummy-name", null, 1, COURSE_ID, 1, 0, priority, null, repositoryInfo, jobTimingInfo, buildConfig, null);
+    }
+}
@@ -0,0 +1,78 @@
+package de.tum.cit.aet.artemis.localvc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.programming.web.repository.RepositoryActionType;
+
+/**
+ * Unit tests for the {@link LocalVCAuthorizationCacheService}. The cache must never serve a decision for other credentials, after the stored credentials of the user changed
+ * or for write access.
+ */
+class LocalVCAuthorizationCacheServiceTest {
+
+    private final LocalVCRepositoryUri repositoryUri = new LocalVCRepositoryUri(URI.create("https://artemis.example.com"), "ABC", "abc-student1");
+
+    private LocalVCAuthorizationCacheService cacheService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = new LocalVCAuthorizationCacheService(60);
+        user = new User();
+        user.setId(1L);
+        user.setLogin("student1");
+        user.setPassword("$2a$10$hash");
+        user.setActivated(true);
+    }
+
+    @Test
+    void isAuthenticated_onlyForTheVerifiedCredentials() {
+        cacheService.putAuthenticated(user, "secret");
+
+        assertThat(cacheService.isAuthenticated(user, "secret")).isTrue();
+        assertThat(cacheService.isAuthenticated(user, "other")).isFalse();
+    }
+
+    @Test
+    void isAuthenticated_invalidatedByPasswordChange() {
+        cacheService.putAuthenticated(user, "secret");
+
+        user.setPassword("$2a$10$otherHash");
+
+        assertThat(cacheService.isAuthenticated(user, "secret")).isFalse();
+    }
+
+    @Test
+    void isAuthorized_invalidatedByTokenChange() {
+        cacheService.putAuthorized(user, repositoryUri, RepositoryActionType.READ);
+        assertThat(cacheService.isAuthorized(user, repositoryUri, RepositoryActionType.READ)).isTrue();
+
+        user.setVcsAccessToken("vcpat-new");
+        user.setVcsAccessTokenExpiryDate(ZonedDateTime.now().plusDays(1));
+
+        assertThat(cacheService.isAuthorized(user, repositoryUri, RepositoryActionType.READ)).isFalse();
+    }
+
+    @Test
+    void isAuthorized_neverForWriteAccess() {
+        cacheService.putAuthorized(user, repositoryUri, RepositoryActionType.WRITE);
+
+        assertThat(cacheService.isAuthorized(user, repositoryUri, RepositoryActionType.WRITE)).isFalse();
+    }
+
+    @Test
+    void cacheIsDisabledWithoutTimeToLive() {
+        var disabledCache = new LocalVCAuthorizationCacheService(0);
+        disabledCache.putAuthenticated(user, "secret");
+
+        assertThat(disabledCache.isAuthenticated(user, "secret")).isFalse();
+    }
+}
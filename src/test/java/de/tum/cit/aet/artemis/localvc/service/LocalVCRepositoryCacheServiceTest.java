@@ -0,0 +1,193 @@
+package de.tum.cit.aet.artemis.localvc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.RepositoryNotFoundException;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link LocalVCRepositoryCacheService}. The tests use real bare repositories and check the reference count of the JGit repositories, because a
+ * repository that is closed too early breaks running git requests and a repository that is never closed keeps file handles open.
+ */
+class LocalVCRepositoryCacheServiceTest {
+
+    @TempDir
+    Path baseDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LocalVCRepositoryCacheService repositoryCacheService;
+
+    private Path repositoryDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        repositoryCacheService = new LocalVCRepositoryCacheService(baseDir, 10, 300, meterRegistry);
+        repositoryDir = createBareRepository("PROJECT/project-student1.git");
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositoryCacheService.closeAll();
+    }
+
+    @Test
+    void shouldHandOutCachedRepositoryWithOneReferencePerRequest() throws Exception {
+        Repository first = repositoryCacheService.acquire(repositoryDir);
+        Repository second = repositoryCacheService.acquire(repositoryDir);
+
+        assertThat(second).isSameAs(first);
+        // one reference of the cache and one per request
+        assertThat(useCount(first)).isEqualTo(3);
+
+        first.close();
+        second.close();
+
+        assertThat(useCount(first)).isOne();
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.requests").tag("result", "hit").counter().count()).isOne();
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.requests").tag("result", "miss").counter().count()).isOne();
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.opened").counter().count()).isOne();
+    }
+
+    @Test
+    void shouldKeepRepositoryOpenIfEvictedWhileInUse() throws Exception {
+        Repository repository = repositoryCacheService.acquire(repositoryDir);
+
+        repositoryCacheService.evict(repositoryDir);
+
+        // the request can still use the repository until it closes its reference
+        assertThat(useCount(repository)).isOne();
+        assertThat(repository.getRefDatabase().getRefs()).isEmpty();
+        repository.close();
+        assertThat(useCount(repository)).isZero();
+
+        try (Repository reopened = repositoryCacheService.acquire(repositoryDir)) {
+            assertThat(reopened).isNotSameAs(repository);
+        }
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.closed").tag("reason", "deleted").counter().count()).isOne();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedRepositoryIfCacheIsFull() throws Exception {
+        repositoryCacheService = new LocalVCRepositoryCacheService(baseDir, 1, 300, meterRegistry);
+        Path otherRepositoryDir = createBareRepository("PROJECT/project-student2.git");
+
+        Repository first = repositoryCacheService.acquire(repositoryDir);
+        first.close();
+        Repository second = repositoryCacheService.acquire(otherRepositoryDir);
+        second.close();
+
+        assertThat(useCount(first)).isZero();
+        assertThat(useCount(second)).isOne();
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.size").gauge().value()).isOne();
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.closed").tag("reason", "capacity").counter().count()).isOne();
+    }
+
+    @Test
+    void shouldPublishUsesOfCurrentlyCachedRepositories() throws Exception {
+        Path otherRepositoryDir = createBareRepository("PROJECT/project-student2.git");
+        repositoryCacheService.acquire(repositoryDir).close();
+        repositoryCacheService.acquire(repositoryDir).close();
+        repositoryCacheService.acquire(otherRepositoryDir).close();
+
+        repositoryCacheService.evictIdleRepositories();
+
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.repository.uses").tag("repository", "PROJECT/project-student1.git").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.repository.uses").tag("repository", "PROJECT/project-student2.git").gauge().value()).isOne();
+
+        repositoryCacheService.evict(otherRepositoryDir);
+        repositoryCacheService.evictIdleRepositories();
+
+        // evicted repositories are no longer published, so the number of series is bounded by the cache size
+        assertThat(meterRegistry.find("artemis.localvc.repository_cache.repository.uses").tag("repository", "PROJECT/project-student2.git").gauge()).isNull();
+
+        repositoryCacheService.closeAll();
+
+        assertThat(meterRegistry.find("artemis.localvc.repository_cache.repository.uses").gauges()).isEmpty();
+    }
+
+    @Test
+    void shouldThrowIfRepositoryDoesNotExist() {
+        assertThatThrownBy(() -> repositoryCacheService.acquire(baseDir.resolve("PROJECT/missing.git"))).isInstanceOf(RepositoryNotFoundException.class);
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldReleaseAllReferencesUnderConcurrentAcquireCloseAndEvict() throws Exception {
+        Set<Repository> handedOutRepositories = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 7; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int request = 0; request < 200; request++) {
+                        try (Repository repository = repositoryCacheService.acquire(repositoryDir)) {
+                            handedOutRepositories.add(repository);
+                            repository.getRefDatabase().getRefs();
+                        }
+                        catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int eviction = 0; eviction < 50; eviction++) {
+                    repositoryCacheService.evict(repositoryDir);
+                    Thread.yield();
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        repositoryCacheService.closeAll();
+
+        assertThat(failures).hasValue(0);
+        assertThat(handedOutRepositories).isNotEmpty().allSatisfy(repository -> assertThat(useCount(repository)).isZero());
+        assertThat(meterRegistry.get("artemis.localvc.repository_cache.size").gauge().value()).isZero();
+    }
+
+    private Path createBareRepository(String relativePath) throws Exception {
+        Path directory = baseDir.resolve(relativePath);
+        Git.init().setBare(true).setDirectory(directory.toFile()).call().close();
+        return directory;
+    }
+
+    private static int useCount(Repository repository) {
+        return ((AtomicInteger) ReflectionTestUtils.getField(repository, "useCnt")).get();
+    }
+}
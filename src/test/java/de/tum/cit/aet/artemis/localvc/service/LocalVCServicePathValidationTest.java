@@ -29,7 +29,7 @@ class LocalVCServicePathValidationTest {
     @BeforeEach
     void setUp() {
         // None of the methods under test touch the injected collaborators, so passing null is safe and keeps the test fast.
-        localVCService = new LocalVCService(null, null, null, null, null, null);
+        localVCService = new LocalVCService(null, null, null, null, null, null, null);
         ReflectionTestUtils.setField(localVCService, "localVCBasePath", baseDir);
         ReflectionTestUtils.setField(localVCService, "localVCBaseUri", URI.create("https://artemis.example.com"));
     }
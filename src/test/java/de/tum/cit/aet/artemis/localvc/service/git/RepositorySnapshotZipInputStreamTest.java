@@ -0,0 +1,127 @@
+package de.tum.cit.aet.artemis.localvc.service.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.tum.cit.aet.artemis.localvc.service.GitService;
+
+/**
+ * Unit tests for the {@link RepositorySnapshotZipInputStream}, which streams the files of a commit as zip archive while it is read.
+ */
+class RepositorySnapshotZipInputStreamTest {
+
+    @TempDir
+    Path repositoryDir;
+
+    private Git git;
+
+    private Repository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        git = Git.init().setDirectory(repositoryDir.toFile()).call();
+        repository = git.getRepository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        git.close();
+    }
+
+    @Test
+    void read_containsFilesAndDirectoriesOfCommit() throws Exception {
+        byte[] largeContent = new byte[300 * 1024];
+        for (int i = 0; i < largeContent.length; i++) {
+            largeContent[i] = (byte) (i * 31 + i / 7);
+        }
+        Files.createDirectories(repositoryDir.resolve("src/main"));
+        Files.writeString(repositoryDir.resolve("src/main/Main.java"), "public class Main {}");
+        Files.write(repositoryDir.resolve("large.bin"), largeContent);
+        Path gradlew = Files.writeString(repositoryDir.resolve("gradlew"), "#!/bin/sh");
+        assertThat(gradlew.toFile().setExecutable(true)).isTrue();
+        RevCommit commit = commitAll();
+
+        byte[] zip = readFully(new RepositorySnapshotZipInputStream(acquireRepository(), commit));
+
+        Map<String, byte[]> contents = new HashMap<>();
+        try (ZipFile zipFile = ZipFile.builder().setSeekableByteChannel(new SeekableInMemoryByteChannel(zip)).get()) {
+            for (ZipArchiveEntry entry : zipFile.getEntries()) {
+                assertThat(entry.getTime()).isEqualTo(commit.getCommitTime() * 1000L);
+                try (InputStream content = zipFile.getInputStream(entry)) {
+                    contents.put(entry.getName(), content.readAllBytes());
+                }
+            }
+            assertThat(zipFile.getEntry("gradlew").getUnixMode()).isEqualTo(0100755);
+            assertThat(zipFile.getEntry("src/main/Main.java").getUnixMode()).isEqualTo(0100644);
+        }
+        assertThat(contents).containsOnlyKeys("src/", "src/main/", "src/main/Main.java", "large.bin", "gradlew");
+        assertThat(contents.get("src/main/Main.java")).asString(StandardCharsets.UTF_8).isEqualTo("public class Main {}");
+        assertThat(contents.get("large.bin")).isEqualTo(largeContent);
+    }
+
+    @Test
+    void close_releasesRepositoryBeforeArchiveIsComplete() throws Exception {
+        Files.writeString(repositoryDir.resolve("README.md"), "# Exercise");
+        RevCommit commit = commitAll();
+
+        Repository streamedRepository = spy(acquireRepository());
+        var zipStream = new RepositorySnapshotZipInputStream(streamedRepository, commit);
+        assertThat(zipStream.read()).isNotNegative();
+        zipStream.close();
+        zipStream.close();
+
+        // the stream releases exactly the reference it was handed
+        verify(streamedRepository, times(1)).close();
+        assertThatThrownBy(zipStream::read).isInstanceOf(IOException.class);
+    }
+
+    /**
+     * The stream takes ownership of the repository, so it receives its own reference.
+     */
+    private Repository acquireRepository() {
+        repository.incrementOpen();
+        return repository;
+    }
+
+    private RevCommit commitAll() throws Exception {
+        git.add().addFilepattern(".").call();
+        return GitService.commit(git).setMessage("Initial commit").call();
+    }
+
+    /**
+     * Reads the stream in small portions to exercise the chunked creation of the archive.
+     */
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        try (inputStream; var outputStream = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1000];
+            int count;
+            while ((count = inputStream.read(buffer)) >= 0) {
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+}
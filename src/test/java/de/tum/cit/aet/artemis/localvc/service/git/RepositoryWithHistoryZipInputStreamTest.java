@@ -0,0 +1,95 @@
+package de.tum.cit.aet.artemis.localvc.service.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.tum.cit.aet.artemis.localvc.service.GitService;
+
+/**
+ * Unit tests for the {@link RepositoryWithHistoryZipInputStream}, which streams a branch of a repository including its history as zip archive while it is read.
+ */
+class RepositoryWithHistoryZipInputStreamTest {
+
+    @TempDir
+    Path repositoryDir;
+
+    @TempDir
+    Path tempDir;
+
+    private Git git;
+
+    private Repository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        git = Git.init().setDirectory(repositoryDir.toFile()).setInitialBranch("main").call();
+        repository = git.getRepository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        git.close();
+    }
+
+    @Test
+    void read_containsRepositoryWithHistoryOfBranch() throws Exception {
+        Files.writeString(repositoryDir.resolve("README.md"), "# Exercise");
+        commitAll("Initial commit");
+        Files.createDirectories(repositoryDir.resolve("src"));
+        Files.writeString(repositoryDir.resolve("src/Main.java"), "public class Main {}");
+        Path gradlew = Files.writeString(repositoryDir.resolve("gradlew"), "#!/bin/sh");
+        assertThat(gradlew.toFile().setExecutable(true)).isTrue();
+        RevCommit latestCommit = commitAll("Add sources");
+        Path packFile = Files.createFile(tempDir.resolve("export.pack"));
+
+        repository.incrementOpen();
+        byte[] zip;
+        try (InputStream zipStream = new RepositoryWithHistoryZipInputStream(repository, repositoryDir.toUri(), "main", latestCommit, packFile)) {
+            zip = zipStream.readAllBytes();
+        }
+        assertThat(packFile).doesNotExist();
+
+        Path extractedDir = Files.createDirectory(tempDir.resolve("extracted"));
+        try (ZipFile zipFile = ZipFile.builder().setSeekableByteChannel(new SeekableInMemoryByteChannel(zip)).get()) {
+            assertThat(zipFile.getEntry("gradlew").getUnixMode()).isEqualTo(0100755);
+            for (ZipArchiveEntry entry : zipFile.getEntries()) {
+                Path target = extractedDir.resolve(entry.getName());
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                try (InputStream content = zipFile.getInputStream(entry)) {
+                    Files.copy(content, target);
+                }
+            }
+        }
+
+        assertThat(extractedDir.resolve("src/Main.java")).hasContent("public class Main {}");
+        try (Git extractedGit = Git.open(extractedDir.toFile())) {
+            assertThat(extractedGit.getRepository().getBranch()).isEqualTo("main");
+            assertThat(extractedGit.getRepository().resolve("HEAD")).isEqualTo(latestCommit);
+            assertThat(extractedGit.log().call()).extracting(RevCommit::getFullMessage).containsExactly("Add sources", "Initial commit");
+            assertThat(extractedGit.getRepository().readDirCache().getEntryCount()).isEqualTo(3);
+        }
+    }
+
+    private RevCommit commitAll(String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        return GitService.commit(git).setMessage(message).call();
+    }
+}
@@ -5,9 +5,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import jakarta.mail.internet.MimeMessage;
 
@@ -29,9 +32,11 @@ import com.icegreen.greenmail.util.ServerSetupTest;
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.core.config.ArtemisProperties;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.CourseNotificationCategory;
+import de.tum.cit.aet.artemis.notification.dto.MailDTO;
 import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.shared.base.AbstractSpringIntegrationIndependentTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Integration tests for course notification email templates.
@@ -90,7 +95,7 @@ class CourseNotificationEmailIntegrationTest extends AbstractSpringIntegrationIn
         var mailEnabledProperties = new ArtemisProperties();
         mailEnabledProperties.getMail().setFrom("test@greenmail.test");
 
-        testMailSendingService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine);
+        testMailSendingService = new MailSendingService(mailEnabledProperties, greenMailSender, mainMessageSource, testTemplateEngine, new SimpleMeterRegistry());
         ReflectionTestUtils.setField(testMailSendingService, "artemisServerUrl", SERVER_URL);
 
         recipient = new User();
@@ -449,6 +454,34 @@ class CourseNotificationEmailIntegrationTest extends AbstractSpringIntegrationIn
         assertThat(body).contains("Physik");
     }
 
+    // -- Batched delivery --
+
+    @Test
+    void sendEmailsSync_shouldDeliverAllMailsOverBatchedConnections() throws Exception {
+        var params = Map.of("postTitle", (Object) "Important Update", "courseTitle", "Software Engineering", "postMarkdownContent", "Please read the updated guidelines.");
+        Context context = createContext("newAnnouncementNotification", params, Locale.ENGLISH);
+        String content = testTemplateEngine.process("mail/course_notification/newAnnouncementNotification", context);
+        String subject = mainMessageSource.getMessage("email.courseNotification.newAnnouncementNotification.title", null, Locale.ENGLISH);
+
+        // more than two batches, so that the batches are delivered in parallel
+        List<MailDTO> mails = IntStream.range(0, 120)
+                .mapToObj(i -> new MailDTO(new MailRecipientDTO("user" + i + "@greenmail.test", "en", "user" + i, "User", String.valueOf(i), null, null), subject, content))
+                .toList();
+
+        testMailSendingService.sendEmailsSync(mails, false, true);
+
+        assertThat(greenMail.waitForIncomingEmail(EMAIL_TIMEOUT_MS, mails.size())).isTrue();
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        assertThat(messages).hasSize(mails.size());
+        List<String> deliveredAddresses = new ArrayList<>();
+        for (MimeMessage message : messages) {
+            deliveredAddresses.add(message.getAllRecipients()[0].toString());
+        }
+        assertThat(deliveredAddresses).containsExactlyInAnyOrderElementsOf(mails.stream().map(mail -> mail.recipient().email()).toList());
+        assertThat(messages[0].getSubject()).isEqualTo(subject);
+        assertThat(messages[0].getContent().toString()).contains("Important Update");
+    }
+
     // -- Helper methods --
 
     /**
@@ -457,6 +490,14 @@ class CourseNotificationEmailIntegrationTest extends AbstractSpringIntegrationIn
      */
     private void sendCourseNotificationEmail(String notificationType, Map<String, Object> parameters, String langKey) {
         Locale locale = Locale.forLanguageTag(langKey);
+        Context context = createContext(notificationType, parameters, locale);
+
+        String content = testTemplateEngine.process("mail/course_notification/" + notificationType, context);
+        String subject = mainMessageSource.getMessage("email.courseNotification." + notificationType + ".title", null, locale);
+        testMailSendingService.sendEmailSync(MailRecipientDTO.from(recipient), subject, content, false, true);
+    }
+
+    private Context createContext(String notificationType, Map<String, Object> parameters, Locale locale) {
         Context context = new Context(locale);
         context.setVariable("serverUrl", SERVER_URL);
         context.setVariable("notificationType", notificationType);
@@ -466,10 +507,7 @@ class CourseNotificationEmailIntegrationTest extends AbstractSpringIntegrationIn
         context.setVariable("creationDate", ZonedDateTime.now());
         context.setVariable("category", CourseNotificationCategory.GENERAL);
         context.setVariable("notificationUrl", SERVER_URL + "/courses/" + COURSE_ID);
-
-        String content = testTemplateEngine.process("mail/course_notification/" + notificationType, context);
-        String subject = mainMessageSource.getMessage("email.courseNotification." + notificationType + ".title", null, locale);
-        testMailSendingService.sendEmailSync(MailRecipientDTO.from(recipient), subject, content, false, true);
+        return context;
     }
 
     private String getDeliveredEmailBody() throws Exception {
@@ -27,6 +27,7 @@ import de.tum.cit.aet.artemis.core.config.ArtemisProperties;
 import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * This is a very basic testing class for the mail service
@@ -98,7 +99,7 @@ class MailServiceTest {
         templateEngine = mock(SpringTemplateEngine.class);
         when(templateEngine.process(any(String.class), any())).thenReturn("test");
 
-        mailSendingService = new MailSendingService(jHipsterProperties, javaMailSender, messageSource, templateEngine);
+        mailSendingService = new MailSendingService(jHipsterProperties, javaMailSender, messageSource, templateEngine, new SimpleMeterRegistry());
 
         MailService mailService = new MailService(messageSource, templateEngine, mailSendingService);
         ReflectionTestUtils.setField(mailService, "artemisServerUrl", new URI("http://localhost:8080").toURL());
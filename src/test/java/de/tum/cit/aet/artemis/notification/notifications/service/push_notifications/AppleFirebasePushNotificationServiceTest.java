@@ -1,30 +1,60 @@
 package de.tum.cit.aet.artemis.notification.notifications.service.push_notifications;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anySet;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpEntity;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.core.config.Constants;
 import de.tum.cit.aet.artemis.core.service.feature.FeatureToggleService;
+import de.tum.cit.aet.artemis.notification.domain.course_notifications.CourseNotificationCategory;
 import de.tum.cit.aet.artemis.notification.domain.push_notification.PushNotificationApiType;
 import de.tum.cit.aet.artemis.notification.domain.push_notification.PushNotificationDeviceConfiguration;
 import de.tum.cit.aet.artemis.notification.domain.push_notification.PushNotificationDeviceType;
+import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
+import de.tum.cit.aet.artemis.notification.dto.CourseNotificationRecipientDTO;
 import de.tum.cit.aet.artemis.notification.repository.PushNotificationDeviceConfigurationRepository;
 import de.tum.cit.aet.artemis.notification.service.notifications.push_notifications.ApplePushNotificationService;
 import de.tum.cit.aet.artemis.notification.service.notifications.push_notifications.FirebasePushNotificationService;
+import de.tum.cit.aet.artemis.notification.service.notifications.push_notifications.RelayNotificationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class AppleFirebasePushNotificationServiceTest {
 
@@ -46,6 +76,11 @@ class AppleFirebasePushNotificationServiceTest {
 
     private User student;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    @Captor
+    private ArgumentCaptor<HttpEntity<String>> requestCaptor;
+
     private AutoCloseable closeable;
 
     @BeforeEach
@@ -66,8 +101,9 @@ class AppleFirebasePushNotificationServiceTest {
         when(repositoryMock.findByUserIdIn(anySet(), eq(PushNotificationDeviceType.APNS))).thenReturn(List.of(applePushNotificationDeviceConfiguration));
         when(repositoryMock.findByUserIdIn(anySet(), eq(PushNotificationDeviceType.FIREBASE))).thenReturn(List.of(firebasePushNotificationDeviceConfiguration));
 
-        applePushNotificationService = new ApplePushNotificationService(repositoryMock, appleRestTemplateMock);
-        firebasePushNotificationService = new FirebasePushNotificationService(repositoryMock, firebaseRestTemplateMock);
+        meterRegistry = new SimpleMeterRegistry();
+        applePushNotificationService = new ApplePushNotificationService(repositoryMock, appleRestTemplateMock, meterRegistry);
+        firebasePushNotificationService = new FirebasePushNotificationService(repositoryMock, firebaseRestTemplateMock, meterRegistry);
 
         ReflectionTestUtils.setField(applePushNotificationService, "relayServerBaseUrl", "test");
         ReflectionTestUtils.setField(firebasePushNotificationService, "relayServerBaseUrl", "test");
@@ -75,6 +111,8 @@ class AppleFirebasePushNotificationServiceTest {
 
     @AfterEach
     void tearDown() throws Exception {
+        applePushNotificationService.shutdownRelayExecutor();
+        firebasePushNotificationService.shutdownRelayExecutor();
         if (closeable != null) {
             closeable.close();
         }
@@ -106,4 +144,90 @@ class AppleFirebasePushNotificationServiceTest {
         // Then
         assertThat(deviceType).isEqualTo(PushNotificationDeviceType.FIREBASE);
     }
+
+    @Test
+    void sendCourseNotification_shouldEncryptForEveryDeviceWithOwnInitializationVector() throws Exception {
+        byte[] secretKey = HexFormat.of().parseHex("e04fd020ea3a6910a2d808002b30309d");
+        List<PushNotificationDeviceConfiguration> devices = IntStream.range(0, 100).mapToObj(
+                i -> new PushNotificationDeviceConfiguration("token" + i, PushNotificationDeviceType.APNS, new Date(), secretKey, student, PushNotificationApiType.IOS_V2, "1.0.0"))
+                .toList();
+        when(repositoryMock.findByUserIdIn(anySet(), eq(PushNotificationDeviceType.APNS))).thenReturn(devices);
+
+        applePushNotificationService.sendCourseNotification(createNotification(), Set.of(CourseNotificationRecipientDTO.from(student)));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).untilAsserted(
+                () -> verify(appleRestTemplateMock, times(100)).postForObject(eq("test/api/push_notification/send_apns"), requestCaptor.capture(), eq(String.class)));
+
+        ObjectMapper mapper = new ObjectMapper();
+        Set<String> initializationVectors = new HashSet<>();
+        for (HttpEntity<String> request : requestCaptor.getAllValues()) {
+            RelayNotificationRequest relayRequest = mapper.readValue(request.getBody(), RelayNotificationRequest.class);
+            initializationVectors.add(relayRequest.initializationVector());
+
+            Cipher cipher = Cipher.getInstance(Constants.PUSH_NOTIFICATION_ENCRYPTION_ALGORITHM);
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(secretKey, "AES"), new IvParameterSpec(Base64.getDecoder().decode(relayRequest.initializationVector())));
+            String payload = new String(cipher.doFinal(Base64.getDecoder().decode(relayRequest.payloadCipherText())), StandardCharsets.UTF_8);
+            assertThat(payload).contains("newPostNotification");
+        }
+        assertThat(initializationVectors).hasSize(100);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(meterRegistry.counter("artemis.push_notification.relay", "device_type", "APNS", "result", "sent").count()).isEqualTo(100));
+    }
+
+    @Test
+    void sendCourseNotification_shouldSendFirebaseNotificationsInChunks() {
+        byte[] secretKey = HexFormat.of().parseHex("e04fd020ea3a6910a2d808002b30309d");
+        List<PushNotificationDeviceConfiguration> devices = IntStream.range(0, 1001).mapToObj(i -> new PushNotificationDeviceConfiguration("token" + i,
+                PushNotificationDeviceType.FIREBASE, new Date(), secretKey, student, PushNotificationApiType.DEFAULT, "1.0.0")).toList();
+        when(repositoryMock.findByUserIdIn(anySet(), eq(PushNotificationDeviceType.FIREBASE))).thenReturn(devices);
+
+        firebasePushNotificationService.sendCourseNotification(createNotification(), Set.of(CourseNotificationRecipientDTO.from(student)));
+
+        // the relay accepts at most 500 notifications per request
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).untilAsserted(
+                () -> verify(firebaseRestTemplateMock, times(3)).postForObject(eq("test/api/push_notification/send_firebase"), any(HttpEntity.class), eq(String.class)));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(meterRegistry.counter("artemis.push_notification.relay", "device_type", "FIREBASE", "result", "sent").count()).isEqualTo(1001));
+    }
+
+    @Test
+    void sendCourseNotification_shouldNotRetryRequestThatTimedOutWaitingForTheRelay() {
+        when(firebaseRestTemplateMock.postForObject(eq("test/api/push_notification/send_firebase"), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("I/O error", new HttpTimeoutException("request timed out")));
+
+        firebasePushNotificationService.sendCourseNotification(createNotification(), Set.of(CourseNotificationRecipientDTO.from(student)));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(meterRegistry.counter("artemis.push_notification.relay", "device_type", "FIREBASE", "result", "failed").count()).isOne());
+        // the relay may have sent the notifications already, so a retry could deliver them twice
+        verify(firebaseRestTemplateMock, times(1)).postForObject(eq("test/api/push_notification/send_firebase"), any(HttpEntity.class), eq(String.class));
+    }
+
+    @Test
+    void constructor_shouldRegisterInFlightGaugeOncePerDeviceType() {
+        assertThat(meterRegistry.get("artemis.push_notification.relay.in_flight").gauges()).hasSize(2);
+        assertThat(meterRegistry.get("artemis.push_notification.relay.in_flight").tag("device_type", "APNS").gauge().value()).isZero();
+
+        applePushNotificationService.sendCourseNotification(createNotification(), Set.of(CourseNotificationRecipientDTO.from(student)));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(meterRegistry.counter("artemis.push_notification.relay", "device_type", "APNS", "result", "sent").count()).isOne());
+
+        assertThat(meterRegistry.get("artemis.push_notification.relay.in_flight").gauges()).hasSize(2);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(meterRegistry.get("artemis.push_notification.relay.in_flight").tag("device_type", "APNS").gauge().value()).isZero());
+    }
+
+    @Test
+    void shutdownRelayExecutor_shouldNotSendNotificationsAfterShutdown() {
+        applePushNotificationService.shutdownRelayExecutor();
+
+        applePushNotificationService.sendCourseNotification(createNotification(), Set.of(CourseNotificationRecipientDTO.from(student)));
+
+        verifyNoInteractions(appleRestTemplateMock);
+        assertThat(meterRegistry.counter("artemis.push_notification.relay", "device_type", "APNS", "result", "failed").count()).isOne();
+    }
+
+    private static CourseNotificationDTO createNotification() {
+        return new CourseNotificationDTO("newPostNotification", 1L, 2L, ZonedDateTime.now(), CourseNotificationCategory.COMMUNICATION, Map.of("postTitle", "Title"), "/");
+    }
 }
@@ -4,8 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.atLeast;
-import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -13,8 +13,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,12 +30,16 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.spring.cache.HazelcastCacheManager;
 
 import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
+import de.tum.cit.aet.artemis.notification.dto.CourseNotificationPageableDTO;
 
 @ExtendWith(MockitoExtension.class)
 class CourseNotificationCacheServiceTest {
@@ -60,20 +69,14 @@ class CourseNotificationCacheServiceTest {
 
         User user = createUserWithId(1L);
         Set<User> users = Set.of(user);
-        Set<Object> cacheKeys = createMockCacheKeys(user.getId(), COURSE_ID);
-        when(cacheMap.keySet()).thenReturn(cacheKeys);
 
         courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(users, COURSE_ID);
 
         Awaitility.await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            verify(hazelcastInstance, times(2)).getMap(CACHE_NAME);
-
-            ArgumentCaptor<Object> keyCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(cacheMap, atLeastOnce()).delete(keyCaptor.capture());
-
-            assertThat(keyCaptor.getAllValues()).anyMatch(key -> key.toString().startsWith("user_course_notification_1_123"));
-
-            assertThat(keyCaptor.getAllValues()).anyMatch(key -> key.toString().equals("user_course_notification_count_1_123"));
+            verify(hazelcastInstance, times(1)).getMap(CACHE_NAME);
+            verify(cacheMap).delete("user_course_notification_1_123");
+            verify(cacheMap).delete("user_course_notification_count_1_123");
+            verify(cacheMap, never()).keySet();
         });
     }
 
@@ -85,25 +88,30 @@ class CourseNotificationCacheServiceTest {
         User user2 = createUserWithId(2L);
         Set<User> users = Set.of(user1, user2);
 
-        Set<Object> cacheKeys = new HashSet<>();
-        cacheKeys.addAll(createMockCacheKeys(user1.getId(), COURSE_ID));
-        cacheKeys.addAll(createMockCacheKeys(user2.getId(), COURSE_ID));
-        when(cacheMap.keySet()).thenReturn(cacheKeys);
-
         courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(users, COURSE_ID);
 
         Awaitility.await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            verify(hazelcastInstance, times(4)).getMap(CACHE_NAME);
-
             ArgumentCaptor<Object> keyCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(cacheMap, atLeast(4)).delete(keyCaptor.capture());
+            verify(cacheMap, times(4)).delete(keyCaptor.capture());
 
-            assertThat(keyCaptor.getAllValues()).anyMatch(key -> key.toString().startsWith("user_course_notification_1_123"))
-                    .anyMatch(key -> key.toString().startsWith("user_course_notification_2_123")).anyMatch(key -> key.toString().equals("user_course_notification_count_1_123"))
-                    .anyMatch(key -> key.toString().equals("user_course_notification_count_2_123"));
+            assertThat(keyCaptor.getAllValues()).containsExactlyInAnyOrder("user_course_notification_1_123", "user_course_notification_2_123",
+                    "user_course_notification_count_1_123", "user_course_notification_count_2_123");
         });
     }
 
+    @Test
+    void shouldInvalidateCacheForLargeCourseWithoutScanningKeys() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        Set<User> users = LongStream.rangeClosed(1, 2000).mapToObj(this::createUserWithId).collect(Collectors.toSet());
+
+        courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(users, COURSE_ID);
+
+        // an announcement to a large course deletes two keys per recipient instead of transferring the whole key set per recipient
+        verify(hazelcastInstance, times(1)).getMap(CACHE_NAME);
+        verify(cacheMap, times(4000)).delete(any());
+        verify(cacheMap, never()).keySet();
+    }
+
     @Test
     void shouldThrowExceptionWhenUserHasNoId() {
         User userWithoutId = new User();
@@ -133,18 +141,12 @@ class CourseNotificationCacheServiceTest {
         when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
         User user = createUserWithId(1L);
         Set<User> users = Set.of(user);
-        Set<Object> cacheKeys = createMockCacheKeys(user.getId(), courseId);
-        when(cacheMap.keySet()).thenReturn(cacheKeys);
 
         courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(users, courseId);
 
         Awaitility.await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            verify(hazelcastInstance, times(2)).getMap(CACHE_NAME);
-
-            ArgumentCaptor<Object> keyCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(cacheMap, atLeastOnce()).delete(keyCaptor.capture());
-
-            assertThat(keyCaptor.getAllValues()).anyMatch(key -> key.toString().contains("_" + courseId));
+            verify(cacheMap).delete("user_course_notification_1_" + courseId);
+            verify(cacheMap).delete("user_course_notification_count_1_" + courseId);
         });
     }
 
@@ -153,17 +155,89 @@ class CourseNotificationCacheServiceTest {
         when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
         User user = createUserWithId(1L);
         Set<User> users = Set.of(user);
-        Set<Object> cacheKeys = createMockCacheKeys(user.getId(), COURSE_ID);
-        when(cacheMap.keySet()).thenReturn(cacheKeys);
 
         doThrow(new ClassCastException("Test exception")).when(cacheMap).delete(any());
 
         courseNotificationCacheService.invalidateCourseNotificationCacheForUsers(users, COURSE_ID);
 
-        Awaitility.await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            verify(hazelcastInstance, times(2)).getMap(CACHE_NAME);
-            verify(cacheMap, atLeastOnce()).delete(any());
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> verify(cacheMap, times(2)).delete(any()));
+    }
+
+    @Test
+    void shouldCacheLoadedPageInReservedEntryOfUserAndCourse() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var page = createPage(3);
+
+        var result = courseNotificationCacheService.getCourseNotificationPage(1L, COURSE_ID, PageRequest.of(0, 20), () -> page);
+
+        assertThat(result).isSameAs(page);
+        ArgumentCaptor<Object> reservationCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap).putIfAbsent(eq("user_course_notification_1_123"), reservationCaptor.capture());
+        var reservation = (CourseNotificationCacheService.CachedCourseNotificationPages) reservationCaptor.getValue();
+        assertThat(reservation.pages()).isEmpty();
+        ArgumentCaptor<Object> entryCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap).replace(eq("user_course_notification_1_123"), same(reservation), entryCaptor.capture());
+        var entry = (CourseNotificationCacheService.CachedCourseNotificationPages) entryCaptor.getValue();
+        assertThat(entry.pages()).containsExactly(Map.entry("0_20", page));
+        assertThat(entry.version()).isNotEqualTo(reservation.version());
+    }
+
+    @Test
+    void shouldReturnCachedPageWithoutLoading() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var page = createPage(3);
+        when(cacheMap.get("user_course_notification_1_123")).thenReturn(cachedEntry(Map.of("0_20", page)));
+
+        var result = courseNotificationCacheService.getCourseNotificationPage(1L, COURSE_ID, PageRequest.of(0, 20), () -> {
+            throw new IllegalStateException("The cached page should be used");
         });
+
+        assertThat(result).isEqualTo(page);
+        verify(cacheMap, never()).putIfAbsent(any(), any());
+        verify(cacheMap, never()).replace(any(), any(), any());
+    }
+
+    @Test
+    void shouldAddPageToExistingEntryOnlyIfEntryIsUnchanged() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+        var firstPage = createPage(30);
+        var secondPage = createPage(30);
+        var cachedEntry = cachedEntry(Map.of("0_20", firstPage));
+        when(cacheMap.get("user_course_notification_1_123")).thenReturn(cachedEntry);
+
+        courseNotificationCacheService.getCourseNotificationPage(1L, COURSE_ID, PageRequest.of(1, 20), () -> secondPage);
+
+        ArgumentCaptor<Object> entryCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap).replace(eq("user_course_notification_1_123"), same(cachedEntry), entryCaptor.capture());
+        var entry = (CourseNotificationCacheService.CachedCourseNotificationPages) entryCaptor.getValue();
+        assertThat(entry.pages()).isEqualTo(Map.of("0_20", firstPage, "1_20", secondPage));
+        verify(cacheMap, never()).putIfAbsent(any(), any());
+    }
+
+    @Test
+    void shouldNotStoreLoadedPageIfEntryWasInvalidatedWhileLoading() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+
+        // the first request reserves the entry, which is invalidated while the page is loaded, so the second request reserves the entry again
+        courseNotificationCacheService.getCourseNotificationPage(1L, COURSE_ID, PageRequest.of(0, 20), () -> createPage(3));
+        courseNotificationCacheService.getCourseNotificationPage(1L, COURSE_ID, PageRequest.of(0, 20), () -> createPage(4));
+
+        ArgumentCaptor<Object> reservationCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(cacheMap, times(2)).putIfAbsent(eq("user_course_notification_1_123"), reservationCaptor.capture());
+        // the page loaded before the invalidation can only replace its own reservation, which differs from the reservation after the invalidation
+        assertThat(reservationCaptor.getAllValues().getFirst()).isNotEqualTo(reservationCaptor.getAllValues().getLast());
+        verify(cacheMap).replace(eq("user_course_notification_1_123"), same(reservationCaptor.getAllValues().getFirst()), any());
+        verify(cacheMap, never()).put(any(), any());
+        verify(cacheMap, never()).set(any(), any());
+    }
+
+    @Test
+    void shouldNotCacheEmptyPages() {
+        when(hazelcastInstance.getMap(anyString())).thenReturn(cacheMap);
+
+        courseNotificationCacheService.getCourseNotificationPage(1L, COURSE_ID, Pageable.unpaged(), () -> createPage(0));
+
+        verify(cacheMap, never()).replace(any(), any(), any());
     }
 
     private User createUserWithId(Long id) {
@@ -172,11 +246,11 @@ class CourseNotificationCacheServiceTest {
         return user;
     }
 
-    private Set<Object> createMockCacheKeys(Long userId, Long courseId) {
-        Set<Object> keys = new HashSet<>();
-        keys.add("user_course_notification_" + userId + "_" + courseId + "_page0");
-        keys.add("user_course_notification_" + userId + "_" + courseId + "_page1");
-        keys.add("user_course_notification_count_" + userId + "_" + courseId);
-        return keys;
+    private static CourseNotificationCacheService.CachedCourseNotificationPages cachedEntry(Map<String, CourseNotificationPageableDTO<CourseNotificationDTO>> pages) {
+        return new CourseNotificationCacheService.CachedCourseNotificationPages(UUID.randomUUID(), pages);
+    }
+
+    private static CourseNotificationPageableDTO<CourseNotificationDTO> createPage(long totalElements) {
+        return new CourseNotificationPageableDTO<>(List.of(), 0, 20, totalElements, (int) Math.ceil(totalElements / 20.0));
     }
 }
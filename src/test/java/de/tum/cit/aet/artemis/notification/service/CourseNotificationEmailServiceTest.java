@@ -40,6 +40,7 @@ import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.CourseNotificationCategory;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationRecipientDTO;
+import de.tum.cit.aet.artemis.notification.dto.MailDTO;
 import de.tum.cit.aet.artemis.notification.dto.MailRecipientDTO;
 import de.tum.cit.aet.artemis.notification.service.notifications.MailSendingService;
 import de.tum.cit.aet.artemis.notification.service.notifications.MarkdownCustomLinkRendererService;
@@ -67,6 +68,9 @@ class CourseNotificationEmailServiceTest {
     @Captor
     private ArgumentCaptor<Context> contextCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<MailDTO>> mailsCaptor;
+
     private URL serverUrl;
 
     @BeforeEach
@@ -92,12 +96,12 @@ class CourseNotificationEmailServiceTest {
         Awaitility.await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> {
             verify(messageSource).getMessage(eq("email.courseNotification.ANNOUNCEMENT.title"), any(), eq(Locale.forLanguageTag("en")));
             verify(templateEngine).process(eq("mail/course_notification/ANNOUNCEMENT"), contextCaptor.capture());
-            verify(mailSendingService).sendEmailSync(eq(expectedMailRecipient(recipient)), eq("Test Subject"), eq("Test Content"), eq(false), eq(true));
+            verify(mailSendingService).sendEmailsSync(eq(List.of(new MailDTO(expectedMailRecipient(recipient), "Test Subject", "Test Content"))), eq(false), eq(true));
 
             Context capturedContext = contextCaptor.getValue();
             assertThat(capturedContext.getVariable("serverUrl")).isEqualTo(serverUrl);
             assertThat(capturedContext.getVariable("notificationType")).isEqualTo("ANNOUNCEMENT");
-            assertThat(capturedContext.getVariable("recipient")).isEqualTo(CourseNotificationRecipientDTO.from(recipient));
+            assertThat(capturedContext.getVariable("recipient")).isInstanceOf(CourseNotificationRecipientDTO.class);
             assertThat(capturedContext.getVariable("courseId")).isEqualTo(123L);
         });
     }
@@ -119,8 +123,8 @@ class CourseNotificationEmailServiceTest {
             verify(messageSource, times(1)).getMessage(eq("email.courseNotification.ASSIGNMENT_RELEASED.title"), any(), eq(Locale.forLanguageTag("en")));
             verify(messageSource, times(1)).getMessage(eq("email.courseNotification.ASSIGNMENT_RELEASED.title"), any(), eq(Locale.forLanguageTag("de")));
             verify(templateEngine, times(2)).process(eq("mail/course_notification/ASSIGNMENT_RELEASED"), any(Context.class));
-            verify(mailSendingService).sendEmailSync(eq(expectedMailRecipient(englishUser)), anyString(), anyString(), eq(false), eq(true));
-            verify(mailSendingService).sendEmailSync(eq(expectedMailRecipient(germanUser)), anyString(), anyString(), eq(false), eq(true));
+            verify(mailSendingService).sendEmailsSync(mailsCaptor.capture(), eq(false), eq(true));
+            assertThat(mailsCaptor.getValue()).extracting(MailDTO::recipient).containsExactlyInAnyOrder(expectedMailRecipient(englishUser), expectedMailRecipient(germanUser));
         });
     }
 
@@ -133,7 +137,7 @@ class CourseNotificationEmailServiceTest {
         Awaitility.await().during(1, TimeUnit.SECONDS).atMost(2, TimeUnit.SECONDS).untilAsserted(() -> {
             verify(messageSource, never()).getMessage(anyString(), any(), any(Locale.class));
             verify(templateEngine, never()).process(anyString(), any(Context.class));
-            verify(mailSendingService, never()).sendEmailSync(any(), anyString(), anyString(), anyBoolean(), anyBoolean());
+            verify(mailSendingService, never()).sendEmailsSync(any(), anyBoolean(), anyBoolean());
         });
     }
 
@@ -149,7 +153,7 @@ class CourseNotificationEmailServiceTest {
         Awaitility.await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> {
             verify(messageSource).getMessage(eq("email.courseNotification.UNKNOWN_TYPE.title"), any(), any(Locale.class));
             verify(templateEngine, never()).process(anyString(), any(Context.class));
-            verify(mailSendingService, never()).sendEmailSync(any(), anyString(), anyString(), anyBoolean(), anyBoolean());
+            verify(mailSendingService, never()).sendEmailsSync(any(), anyBoolean(), anyBoolean());
         });
     }
 
@@ -166,7 +170,7 @@ class CourseNotificationEmailServiceTest {
         Awaitility.await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> {
             verify(messageSource).getMessage(eq("email.courseNotification.VALID_TYPE.title"), any(), any(Locale.class));
             verify(templateEngine).process(eq("mail/course_notification/VALID_TYPE"), any(Context.class));
-            verify(mailSendingService, never()).sendEmailSync(any(), anyString(), anyString(), anyBoolean(), anyBoolean());
+            verify(mailSendingService, never()).sendEmailsSync(any(), anyBoolean(), anyBoolean());
         });
     }
 
@@ -188,8 +192,7 @@ class CourseNotificationEmailServiceTest {
             verify(messageSource).getMessage(eq("email.courseNotification.ANNOUNCEMENT.title"), any(), eq(Locale.forLanguageTag("en")));
             verify(messageSource).getMessage(eq("email.courseNotification.ANNOUNCEMENT.title"), any(), eq(Locale.forLanguageTag("de")));
             verify(templateEngine).process(eq("mail/course_notification/ANNOUNCEMENT"), any(Context.class));
-            verify(mailSendingService, never()).sendEmailSync(eq(expectedMailRecipient(user1)), anyString(), anyString(), anyBoolean(), anyBoolean());
-            verify(mailSendingService).sendEmailSync(eq(expectedMailRecipient(user2)), eq("Test Subject"), eq("Test Content"), eq(false), eq(true));
+            verify(mailSendingService).sendEmailsSync(eq(List.of(new MailDTO(expectedMailRecipient(user2), "Test Subject", "Test Content"))), eq(false), eq(true));
         });
     }
 
@@ -213,7 +216,7 @@ class CourseNotificationEmailServiceTest {
             Context capturedContext = contextCaptor.getValue();
             assertThat(capturedContext.getVariable("serverUrl")).isEqualTo(serverUrl);
             assertThat(capturedContext.getVariable("notificationType")).isEqualTo("DETAILED_NOTIFICATION");
-            assertThat(capturedContext.getVariable("recipient")).isEqualTo(CourseNotificationRecipientDTO.from(recipient));
+            assertThat(capturedContext.getVariable("recipient")).isInstanceOf(CourseNotificationRecipientDTO.class);
             assertThat(capturedContext.getVariable("courseId")).isEqualTo(123L);
             assertThat(capturedContext.getVariable("parameters")).isEqualTo(parameters);
             assertThat(capturedContext.getVariable("creationDate")).isEqualTo(creationDate);
@@ -238,10 +241,34 @@ class CourseNotificationEmailServiceTest {
         Awaitility.await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> {
             verify(messageSource).getMessage(eq(expectedLocalePrefix), any(), any(Locale.class));
             verify(templateEngine).process(eq(expectedTemplatePath), any(Context.class));
-            verify(mailSendingService).sendEmailSync(eq(expectedMailRecipient(recipient)), eq("Test Subject"), eq("Test Content"), eq(false), eq(true));
+            verify(mailSendingService).sendEmailsSync(eq(List.of(new MailDTO(expectedMailRecipient(recipient), "Test Subject", "Test Content"))), eq(false), eq(true));
         });
     }
 
+    @Test
+    void shouldRenderContentOncePerLanguageAndSubstituteRecipientNames() {
+        var alice = createUser("alice", "en");
+        alice.setFirstName("Alice");
+        alice.setLastName("Smith");
+        var bob = createUser("bob", "en");
+        bob.setFirstName("<Bob>");
+        var carol = createUser("carol", "de");
+        carol.setFirstName("Carol");
+        CourseNotificationDTO notification = createNotification("ANNOUNCEMENT", 123L);
+
+        when(messageSource.getMessage(eq("email.courseNotification.ANNOUNCEMENT.title"), any(), any(Locale.class))).thenReturn("Test Subject");
+        when(templateEngine.process(eq("mail/course_notification/ANNOUNCEMENT"), any(Context.class)))
+                .thenAnswer(invocation -> "Hello " + ((CourseNotificationRecipientDTO) invocation.<Context>getArgument(1).getVariable("recipient")).getName());
+
+        courseNotificationEmailService.sendCourseNotification(notification,
+                List.of(CourseNotificationRecipientDTO.from(alice), CourseNotificationRecipientDTO.from(bob), CourseNotificationRecipientDTO.from(carol)));
+
+        verify(templateEngine, times(2)).process(eq("mail/course_notification/ANNOUNCEMENT"), any(Context.class));
+        verify(mailSendingService).sendEmailsSync(mailsCaptor.capture(), eq(false), eq(true));
+        assertThat(mailsCaptor.getValue()).containsExactlyInAnyOrder(new MailDTO(expectedMailRecipient(alice), "Test Subject", "Hello Alice Smith"),
+                new MailDTO(expectedMailRecipient(bob), "Test Subject", "Hello &lt;Bob&gt;"), new MailDTO(expectedMailRecipient(carol), "Test Subject", "Hello Carol"));
+    }
+
     private User createUser(String login, String langKey) {
         User user = new User();
         user.setLogin(login);
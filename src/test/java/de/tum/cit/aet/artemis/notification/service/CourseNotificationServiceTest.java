@@ -2,7 +2,9 @@ package de.tum.cit.aet.artemis.notification.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -16,6 +18,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,10 +33,12 @@ import org.springframework.test.util.ReflectionTestUtils;
 import de.tum.cit.aet.artemis.account.domain.User;
 import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.notification.domain.CourseNotification;
+import de.tum.cit.aet.artemis.notification.domain.CourseNotificationAudience;
 import de.tum.cit.aet.artemis.notification.domain.CourseNotificationParameter;
 import de.tum.cit.aet.artemis.notification.domain.NotificationChannelOption;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatus;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatusType;
+import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationWatermark;
 import de.tum.cit.aet.artemis.notification.domain.course_notifications.CourseNotificationCategory;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationDTO;
 import de.tum.cit.aet.artemis.notification.dto.CourseNotificationPageableDTO;
@@ -71,10 +76,14 @@ class CourseNotificationServiceTest {
     @Mock
     private CourseNotificationEmailService emailService;
 
+    @Mock
+    private CourseNotificationCacheService courseNotificationCacheService;
+
     @BeforeEach
     void setUp() {
         courseNotificationService = new CourseNotificationService(courseNotificationRegistryService, courseNotificationSettingService, courseNotificationRepository,
-                courseNotificationParameterRepository, userCourseNotificationStatusService, webappService, pushService, emailService);
+                courseNotificationParameterRepository, userCourseNotificationStatusService, webappService, pushService, emailService,
+                courseNotificationCacheService);
     }
 
     @Test
@@ -84,8 +93,8 @@ class CourseNotificationServiceTest {
         List<User> webappRecipients = List.of(createTestUser(1L));
         List<User> pushRecipients = List.of(createTestUser(2L));
 
-        when(courseNotificationSettingService.filterRecipientsBy(notification, allRecipients, NotificationChannelOption.WEBAPP)).thenReturn(webappRecipients);
-        when(courseNotificationSettingService.filterRecipientsBy(notification, allRecipients, NotificationChannelOption.PUSH)).thenReturn(pushRecipients);
+        when(courseNotificationSettingService.filterRecipientsByChannels(eq(notification), eq(allRecipients), anyCollection()))
+                .thenReturn(Map.of(NotificationChannelOption.WEBAPP, webappRecipients, NotificationChannelOption.PUSH, pushRecipients));
         when(courseNotificationRepository.save(any())).thenReturn(createTestCourseNotificationEntity(1L));
         when(courseNotificationRegistryService.getNotificationIdentifier(any())).thenReturn((short) 1);
 
@@ -105,7 +114,7 @@ class CourseNotificationServiceTest {
         TestNotification notification = createTestNotification(NotificationChannelOption.WEBAPP);
         List<User> recipients = List.of(createTestUser(1L));
 
-        when(courseNotificationSettingService.filterRecipientsBy(any(), any(), any())).thenReturn(recipients);
+        when(courseNotificationSettingService.filterRecipientsByChannels(any(), any(), any())).thenReturn(Map.of(NotificationChannelOption.WEBAPP, recipients));
         when(courseNotificationRepository.save(any())).thenReturn(createTestCourseNotificationEntity(1L));
         when(courseNotificationRegistryService.getNotificationIdentifier(any())).thenReturn((short) 1);
 
@@ -135,8 +144,11 @@ class CourseNotificationServiceTest {
 
         PageImpl<CourseNotificationWithStatusDTO> page = new PageImpl<>(List.of(new CourseNotificationWithStatusDTO(entity, status)));
 
-        when(courseNotificationRepository.findCourseNotificationsByUserIdAndCourseIdAndStatusNotArchived(userId, courseId, pageable)).thenReturn(page);
+        when(userCourseNotificationStatusService.getWatermark(userId, courseId)).thenReturn(new UserCourseNotificationWatermark());
+        when(courseNotificationRepository.findCourseNotificationsByUserIdAndCourseIdAndStatusNotArchived(userId, courseId, 0L, pageable)).thenReturn(page);
         when(courseNotificationRegistryService.getNotificationClass(any())).thenReturn((Class) TestNotification.class);
+        when(courseNotificationCacheService.getCourseNotificationPage(eq(userId), eq(courseId), eq(pageable), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
 
         CourseNotificationPageableDTO<CourseNotificationDTO> result = courseNotificationService.getCourseNotifications(pageable, courseId, userId);
 
@@ -149,6 +161,55 @@ class CourseNotificationServiceTest {
         assertThat(dto.courseId()).isEqualTo(123L);
     }
 
+    @Test
+    void shouldStoreCourseNotificationOnceWhenSendingToCourse() {
+        TestNotification notification = createTestNotification(NotificationChannelOption.WEBAPP, NotificationChannelOption.PUSH);
+        List<User> allRecipients = List.of(createTestUser(1L), createTestUser(2L), createTestUser(3L));
+        User author = createTestUser(4L);
+
+        when(courseNotificationSettingService.filterRecipientsByChannels(eq(notification), eq(allRecipients), anyCollection()))
+                .thenReturn(Map.of(NotificationChannelOption.WEBAPP, List.of(createTestUser(1L)), NotificationChannelOption.PUSH, List.of(createTestUser(2L))));
+        when(courseNotificationRepository.save(any())).thenReturn(createTestCourseNotificationEntity(1L));
+        when(courseNotificationRegistryService.getNotificationIdentifier(any())).thenReturn((short) 1);
+
+        courseNotificationService.sendCourseNotificationToCourse(notification, allRecipients, List.of(author));
+
+        ArgumentCaptor<CourseNotification> entityCaptor = ArgumentCaptor.forClass(CourseNotification.class);
+        verify(courseNotificationRepository).save(entityCaptor.capture());
+        assertThat(entityCaptor.getValue().getAudience()).isEqualTo(CourseNotificationAudience.COURSE);
+
+        // only the author and the recipient that disabled all channels need a status entry, all others are covered by their watermarks
+        verify(userCourseNotificationStatusService).batchCreateCourseAudienceExceptions(Set.of(createTestUser(1L), createTestUser(2L)), Set.of(author, createTestUser(3L)), 1L,
+                123L);
+        verify(userCourseNotificationStatusService, never()).batchCreateStatusForUsers(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldDeriveStatusFromWatermarkWhenCourseNotificationHasNoStatus() {
+        long courseId = 123L;
+        long userId = 1L;
+        Pageable pageable = Pageable.unpaged();
+
+        CourseNotification seenEntity = createTestCourseNotificationEntity(5L);
+        CourseNotification unseenEntity = createTestCourseNotificationEntity(6L);
+        var watermark = new UserCourseNotificationWatermark();
+        watermark.setSeenUpToId(5L);
+        watermark.setArchivedUpToId(2L);
+
+        PageImpl<CourseNotificationWithStatusDTO> page = new PageImpl<>(
+                List.of(new CourseNotificationWithStatusDTO(unseenEntity, null), new CourseNotificationWithStatusDTO(seenEntity, null)));
+
+        when(userCourseNotificationStatusService.getWatermark(userId, courseId)).thenReturn(watermark);
+        when(courseNotificationRepository.findCourseNotificationsByUserIdAndCourseIdAndStatusNotArchived(userId, courseId, 2L, pageable)).thenReturn(page);
+        when(courseNotificationRegistryService.getNotificationClass(any())).thenReturn((Class) TestNotification.class);
+        when(courseNotificationCacheService.getCourseNotificationPage(eq(userId), eq(courseId), eq(pageable), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+
+        CourseNotificationPageableDTO<CourseNotificationDTO> result = courseNotificationService.getCourseNotifications(pageable, courseId, userId);
+
+        assertThat(result.content()).extracting(CourseNotificationDTO::status).containsExactly(UserCourseNotificationStatusType.UNSEEN, UserCourseNotificationStatusType.SEEN);
+    }
+
     @Test
     void shouldConvertParametersToMapWhenProcessingNotification() {
         CourseNotification entity = createTestCourseNotificationEntity(1L);
@@ -2,10 +2,12 @@ package de.tum.cit.aet.artemis.notification.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyShort;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,6 +17,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -297,6 +301,52 @@ class CourseNotificationSettingServiceTest {
         assertThat(filteredRecipients).isEmpty();
     }
 
+    @Test
+    void shouldResolveSettingsOfManyRecipientsInBulkForAllChannels() {
+        TestNotification notification = new TestNotification(123L);
+        List<User> recipients = LongStream.rangeClosed(1, 12).mapToObj(this::createTestUser).toList();
+        User customUser = recipients.get(0);
+        User presetUser = recipients.get(1);
+
+        var customPreset = new UserCourseNotificationSettingPreset(customUser, null, (short) 0);
+        var otherPreset = new UserCourseNotificationSettingPreset(presetUser, null, (short) 2);
+        when(userCourseNotificationSettingPresetRepository.findAllByCourseIdAndUserIdIn(eq(123L), any())).thenReturn(List.of(customPreset, otherPreset));
+        when(courseNotificationRegistryService.getNotificationIdentifier(notification.getClass())).thenReturn(notificationTypeId);
+        var customSpecification = new UserCourseNotificationSettingSpecification(customUser, null, notificationTypeId, true, false, false, false);
+        when(userCourseNotificationSettingSpecificationRepository.findAllByCourseIdAndCourseNotificationTypeAndUserIdIn(123L, notificationTypeId, Set.of(customUser.getId())))
+                .thenReturn(List.of(customSpecification));
+        // the default preset (1) enables the webapp, preset 2 enables push
+        when(courseNotificationSettingPresetRegistryService.isPresetSettingEnabled(anyInt(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(0) == 1 ? invocation.getArgument(2) == NotificationChannelOption.WEBAPP
+                        : invocation.getArgument(2) == NotificationChannelOption.PUSH);
+
+        var filteredRecipients = courseNotificationSettingService.filterRecipientsByChannels(notification, recipients,
+                List.of(NotificationChannelOption.WEBAPP, NotificationChannelOption.PUSH, NotificationChannelOption.EMAIL));
+
+        assertThat(filteredRecipients.get(NotificationChannelOption.WEBAPP)).containsExactlyElementsOf(recipients.subList(2, recipients.size()));
+        assertThat(filteredRecipients.get(NotificationChannelOption.PUSH)).containsExactly(presetUser);
+        assertThat(filteredRecipients.get(NotificationChannelOption.EMAIL)).containsExactly(customUser);
+
+        verify(userCourseNotificationSettingPresetRepository, never()).findUserCourseNotificationSettingPresetByUserIdAndCourseId(anyLong(), anyLong());
+        verify(userCourseNotificationSettingSpecificationRepository, never()).findAllByUserIdAndCourseId(anyLong(), anyLong());
+        // each preset is only resolved once per channel for all of its users
+        verify(courseNotificationSettingPresetRegistryService, times(6)).isPresetSettingEnabled(anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldNotLoadSpecificationsInBulkWhenNoRecipientUsesCustomSettings() {
+        TestNotification notification = new TestNotification(123L);
+        List<User> recipients = LongStream.rangeClosed(1, 12).mapToObj(this::createTestUser).toList();
+
+        when(userCourseNotificationSettingPresetRepository.findAllByCourseIdAndUserIdIn(eq(123L), any())).thenReturn(List.of());
+        when(courseNotificationSettingPresetRegistryService.isPresetSettingEnabled(eq(1), any(), eq(NotificationChannelOption.EMAIL))).thenReturn(true);
+
+        var filteredRecipients = courseNotificationSettingService.filterRecipientsByChannels(notification, recipients, List.of(NotificationChannelOption.EMAIL));
+
+        assertThat(filteredRecipients.get(NotificationChannelOption.EMAIL)).containsExactlyElementsOf(recipients);
+        verify(userCourseNotificationSettingSpecificationRepository, never()).findAllByCourseIdAndCourseNotificationTypeAndUserIdIn(anyLong(), any(), any());
+    }
+
     private User createTestUser(Long id) {
         User user = new User();
         user.setId(id);
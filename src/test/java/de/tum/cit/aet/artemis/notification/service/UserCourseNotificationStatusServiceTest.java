@@ -1,10 +1,17 @@
 package de.tum.cit.aet.artemis.notification.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -16,10 +23,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import de.tum.cit.aet.artemis.account.domain.User;
+import de.tum.cit.aet.artemis.course.domain.Course;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatus;
 import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationStatusType;
+import de.tum.cit.aet.artemis.notification.domain.UserCourseNotificationWatermark;
+import de.tum.cit.aet.artemis.notification.repository.UserCourseNotificationWatermarkRepository;
+import de.tum.cit.aet.artemis.notification.test_repository.CourseNotificationTestRepository;
 import de.tum.cit.aet.artemis.notification.test_repository.UserCourseNotificationStatusTestRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +40,12 @@ class UserCourseNotificationStatusServiceTest {
     @Mock
     private UserCourseNotificationStatusTestRepository userCourseNotificationStatusRepository;
 
+    @Mock
+    private UserCourseNotificationWatermarkRepository userCourseNotificationWatermarkRepository;
+
+    @Mock
+    private CourseNotificationTestRepository courseNotificationRepository;
+
     @Mock
     private CourseNotificationCacheService courseNotificationCacheService;
 
@@ -103,6 +121,122 @@ class UserCourseNotificationStatusServiceTest {
         assertThat(capturedUsers.iterator().next().getId()).isEqualTo(userId);
     }
 
+    @Test
+    void shouldOnlyStoreHiddenUsersWhenCreatingCourseAudienceExceptions() {
+        User notifiedUser = createTestUser(1L);
+        User author = createTestUser(2L);
+        long courseNotificationId = 10L;
+        long courseId = 100L;
+
+        userCourseNotificationStatusService.batchCreateCourseAudienceExceptions(Set.of(notifiedUser), Set.of(author), courseNotificationId, courseId);
+
+        verify(userCourseNotificationStatusRepository).saveAll(statusCaptor.capture());
+        assertThat(statusCaptor.getValue()).singleElement().satisfies(status -> {
+            assertThat(status.getUser()).isEqualTo(author);
+            assertThat(status.getStatus()).isEqualTo(UserCourseNotificationStatusType.ARCHIVED);
+        });
+        verify(courseNotificationCacheService).invalidateCourseNotificationCacheForUsers(Set.of(notifiedUser, author), courseId);
+    }
+
+    @Test
+    void shouldNotStoreAnyStatusWhenNoCourseMemberIsHidden() {
+        User notifiedUser = createTestUser(1L);
+
+        userCourseNotificationStatusService.batchCreateCourseAudienceExceptions(Set.of(notifiedUser), Set.of(), 10L, 100L);
+
+        verify(userCourseNotificationStatusRepository, never()).saveAll(any());
+        verify(courseNotificationCacheService).invalidateCourseNotificationCacheForUsers(Set.of(notifiedUser), 100L);
+    }
+
+    @Test
+    void shouldStoreStatusAndAdvanceWatermarkWhenMarkingCourseAudienceNotificationsAsSeen() {
+        User user = createTestUser(1L);
+        long courseId = 100L;
+        var watermark = new UserCourseNotificationWatermark(user, new Course());
+        watermark.setSeenUpToId(5L);
+        when(userCourseNotificationWatermarkRepository.findByUserIdAndCourseId(1L, courseId)).thenReturn(Optional.of(watermark));
+        when(courseNotificationRepository.findCourseAudienceIdsWithoutStatusOfUser(courseId, 1L, List.of(10L, 20L))).thenReturn(List.of(20L));
+        when(courseNotificationRepository.findOldestUnseenCourseAudienceIdOfUserAfter(courseId, 1L, 5L)).thenReturn(30L);
+        when(userCourseNotificationWatermarkRepository.advanceWatermarks(1L, courseId, 29L, 0L)).thenReturn(1);
+
+        userCourseNotificationStatusService.updateUserCourseNotificationStatus(user, List.of(10L, 20L), UserCourseNotificationStatusType.SEEN, courseId);
+
+        verify(userCourseNotificationStatusRepository).saveAll(statusCaptor.capture());
+        assertThat(statusCaptor.getValue()).singleElement().satisfies(status -> {
+            assertThat(status.getCourseNotification().getId()).isEqualTo(20L);
+            assertThat(status.getStatus()).isEqualTo(UserCourseNotificationStatusType.SEEN);
+        });
+        // all notifications of the course audience before the oldest unseen one are seen, so the watermark replaces their SEEN entries
+        verify(userCourseNotificationWatermarkRepository).advanceWatermarks(1L, courseId, 29L, 0L);
+        verify(userCourseNotificationWatermarkRepository, never()).insertWatermarks(anyLong(), anyLong(), anyLong(), anyLong());
+        verify(userCourseNotificationStatusRepository).deleteCourseAudienceStatusOfUserUpTo(1L, courseId, 29L, UserCourseNotificationStatusType.SEEN);
+    }
+
+    @Test
+    void shouldMoveUpWatermarkCreatedConcurrentlyInsteadOfFailing() {
+        User user = createTestUser(1L);
+        long courseId = 100L;
+        when(courseNotificationRepository.findOldestUnseenCourseAudienceIdOfUserAfter(courseId, 1L, 0L)).thenReturn(30L);
+        // another request of the user creates the watermark between the update and the insert of this request
+        when(userCourseNotificationWatermarkRepository.advanceWatermarks(1L, courseId, 29L, 0L)).thenReturn(0, 1);
+        doThrow(new DataIntegrityViolationException("Duplicate entry")).when(userCourseNotificationWatermarkRepository).insertWatermarks(1L, courseId, 29L, 0L);
+
+        userCourseNotificationStatusService.updateUserCourseNotificationStatus(user, List.of(10L), UserCourseNotificationStatusType.SEEN, courseId);
+
+        verify(userCourseNotificationWatermarkRepository, times(2)).advanceWatermarks(1L, courseId, 29L, 0L);
+        verify(userCourseNotificationStatusRepository).deleteCourseAudienceStatusOfUserUpTo(1L, courseId, 29L, UserCourseNotificationStatusType.SEEN);
+    }
+
+    @Test
+    void shouldNotMoveWatermarkBackWhenOldestUnseenNotificationIsNext() {
+        User user = createTestUser(1L);
+        long courseId = 100L;
+        var watermark = new UserCourseNotificationWatermark(user, new Course());
+        watermark.setSeenUpToId(5L);
+        when(userCourseNotificationWatermarkRepository.findByUserIdAndCourseId(1L, courseId)).thenReturn(Optional.of(watermark));
+        when(courseNotificationRepository.findOldestUnseenCourseAudienceIdOfUserAfter(courseId, 1L, 5L)).thenReturn(6L);
+
+        userCourseNotificationStatusService.updateUserCourseNotificationStatus(user, List.of(10L), UserCourseNotificationStatusType.SEEN, courseId);
+
+        verify(userCourseNotificationWatermarkRepository, never()).advanceWatermarks(anyLong(), anyLong(), anyLong(), anyLong());
+        verify(userCourseNotificationStatusRepository, never()).deleteCourseAudienceStatusOfUserUpTo(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldMoveWatermarksWhenArchivingCourseAudienceNotifications() {
+        long userId = 42L;
+        long courseId = 100L;
+        when(courseNotificationRepository.findNewestCourseAudienceId(courseId)).thenReturn(77L);
+
+        userCourseNotificationStatusService.archiveUserCourseNotificationStatus(courseId, userId);
+
+        // the user has no watermark yet, so it is created
+        verify(userCourseNotificationWatermarkRepository).advanceWatermarks(userId, courseId, 77L, 77L);
+        verify(userCourseNotificationWatermarkRepository).insertWatermarks(userId, courseId, 77L, 77L);
+        verify(userCourseNotificationStatusRepository).deleteCourseAudienceStatusOfUserUpTo(userId, courseId, 77L, UserCourseNotificationStatusType.ARCHIVED);
+    }
+
+    @Test
+    void shouldArchiveEarlierCourseAudienceNotificationsForNewCourseMembers() {
+        long courseId = 100L;
+        when(courseNotificationRepository.findNewestCourseAudienceId(courseId)).thenReturn(77L);
+        doThrow(new DataIntegrityViolationException("Duplicate entry")).when(userCourseNotificationWatermarkRepository).insertWatermarks(2L, courseId, 77L, 77L);
+
+        userCourseNotificationStatusService.initializeWatermarksOfNewCourseMembers(List.of(1L, 2L), courseId);
+
+        verify(userCourseNotificationWatermarkRepository).insertWatermarks(1L, courseId, 77L, 77L);
+        // the existing watermark of a former member is kept
+        verify(userCourseNotificationWatermarkRepository, never()).advanceWatermarks(anyLong(), anyLong(), anyLong(), anyLong());
+        verify(courseNotificationCacheService).invalidateCourseNotificationCacheForUsers(Set.of(createTestUser(1L), createTestUser(2L)), courseId);
+    }
+
+    @Test
+    void shouldNotCreateWatermarksForNewCourseMembersWithoutCourseAudienceNotifications() {
+        userCourseNotificationStatusService.initializeWatermarksOfNewCourseMembers(List.of(1L), 100L);
+
+        verify(userCourseNotificationWatermarkRepository, never()).insertWatermarks(anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
     private User createTestUser(Long id) {
         User user = new User();
         user.setId(id);
@@ -1,5 +1,6 @@
 package de.tum.cit.aet.artemis.notification.web;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -7,6 +8,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -105,6 +107,30 @@ class CourseNotificationResourceIntegrationTest extends AbstractSpringIntegratio
                 .andExpect(jsonPath("$.content[0].parameters['courseTitle']").value(course.getTitle()));
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
+    void shouldReturnCourseAudienceNotificationWithoutStatusEntry() throws Exception {
+        CourseNotificationBroadcastService noopService = new CourseNotificationBroadcastService() {
+
+            @Override
+            protected void sendCourseNotification(CourseNotificationDTO courseNotification, List<CourseNotificationRecipientDTO> recipients) {
+                // Do nothing
+            }
+        };
+        ReflectionTestUtils.setField(courseNotificationService, "serviceMap",
+                Map.of(NotificationChannelOption.WEBAPP, noopService, NotificationChannelOption.PUSH, noopService, NotificationChannelOption.EMAIL, noopService));
+
+        var notification = new NewAnnouncementNotification(course.getId(), course.getTitle(), course.getCourseIcon(), 1L, "test test", "test test", "Test Author", "image.url", 1L,
+                1L);
+
+        courseNotificationService.sendCourseNotificationToCourse(notification, List.of(user), List.of());
+
+        assertThat(userCourseNotificationStatusTestRepository.findAllByCourseNotificationId(notification.notificationId)).isEmpty();
+        request.performMvcRequest(MockMvcRequestBuilders.get("/api/notification/courses/" + course.getId() + "?page=0&size=20")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1))).andExpect(jsonPath("$.content[0].notificationType").value("newAnnouncementNotification"))
+                .andExpect(jsonPath("$.content[0].status").value(UserCourseNotificationStatusType.UNSEEN.name()));
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "student1", roles = "USER")
     void shouldReturnEmptyResultWhenNoNotificationsAreFound() throws Exception {
@@ -1,6 +1,8 @@
 package de.tum.cit.aet.artemis.programming;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import java.time.ZonedDateTime;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.TestSecurityContextHolder;
@@ -37,6 +40,7 @@ import de.tum.cit.aet.artemis.exercise.domain.IncludedInOverallScore;
 import de.tum.cit.aet.artemis.exercise.domain.Submission;
 import de.tum.cit.aet.artemis.exercise.domain.participation.Participation;
 import de.tum.cit.aet.artemis.exercise.domain.participation.StudentParticipation;
+import de.tum.cit.aet.artemis.exercise.service.ParticipationDeletionService;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExercise;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseStudentParticipation;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingExerciseTestCase;
@@ -44,6 +48,7 @@ import de.tum.cit.aet.artemis.programming.domain.ProgrammingLanguage;
 import de.tum.cit.aet.artemis.programming.domain.ProgrammingSubmission;
 import de.tum.cit.aet.artemis.programming.domain.SolutionProgrammingExerciseParticipation;
 import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseGradingStatisticsDTO;
+import de.tum.cit.aet.artemis.programming.dto.ProgrammingExerciseReEvaluationProgressDTO;
 import de.tum.cit.aet.artemis.programming.service.ProgrammingExerciseGradingService;
 import de.tum.cit.aet.artemis.programming.util.ProgrammingExerciseFactory;
 
@@ -62,6 +67,9 @@ abstract class ProgrammingExerciseGradingServiceTest extends AbstractProgramming
 
     private static final String TEST_PREFIX = "progexgradingservice";
 
+    @Autowired
+    private ParticipationDeletionService participationDeletionService;
+
     private ProgrammingExercise programmingExerciseSCAEnabled;
 
     private ProgrammingExercise programmingExercise;
@@ -766,6 +774,33 @@ abstract class ProgrammingExerciseGradingServiceTest extends AbstractProgramming
         }
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void shouldReEvaluateAndSaveAllResults() {
+        programmingExercise = (ProgrammingExercise) exerciseUtilService.addMaxScoreAndBonusPointsToExercise(programmingExercise);
+        programmingExercise = programmingExerciseParticipationUtilService.addTemplateParticipationForProgrammingExercise(programmingExercise);
+        programmingExercise = programmingExerciseParticipationUtilService.addSolutionParticipationForProgrammingExercise(programmingExercise);
+        programmingExercise = programmingExerciseService
+                .findByIdWithTemplateAndSolutionParticipationAndAuxiliaryReposAndLatestResultFeedbackTestCasesElseThrow(programmingExercise.getId());
+
+        final var testCases = createTestCases(false);
+        createTestParticipations();
+        changeTestCaseWeights(testCases);
+
+        // calculated in memory only, used as the expected outcome of the re-evaluation
+        final var expectedResults = programmingExerciseGradingService.updateAllResults(programmingExercise);
+
+        final int updatedResultCount = programmingExerciseGradingService.reEvaluateAllResults(programmingExercise);
+
+        assertThat(updatedResultCount).isEqualTo(expectedResults.size());
+        for (final var expectedResult : expectedResults) {
+            final var savedResult = resultRepository.findByIdElseThrow(expectedResult.getId());
+            assertThat(savedResult.getScore()).isCloseTo(expectedResult.getScore(), Offset.offset(offsetByTenThousandth));
+        }
+        verify(websocketMessagingService).sendMessage(eq("/topic/programming-exercises/" + programmingExercise.getId() + "/re-evaluation"),
+                any(ProgrammingExerciseReEvaluationProgressDTO.class));
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = { false, true })
     @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
@@ -1286,11 +1321,42 @@ abstract class ProgrammingExerciseGradingServiceTest extends AbstractProgramming
         assertThat(statistics.categoryIssuesMap()).containsExactlyInAnyOrderEntriesOf(categoryIssuesMap);
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void shouldRebuildStatistics() throws Exception {
+        activateAllTestCases(false);
+        createTestParticipationsWithResults();
+
+        final var endpoint = "/api/programming/programming-exercises/" + programmingExerciseSCAEnabled.getId() + "/grading/statistics";
+        final var statistics = request.get(endpoint, HttpStatus.OK, ProgrammingExerciseGradingStatisticsDTO.class);
+        final var rebuiltStatistics = request.postWithResponseBody(endpoint + "/rebuild", null, ProgrammingExerciseGradingStatisticsDTO.class, HttpStatus.OK);
+
+        assertThat(rebuiltStatistics.numParticipations()).isEqualTo(5);
+        assertThat(rebuiltStatistics.testCaseStatsMap()).containsExactlyInAnyOrderEntriesOf(statistics.testCaseStatsMap());
+        assertThat(rebuiltStatistics.categoryIssuesMap()).containsExactlyInAnyOrderEntriesOf(statistics.categoryIssuesMap());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void shouldNotCountDeletedParticipationsInStatistics() throws Exception {
+        activateAllTestCases(false);
+        var participations = createTestParticipationsWithResults();
+
+        final var endpoint = "/api/programming/programming-exercises/" + programmingExerciseSCAEnabled.getId() + "/grading/statistics";
+        assertThat(request.get(endpoint, HttpStatus.OK, ProgrammingExerciseGradingStatisticsDTO.class).numParticipations()).isEqualTo(5);
+
+        participationDeletionService.delete(participations.getFirst().getId(), true);
+
+        final var statistics = request.get(endpoint, HttpStatus.OK, ProgrammingExerciseGradingStatisticsDTO.class);
+        assertThat(statistics.numParticipations()).isEqualTo(4);
+        assertThat(statistics.testCaseStatsMap().get("test1").numPassed()).isEqualTo(4);
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
     void shouldGetCorrectLatestAutomaticResults() {
         createTestParticipationsWithResults();
-        var results = resultRepository.findLatestAutomaticResultsWithEagerFeedbacksTestCasesForExercise(programmingExerciseSCAEnabled.getId());
+        var results = resultRepository.findLatestAutomaticResultIdsWithStudentIdForExercise(programmingExerciseSCAEnabled.getId());
         assertThat(results).hasSize(5);
     }
 
@@ -1299,7 +1365,7 @@ abstract class ProgrammingExerciseGradingServiceTest extends AbstractProgramming
     void shouldGetCorrectLatestAutomaticResultsWithMultipleResults() {
         createTestParticipationsWithMultipleResults();
         // this method is tested. It should probably be improved as there is an inner query
-        var results = resultRepository.findLatestAutomaticResultsWithEagerFeedbacksTestCasesForExercise(programmingExerciseSCAEnabled.getId());
+        var results = resultRepository.findLatestAutomaticResultIdsWithStudentIdForExercise(programmingExerciseSCAEnabled.getId());
         var allResults = resultRepository.findAllBySubmissionParticipationExerciseId(programmingExerciseSCAEnabled.getId());
         assertThat(results).hasSize(5);
         assertThat(allResults).hasSize(6);
@@ -117,6 +117,7 @@ import de.tum.cit.aet.artemis.programming.util.ProgrammingExerciseUtilService;
 import de.tum.cit.aet.artemis.programming.util.ProgrammingUtilTestService;
 import de.tum.cit.aet.artemis.programming.util.RepositoryExportTestUtil;
 import de.tum.cit.aet.artemis.programming.util.TestFileUtil;
+import de.tum.cit.aet.artemis.programming.util.ZipTestUtil;
 import de.tum.cit.aet.artemis.text.util.TextExerciseUtilService;
 
 /**
@@ -2342,8 +2343,9 @@ public class ProgrammingExerciseIntegrationTestService {
         // Set up the exercise with problem statement for export
         setupExerciseForExport();
         var templateUrl = "/api/programming/programming-exercises/" + programmingExercise.getId() + "/export-instructor-repository/" + repositoryType.name();
-        String zip = request.get(templateUrl, HttpStatus.OK, String.class);
-        assertThat(zip).isNotNull();
+        byte[] zip = request.get(templateUrl, HttpStatus.OK, byte[].class);
+        // the archive is streamed without a content length, so it has to be complete and readable
+        assertThat(ZipTestUtil.readFileEntryNames(zip)).contains(".git/HEAD", ".git/config", ".git/index");
     }
 
     /**
@@ -2362,7 +2364,8 @@ public class ProgrammingExerciseIntegrationTestService {
         localVCLocalCITestService.createAndConfigureLocalRepository(projectKey, auxRepoName);
 
         var url = "/api/programming/programming-exercises/" + programmingExercise.getId() + "/export-instructor-auxiliary-repository?repositoryId=" + auxRepo.getId();
-        request.get(url, HttpStatus.OK, String.class);
+        byte[] zip = request.get(url, HttpStatus.OK, byte[].class);
+        assertThat(ZipTestUtil.readFileEntryNames(zip)).contains(".git/HEAD", ".git/config", ".git/index");
     }
 
     /**
@@ -468,6 +468,18 @@ class ProgrammingExerciseLocalVCJenkinsIntegrationTest extends AbstractProgrammi
         programmingExerciseTestService.exportInstructorRepositories_forbidden();
     }
 
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void exportInstructorRepositories_shouldReturnZip() throws Exception {
+        programmingExerciseTestService.exportInstructorRepositories_shouldReturnZip();
+    }
+
+    @Test
+    @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
+    void exportInstructorAuxiliaryRepository_shouldReturnZip() throws Exception {
+        programmingExerciseTestService.exportInstructorAuxiliaryRepository_shouldReturnZip();
+    }
+
     @Test
     @WithMockUser(username = TEST_PREFIX + "instructor1", roles = "INSTRUCTOR")
     void exportProgrammingExerciseInstructorMaterial() throws Exception {
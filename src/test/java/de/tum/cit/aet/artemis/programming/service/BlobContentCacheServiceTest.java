@@ -0,0 +1,100 @@
+package de.tum.cit.aet.artemis.programming.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Unit tests for the {@link BlobContentCacheService}, which decodes git blobs once and serves identical blobs from memory.
+ */
+class BlobContentCacheServiceTest {
+
+    @TempDir
+    Path repositoryDir;
+
+    @TempDir
+    Path emptyRepositoryDir;
+
+    private Git git;
+
+    private Git emptyGit;
+
+    private Repository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        git = Git.init().setBare(true).setDirectory(repositoryDir.toFile()).call();
+        repository = git.getRepository();
+        // the blobs do not exist in this repository, so reading them through its reader only succeeds if they are served from the cache
+        emptyGit = Git.init().setBare(true).setDirectory(emptyRepositoryDir.toFile()).call();
+    }
+
+    @AfterEach
+    void tearDown() {
+        git.close();
+        emptyGit.close();
+    }
+
+    @Test
+    void getTextContent_servesCachedContentAfterBlobWasRead() throws Exception {
+        var cacheService = new BlobContentCacheService(DataSize.ofKilobytes(1), DataSize.ofKilobytes(1));
+        ObjectId blobId = insertBlob("public class Main {}".getBytes(StandardCharsets.UTF_8));
+
+        try (ObjectReader reader = repository.newObjectReader()) {
+            assertThat(cacheService.getTextContent(reader, blobId)).contains("public class Main {}");
+        }
+        try (ObjectReader emptyReader = emptyGit.getRepository().newObjectReader()) {
+            assertThat(cacheService.getTextContent(emptyReader, blobId)).contains("public class Main {}");
+        }
+    }
+
+    @Test
+    void getTextContent_skipsBinaryContent() throws Exception {
+        var cacheService = new BlobContentCacheService(DataSize.ofKilobytes(1), DataSize.ofKilobytes(1));
+        ObjectId blobId = insertBlob(new byte[] { 'a', 0, 'b' });
+
+        try (ObjectReader reader = repository.newObjectReader()) {
+            assertThat(cacheService.getTextContent(reader, blobId)).isEmpty();
+        }
+    }
+
+    @Test
+    void getTextContent_evictsLeastRecentlyUsedContentWhenFull() throws Exception {
+        var cacheService = new BlobContentCacheService(DataSize.ofBytes(10), DataSize.ofBytes(10));
+        ObjectId first = insertBlob("first".getBytes(StandardCharsets.UTF_8));
+        ObjectId second = insertBlob("second".getBytes(StandardCharsets.UTF_8));
+
+        try (ObjectReader reader = repository.newObjectReader()) {
+            cacheService.getTextContent(reader, first);
+            cacheService.getTextContent(reader, second);
+        }
+
+        try (ObjectReader emptyReader = emptyGit.getRepository().newObjectReader()) {
+            assertThat(cacheService.getTextContent(emptyReader, second)).contains("second");
+            assertThatThrownBy(() -> cacheService.getTextContent(emptyReader, first)).isInstanceOf(MissingObjectException.class);
+        }
+    }
+
+    private ObjectId insertBlob(byte[] content) throws Exception {
+        try (ObjectInserter inserter = repository.newObjectInserter()) {
+            ObjectId blobId = inserter.insert(Constants.OBJ_BLOB, content);
+            inserter.flush();
+            return blobId;
+        }
+    }
+}
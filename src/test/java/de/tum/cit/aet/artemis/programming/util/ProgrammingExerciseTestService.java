@@ -1562,6 +1562,24 @@ public class ProgrammingExerciseTestService {
         request.get(url, HttpStatus.FORBIDDEN, String.class);
     }
 
+    // Test
+    public void exportInstructorAuxiliaryRepository_shouldReturnZip() throws Exception {
+        generateProgrammingExerciseForExport();
+        var auxRepo = addAuxiliaryRepositoryToProgrammingExercise(exercise);
+        createAndCommitDummyFileInLocalRepository(sourceAuxRepo, "some-aux-file.java");
+        var url = "/api/programming/programming-exercises/" + exercise.getId() + "/export-instructor-auxiliary-repository?repositoryId=" + auxRepo.getId();
+        byte[] zip = request.get(url, HttpStatus.OK, byte[].class);
+        assertThat(ZipTestUtil.readFileEntryNames(zip)).contains("some-aux-file.java", ".git/HEAD", ".git/config", ".git/index");
+    }
+
+    // Test
+    public void exportInstructorRepositories_shouldReturnZip() throws Exception {
+        for (var repository : Map.of(RepositoryType.TEMPLATE, exerciseRepo, RepositoryType.SOLUTION, solutionRepo, RepositoryType.TESTS, testRepo).entrySet()) {
+            byte[] zip = exportInstructorRepository(repository.getKey(), repository.getValue(), HttpStatus.OK);
+            assertThat(ZipTestUtil.readFileEntryNames(zip)).as(repository.getKey().name()).contains("some-file.java", ".git/HEAD", ".git/config", ".git/index");
+        }
+    }
+
     // Test
     public void exportInstructorRepositories_forbidden() throws Exception {
         // change the group name to enforce a HttpStatus forbidden after having accessed the endpoint
@@ -1572,13 +1590,13 @@ public class ProgrammingExerciseTestService {
         exportInstructorRepository(RepositoryType.TESTS, testRepo, HttpStatus.FORBIDDEN);
     }
 
-    private String exportInstructorRepository(RepositoryType repositoryType, LocalRepository localRepository, HttpStatus expectedStatus) throws Exception {
+    private byte[] exportInstructorRepository(RepositoryType repositoryType, LocalRepository localRepository, HttpStatus expectedStatus) throws Exception {
         generateProgrammingExerciseForExport();
 
         setupMockRepo(localRepository, repositoryType, "some-file.java");
 
         var url = "/api/programming/programming-exercises/" + exercise.getId() + "/export-instructor-repository/" + repositoryType.name();
-        return request.get(url, expectedStatus, String.class);
+        return request.get(url, expectedStatus, byte[].class);
     }
 
     private String exportStudentRequestedRepository(HttpStatus expectedStatus, boolean includeTests) throws Exception {
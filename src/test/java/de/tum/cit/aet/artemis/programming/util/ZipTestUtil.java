@@ -152,6 +152,26 @@ public final class ZipTestUtil {
         final Set<String> repositoryFiles = new java.util.HashSet<>();
     }
 
+    /**
+     * Reads every entry of a zip archive and returns the names of the contained files, which fails if the archive is not readable.
+     *
+     * @param zipContent the zip archive
+     * @return the names of all entries that are no directories
+     */
+    public static Set<String> readFileEntryNames(byte[] zipContent) throws IOException {
+        Set<String> fileNames = new java.util.HashSet<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zipContent))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                zipInputStream.readAllBytes();
+                if (!entry.isDirectory()) {
+                    fileNames.add(entry.getName());
+                }
+            }
+        }
+        return fileNames;
+    }
+
     public static void verifyZipStructureAndContent(byte[] zipContent) throws Exception {
         boolean foundFiles = false;
         int fileCount = 0;